@@ -3,6 +3,7 @@ plugins {
     id("org.springframework.boot") version "3.4.5"
     id("io.spring.dependency-management") version "1.1.7"
     id("org.asciidoctor.jvm.convert") version "3.3.2"
+    id("me.champeau.jmh") version "0.7.2"
 }
 
 group = "core"
@@ -20,6 +21,21 @@ configurations {
     }
 }
 
+// Saga load harness lives in src/loadTest so it never ships with the application
+sourceSets {
+    create("loadTest") {
+        compileClasspath += sourceSets.main.get().output
+        runtimeClasspath += sourceSets.main.get().output
+    }
+}
+
+val loadTestImplementation by configurations.getting {
+    extendsFrom(configurations.implementation.get())
+}
+val loadTestRuntimeOnly by configurations.getting {
+    extendsFrom(configurations.runtimeOnly.get())
+}
+
 repositories {
     mavenCentral()
 }
@@ -59,12 +75,13 @@ dependencies {
    // developmentOnly("org.springframework.boot:spring-boot-docker-compose")
 
     // Database
-   // testRuntimeOnly("org.postgresql:postgresql")
+    // The Flyway migrations are PostgreSQL; tests run them against a container
+    testRuntimeOnly("org.postgresql:postgresql")
     runtimeOnly("com.h2database:h2:2.1.214")
 
     // Database Migrations
     implementation("org.flywaydb:flyway-core")
-  //  runtimeOnly("org.flywaydb:flyway-database-postgresql")
+    testRuntimeOnly("org.flywaydb:flyway-database-postgresql")
 
     // Configuration processing
     annotationProcessor("org.springframework.boot:spring-boot-configuration-processor")
@@ -82,7 +99,7 @@ dependencies {
     testImplementation("org.springframework.security:spring-security-test")
     testImplementation("org.testcontainers:junit-jupiter")
     testImplementation("org.testcontainers:kafka")
-   // testImplementation("org.testcontainers:postgresql")
+    testImplementation("org.testcontainers:postgresql")
     testRuntimeOnly("org.junit.platform:junit-platform-launcher")
 }
 
@@ -94,6 +111,25 @@ tasks.test {
     outputs.dir(project.extra["snippetsDir"]!!)
 }
 
+// Benchmarks live in src/jmh; run with ./gradlew jmh
+jmh {
+    jmhVersion = "1.37"
+    resultFormat = "JSON"
+    resultsFile = layout.buildDirectory.file("reports/jmh/results.json")
+    // e.g. ./gradlew jmh -Pjmh.includes=MatchingBenchmark
+    providers.gradleProperty("jmh.includes").orNull?.let { includes = listOf(it) }
+}
+
+// Saga load test against the embedded database; override settings with --args, e.g.
+// ./gradlew loadTest --args='--loadtest.rate=500 --loadtest.price-model=trending'
+tasks.register<org.springframework.boot.gradle.tasks.run.BootRun>("loadTest") {
+    group = "verification"
+    description = "Runs the saga load generator and writes build/reports/loadtest/results.json"
+    classpath = sourceSets["loadTest"].runtimeClasspath
+    mainClass = tasks.bootRun.flatMap { it.mainClass }
+    args("--spring.profiles.active=loadtest", "--loadtest.exit-on-finish=true")
+}
+
 tasks.asciidoctor {
     inputs.dir(project.extra["snippetsDir"]!!)
     dependsOn(tasks.test)
@@ -0,0 +1,150 @@
+package core.ms.order_book.benchmark;
+
+import core.ms.order.domain.entities.IBuyOrder;
+import core.ms.order.domain.entities.ISellOrder;
+import core.ms.order.domain.factories.OrderFactory;
+import core.ms.order_book.domain.entities.OrderBook;
+import core.ms.order_book.domain.value_object.AskSideManager;
+import core.ms.order_book.domain.value_object.BidSideManager;
+import core.ms.order_book.domain.value_object.MatchingMode;
+import core.ms.shared.money.Currency;
+import core.ms.shared.money.Money;
+import core.ms.shared.money.Symbol;
+
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.math.BigDecimal;
+import java.util.Random;
+
+/**
+ * Deterministic order generation shared by the order book benchmarks.
+ *
+ * Bids rest below MID and asks above it, so a freshly built book never crosses.
+ * The same seed always produces the same book, which keeps runs comparable build to build.
+ */
+final class BookFixture {
+    static final Symbol SYMBOL = Symbol.btcUsd();
+    static final BigDecimal TICK = new BigDecimal("0.01");
+    // Smallest order quantity the fixture generates
+    static final BigDecimal LOT = new BigDecimal("0.01");
+    static final BigDecimal MID = new BigDecimal("30000.00");
+    static final long SEED = 42L;
+
+    private static final String PORTFOLIO = "BENCH-PORTFOLIO";
+    private static final String RESERVATION = "BENCH-RESERVATION";
+
+    /**
+     * How resting prices spread away from the top of book.
+     */
+    enum PriceDistribution {
+        // Every level within 1000 ticks equally likely: many thin levels
+        UNIFORM {
+            @Override
+            int ticksFromTop(Random random) {
+                return 1 + random.nextInt(1000);
+            }
+        },
+        // Most orders within a few ticks of the top: few deep levels
+        CLUSTERED {
+            @Override
+            int ticksFromTop(Random random) {
+                return 1 + (int) Math.abs(random.nextGaussian() * 5);
+            }
+        };
+
+        abstract int ticksFromTop(Random random);
+    }
+
+    private final PriceDistribution distribution;
+    private final Random random = new Random(SEED);
+    private long sequence;
+
+    BookFixture(PriceDistribution distribution) {
+        this.distribution = distribution;
+    }
+
+    /**
+     * The matching core logs to stdout on every call; keep that out of the measurements.
+     */
+    static void silenceConsole() {
+        System.setOut(new PrintStream(OutputStream.nullOutputStream()));
+    }
+
+    static OrderBook newBook(MatchingMode matchingMode) {
+        OrderBook book = new OrderBook(SYMBOL);
+        book.setMatchingMode(matchingMode);
+        return book;
+    }
+
+    /**
+     * Fills the book with the given number of resting orders, split evenly between sides.
+     */
+    void populate(OrderBook book, int orders) {
+        for (int i = 0; i < orders; i++) {
+            if (i % 2 == 0) {
+                book.addOrder(restingBuy());
+            } else {
+                book.addOrder(restingSell());
+            }
+        }
+    }
+
+    void populate(BidSideManager bidSide, AskSideManager askSide, int orders) {
+        for (int i = 0; i < orders; i++) {
+            if (i % 2 == 0) {
+                bidSide.addOrder(restingBuy());
+            } else {
+                askSide.addOrder(restingSell());
+            }
+        }
+    }
+
+    IBuyOrder restingBuy() {
+        return buy(MID.subtract(ticks(distribution.ticksFromTop(random))));
+    }
+
+    ISellOrder restingSell() {
+        return sell(MID.add(ticks(distribution.ticksFromTop(random))));
+    }
+
+    /**
+     * Buy priced through the whole ask side within the generated range.
+     */
+    IBuyOrder crossingBuy() {
+        return buy(MID.add(ticks(1000)));
+    }
+
+    /**
+     * Sell priced through the whole bid side within the generated range.
+     */
+    ISellOrder crossingSell() {
+        return sell(MID.subtract(ticks(1000)));
+    }
+
+    IBuyOrder buy(BigDecimal price) {
+        return buy(price, quantity());
+    }
+
+    IBuyOrder buy(BigDecimal price, BigDecimal quantity) {
+        return OrderFactory.createBuyOrderWithId("BENCH-B-" + (++sequence), PORTFOLIO, RESERVATION,
+                SYMBOL, Money.of(price, Currency.USD), quantity);
+    }
+
+    ISellOrder sell(BigDecimal price) {
+        return sell(price, quantity());
+    }
+
+    ISellOrder sell(BigDecimal price, BigDecimal quantity) {
+        return OrderFactory.createSellOrderWithId("BENCH-S-" + (++sequence), PORTFOLIO, RESERVATION,
+                SYMBOL, Money.of(price, Currency.USD), quantity);
+    }
+
+    private BigDecimal ticks(int count) {
+        return TICK.multiply(BigDecimal.valueOf(count));
+    }
+
+    // 0.01 to 1.00 BTC, on the book's quantity scale
+    private BigDecimal quantity() {
+        return BigDecimal.valueOf(1 + random.nextInt(100), 2);
+    }
+}
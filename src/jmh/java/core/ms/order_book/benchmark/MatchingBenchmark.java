@@ -0,0 +1,83 @@
+package core.ms.order_book.benchmark;
+
+import core.ms.order.domain.entities.IBuyOrder;
+import core.ms.order.domain.entities.ISellOrder;
+import core.ms.order_book.domain.events.publish.OrderMatchedEvent;
+import core.ms.order_book.domain.factory.OrderMatchEventFactory;
+import core.ms.order_book.domain.value_object.*;
+import org.openjdk.jmh.annotations.*;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of finding matches on a book whose top has just been crossed by one buy order.
+ *
+ * The sides are left untouched by every algorithm measured here, so one setup per trial
+ * is enough. The incremental matcher is included as the baseline for the full scan.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Thread)
+public class MatchingBenchmark {
+
+    // How far the crossing buy reaches into the ask side
+    private static final int CROSSING_TICKS = 20;
+
+    @Param({"10", "1000", "100000"})
+    int depth;
+
+    @Param({"UNIFORM", "CLUSTERED"})
+    BookFixture.PriceDistribution distribution;
+
+    private final MatchingAlgorithm twoPointer = new TwoPointerMatchingAlgorithm();
+    private final MatchingStrategy strategy = new PriceTimePriorityMatching();
+    private final IncrementalMatchingAlgorithm incremental = new IncrementalMatchingAlgorithm();
+
+    private BidSideManager bidSide;
+    private AskSideManager askSide;
+    private IBuyOrder crossingBuy;
+    private List<OrderMatch> fills;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        BookFixture.silenceConsole();
+        BookFixture fixture = new BookFixture(distribution);
+
+        bidSide = new BidSideManager();
+        askSide = new AskSideManager();
+        fixture.populate(bidSide, askSide, depth);
+
+        crossingBuy = fixture.buy(BookFixture.MID.add(
+                BookFixture.TICK.multiply(BigDecimal.valueOf(CROSSING_TICKS))));
+        bidSide.addOrder(crossingBuy);
+
+        fills = incremental.matchBuyOrder(crossingBuy, askSide, new ArrayList<>());
+    }
+
+    @Benchmark
+    public List<MatchCandidateExtractor> twoPointerFindMatchCandidates() {
+        return twoPointer.findMatchCandidates(bidSide, askSide, strategy);
+    }
+
+    @Benchmark
+    public List<OrderMatchedEvent> createMatchEvents() {
+        return OrderMatchEventFactory.createMatchEvents(bidSide, askSide);
+    }
+
+    @Benchmark
+    public List<OrderMatchedEvent> createMatchEventsFromFills() {
+        return OrderMatchEventFactory.createMatchEvents(fills);
+    }
+
+    @Benchmark
+    public List<OrderMatch> incrementalMatchBuyOrder() {
+        List<ISellOrder> staleOrders = new ArrayList<>();
+        return incremental.matchBuyOrder(crossingBuy, askSide, staleOrders);
+    }
+}
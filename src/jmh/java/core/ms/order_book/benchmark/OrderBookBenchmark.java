@@ -0,0 +1,238 @@
+package core.ms.order_book.benchmark;
+
+import core.ms.order.domain.entities.IBuyOrder;
+import core.ms.order.domain.entities.IOrder;
+import core.ms.order.domain.entities.ISellOrder;
+import core.ms.order_book.domain.entities.OrderBook;
+import core.ms.order_book.domain.events.publish.OrderMatchedEvent;
+import core.ms.order_book.domain.value_object.AbstractPriceLevel;
+import core.ms.order_book.domain.value_object.MarketDepth;
+import core.ms.order_book.domain.value_object.MatchingMode;
+import org.openjdk.jmh.annotations.*;
+
+import java.math.BigDecimal;
+import java.util.*;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+/**
+ * Single-operation costs of {@link OrderBook} at different resting depths.
+ *
+ * Each add or remove works on one order prepared outside the measurement, and the
+ * order is taken back out afterwards, so the book has the same shape for every call.
+ * Resting orders hit by a crossing order are put back whole at their prices after the call.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class OrderBookBenchmark {
+
+    @State(Scope.Thread)
+    public static class BookState {
+        // Resting orders in the book, split evenly between bids and asks
+        @Param({"10", "1000", "100000"})
+        int depth;
+
+        @Param({"UNIFORM", "CLUSTERED"})
+        BookFixture.PriceDistribution distribution;
+
+        @Param({"INCREMENTAL", "FULL_SCAN"})
+        MatchingMode matchingMode;
+
+        OrderBook book;
+        BookFixture fixture;
+
+        @Setup(Level.Trial)
+        public void setUp() {
+            BookFixture.silenceConsole();
+            fixture = new BookFixture(distribution);
+            book = BookFixture.newBook(matchingMode);
+            fixture.populate(book, depth);
+        }
+    }
+
+    /**
+     * One order created before each call and removed again after it.
+     */
+    @State(Scope.Thread)
+    public abstract static class PendingOrder<T extends IOrder> {
+        T order;
+
+        abstract T create(BookFixture fixture);
+
+        @Setup(Level.Invocation)
+        public void prepare(BookState state) {
+            order = create(state.fixture);
+            capture(state);
+        }
+
+        @TearDown(Level.Invocation)
+        public void restore(BookState state) {
+            state.book.removeOrderById(order.getId());
+            replenish(state, state.book.consumeRecentMatchEvents());
+        }
+
+        void capture(BookState state) {
+        }
+
+        void replenish(BookState state, List<OrderMatchedEvent> fills) {
+        }
+    }
+
+    public static class RestingBuy extends PendingOrder<IBuyOrder> {
+        @Override
+        IBuyOrder create(BookFixture fixture) {
+            return fixture.restingBuy();
+        }
+    }
+
+    public static class RestingSell extends PendingOrder<ISellOrder> {
+        @Override
+        ISellOrder create(BookFixture fixture) {
+            return fixture.restingSell();
+        }
+    }
+
+    public static class CrossingBuy extends PendingOrder<IBuyOrder> {
+        private final Map<String, Resting> reachableAsks = new HashMap<>();
+
+        @Override
+        IBuyOrder create(BookFixture fixture) {
+            return fixture.crossingBuy();
+        }
+
+        @Override
+        void capture(BookState state) {
+            reachableAsks.clear();
+            collectReachable(state.book, state.book.getAskLevels(), order.getQuantity(), reachableAsks);
+        }
+
+        @Override
+        void replenish(BookState state, List<OrderMatchedEvent> fills) {
+            for (String sellOrderId : touched(fills, OrderMatchedEvent::getSellOrderId)) {
+                Resting resting = reachableAsks.get(sellOrderId);
+                state.book.removeOrderById(sellOrderId);
+                state.book.addOrder(state.fixture.sell(resting.price(), resting.quantity()));
+            }
+        }
+    }
+
+    public static class CrossingSell extends PendingOrder<ISellOrder> {
+        private final Map<String, Resting> reachableBids = new HashMap<>();
+
+        @Override
+        ISellOrder create(BookFixture fixture) {
+            return fixture.crossingSell();
+        }
+
+        @Override
+        void capture(BookState state) {
+            reachableBids.clear();
+            collectReachable(state.book, state.book.getBidLevels(), order.getQuantity(), reachableBids);
+        }
+
+        @Override
+        void replenish(BookState state, List<OrderMatchedEvent> fills) {
+            for (String buyOrderId : touched(fills, OrderMatchedEvent::getBuyOrderId)) {
+                Resting resting = reachableBids.get(buyOrderId);
+                state.book.removeOrderById(buyOrderId);
+                state.book.addOrder(state.fixture.buy(resting.price(), resting.quantity()));
+            }
+        }
+    }
+
+    /**
+     * Price and book quantity of a resting order before the crossing order hit it.
+     */
+    private record Resting(BigDecimal price, BigDecimal quantity) {
+    }
+
+    /**
+     * Records the resting orders a crossing order of this size can reach.
+     * Every fill takes at least one lot, so it cannot go past that many levels.
+     */
+    private static void collectReachable(OrderBook book, Collection<? extends AbstractPriceLevel<? extends IOrder>> levels,
+                                         BigDecimal quantity, Map<String, Resting> reachable) {
+        int reachableLevels = quantity.divideToIntegralValue(BookFixture.LOT).intValue();
+        for (AbstractPriceLevel<? extends IOrder> level : levels) {
+            if (reachableLevels-- == 0) {
+                return;
+            }
+            for (Iterator<? extends IOrder> orders = level.orderIterator(); orders.hasNext(); ) {
+                String orderId = orders.next().getId();
+                reachable.put(orderId, new Resting(level.getPrice().getAmount(), book.remainingInBook(orderId)));
+            }
+        }
+    }
+
+    /**
+     * Resting orders hit by the fills, each once, in fill order.
+     */
+    private static Set<String> touched(List<OrderMatchedEvent> fills, Function<OrderMatchedEvent, String> restingSide) {
+        Set<String> orderIds = new LinkedHashSet<>();
+        fills.forEach(fill -> orderIds.add(restingSide.apply(fill)));
+        return orderIds;
+    }
+
+    /**
+     * A resting order already in the book, for measuring cancels.
+     */
+    @State(Scope.Thread)
+    public static class QueuedOrder {
+        String orderId;
+
+        @Setup(Level.Invocation)
+        public void prepare(BookState state) {
+            IBuyOrder order = state.fixture.restingBuy();
+            state.book.addOrder(order);
+            orderId = order.getId();
+        }
+    }
+
+    // ============ ADD ============
+
+    @Benchmark
+    public int addBuyNonCrossing(BookState state, RestingBuy pending) {
+        state.book.addOrder(pending.order);
+        return state.book.getOrderCount();
+    }
+
+    @Benchmark
+    public int addSellNonCrossing(BookState state, RestingSell pending) {
+        state.book.addOrder(pending.order);
+        return state.book.getOrderCount();
+    }
+
+    @Benchmark
+    public int addBuyCrossing(BookState state, CrossingBuy pending) {
+        state.book.addOrder(pending.order);
+        return state.book.getRecentMatchEvents().size();
+    }
+
+    @Benchmark
+    public int addSellCrossing(BookState state, CrossingSell pending) {
+        state.book.addOrder(pending.order);
+        return state.book.getRecentMatchEvents().size();
+    }
+
+    // ============ REMOVE ============
+
+    @Benchmark
+    public boolean removeOrderById(BookState state, QueuedOrder queued) {
+        return state.book.removeOrderById(queued.orderId);
+    }
+
+    // ============ READ ============
+
+    @Benchmark
+    public MarketDepth marketDepth10(BookState state) {
+        return state.book.getMarketDepth(10);
+    }
+
+    @Benchmark
+    public MarketDepth marketDepth50(BookState state) {
+        return state.book.getMarketDepth(50);
+    }
+}
@@ -0,0 +1,69 @@
+package core.ms.loadtest;
+
+import java.util.Arrays;
+
+/**
+ * Keeps every latency sample of one stage so percentiles are exact.
+ * A load test run records at most a few million samples, which fits comfortably in memory.
+ */
+public class LatencyRecorder {
+    private final String stage;
+    private long[] samples = new long[1024];
+    private int count;
+
+    public LatencyRecorder(String stage) {
+        this.stage = stage;
+    }
+
+    public synchronized void record(long nanos) {
+        if (nanos < 0) {
+            return;
+        }
+        if (count == samples.length) {
+            samples = Arrays.copyOf(samples, count * 2);
+        }
+        samples[count++] = nanos;
+    }
+
+    public synchronized Summary summarize() {
+        long[] sorted = Arrays.copyOf(samples, count);
+        Arrays.sort(sorted);
+        return new Summary(stage, sorted);
+    }
+
+    /**
+     * Percentiles of one stage, in microseconds.
+     */
+    public static final class Summary {
+        private final String stage;
+        private final int count;
+        private final long p50;
+        private final long p99;
+        private final long p999;
+        private final long max;
+
+        private Summary(String stage, long[] sorted) {
+            this.stage = stage;
+            this.count = sorted.length;
+            this.p50 = percentile(sorted, 0.50);
+            this.p99 = percentile(sorted, 0.99);
+            this.p999 = percentile(sorted, 0.999);
+            this.max = sorted.length == 0 ? 0 : sorted[sorted.length - 1] / 1000;
+        }
+
+        private static long percentile(long[] sorted, double quantile) {
+            if (sorted.length == 0) {
+                return 0;
+            }
+            int index = (int) Math.ceil(quantile * sorted.length) - 1;
+            return sorted[Math.max(0, Math.min(index, sorted.length - 1))] / 1000;
+        }
+
+        public String getStage() { return stage; }
+        public int getCount() { return count; }
+        public long getP50Micros() { return p50; }
+        public long getP99Micros() { return p99; }
+        public long getP999Micros() { return p999; }
+        public long getMaxMicros() { return max; }
+    }
+}
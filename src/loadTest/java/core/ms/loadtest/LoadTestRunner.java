@@ -0,0 +1,342 @@
+package core.ms.loadtest;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import core.ms.portfolio.application.dto.command.CreatePortfolioCommand;
+import core.ms.portfolio.application.dto.command.DepositAssetCommand;
+import core.ms.portfolio.application.dto.command.DepositCashCommand;
+import core.ms.portfolio.application.dto.command.PlaceBuyOrderCommand;
+import core.ms.portfolio.application.dto.command.PlaceSellOrderCommand;
+import core.ms.portfolio.application.dto.query.PortfolioOperationResultDTO;
+import core.ms.portfolio.application.services.PortfolioApplicationService;
+import core.ms.shared.events.EventContext;
+import core.ms.shared.money.Symbol;
+import core.ms.symbol.service.SymbolService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.CommandLineRunner;
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.ApplicationContext;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+import java.util.stream.Collectors;
+
+/**
+ * Drives generated or replayed order flow through the portfolio service and reports
+ * per-stage latency and throughput of the whole saga.
+ *
+ * The flow is open-loop: each order is sent at its scheduled offset whatever the state of
+ * earlier orders, and latency is measured from the scheduled time, so a saturated saga
+ * shows up as queue delay rather than as a lower arrival rate.
+ *
+ * Lives in the loadTest source set and runs with the loadtest profile (see the loadTest Gradle task).
+ */
+@Component
+@Order(100) // Run after symbols and test data
+@ConditionalOnProperty(name = "loadtest.enabled", havingValue = "true")
+public class LoadTestRunner implements CommandLineRunner {
+
+    private static final Logger log = LoggerFactory.getLogger(LoadTestRunner.class);
+    private static final String PORTFOLIO_PREFIX = "loadtest-portfolio-";
+
+    @Autowired
+    private PortfolioApplicationService portfolioService;
+
+    @Autowired
+    private SymbolService symbolService;
+
+    @Autowired
+    private SagaLatencyTracker tracker;
+
+    @Autowired
+    private ApplicationContext applicationContext;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Value("${loadtest.symbols:2}")
+    private int symbolCount;
+
+    @Value("${loadtest.portfolios:20}")
+    private int portfolioCount;
+
+    @Value("${loadtest.rate:200}")
+    private double ordersPerSecond;
+
+    @Value("${loadtest.orders:5000}")
+    private int orderCount;
+
+    @Value("${loadtest.price-model:random-walk}")
+    private String priceModel;
+
+    @Value("${loadtest.start-price:100}")
+    private BigDecimal startPrice;
+
+    @Value("${loadtest.volatility-ticks:2}")
+    private double volatilityTicks;
+
+    @Value("${loadtest.seed:42}")
+    private long seed;
+
+    @Value("${loadtest.client-threads:8}")
+    private int clientThreads;
+
+    @Value("${loadtest.initial-cash:10000000}")
+    private BigDecimal initialCash;
+
+    @Value("${loadtest.initial-assets:100000}")
+    private BigDecimal initialAssets;
+
+    @Value("${loadtest.drain-timeout-seconds:30}")
+    private long drainTimeoutSeconds;
+
+    @Value("${loadtest.record-file:}")
+    private String recordFile;
+
+    @Value("${loadtest.replay-file:}")
+    private String replayFile;
+
+    @Value("${loadtest.report-file:build/reports/loadtest/results.json}")
+    private String reportFile;
+
+    @Value("${loadtest.exit-on-finish:false}")
+    private boolean exitOnFinish;
+
+    private final AtomicLong placed = new AtomicLong();
+    private final AtomicLong rejected = new AtomicLong();
+
+    @Override
+    public void run(String... args) throws Exception {
+        List<Symbol> symbols = symbolService.getAllActiveSymbols().stream()
+                .limit(symbolCount)
+                .toList();
+        Map<String, Symbol> symbolsByCode = symbols.stream()
+                .collect(Collectors.toMap(Symbol::getCode, symbol -> symbol));
+
+        List<OrderFlowEntry> flow = loadFlow(symbols);
+        log.info("🚀 Load test starting: {} orders over {} symbols and {} portfolios ({} orders/s, {} client threads)",
+                flow.size(), symbols.size(), portfolioCount, ordersPerSecond, clientThreads);
+
+        createPortfolios(symbols);
+
+        long runNanos = drive(flow, symbolsByCode);
+        long drainNanos = drain();
+
+        Map<String, Object> report = buildReport(flow.size(), runNanos, drainNanos);
+        writeReport(report);
+
+        if (exitOnFinish) {
+            System.exit(SpringApplication.exit(applicationContext, () -> 0));
+        }
+    }
+
+    // ============ SETUP ============
+
+    private List<OrderFlowEntry> loadFlow(List<Symbol> symbols) throws IOException {
+        if (!replayFile.isBlank()) {
+            List<OrderFlowEntry> flow = OrderFlowGenerator.read(Path.of(replayFile));
+            log.info("🔁 Replaying {} orders from {}", flow.size(), replayFile);
+            return flow;
+        }
+
+        OrderFlowGenerator generator = new OrderFlowGenerator(
+                symbols.stream().map(Symbol::getCode).toList(),
+                portfolioCount,
+                ordersPerSecond,
+                PriceWalkModel.fromProperty(priceModel),
+                startPrice,
+                volatilityTicks,
+                seed
+        );
+        List<OrderFlowEntry> flow = generator.generate(orderCount);
+
+        if (!recordFile.isBlank()) {
+            OrderFlowGenerator.write(flow, Path.of(recordFile));
+            log.info("💾 Recorded order flow to {}", recordFile);
+        }
+        return flow;
+    }
+
+    private void createPortfolios(List<Symbol> symbols) {
+        for (int i = 0; i < portfolioCount; i++) {
+            String portfolioId = PORTFOLIO_PREFIX + i;
+            if (portfolioService.findPortfolioById(portfolioId).isPresent()) {
+                continue;
+            }
+            portfolioService.createPortfolio(new CreatePortfolioCommand(portfolioId, "loadtest-" + i));
+
+            symbols.stream().map(Symbol::getQuoteCurrency).distinct().forEach(currency ->
+                    portfolioService.depositCash(new DepositCashCommand(portfolioId, initialCash, currency)));
+            for (Symbol symbol : symbols) {
+                portfolioService.depositAsset(new DepositAssetCommand(portfolioId, symbol, initialAssets));
+            }
+        }
+        log.info("✅ {} load test portfolios ready", portfolioCount);
+    }
+
+    // ============ RUN ============
+
+    private long drive(List<OrderFlowEntry> flow, Map<String, Symbol> symbolsByCode) throws InterruptedException {
+        ExecutorService clients = Executors.newFixedThreadPool(clientThreads, runnable -> {
+            Thread thread = new Thread(runnable, "loadtest-client");
+            thread.setDaemon(true);
+            return thread;
+        });
+
+        long start = System.nanoTime();
+        for (OrderFlowEntry entry : flow) {
+            long intended = start + TimeUnit.MICROSECONDS.toNanos(entry.getOffsetMicros());
+            long wait;
+            while ((wait = intended - System.nanoTime()) > 0) {
+                LockSupport.parkNanos(wait);
+            }
+            clients.execute(() -> place(entry, symbolsByCode.get(entry.getSymbolCode()), intended));
+        }
+
+        clients.shutdown();
+        if (!clients.awaitTermination(drainTimeoutSeconds, TimeUnit.SECONDS)) {
+            log.warn("⚠️ Client threads still placing orders after {}s", drainTimeoutSeconds);
+            clients.shutdownNow();
+        }
+        return System.nanoTime() - start;
+    }
+
+    private void place(OrderFlowEntry entry, Symbol symbol, long intendedNanos) {
+        // Every order starts its own saga
+        EventContext.clear();
+        tracker.begin(intendedNanos);
+        try {
+            String portfolioId = PORTFOLIO_PREFIX + entry.getPortfolioIndex();
+            String currency = symbol.getQuoteCurrency().name();
+
+            PortfolioOperationResultDTO result;
+            if (entry.isBuy()) {
+                PlaceBuyOrderCommand command = new PlaceBuyOrderCommand();
+                command.setPortfolioId(portfolioId);
+                command.setSymbolCode(entry.getSymbolCode());
+                command.setPrice(entry.getPrice());
+                command.setCurrency(currency);
+                command.setQuantity(entry.getQuantity());
+                result = portfolioService.placeBuyOrder(command);
+            } else {
+                PlaceSellOrderCommand command = new PlaceSellOrderCommand();
+                command.setPortfolioId(portfolioId);
+                command.setSymbolCode(entry.getSymbolCode());
+                command.setPrice(entry.getPrice());
+                command.setCurrency(currency);
+                command.setQuantity(entry.getQuantity());
+                result = portfolioService.placeSellOrder(command);
+            }
+
+            if (result.isSuccess()) {
+                placed.incrementAndGet();
+            } else {
+                rejected.incrementAndGet();
+            }
+        } catch (Exception e) {
+            rejected.incrementAndGet();
+            log.debug("Load test order rejected: {}", e.getMessage());
+        } finally {
+            tracker.end();
+            EventContext.clear();
+        }
+    }
+
+    /**
+     * Waits for in-flight sagas to settle; stops once nothing has settled for a second
+     * or the drain timeout expires.
+     */
+    private long drain() throws InterruptedException {
+        long start = System.nanoTime();
+        long deadline = start + TimeUnit.SECONDS.toNanos(drainTimeoutSeconds);
+        long lastSettled = -1;
+        while (System.nanoTime() < deadline) {
+            long settled = tracker.getSettledOrderCount();
+            if (settled == lastSettled) {
+                break;
+            }
+            lastSettled = settled;
+            Thread.sleep(1000);
+        }
+        return System.nanoTime() - start;
+    }
+
+    // ============ REPORT ============
+
+    private Map<String, Object> buildReport(int orders, long runNanos, long drainNanos) {
+        double runSeconds = runNanos / 1e9;
+        double placedPerSecond = placed.get() / runSeconds;
+        double transactionsPerSecond = tracker.getTransactionCount() / ((runNanos + drainNanos) / 1e9);
+        List<LatencyRecorder.Summary> stages = tracker.summarize();
+
+        log.info("📊 ===== Load test report =====");
+        log.info("📊 Orders: {} scheduled, {} placed, {} rejected in {}s",
+                orders, placed.get(), rejected.get(), String.format("%.2f", runSeconds));
+        log.info("📊 Throughput: {} placed/s, {} transactions/s, {} settled orders, {} still open",
+                String.format("%.1f", placedPerSecond), String.format("%.1f", transactionsPerSecond),
+                tracker.getSettledOrderCount(), tracker.getOpenTraceCount());
+        log.info("📊 {}", String.format("%-14s %8s %10s %10s %10s %10s", "stage", "count", "p50 µs", "p99 µs", "p999 µs", "max µs"));
+        for (LatencyRecorder.Summary stage : stages) {
+            log.info("📊 {}", String.format("%-14s %8d %10d %10d %10d %10d",
+                    stage.getStage(), stage.getCount(), stage.getP50Micros(),
+                    stage.getP99Micros(), stage.getP999Micros(), stage.getMaxMicros()));
+        }
+
+        Map<String, Object> settings = new LinkedHashMap<>();
+        settings.put("symbols", symbolCount);
+        settings.put("portfolios", portfolioCount);
+        settings.put("rate", ordersPerSecond);
+        settings.put("priceModel", priceModel);
+        settings.put("seed", seed);
+        settings.put("clientThreads", clientThreads);
+
+        Map<String, Object> report = new LinkedHashMap<>();
+        report.put("settings", settings);
+        report.put("orders", orders);
+        report.put("placed", placed.get());
+        report.put("rejected", rejected.get());
+        report.put("runSeconds", round(runSeconds, 3));
+        report.put("placedPerSecond", round(placedPerSecond, 1));
+        report.put("transactions", tracker.getTransactionCount());
+        report.put("transactionsPerSecond", round(transactionsPerSecond, 1));
+        report.put("settledOrders", tracker.getSettledOrderCount());
+        report.put("stages", stages);
+        return report;
+    }
+
+    private static BigDecimal round(double value, int decimals) {
+        return BigDecimal.valueOf(value).setScale(decimals, RoundingMode.HALF_UP);
+    }
+
+    private void writeReport(Map<String, Object> report) {
+        if (reportFile.isBlank()) {
+            return;
+        }
+        try {
+            Path path = Path.of(reportFile);
+            if (path.getParent() != null) {
+                Files.createDirectories(path.getParent());
+            }
+            objectMapper.writerWithDefaultPrettyPrinter().writeValue(path.toFile(), report);
+            log.info("📄 Load test report written to {}", path.toAbsolutePath());
+        } catch (IOException e) {
+            log.error("❌ Failed to write load test report: {}", e.getMessage());
+        }
+    }
+}
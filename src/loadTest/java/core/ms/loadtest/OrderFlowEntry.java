@@ -0,0 +1,55 @@
+package core.ms.loadtest;
+
+import java.math.BigDecimal;
+
+/**
+ * One order of a load test flow, scheduled at an offset from the start of the run.
+ * Serialised as one CSV line so a flow can be recorded and replayed exactly.
+ */
+public final class OrderFlowEntry {
+    static final String CSV_HEADER = "offsetMicros,portfolio,symbol,side,price,quantity";
+
+    private final long offsetMicros;
+    private final int portfolioIndex;
+    private final String symbolCode;
+    private final boolean buy;
+    private final BigDecimal price;
+    private final BigDecimal quantity;
+
+    public OrderFlowEntry(long offsetMicros, int portfolioIndex, String symbolCode,
+                          boolean buy, BigDecimal price, BigDecimal quantity) {
+        this.offsetMicros = offsetMicros;
+        this.portfolioIndex = portfolioIndex;
+        this.symbolCode = symbolCode;
+        this.buy = buy;
+        this.price = price;
+        this.quantity = quantity;
+    }
+
+    static OrderFlowEntry fromCsv(String line) {
+        String[] fields = line.split(",");
+        if (fields.length != 6) {
+            throw new IllegalArgumentException("Invalid order flow line: " + line);
+        }
+        return new OrderFlowEntry(
+                Long.parseLong(fields[0]),
+                Integer.parseInt(fields[1]),
+                fields[2],
+                "BUY".equals(fields[3]),
+                new BigDecimal(fields[4]),
+                new BigDecimal(fields[5])
+        );
+    }
+
+    String toCsv() {
+        return offsetMicros + "," + portfolioIndex + "," + symbolCode + "," +
+                (buy ? "BUY" : "SELL") + "," + price.toPlainString() + "," + quantity.toPlainString();
+    }
+
+    public long getOffsetMicros() { return offsetMicros; }
+    public int getPortfolioIndex() { return portfolioIndex; }
+    public String getSymbolCode() { return symbolCode; }
+    public boolean isBuy() { return buy; }
+    public BigDecimal getPrice() { return price; }
+    public BigDecimal getQuantity() { return quantity; }
+}
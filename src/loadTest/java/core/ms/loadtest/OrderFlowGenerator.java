@@ -0,0 +1,117 @@
+package core.ms.loadtest;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Deterministic order flow for the load test.
+ *
+ * Arrivals are Poisson at the configured rate. Each order picks a symbol and portfolio
+ * uniformly, advances that symbol's reference price with the walk model, and is priced
+ * a few ticks either side of it, so roughly half of the orders cross the spread.
+ * The same seed always produces the same flow; a flow can also be written to and read
+ * back from CSV to replay it exactly.
+ */
+public class OrderFlowGenerator {
+    private static final BigDecimal TICK = new BigDecimal("0.01");
+    // Orders are priced within this many ticks of the reference price
+    private static final int SPREAD_TICKS = 5;
+
+    private final List<String> symbolCodes;
+    private final int portfolioCount;
+    private final double ordersPerSecond;
+    private final PriceWalkModel walkModel;
+    private final double startPrice;
+    private final double volatilityTicks;
+    private final Random random;
+
+    public OrderFlowGenerator(List<String> symbolCodes, int portfolioCount, double ordersPerSecond,
+                              PriceWalkModel walkModel, BigDecimal startPrice,
+                              double volatilityTicks, long seed) {
+        if (symbolCodes.isEmpty()) {
+            throw new IllegalArgumentException("At least one symbol is required");
+        }
+        if (portfolioCount < 2) {
+            throw new IllegalArgumentException("At least two portfolios are required to trade");
+        }
+        if (ordersPerSecond <= 0) {
+            throw new IllegalArgumentException("Arrival rate must be positive");
+        }
+        this.symbolCodes = List.copyOf(symbolCodes);
+        this.portfolioCount = portfolioCount;
+        this.ordersPerSecond = ordersPerSecond;
+        this.walkModel = walkModel;
+        this.startPrice = startPrice.doubleValue();
+        this.volatilityTicks = volatilityTicks;
+        this.random = new Random(seed);
+    }
+
+    public List<OrderFlowEntry> generate(int orderCount) {
+        double[] referencePrices = new double[symbolCodes.size()];
+        java.util.Arrays.fill(referencePrices, startPrice);
+        double tick = TICK.doubleValue();
+
+        List<OrderFlowEntry> flow = new ArrayList<>(orderCount);
+        double offsetSeconds = 0;
+        for (int i = 0; i < orderCount; i++) {
+            // Exponential inter-arrival times give a Poisson arrival process
+            offsetSeconds += -Math.log(1 - random.nextDouble()) / ordersPerSecond;
+
+            int symbol = random.nextInt(symbolCodes.size());
+            referencePrices[symbol] = Math.max(tick * 100,
+                    walkModel.next(referencePrices[symbol] / tick, startPrice / tick, volatilityTicks, random) * tick);
+
+            boolean buy = random.nextBoolean();
+            int ticksAway = random.nextInt(2 * SPREAD_TICKS + 1) - SPREAD_TICKS;
+            BigDecimal price = BigDecimal.valueOf(referencePrices[symbol])
+                    .setScale(2, RoundingMode.HALF_UP)
+                    .add(TICK.multiply(BigDecimal.valueOf(ticksAway)));
+            BigDecimal quantity = BigDecimal.valueOf(1 + random.nextInt(100), 2);
+
+            flow.add(new OrderFlowEntry(
+                    (long) (offsetSeconds * 1_000_000),
+                    random.nextInt(portfolioCount),
+                    symbolCodes.get(symbol),
+                    buy,
+                    price,
+                    quantity
+            ));
+        }
+        return flow;
+    }
+
+    // ============ RECORD / REPLAY ============
+
+    public static void write(List<OrderFlowEntry> flow, Path file) throws IOException {
+        if (file.getParent() != null) {
+            Files.createDirectories(file.getParent());
+        }
+        try (BufferedWriter writer = Files.newBufferedWriter(file, StandardCharsets.UTF_8)) {
+            writer.write(OrderFlowEntry.CSV_HEADER);
+            writer.newLine();
+            for (OrderFlowEntry entry : flow) {
+                writer.write(entry.toCsv());
+                writer.newLine();
+            }
+        }
+    }
+
+    public static List<OrderFlowEntry> read(Path file) throws IOException {
+        List<OrderFlowEntry> flow = new ArrayList<>();
+        for (String line : Files.readAllLines(file, StandardCharsets.UTF_8)) {
+            if (line.isBlank() || line.startsWith("offsetMicros")) {
+                continue;
+            }
+            flow.add(OrderFlowEntry.fromCsv(line));
+        }
+        return flow;
+    }
+}
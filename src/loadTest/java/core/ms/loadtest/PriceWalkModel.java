@@ -0,0 +1,44 @@
+package core.ms.loadtest;
+
+import java.util.Random;
+
+/**
+ * How a symbol's reference price moves between generated orders.
+ * Steps are in ticks; the caller keeps the price positive.
+ */
+public enum PriceWalkModel {
+    // Unbiased Gaussian steps
+    RANDOM_WALK {
+        @Override
+        double next(double current, double start, double volatility, Random random) {
+            return current + random.nextGaussian() * volatility;
+        }
+    },
+    // Pulled back towards the starting price (discrete Ornstein-Uhlenbeck)
+    MEAN_REVERTING {
+        @Override
+        double next(double current, double start, double volatility, Random random) {
+            return current + 0.05 * (start - current) + random.nextGaussian() * volatility;
+        }
+    },
+    // Steady upward drift plus noise, so the book keeps moving through new levels
+    TRENDING {
+        @Override
+        double next(double current, double start, double volatility, Random random) {
+            return current + 0.1 * volatility + random.nextGaussian() * volatility;
+        }
+    };
+
+    abstract double next(double current, double start, double volatility, Random random);
+
+    public static PriceWalkModel fromProperty(String value) {
+        if (value == null || value.isBlank()) {
+            return RANDOM_WALK;
+        }
+        try {
+            return valueOf(value.trim().toUpperCase().replace('-', '_'));
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Unknown price walk model: " + value);
+        }
+    }
+}
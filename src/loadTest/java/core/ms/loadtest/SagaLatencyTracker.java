@@ -0,0 +1,196 @@
+package core.ms.loadtest;
+
+import core.ms.order.domain.events.publish.OrderCreatedEvent;
+import core.ms.order.domain.events.publish.TransactionCreatedEvent;
+import core.ms.order_book.domain.events.publish.OrderMatchedEvent;
+import core.ms.portfolio.domain.events.publish.OrderRequestedEvent;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Follows load test orders through the saga by listening to the events each stage publishes.
+ *
+ * The client thread binds its trace before calling the portfolio service; the portfolio
+ * publishes OrderRequestedEvent synchronously on that thread, which links the trace to the
+ * reservation id. From there the trace is found by reservation id, then by order id.
+ * Orders placed outside the load test have no trace and are ignored.
+ */
+@Component
+@ConditionalOnProperty(name = "loadtest.enabled", havingValue = "true")
+public class SagaLatencyTracker {
+
+    static final String QUEUE_DELAY = "queueDelay";
+    static final String RESERVATION = "reservation";
+    static final String ORDER_CREATION = "orderCreation";
+    static final String BOOK_AND_MATCH = "bookAndMatch";
+    static final String TRANSACTION = "transaction";
+    static final String SETTLEMENT = "settlement";
+    static final String END_TO_END = "endToEnd";
+
+    private static final List<String> STAGES = List.of(
+            QUEUE_DELAY, RESERVATION, ORDER_CREATION, BOOK_AND_MATCH, TRANSACTION, SETTLEMENT, END_TO_END);
+
+    private final ThreadLocal<Trace> currentTrace = new ThreadLocal<>();
+    private final Map<String, Trace> tracesByReservation = new ConcurrentHashMap<>();
+    private final Map<String, Trace> tracesByOrderId = new ConcurrentHashMap<>();
+    private final Map<String, LatencyRecorder> recorders = new LinkedHashMap<>();
+
+    private final AtomicLong transactions = new AtomicLong();
+    private final AtomicLong settledOrders = new AtomicLong();
+
+    public SagaLatencyTracker() {
+        STAGES.forEach(stage -> recorders.put(stage, new LatencyRecorder(stage)));
+    }
+
+    // ============ CLIENT SIDE ============
+
+    /**
+     * Binds a trace to the calling thread for the duration of one place call.
+     */
+    Trace begin(long intendedNanos) {
+        Trace trace = new Trace(intendedNanos, System.nanoTime());
+        record(QUEUE_DELAY, trace.sent - trace.intended);
+        currentTrace.set(trace);
+        return trace;
+    }
+
+    void end() {
+        currentTrace.remove();
+    }
+
+    // ============ SAGA EVENTS ============
+
+    @EventListener
+    public void onOrderRequested(OrderRequestedEvent event) {
+        Trace trace = currentTrace.get();
+        if (trace == null || !trace.mark(Stage.REQUESTED)) {
+            return;
+        }
+        tracesByReservation.put(event.getReservationId(), trace);
+        record(RESERVATION, trace.requested - trace.sent);
+    }
+
+    @EventListener
+    public void onOrderCreated(OrderCreatedEvent event) {
+        Trace trace = tracesByReservation.remove(event.getReservationId());
+        if (trace == null || !trace.mark(Stage.CREATED)) {
+            return;
+        }
+        tracesByOrderId.put(event.getOrderId(), trace);
+        record(ORDER_CREATION, trace.created - trace.requested);
+    }
+
+    @EventListener
+    public void onOrderMatched(OrderMatchedEvent event) {
+        markMatched(event.getBuyOrderId());
+        markMatched(event.getSellOrderId());
+    }
+
+    @EventListener
+    public void onTransactionCreated(TransactionCreatedEvent event) {
+        transactions.incrementAndGet();
+        markTransaction(event.getBuyOrderId());
+        markTransaction(event.getSellOrderId());
+    }
+
+    /**
+     * Portfolio settlement runs synchronously inside the transaction that publishes the
+     * event, so its commit marks the end of the saga for both orders.
+     */
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onTransactionCommitted(TransactionCreatedEvent event) {
+        markSettled(event.getBuyOrderId());
+        markSettled(event.getSellOrderId());
+    }
+
+    private void markMatched(String orderId) {
+        Trace trace = tracesByOrderId.get(orderId);
+        if (trace != null && trace.mark(Stage.MATCHED)) {
+            record(BOOK_AND_MATCH, trace.matched - trace.created);
+        }
+    }
+
+    private void markTransaction(String orderId) {
+        Trace trace = tracesByOrderId.get(orderId);
+        // The order book handler is async, so the match may not have been seen yet. Such an
+        // order still counts as transacted, but has no match time to measure the stage from.
+        if (trace != null && trace.mark(Stage.TRANSACTED) && trace.matched != 0) {
+            record(TRANSACTION, trace.transacted - trace.matched);
+        }
+    }
+
+    private void markSettled(String orderId) {
+        Trace trace = tracesByOrderId.get(orderId);
+        if (trace != null && trace.transacted != 0 && trace.mark(Stage.SETTLED)) {
+            record(SETTLEMENT, trace.settled - trace.transacted);
+            record(END_TO_END, trace.settled - trace.intended);
+            settledOrders.incrementAndGet();
+            tracesByOrderId.remove(orderId);
+        }
+    }
+
+    private void record(String stage, long nanos) {
+        recorders.get(stage).record(nanos);
+    }
+
+    // ============ RESULTS ============
+
+    public List<LatencyRecorder.Summary> summarize() {
+        return recorders.values().stream().map(LatencyRecorder::summarize).toList();
+    }
+
+    public long getTransactionCount() {
+        return transactions.get();
+    }
+
+    public long getSettledOrderCount() {
+        return settledOrders.get();
+    }
+
+    public int getOpenTraceCount() {
+        return tracesByReservation.size() + tracesByOrderId.size();
+    }
+
+    // ============ TRACE ============
+
+    private enum Stage { REQUESTED, CREATED, MATCHED, TRANSACTED, SETTLED }
+
+    /**
+     * Timestamps of one order. Each stage is marked once, on the first event that reaches it.
+     */
+    static final class Trace {
+        private final long intended;
+        private final long sent;
+        private volatile long requested;
+        private volatile long created;
+        private volatile long matched;
+        private volatile long transacted;
+        private volatile long settled;
+
+        private Trace(long intended, long sent) {
+            this.intended = intended;
+            this.sent = sent;
+        }
+
+        private synchronized boolean mark(Stage stage) {
+            long now = System.nanoTime();
+            switch (stage) {
+                case REQUESTED -> { if (requested != 0) return false; requested = now; }
+                case CREATED -> { if (created != 0) return false; created = now; }
+                case MATCHED -> { if (matched != 0) return false; matched = now; }
+                case TRANSACTED -> { if (transacted != 0) return false; transacted = now; }
+                case SETTLED -> { if (settled != 0) return false; settled = now; }
+            }
+            return true;
+        }
+    }
+}
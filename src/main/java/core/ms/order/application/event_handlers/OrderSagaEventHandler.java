@@ -1,7 +1,10 @@
 package core.ms.order.application.event_handlers;
 
+import core.ms.order.application.services.MatchSettlementBatcher;
 import core.ms.order.application.services.OrderSagaService;
 import core.ms.order_book.domain.events.publish.OrderMatchedEvent;
+import core.ms.portfolio.domain.events.publish.OrderAmendRequestedEvent;
+import core.ms.portfolio.domain.events.publish.OrderBatchRequestedEvent;
 import core.ms.portfolio.domain.events.publish.OrderRequestedEvent;
 import core.ms.shared.events.CorrelationAwareEventListener;
 import org.slf4j.Logger;
@@ -10,6 +13,10 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.context.event.EventListener;
 import org.springframework.stereotype.Component;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.List;
 
 @Component
 public class OrderSagaEventHandler extends CorrelationAwareEventListener {
@@ -19,6 +26,9 @@ public class OrderSagaEventHandler extends CorrelationAwareEventListener {
     @Autowired
     private OrderSagaService orderSagaService;
 
+    @Autowired
+    private MatchSettlementBatcher settlementBatcher;
+
     /**
      * Handles OrderRequestedEvent from Portfolio BC.
      */
@@ -82,6 +92,63 @@ public class OrderSagaEventHandler extends CorrelationAwareEventListener {
         });
     }
 
+    /**
+     * Handles OrderBatchRequestedEvent from Portfolio BC: all orders in one transaction.
+     */
+    @EventListener
+    public void handleOrderBatchRequested(OrderBatchRequestedEvent event) {
+        logger.info("🎯 ORDER BC: RECEIVED OrderBatchRequestedEvent - Portfolio: {}, Orders: {}",
+                event.getPortfolioId(), event.getOrders().size());
+
+        handleEvent(event, () -> {
+            List<core.ms.order.domain.events.subscribe.OrderRequestedEvent> internalEvents =
+                    event.getOrders().stream()
+                            .map(order -> new core.ms.order.domain.events.subscribe.OrderRequestedEvent(
+                                    order.getCorrelationId(),
+                                    order.getSourceBC(),
+                                    order.getReservationId(),
+                                    order.getPortfolioId(),
+                                    order.getOrderType().name(),
+                                    order.getSymbol().getCode(),
+                                    order.getPrice().getAmount(),
+                                    order.getPrice().getCurrency(),
+                                    order.getQuantity()
+                            ))
+                            .toList();
+
+            // Rejections are published per order inside the batch
+            orderSagaService.processOrderBatch(event.getCorrelationId(), event.getPortfolioId(), internalEvents);
+
+            logger.info("✅ ORDER BC: Processed order batch for portfolio: {}", event.getPortfolioId());
+        });
+    }
+
+    /**
+     * Handles OrderAmendRequestedEvent from Portfolio BC once the resized reservation has
+     * committed, so a rejected amendment can restore it. Failures are answered with an event.
+     */
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void handleOrderAmendRequested(OrderAmendRequestedEvent event) {
+        logger.info("🎯 ORDER BC: RECEIVED OrderAmendRequestedEvent - Order: {}, Price: {}, Quantity: {}",
+                event.getOrderId(), event.getNewPrice().toDisplayString(), event.getNewQuantity());
+
+        handleEvent(event, () -> {
+            core.ms.order.domain.events.subscribe.OrderAmendRequestedEvent internalEvent =
+                    new core.ms.order.domain.events.subscribe.OrderAmendRequestedEvent(
+                            event.getCorrelationId(),
+                            event.getSourceBC(),
+                            event.getOrderId(),
+                            event.getPortfolioId(),
+                            event.getNewPrice().getAmount(),
+                            event.getNewPrice().getCurrency(),
+                            event.getNewQuantity()
+                    );
+
+            // Stored first, then put into the book, so the book never fills on terms that roll back
+            orderSagaService.processOrderAmend(internalEvent).ifPresent(orderSagaService::applyOrderAmend);
+        });
+    }
+
     /**
      * Handles OrderMatchedEvent from OrderBook BC.
      * Creates a transaction and updates both orders.
@@ -105,43 +172,49 @@ public class OrderSagaEventHandler extends CorrelationAwareEventListener {
         logger.info("════════════════════════════════════════════════════════════════");
 
         handleEvent(event, () -> {
+            // Convert to internal event format if needed
+            core.ms.order.domain.events.subscribe.OrderMatchedEvent internalEvent =
+                    new core.ms.order.domain.events.subscribe.OrderMatchedEvent(
+                            event.getCorrelationId(),
+                            event.getSourceBC(),
+                            event.getMatchId(),
+                            event.getSymbol().getCode(),
+                            event.getBuyOrderId(),
+                            event.getSellOrderId(),
+                            event.getMatchedQuantity(),
+                            event.getExecutionPrice().getAmount(),
+                            event.getExecutionPrice().getCurrency()
+                    );
+
             try {
                 logger.info("🔄 ORDER BC: Starting transaction creation process");
 
-                // Convert to internal event format if needed
-                core.ms.order.domain.events.subscribe.OrderMatchedEvent internalEvent =
-                        new core.ms.order.domain.events.subscribe.OrderMatchedEvent(
-                                event.getCorrelationId(),
-                                event.getSourceBC(),
-                                event.getBuyOrderId(),
-                                event.getSellOrderId(),
-                                event.getMatchedQuantity(),
-                                event.getExecutionPrice().getAmount(),
-                                event.getExecutionPrice().getCurrency()
-                        );
+                if (settlementBatcher.isEnabled()) {
+                    settlementBatcher.submit(internalEvent);
+                    logger.info("📦 ORDER BC: Match queued for batched settlement");
+                    return;
+                }
 
-                // Process the matched orders
-                logger.info("📦 ORDER BC: Calling OrderSagaService.processOrderMatch");
-                orderSagaService.processOrderMatch(internalEvent);
+                // Process the matched orders, settling again on version conflicts
+                logger.info("📦 ORDER BC: Settling order match");
+                settlementBatcher.settleMatch(internalEvent);
 
                 logger.info("✅ ORDER BC: Successfully processed order match");
                 logger.info("   - Transaction created for Buy: {}, Sell: {}",
                         event.getBuyOrderId(), event.getSellOrderId());
 
+            } catch (OrderSagaService.TransactionCreationException e) {
+                // The saga has already published TransactionCreationFailedEvent for this match.
+                // Not rethrown: the match was handled, and the book would otherwise publish it again
+                logger.error("❌ ORDER BC: Failed to settle order match", e);
             } catch (Exception e) {
                 logger.error("❌ ORDER BC: Failed to process order match", e);
                 logger.error("   - Buy Order: {}", event.getBuyOrderId());
                 logger.error("   - Sell Order: {}", event.getSellOrderId());
                 logger.error("   - Error: {}", e.getMessage());
 
-                orderSagaService.publishTransactionCreationFailed(
-                        event.getCorrelationId(),
-                        event.getBuyOrderId(),
-                        event.getSellOrderId(),
-                        e.getMessage()
-                );
-
-                throw new RuntimeException("Transaction creation failed", e);
+                // Answered with the failure event rather than rethrown, like a failed settlement
+                orderSagaService.publishTransactionCreationFailed(internalEvent, e.getMessage());
             }
         });
     }
@@ -0,0 +1,222 @@
+package core.ms.order.application.services;
+
+import core.ms.order.domain.events.subscribe.OrderMatchedEvent;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Collects matches for settlement and hands them to {@link OrderSagaService} in micro-batches.
+ *
+ * One thread drains a bounded queue: a batch closes when it reaches max-size or when
+ * max-wait-ms has passed since its first match, so a quiet market still settles promptly.
+ * Matches are settled in arrival order. A batch that fails has rolled back before publishing
+ * anything, so it is retried match by match on the single-match path and one bad match cannot
+ * hold back the others; settlement skips any match it has already committed.
+ * A version conflict means another writer changed an order first, so the single-match path
+ * settles the match again, up to conflict.max-attempts times, before reporting it as failed.
+ * A full queue makes the publisher wait, pushing back on the match output of the books.
+ * At shutdown the queue stops taking matches and the thread settles what is left.
+ */
+@Component
+public class MatchSettlementBatcher {
+
+    private static final Logger logger = LoggerFactory.getLogger(MatchSettlementBatcher.class);
+
+    @Value("${order.settlement.batch.enabled:false}")
+    private boolean enabled;
+
+    @Value("${order.settlement.batch.max-size:128}")
+    private int maxSize;
+
+    @Value("${order.settlement.batch.max-wait-ms:5}")
+    private long maxWaitMs;
+
+    @Value("${order.settlement.batch.queue-capacity:8192}")
+    private int queueCapacity;
+
+    @Value("${order.settlement.batch.shutdown-timeout-ms:10000}")
+    private long shutdownTimeoutMs;
+
+    @Value("${order.settlement.conflict.max-attempts:3}")
+    private int conflictMaxAttempts;
+
+    @Value("${order.settlement.conflict.backoff-ms:10}")
+    private long conflictBackoffMs;
+
+    @Autowired
+    private OrderSagaService orderSagaService;
+
+    private BlockingQueue<OrderMatchedEvent> queue;
+    private Thread thread;
+    private volatile boolean running;
+
+    @PostConstruct
+    public void start() {
+        if (!enabled) {
+            return;
+        }
+        queue = new ArrayBlockingQueue<>(queueCapacity);
+        running = true;
+        thread = new Thread(this::run, "order-settlement");
+        thread.setDaemon(true);
+        thread.start();
+        logger.info("🧾 Batched settlement started - max {} matches or {} ms per batch", maxSize, maxWaitMs);
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Queues a match for settlement, waiting while the queue is full.
+     */
+    public void submit(OrderMatchedEvent event) {
+        if (!running) {
+            throw new IllegalStateException("Settlement is shutting down");
+        }
+        try {
+            queue.put(event);
+            // Stopped meanwhile: the thread may already have drained the queue for the last time
+            if (!running && queue.remove(event)) {
+                throw new IllegalStateException("Settlement is shutting down");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while queueing match for settlement", e);
+        }
+    }
+
+    /**
+     * Settles one match in its own transaction, retrying version conflicts with a growing pause.
+     * Once the attempts run out the match is reported with TransactionCreationFailedEvent, so
+     * the book gets its quantity back, and TransactionCreationException is thrown.
+     */
+    public void settleMatch(OrderMatchedEvent event) {
+        for (int attempt = 1; ; attempt++) {
+            try {
+                orderSagaService.processOrderMatch(event);
+                return;
+            } catch (OptimisticLockingFailureException e) {
+                if (attempt >= conflictMaxAttempts) {
+                    logger.error("❌ Match Buy: {}, Sell: {} still conflicting after {} attempts",
+                            event.getBuyOrderId(), event.getSellOrderId(), attempt);
+                    orderSagaService.publishTransactionCreationFailed(event, "Version conflict: " + e.getMessage());
+                    throw new OrderSagaService.TransactionCreationException("Version conflict persisted", e);
+                }
+                logger.warn("🔁 Version conflict settling match Buy: {}, Sell: {} - retrying ({}/{})",
+                        event.getBuyOrderId(), event.getSellOrderId(), attempt, conflictMaxAttempts);
+                pause(conflictBackoffMs * attempt);
+            }
+        }
+    }
+
+    private static void pause(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while retrying settlement", e);
+        }
+    }
+
+    public int getPendingCount() {
+        return queue == null ? 0 : queue.size();
+    }
+
+    /**
+     * Stops taking matches and waits for the queued ones to settle, up to shutdown-timeout-ms.
+     */
+    @PreDestroy
+    public void shutdown() {
+        running = false;
+        if (thread == null) {
+            return;
+        }
+        try {
+            thread.join(shutdownTimeoutMs);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        if (thread.isAlive()) {
+            logger.error("❌ Settlement did not finish within {} ms - {} queued matches left unsettled",
+                    shutdownTimeoutMs, queue.size());
+            thread.interrupt();
+        } else {
+            logger.info("🧾 Batched settlement stopped");
+        }
+    }
+
+    private void run() {
+        List<OrderMatchedEvent> batch = new ArrayList<>(maxSize);
+        while (running || !queue.isEmpty()) {
+            try {
+                OrderMatchedEvent first = queue.poll(100, TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    continue;
+                }
+                batch.add(first);
+
+                long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(maxWaitMs);
+                while (batch.size() < maxSize) {
+                    // Take whatever is already queued, then wait out the window for more
+                    if (queue.drainTo(batch, maxSize - batch.size()) > 0) {
+                        continue;
+                    }
+                    long remaining = deadline - System.nanoTime();
+                    if (remaining <= 0) {
+                        break;
+                    }
+                    OrderMatchedEvent next = queue.poll(remaining, TimeUnit.NANOSECONDS);
+                    if (next == null) {
+                        break;
+                    }
+                    batch.add(next);
+                }
+            } catch (InterruptedException e) {
+                if (running) {
+                    continue;
+                }
+                // Settle whatever was accepted before the stop
+                queue.drainTo(batch);
+            }
+
+            if (!batch.isEmpty()) {
+                settle(batch);
+                batch.clear();
+            }
+        }
+    }
+
+    private void settle(List<OrderMatchedEvent> batch) {
+        long startedAt = System.nanoTime();
+        try {
+            int settled = orderSagaService.processOrderMatchBatch(new ArrayList<>(batch));
+            logger.info("🧾 Settled {} of {} matches in {} µs", settled, batch.size(),
+                    TimeUnit.NANOSECONDS.toMicros(System.nanoTime() - startedAt));
+        } catch (Exception e) {
+            // The batch rolled back before publishing, so each match is settled afresh
+            logger.warn("⚠️ Batch of {} matches failed ({}), settling one by one", batch.size(), e.getMessage());
+            for (OrderMatchedEvent event : batch) {
+                try {
+                    settleMatch(event);
+                } catch (Exception matchFailure) {
+                    // TransactionCreationFailedEvent has already been published for the match
+                    logger.error("💥 Failed to settle match Buy: {}, Sell: {}",
+                            event.getBuyOrderId(), event.getSellOrderId(), matchFailure);
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,161 @@
+package core.ms.order.application.services;
+
+import core.ms.order.domain.entities.IOrder;
+import core.ms.order.domain.ports.outbound.OrderRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Bounded cache of active order aggregates for {@link OrderSagaService}.
+ *
+ * Settling a match reads both orders from here instead of reloading and re-mapping them, and
+ * writes them straight through with a version check. Orders are only taken out under the
+ * saga's order lock, and that lock is held until the transaction completes. When the
+ * transaction ends, the orders it took out are dropped if it did not commit, and also once
+ * they are terminal. The least recently used entry goes when max-entries is reached.
+ */
+@Component
+public class OrderAggregateCache {
+
+    private static final Logger logger = LoggerFactory.getLogger(OrderAggregateCache.class);
+
+    @Value("${order.cache.enabled:true}")
+    private boolean enabled;
+
+    @Value("${order.cache.max-entries:10000}")
+    private int maxEntries;
+
+    @Autowired
+    private OrderRepository orderRepository;
+
+    // Access-ordered for LRU eviction; guarded by itself
+    private final Map<String, IOrder> entries = new LinkedHashMap<>(256, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, IOrder> eldest) {
+            return size() > maxEntries;
+        }
+    };
+
+    /**
+     * Returns the order for a change in the current transaction, loading it on a miss.
+     */
+    public Optional<IOrder> getForUpdate(String orderId) {
+        return Optional.ofNullable(getAllForUpdate(List.of(orderId)).get(orderId));
+    }
+
+    /**
+     * Returns the orders for a change in the current transaction; misses are loaded in one
+     * query and orders that do not exist are left out.
+     */
+    public Map<String, IOrder> getAllForUpdate(Collection<String> orderIds) {
+        Map<String, IOrder> orders = new HashMap<>();
+        List<String> missing = new ArrayList<>();
+
+        if (isTracking()) {
+            synchronized (entries) {
+                for (String orderId : orderIds) {
+                    IOrder cached = entries.get(orderId);
+                    if (cached != null) {
+                        orders.put(orderId, cached);
+                    } else {
+                        missing.add(orderId);
+                    }
+                }
+            }
+        } else {
+            missing.addAll(orderIds);
+        }
+
+        if (!missing.isEmpty()) {
+            List<IOrder> loaded = orderRepository.findAllById(missing);
+            for (IOrder order : loaded) {
+                orders.put(order.getId(), order);
+            }
+            cache(loaded);
+        }
+
+        if (isTracking()) {
+            dropUnlessCommitted(orders.values());
+        }
+        return orders;
+    }
+
+    /**
+     * Caches orders created in the current transaction, as they were persisted.
+     */
+    public void addAll(Collection<? extends IOrder> orders) {
+        if (!isTracking()) {
+            return;
+        }
+        cache(orders);
+        dropUnlessCommitted(orders);
+    }
+
+    public void evict(String orderId) {
+        synchronized (entries) {
+            entries.remove(orderId);
+        }
+    }
+
+    public int size() {
+        synchronized (entries) {
+            return entries.size();
+        }
+    }
+
+    private void cache(Collection<? extends IOrder> orders) {
+        if (!isTracking()) {
+            return;
+        }
+        synchronized (entries) {
+            for (IOrder order : orders) {
+                if (order.isActive()) {
+                    entries.put(order.getId(), order);
+                }
+            }
+        }
+    }
+
+    /**
+     * Rolled-back changes may already sit on the cached objects, so those orders are dropped
+     * and reloaded next time; committed orders stay cached until they are terminal.
+     */
+    private void dropUnlessCommitted(Collection<? extends IOrder> orders) {
+        List<IOrder> tracked = new ArrayList<>(orders);
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                int dropped = 0;
+                synchronized (entries) {
+                    for (IOrder order : tracked) {
+                        if ((status != STATUS_COMMITTED || !order.isActive())
+                                && entries.remove(order.getId(), order)) {
+                            dropped++;
+                        }
+                    }
+                }
+                if (status != STATUS_COMMITTED && dropped > 0) {
+                    logger.debug("🗑️ Dropped {} cached orders after rollback", dropped);
+                }
+            }
+        });
+    }
+
+    // Without a transaction there is no outcome to evict on, so nothing is cached
+    private boolean isTracking() {
+        return enabled && TransactionSynchronizationManager.isSynchronizationActive();
+    }
+}
@@ -1,17 +1,23 @@
 package core.ms.order.application.services;
 
 import core.ms.order.domain.entities.*;
+import core.ms.order.domain.events.publish.OrderAmendFailedEvent;
+import core.ms.order.domain.events.publish.OrderAmendedEvent;
+import core.ms.order.domain.events.publish.OrderBatchCreatedEvent;
 import core.ms.order.domain.events.publish.OrderCreatedEvent;
 import core.ms.order.domain.events.publish.OrderCreationFailedEvent;
 import core.ms.order.domain.events.publish.TransactionCreatedEvent;
 import core.ms.order.domain.events.publish.TransactionCreationFailedEvent;
+import core.ms.order.domain.events.subscribe.OrderAmendRequestedEvent;
 import core.ms.order.domain.events.subscribe.OrderMatchedEvent;
 import core.ms.order.domain.events.subscribe.OrderRequestedEvent;
 import core.ms.order.domain.factories.OrderFactory;
 import core.ms.order.domain.factories.TransactionFactory;
+import core.ms.order.domain.ports.outbound.OrderBookAdapter;
 import core.ms.order.domain.ports.outbound.OrderRepository;
 import core.ms.order.domain.ports.outbound.TransactionRepository;
 import core.ms.shared.OrderType;
+import core.ms.shared.events.DomainEvent;
 import core.ms.shared.events.EventBus;
 import core.ms.shared.events.EventContext;
 import core.ms.shared.money.Money;
@@ -19,6 +25,7 @@ import core.ms.shared.money.Symbol;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.dao.OptimisticLockingFailureException;
 import org.springframework.retry.annotation.Backoff;
 import org.springframework.retry.annotation.Retryable;
@@ -26,11 +33,19 @@ import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Isolation;
 import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
-import jakarta.persistence.LockModeType;
 import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
+import java.util.TreeSet;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.locks.Lock;
@@ -49,6 +64,17 @@ public class OrderSagaService {
     // Idempotency tracking for order creation
     private final Map<String, String> reservationToOrderMap = new ConcurrentHashMap<>();
 
+    @Value("${order.settlement.settled-match-memory:100000}")
+    private int settledMatchMemory;
+
+    // Idempotency tracking for settlement: ids of committed matches, oldest forgotten first; guarded by itself
+    private final Map<String, Boolean> settledMatches = new LinkedHashMap<>() {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, Boolean> eldest) {
+            return size() > settledMatchMemory;
+        }
+    };
+
     @Autowired
     private OrderRepository orderRepository;
 
@@ -58,6 +84,12 @@ public class OrderSagaService {
     @Autowired
     private EventBus eventBus;
 
+    @Autowired
+    private OrderAggregateCache orderCache;
+
+    @Autowired
+    private OrderBookAdapter orderBookAdapter;
+
     /**
      * Processes order request with idempotency and thread safety.
      * Uses REQUIRES_NEW to isolate from calling transaction.
@@ -116,6 +148,7 @@ public class OrderSagaService {
             // Save order with immediate flush
             IOrder savedOrder = orderRepository.save(order);
             orderRepository.flush(); // Force immediate DB write
+            orderCache.addAll(List.of(savedOrder));
 
             // Track idempotency after successful save
             reservationToOrderMap.put(reservationId, savedOrder.getId());
@@ -145,17 +178,86 @@ public class OrderSagaService {
     }
 
     /**
-     * Processes order match with pessimistic locking to prevent race conditions.
+     * Creates the orders of one portfolio batch in a single transaction.
+     * Invalid or duplicate requests are answered one by one; the valid orders are inserted
+     * together with one flush and announced in one OrderBatchCreatedEvent.
+     */
+    @Transactional(propagation = Propagation.REQUIRES_NEW,
+            isolation = Isolation.READ_COMMITTED,
+            timeout = 30)
+    public List<IOrder> processOrderBatch(String batchCorrelationId, String portfolioId,
+                                          List<OrderRequestedEvent> events) {
+        logger.info("🚀 [SAGA: {}] BEGIN processOrderBatch - Portfolio: {}, Orders: {}",
+                batchCorrelationId, portfolioId, events.size());
+
+        List<IOrder> orders = new ArrayList<>(events.size());
+        List<OrderRequestedEvent> accepted = new ArrayList<>(events.size());
+
+        for (OrderRequestedEvent event : events) {
+            if (reservationToOrderMap.containsKey(event.getReservationId())) {
+                logger.warn("⚠️ [SAGA: {}] Duplicate order request for reservation: {}, skipping",
+                        event.getCorrelationId(), event.getReservationId());
+                continue;
+            }
+
+            try {
+                validateOrderRequest(event);
+                Symbol symbol = Symbol.createFromCode(event.getSymbolCode());
+                Money price = Money.of(event.getPrice(), event.getCurrency());
+                orders.add(createOrder(event, symbol, price));
+                accepted.add(event);
+            } catch (Exception e) {
+                logger.warn("❌ [SAGA: {}] Rejected order for reservation: {} - {}",
+                        event.getCorrelationId(), event.getReservationId(), e.getMessage());
+                publishOrderCreationFailed(event.getCorrelationId(), event.getReservationId(),
+                        event.getPortfolioId(), e.getMessage());
+            }
+        }
+
+        if (orders.isEmpty()) {
+            return orders;
+        }
+
+        try {
+            orderRepository.insertAll(orders);
+            orderRepository.flush();
+            orderCache.addAll(orders);
+        } catch (Exception e) {
+            logger.error("💥 [SAGA: {}] FAILED processOrderBatch - Error: {}",
+                    batchCorrelationId, e.getMessage(), e);
+
+            for (OrderRequestedEvent event : accepted) {
+                publishOrderCreationFailed(event.getCorrelationId(), event.getReservationId(),
+                        event.getPortfolioId(), e.getMessage());
+            }
+            throw new OrderCreationException(
+                    "Failed to create order batch for portfolio: " + portfolioId, e);
+        }
+
+        for (IOrder order : orders) {
+            reservationToOrderMap.put(order.getReservationId(), order.getId());
+        }
+
+        List<OrderCreatedEvent> created = new ArrayList<>(orders.size());
+        for (int i = 0; i < orders.size(); i++) {
+            created.add(orderCreatedEvent(accepted.get(i).getCorrelationId(), orders.get(i)));
+        }
+        eventBus.publish(new OrderBatchCreatedEvent(batchCorrelationId, portfolioId, created));
+        logger.info("🎉 [SAGA: {}] COMPLETED processOrderBatch - {} orders persisted",
+                batchCorrelationId, orders.size());
+        return orders;
+    }
+
+    /**
+     * Processes order match under both order locks, held until the transaction completes.
+     * Orders come from the aggregate cache and are written back with a version check.
+     * A version conflict is not a failed fill: it is rethrown as is, with nothing published,
+     * for the caller to settle the match again (see {@link MatchSettlementBatcher#settleMatch}).
      * Critical section for transaction creation.
      */
     @Transactional(propagation = Propagation.REQUIRES_NEW,
-            isolation = Isolation.SERIALIZABLE,
+            isolation = Isolation.READ_COMMITTED,
             timeout = 15)
-    @Retryable(
-            value = {OptimisticLockingFailureException.class},
-            maxAttempts = MAX_RETRY_ATTEMPTS,
-            backoff = @Backoff(delay = 200, multiplier = 2)
-    )
     public void processOrderMatch(OrderMatchedEvent event) {
         String correlationId = event.getCorrelationId();
         String buyOrderId = event.getBuyOrderId();
@@ -168,56 +270,360 @@ public class OrderSagaService {
         String firstLockId = buyOrderId.compareTo(sellOrderId) < 0 ? buyOrderId : sellOrderId;
         String secondLockId = firstLockId.equals(buyOrderId) ? sellOrderId : buyOrderId;
 
-        Lock firstLock = getOrderLock(firstLockId);
-        Lock secondLock = getOrderLock(secondLockId);
-
+        List<Lock> heldLocks = new ArrayList<>(2);
         try {
             // Try to acquire both locks with timeout
-            if (!firstLock.tryLock(LOCK_TIMEOUT_SECONDS, TimeUnit.SECONDS)) {
-                throw new LockAcquisitionException("Failed to acquire lock for order: " + firstLockId);
-            }
-
-            try {
-                if (!secondLock.tryLock(LOCK_TIMEOUT_SECONDS, TimeUnit.SECONDS)) {
-                    throw new LockAcquisitionException("Failed to acquire lock for order: " + secondLockId);
+            for (String lockId : List.of(firstLockId, secondLockId)) {
+                Lock lock = getOrderLock(lockId);
+                if (!lock.tryLock(LOCK_TIMEOUT_SECONDS, TimeUnit.SECONDS)) {
+                    throw new LockAcquisitionException("Failed to acquire lock for order: " + lockId);
                 }
+                heldLocks.add(lock);
+            }
 
-                try {
-                    logger.info("🔒 Acquired locks for both orders");
-
-                    // Propagate correlation
-                    EventContext.setCorrelationId(correlationId);
-
-                    // Process the match with locks held
-                    processMatchWithLocks(event);
+            logger.info("🔒 Acquired locks for both orders");
 
-                } finally {
-                    secondLock.unlock();
-                }
-            } finally {
-                firstLock.unlock();
-            }
+            // Propagate correlation
+            EventContext.setCorrelationId(correlationId);
 
-            logger.info("🔓 Released locks for both orders");
+            // Process the match with locks held
+            processMatchWithLocks(event);
 
         } catch (InterruptedException e) {
             Thread.currentThread().interrupt();
             logger.error("⚠️ Interrupted while acquiring locks", e);
+            publishTransactionCreationFailed(event, "Interrupted during order match processing");
             throw new TransactionCreationException(
                     "Interrupted during order match processing", e);
+        } catch (OptimisticLockingFailureException e) {
+            // Another writer changed an order first; the retry must read it afresh
+            logger.warn("⚠️ [SAGA: {}] Version conflict settling match - Buy: {}, Sell: {}",
+                    correlationId, buyOrderId, sellOrderId);
+            orderCache.evict(buyOrderId);
+            orderCache.evict(sellOrderId);
+            throw e;
         } catch (Exception e) {
             logger.error("💥 [SAGA: {}] FAILED processOrderMatch", correlationId, e);
 
             // Publish failure event
-            publishTransactionCreationFailed(correlationId, buyOrderId, sellOrderId, e.getMessage());
+            publishTransactionCreationFailed(event, e.getMessage());
 
             throw new TransactionCreationException(
                     "Failed to process order match", e);
         } finally {
+            releaseAfterCompletion(heldLocks);
+            EventContext.clear();
+        }
+    }
+
+    /**
+     * Settles a micro-batch of matches in one transaction.
+     *
+     * Every order involved is locked once, in id order, and taken from the aggregate cache;
+     * the matches are applied in the order the books produced them.
+     * Transactions are inserted and orders updated with a single flush. The resulting
+     * TransactionCreatedEvents, and a TransactionCreationFailedEvent for every match that could
+     * not be settled, go out together once the batch has committed. Any failure rolls back the
+     * whole batch before anything is published, so it can safely be settled again.
+     * Matches already settled are skipped.
+     *
+     * @return the number of transactions created
+     */
+    @Transactional(propagation = Propagation.REQUIRES_NEW,
+            isolation = Isolation.READ_COMMITTED,
+            timeout = 30)
+    public int processOrderMatchBatch(List<OrderMatchedEvent> events) {
+        if (events.isEmpty()) {
+            return 0;
+        }
+
+        TreeSet<String> orderIds = new TreeSet<>();
+        for (OrderMatchedEvent event : events) {
+            orderIds.add(event.getBuyOrderId());
+            orderIds.add(event.getSellOrderId());
+        }
+
+        logger.info("🚀 BEGIN processOrderMatchBatch - Matches: {}, Orders: {}", events.size(), orderIds.size());
+
+        List<Lock> heldLocks = new ArrayList<>(orderIds.size());
+        try {
+            for (String orderId : orderIds) {
+                Lock lock = getOrderLock(orderId);
+                if (!lock.tryLock(LOCK_TIMEOUT_SECONDS, TimeUnit.SECONDS)) {
+                    throw new LockAcquisitionException("Failed to acquire lock for order: " + orderId);
+                }
+                heldLocks.add(lock);
+            }
+
+            return settleBatchWithLocks(events, orderIds);
+
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new TransactionCreationException("Interrupted during batch settlement", e);
+        } finally {
+            releaseAfterCompletion(heldLocks);
+            EventContext.clear();
+        }
+    }
+
+    /**
+     * Applies a batch of matches with all order locks already held.
+     */
+    private int settleBatchWithLocks(List<OrderMatchedEvent> events, Collection<String> orderIds) {
+        Map<String, IOrder> orders = orderCache.getAllForUpdate(orderIds);
+
+        List<Transaction> transactions = new ArrayList<>(events.size());
+        List<DomainEvent> outcomes = new ArrayList<>(events.size());
+        List<String> settledMatchIds = new ArrayList<>(events.size());
+        Set<String> batchMatchIds = new HashSet<>();
+        Map<String, IOrder> changedOrders = new LinkedHashMap<>();
+
+        for (OrderMatchedEvent event : events) {
+            String matchId = event.getMatchId();
+            if (matchId != null && (isSettled(matchId) || !batchMatchIds.add(matchId))) {
+                logger.info("⏭️ Match {} already settled, skipping", matchId);
+                continue;
+            }
+
+            if (!(orders.get(event.getBuyOrderId()) instanceof IBuyOrder buyOrder)
+                    || !(orders.get(event.getSellOrderId()) instanceof ISellOrder sellOrder)) {
+                logger.warn("⚠️ Cannot settle match Buy: {}, Sell: {} - order not found",
+                        event.getBuyOrderId(), event.getSellOrderId());
+                outcomes.add(transactionCreationFailedEvent(event, "Order not found"));
+                continue;
+            }
+
+            // Earlier matches of the batch may already have consumed the orders
+            BigDecimal quantity = event.getMatchedQuantity()
+                    .min(buyOrder.getRemainingQuantity())
+                    .min(sellOrder.getRemainingQuantity());
+            if (quantity.compareTo(BigDecimal.ZERO) <= 0) {
+                logger.warn("⚠️ Cannot settle match Buy: {}, Sell: {} - no remaining quantity",
+                        event.getBuyOrderId(), event.getSellOrderId());
+                outcomes.add(transactionCreationFailedEvent(event, "No remaining quantity"));
+                continue;
+            }
+
+            Transaction transaction = TransactionFactory.create(buyOrder, sellOrder, quantity);
+            transactions.add(transaction);
+            changedOrders.put(buyOrder.getId(), buyOrder);
+            changedOrders.put(sellOrder.getId(), sellOrder);
+
+            if (matchId != null) {
+                settledMatchIds.add(matchId);
+            }
+            outcomes.add(transactionCreatedEvent(
+                    event.getCorrelationId(),
+                    transaction,
+                    buyOrder.getPortfolioId(),
+                    sellOrder.getPortfolioId(),
+                    buyOrder.getReservationId(),
+                    sellOrder.getReservationId(),
+                    buyOrder.getRemainingQuantity(),
+                    sellOrder.getRemainingQuantity()
+            ));
+        }
+
+        if (!transactions.isEmpty()) {
+            transactionRepository.insertAll(transactions);
+            orderRepository.updateAllVersioned(new ArrayList<>(changedOrders.values()));
+            orderRepository.flush();
+
+            logger.info("💾 Batch settled - Transactions: {}, Orders updated: {}",
+                    transactions.size(), changedOrders.size());
+        }
+
+        publishAfterCommit(settledMatchIds, outcomes);
+        return transactions.size();
+    }
+
+    /**
+     * Persists an amendment of a live order's price and total quantity under the same order
+     * lock that settlement takes, so an amendment never interleaves with a fill of the order.
+     *
+     * The book matches against the order, so it only takes the new terms once they have
+     * committed (see {@link #applyOrderAmend}); it never fills on terms that can still roll back.
+     * Returns the amendment for that step, or empty if it was rejected. A rejection is answered
+     * with OrderAmendFailedEvent carrying the order's unchanged terms; nothing is thrown back.
+     */
+    @Transactional(propagation = Propagation.REQUIRES_NEW,
+            isolation = Isolation.READ_COMMITTED,
+            timeout = 10)
+    public Optional<PendingAmend> processOrderAmend(OrderAmendRequestedEvent event) {
+        String correlationId = event.getCorrelationId();
+        String orderId = event.getOrderId();
+
+        logger.info("🚀 [SAGA: {}] BEGIN processOrderAmend - Order: {}", correlationId, orderId);
+
+        List<Lock> heldLocks = new ArrayList<>(1);
+        Money currentPrice = null;
+        BigDecimal currentQuantity = null;
+        try {
+            Lock lock = getOrderLock(orderId);
+            if (!lock.tryLock(LOCK_TIMEOUT_SECONDS, TimeUnit.SECONDS)) {
+                throw new LockAcquisitionException("Failed to acquire lock for order: " + orderId);
+            }
+            heldLocks.add(lock);
+
+            EventContext.setCorrelationId(correlationId);
+
+            IOrder order = orderCache.getForUpdate(orderId)
+                    .orElseThrow(() -> new IllegalArgumentException("Order not found: " + orderId));
+            currentPrice = order.getPrice();
+            currentQuantity = order.getQuantity();
+
+            if (!order.getPortfolioId().equals(event.getPortfolioId())) {
+                throw new IllegalArgumentException("Order " + orderId + " does not belong to portfolio " +
+                        event.getPortfolioId());
+            }
+            if (!order.isActive()) {
+                throw new IllegalStateException("Order " + orderId + " is no longer active");
+            }
+            if (event.getNewQuantity().compareTo(order.getExecutedQuantity()) <= 0) {
+                throw new IllegalArgumentException("New quantity " + event.getNewQuantity() +
+                        " is not above executed quantity " + order.getExecutedQuantity());
+            }
+
+            order.updatePrice(Money.of(event.getNewPrice(), event.getCurrency()));
+            order.updateQuantity(event.getNewQuantity());
+
+            orderRepository.updateAllVersioned(List.of(order));
+            publishAmendFailedOnRollback(correlationId, event, currentPrice, currentQuantity);
+
+            logger.info("💾 Order {} amended: {} x {} -> {} x {}", orderId,
+                    currentQuantity, currentPrice.toDisplayString(),
+                    order.getQuantity(), order.getPrice().toDisplayString());
+
+            return Optional.of(new PendingAmend(event, order.getSymbol(), order.getReservationId(),
+                    currentPrice, currentQuantity));
+
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            publishOrderAmendFailed(correlationId, event, currentPrice, currentQuantity,
+                    "Interrupted during order amendment");
+        } catch (Exception e) {
+            logger.warn("💥 [SAGA: {}] FAILED processOrderAmend - Order: {}, Error: {}",
+                    correlationId, orderId, e.getMessage());
+            // The transaction still commits, so drop a cached order the failed write may have changed
+            orderCache.evict(orderId);
+            publishOrderAmendFailed(correlationId, event, currentPrice, currentQuantity, e.getMessage());
+        } finally {
+            releaseAfterCompletion(heldLocks);
+            EventContext.clear();
+        }
+        return Optional.empty();
+    }
+
+    /**
+     * Puts a committed amendment into the book under the order lock, so no fill of the order
+     * settles in between; a requeued order may match at once, on terms already stored.
+     * OrderAmendedEvent then goes out after commit so the portfolio can size the reservation down.
+     * If the book refuses (the order has left it, or it rejects the terms) the previous terms
+     * are written back, unless a later amendment has replaced these, and the request is
+     * answered with OrderAmendFailedEvent.
+     */
+    @Transactional(propagation = Propagation.REQUIRES_NEW,
+            isolation = Isolation.READ_COMMITTED,
+            timeout = 10)
+    public void applyOrderAmend(PendingAmend amend) {
+        OrderAmendRequestedEvent request = amend.getRequest();
+        String correlationId = request.getCorrelationId();
+        String orderId = request.getOrderId();
+
+        List<Lock> heldLocks = new ArrayList<>(1);
+        try {
+            Lock lock = getOrderLock(orderId);
+            if (!lock.tryLock(LOCK_TIMEOUT_SECONDS, TimeUnit.SECONDS)) {
+                throw new LockAcquisitionException("Failed to acquire lock for order: " + orderId);
+            }
+            heldLocks.add(lock);
+
+            EventContext.setCorrelationId(correlationId);
+
+            String reason = "Order " + orderId + " is not resting in the book";
+            boolean applied;
+            try {
+                applied = orderBookAdapter.amendInBook(orderId, amend.getSymbol(), amend.getNewPrice(),
+                        request.getNewQuantity());
+            } catch (IllegalArgumentException e) {
+                applied = false;
+                reason = e.getMessage();
+            }
+
+            if (applied) {
+                logger.info("📗 [SAGA: {}] Order {} amended in the book", correlationId, orderId);
+                publishAfterCommit(List.of(), List.of(new OrderAmendedEvent(
+                        correlationId,
+                        orderId,
+                        request.getPortfolioId(),
+                        amend.getReservationId(),
+                        amend.getSymbol(),
+                        amend.getNewPrice(),
+                        request.getNewQuantity()
+                )));
+                return;
+            }
+
+            logger.warn("⚠️ [SAGA: {}] Book refused amendment of order {}: {}", correlationId, orderId, reason);
+            revertOrderAmend(amend);
+            publishAfterCommit(List.of(), List.of(orderAmendFailedEvent(correlationId, request,
+                    amend.getPreviousPrice(), amend.getPreviousQuantity(), reason)));
+
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            logger.error("❌ [SAGA: {}] Interrupted applying amendment of order {}; book and store may differ",
+                    correlationId, orderId);
+        } finally {
+            releaseAfterCompletion(heldLocks);
             EventContext.clear();
         }
     }
 
+    /**
+     * Writes an order's previous terms back if it still holds the ones the book refused.
+     */
+    private void revertOrderAmend(PendingAmend amend) {
+        String orderId = amend.getRequest().getOrderId();
+        try {
+            IOrder order = orderCache.getForUpdate(orderId)
+                    .orElseThrow(() -> new IllegalStateException("Order not found: " + orderId));
+            if (!order.getPrice().equals(amend.getNewPrice())
+                    || order.getQuantity().compareTo(amend.getRequest().getNewQuantity()) != 0) {
+                logger.info("⏭️ Order {} was amended again, keeping its current terms", orderId);
+                return;
+            }
+            order.updatePrice(amend.getPreviousPrice());
+            order.updateQuantity(amend.getPreviousQuantity());
+            orderRepository.updateAllVersioned(List.of(order));
+            logger.info("↩️ Order {} put back on {} x {}", orderId,
+                    amend.getPreviousQuantity(), amend.getPreviousPrice().toDisplayString());
+        } catch (RuntimeException e) {
+            orderCache.evict(orderId);
+            logger.error("❌ Could not put order {} back on its previous terms", orderId, e);
+            throw e;
+        }
+    }
+
+    /**
+     * Answers the request with OrderAmendFailedEvent if the persisted amendment does not commit.
+     */
+    private void publishAmendFailedOnRollback(String correlationId, OrderAmendRequestedEvent request,
+                                              Money price, BigDecimal quantity) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                if (status != STATUS_COMMITTED) {
+                    orderCache.evict(request.getOrderId());
+                    publishOrderAmendFailed(correlationId, request, price, quantity,
+                            "Amendment did not commit");
+                }
+            }
+        });
+    }
+
     /**
      * Internal method to process match with locks already acquired.
      */
@@ -225,18 +631,20 @@ public class OrderSagaService {
         String buyOrderId = event.getBuyOrderId();
         String sellOrderId = event.getSellOrderId();
 
-        // Fetch orders with pessimistic write locks
-        logger.info("🔍 Fetching orders with pessimistic locks");
+        if (event.getMatchId() != null && isSettled(event.getMatchId())) {
+            logger.info("⏭️ Match {} already settled, skipping", event.getMatchId());
+            return;
+        }
 
-        IBuyOrder buyOrder = orderRepository.findByIdWithLock(buyOrderId, LockModeType.PESSIMISTIC_WRITE)
-                .filter(o -> o instanceof IBuyOrder)
-                .map(o -> (IBuyOrder) o)
-                .orElseThrow(() -> new IllegalStateException("Buy order not found: " + buyOrderId));
+        logger.info("🔍 Fetching orders from the aggregate cache");
 
-        ISellOrder sellOrder = orderRepository.findByIdWithLock(sellOrderId, LockModeType.PESSIMISTIC_WRITE)
-                .filter(o -> o instanceof ISellOrder)
-                .map(o -> (ISellOrder) o)
-                .orElseThrow(() -> new IllegalStateException("Sell order not found: " + sellOrderId));
+        Map<String, IOrder> orders = orderCache.getAllForUpdate(List.of(buyOrderId, sellOrderId));
+        if (!(orders.get(buyOrderId) instanceof IBuyOrder buyOrder)) {
+            throw new IllegalStateException("Buy order not found: " + buyOrderId);
+        }
+        if (!(orders.get(sellOrderId) instanceof ISellOrder sellOrder)) {
+            throw new IllegalStateException("Sell order not found: " + sellOrderId);
+        }
 
         logger.info("📊 Order states before transaction:");
         logger.info("  Buy - Status: {}, Remaining: {}, Executed: {}",
@@ -252,22 +660,16 @@ public class OrderSagaService {
         BigDecimal buyRemaining = buyOrder.getRemainingQuantity();
         BigDecimal sellRemaining = sellOrder.getRemainingQuantity();
 
-        if (buyRemaining.compareTo(BigDecimal.ZERO) <= 0) {
-            logger.warn("Buy order {} has no remaining quantity", buyOrderId);
-            return; // Skip this match
-        }
-        if (sellRemaining.compareTo(BigDecimal.ZERO) <= 0) {
-            logger.warn("Sell order {} has no remaining quantity", sellOrderId);
-            return; // Skip this match
-        }
-
         // Calculate actual match quantity
         BigDecimal matchQuantity = event.getMatchedQuantity();
         BigDecimal actualQuantity = matchQuantity.min(buyRemaining).min(sellRemaining);
 
         if (actualQuantity.compareTo(BigDecimal.ZERO) <= 0) {
-            logger.warn("No quantity available for matching");
-            return; // Skip this match
+            // The book has already applied this fill, so it must hear that it was not settled
+            logger.warn("No quantity available for matching - Buy remaining: {}, Sell remaining: {}",
+                    buyRemaining, sellRemaining);
+            publishAfterCommit(List.of(), List.of(transactionCreationFailedEvent(event, "No remaining quantity")));
+            return;
         }
 
         // Store portfolio/reservation info before transaction
@@ -286,10 +688,8 @@ public class OrderSagaService {
 
         logger.info("💾 Transaction saved - ID: {}", savedTransaction.getId());
 
-        // Save updated orders
-        orderRepository.save(buyOrder);
-        orderRepository.save(sellOrder);
-        orderRepository.flush();
+        // Write back updated orders, failing if either changed since it was cached
+        orderRepository.updateAllVersioned(List.of(buyOrder, sellOrder));
 
         logger.info("📊 Order states after transaction:");
         logger.info("  Buy - Status: {}, Remaining: {}, Executed: {}",
@@ -303,6 +703,7 @@ public class OrderSagaService {
 
         // Publish success event
         publishTransactionCreated(
+                event.getMatchId(),
                 event.getCorrelationId(),
                 savedTransaction,
                 buyPortfolioId,
@@ -367,10 +768,45 @@ public class OrderSagaService {
     }
 
     /**
-     * Publishes OrderCreatedEvent.
+     * Releases order locks once the surrounding transaction has committed or rolled back, so
+     * the next writer of these orders never starts from an uncommitted cached aggregate.
+     */
+    private void releaseAfterCompletion(List<Lock> locks) {
+        if (locks.isEmpty()) {
+            return;
+        }
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            unlockAll(locks);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                unlockAll(locks);
+            }
+        });
+    }
+
+    private void unlockAll(List<Lock> locks) {
+        for (int i = locks.size() - 1; i >= 0; i--) {
+            locks.get(i).unlock();
+        }
+    }
+
+    /**
+     * Publishes OrderCreatedEvent; the order book takes it once the order has committed.
      */
     private void publishOrderCreated(String correlationId, IOrder order, String orderType) {
-        OrderCreatedEvent event = new OrderCreatedEvent(
+        eventBus.publish(orderCreatedEvent(correlationId, order));
+        logger.info("📤 Published OrderCreatedEvent - Order: {}, Type: {}",
+                order.getId(), orderType);
+    }
+
+    /**
+     * Snapshot of a persisted order's full state; later changes to the order do not reach it.
+     */
+    private OrderCreatedEvent orderCreatedEvent(String correlationId, IOrder order) {
+        return new OrderCreatedEvent(
                 correlationId,
                 order.getId(),
                 order.getPortfolioId(),
@@ -378,13 +814,13 @@ public class OrderSagaService {
                 order.getSymbol(),
                 order.getPrice(),
                 order.getQuantity(),
-                "BUY".equalsIgnoreCase(orderType) ? OrderType.BUY : OrderType.SELL,
-                order.getStatus().getStatus().name()
+                order instanceof IBuyOrder ? OrderType.BUY : OrderType.SELL,
+                order.getStatus().getStatus().name(),
+                order.getExecutedQuantity(),
+                order.getCreatedAt(),
+                order.getUpdatedAt(),
+                order.getVersion()
         );
-
-        eventBus.publish(event);
-        logger.info("📤 Published OrderCreatedEvent - Order: {}, Type: {}",
-                order.getId(), orderType);
     }
 
     /**
@@ -404,10 +840,32 @@ public class OrderSagaService {
         logger.info("📤 Published OrderCreationFailedEvent - Reservation: {}", reservationId);
     }
 
+    /**
+     * Publishes OrderAmendFailedEvent with the terms the order still holds.
+     */
+    private void publishOrderAmendFailed(String correlationId, OrderAmendRequestedEvent request,
+                                         Money currentPrice, BigDecimal currentQuantity, String reason) {
+        eventBus.publish(orderAmendFailedEvent(correlationId, request, currentPrice, currentQuantity, reason));
+        logger.info("📤 Published OrderAmendFailedEvent - Order: {}", request.getOrderId());
+    }
+
+    private OrderAmendFailedEvent orderAmendFailedEvent(String correlationId, OrderAmendRequestedEvent request,
+                                                        Money currentPrice, BigDecimal currentQuantity,
+                                                        String reason) {
+        return new OrderAmendFailedEvent(
+                correlationId,
+                request.getOrderId(),
+                request.getPortfolioId(),
+                currentPrice,
+                currentQuantity,
+                reason
+        );
+    }
+
     /**
      * Publishes TransactionCreatedEvent.
      */
-    private void publishTransactionCreated(String correlationId, ITransaction transaction,
+    private void publishTransactionCreated(String matchId, String correlationId, ITransaction transaction,
                                            String buyerPortfolioId, String sellerPortfolioId,
                                            String buyerReservationId, String sellerReservationId,
                                            BigDecimal buyOrderRemaining, BigDecimal sellOrderRemaining) {
@@ -416,7 +874,61 @@ public class OrderSagaService {
                 transaction.getQuantity(),
                 transaction.getPrice().toDisplayString());
 
-        TransactionCreatedEvent event = new TransactionCreatedEvent(
+        TransactionCreatedEvent event = transactionCreatedEvent(correlationId, transaction,
+                buyerPortfolioId, sellerPortfolioId, buyerReservationId, sellerReservationId,
+                buyOrderRemaining, sellOrderRemaining);
+
+        publishAfterCommit(matchId == null ? List.of() : List.of(matchId), List.of(event));
+    }
+
+    /**
+     * Publishes events once the transaction has committed, so listeners never see a change
+     * that can still roll back; settled match ids are recorded first.
+     * Without a transaction they go out immediately. A failing listener is only logged: the
+     * change has committed and must not be retried because of it.
+     */
+    private void publishAfterCommit(List<String> settledMatchIds, List<? extends DomainEvent> events) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            publishSettled(settledMatchIds, events);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                publishSettled(settledMatchIds, events);
+            }
+        });
+    }
+
+    private void publishSettled(List<String> settledMatchIds, List<? extends DomainEvent> events) {
+        synchronized (settledMatches) {
+            for (String matchId : settledMatchIds) {
+                settledMatches.put(matchId, Boolean.TRUE);
+            }
+        }
+        for (DomainEvent event : events) {
+            try {
+                eventBus.publish(event);
+            } catch (Exception e) {
+                logger.error("💥 Listener failed on {} after settlement committed",
+                        event.getClass().getSimpleName(), e);
+            }
+        }
+        logger.info("📤 Published {} events after commit", events.size());
+    }
+
+    private boolean isSettled(String matchId) {
+        synchronized (settledMatches) {
+            return settledMatches.containsKey(matchId);
+        }
+    }
+
+    private TransactionCreatedEvent transactionCreatedEvent(String correlationId, ITransaction transaction,
+                                                            String buyerPortfolioId, String sellerPortfolioId,
+                                                            String buyerReservationId, String sellerReservationId,
+                                                            BigDecimal buyOrderRemaining,
+                                                            BigDecimal sellOrderRemaining) {
+        return new TransactionCreatedEvent(
                 correlationId,
                 transaction.getId(),
                 transaction.getBuyOrder().getId(),
@@ -432,26 +944,27 @@ public class OrderSagaService {
                 buyOrderRemaining,
                 sellOrderRemaining
         );
-
-        eventBus.publish(event);
-        logger.info("📤 Published TransactionCreatedEvent - Transaction: {}", transaction.getId());
     }
 
     /**
      * Publishes TransactionCreationFailedEvent.
      */
-    public void publishTransactionCreationFailed(String correlationId, String buyOrderId,
-                                                 String sellOrderId, String reason) {
-        TransactionCreationFailedEvent event = new TransactionCreationFailedEvent(
-                correlationId,
-                buyOrderId,
-                sellOrderId,
+    public void publishTransactionCreationFailed(OrderMatchedEvent event, String reason) {
+        eventBus.publish(transactionCreationFailedEvent(event, reason));
+        logger.info("📤 Published TransactionCreationFailedEvent");
+    }
+
+    private TransactionCreationFailedEvent transactionCreationFailedEvent(OrderMatchedEvent event, String reason) {
+        return new TransactionCreationFailedEvent(
+                event.getCorrelationId(),
+                event.getMatchId(),
+                event.getSymbolCode(),
+                event.getBuyOrderId(),
+                event.getSellOrderId(),
+                event.getMatchedQuantity(),
                 "TRANSACTION_CREATION_FAILED",
                 reason
         );
-
-        eventBus.publish(event);
-        logger.info("📤 Published TransactionCreationFailedEvent");
     }
 
     // Exception classes
@@ -472,4 +985,34 @@ public class OrderSagaService {
             super(message);
         }
     }
+
+    /**
+     * An amendment that has been persisted and is waiting to be put into the book.
+     */
+    public static class PendingAmend {
+        private final OrderAmendRequestedEvent request;
+        private final Symbol symbol;
+        private final String reservationId;
+        private final Money previousPrice;
+        private final BigDecimal previousQuantity;
+
+        PendingAmend(OrderAmendRequestedEvent request, Symbol symbol, String reservationId,
+                     Money previousPrice, BigDecimal previousQuantity) {
+            this.request = request;
+            this.symbol = symbol;
+            this.reservationId = reservationId;
+            this.previousPrice = previousPrice;
+            this.previousQuantity = previousQuantity;
+        }
+
+        public OrderAmendRequestedEvent getRequest() { return request; }
+        public Symbol getSymbol() { return symbol; }
+        public String getReservationId() { return reservationId; }
+        public Money getPreviousPrice() { return previousPrice; }
+        public BigDecimal getPreviousQuantity() { return previousQuantity; }
+
+        public Money getNewPrice() {
+            return Money.of(request.getNewPrice(), request.getCurrency());
+        }
+    }
 }
\ No newline at end of file
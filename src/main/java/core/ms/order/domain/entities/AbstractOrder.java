@@ -14,16 +14,20 @@ import java.util.Objects;
  * All validation is handled by the factory/builder pattern.
  */
 public abstract class AbstractOrder implements IOrder {
+    // The order book holds quantities as fixed point at this scale (FixedPointScale.DEFAULT_QUANTITY_SCALE)
+    public static final int MAX_QUANTITY_SCALE = 8;
+
     protected final String id;
     protected final String portfolioId;
     protected final String reservationId;
     protected final Symbol symbol;
     protected Money price;
-    protected final BigDecimal quantity;
+    protected BigDecimal quantity;
     protected OrderStatus status;
     protected final LocalDateTime createdAt;
     protected LocalDateTime updatedAt;
     protected BigDecimal executedQuantity;
+    protected long version;
 
     protected AbstractOrder(String id, String portfolioId, String reservationId,
                             Symbol symbol, Money price, BigDecimal quantity) {
@@ -39,6 +43,26 @@ public abstract class AbstractOrder implements IOrder {
         this.executedQuantity = BigDecimal.ZERO;
     }
 
+    /**
+     * Rehydration constructor for persisted orders: takes the stored state as is.
+     */
+    protected AbstractOrder(String id, String portfolioId, String reservationId,
+                            Symbol symbol, Money price, BigDecimal quantity,
+                            OrderStatus status, BigDecimal executedQuantity,
+                            LocalDateTime createdAt, LocalDateTime updatedAt, long version) {
+        this.id = id;
+        this.portfolioId = portfolioId;
+        this.reservationId = reservationId;
+        this.symbol = symbol;
+        this.price = price;
+        this.quantity = quantity;
+        this.status = status;
+        this.createdAt = createdAt;
+        this.updatedAt = updatedAt;
+        this.executedQuantity = executedQuantity;
+        this.version = version;
+    }
+
     // ===== PURE GETTERS =====
     @Override
     public String getId() { return id; }
@@ -142,6 +166,34 @@ public abstract class AbstractOrder implements IOrder {
         this.updatedAt = LocalDateTime.now();
     }
 
+    @Override
+    public void updateQuantity(BigDecimal quantity) {
+        // Domain behavior - amend total quantity, never below what already executed
+        if (quantity == null || quantity.compareTo(BigDecimal.ZERO) <= 0) {
+            throw new IllegalArgumentException("Quantity must be positive");
+        }
+        if (quantity.stripTrailingZeros().scale() > MAX_QUANTITY_SCALE) {
+            throw new IllegalArgumentException(
+                    "Quantity " + quantity.toPlainString() + " has more than " + MAX_QUANTITY_SCALE + " decimal places");
+        }
+        if (quantity.compareTo(executedQuantity) < 0) {
+            throw new IllegalArgumentException(
+                    "Quantity " + quantity + " is below executed quantity " + executedQuantity);
+        }
+        this.quantity = quantity;
+        this.updatedAt = LocalDateTime.now();
+        updateStatusAfterExecution();
+    }
+
+    @Override
+    public long getVersion() { return version; }
+
+    @Override
+    public void setVersion(long version) {
+        // Persistence bookkeeping only - not a domain change, updatedAt stays as is
+        this.version = version;
+    }
+
     // ===== BUSINESS LOGIC (Pure Calculations) =====
     @Override
     public Money getTotalValue() {
@@ -31,6 +31,20 @@ public abstract class AbstractTransaction implements ITransaction {
         this.createdAt = LocalDateTime.now();
     }
 
+    /**
+     * Rehydration constructor for persisted transactions: keeps the stored price and time.
+     */
+    protected AbstractTransaction(String id, Symbol symbol, IBuyOrder buyOrder, ISellOrder sellOrder,
+                                  Money price, BigDecimal quantity, LocalDateTime createdAt) {
+        this.id = id;
+        this.symbol = symbol;
+        this.buyOrder = buyOrder;
+        this.sellOrder = sellOrder;
+        this.price = price;
+        this.quantity = quantity;
+        this.createdAt = createdAt;
+    }
+
     @Override
     public String getId() { return id; }
 
@@ -17,6 +17,14 @@ public class BuyOrder extends AbstractOrder implements IBuyOrder {
         super(id, portfolioId, reservationId, symbol, price, quantity);
     }
 
+    public BuyOrder(String id, String portfolioId, String reservationId,
+                    Symbol symbol, Money price, BigDecimal quantity,
+                    OrderStatus status, BigDecimal executedQuantity,
+                    LocalDateTime createdAt, LocalDateTime updatedAt, long version) {
+        super(id, portfolioId, reservationId, symbol, price, quantity,
+                status, executedQuantity, createdAt, updatedAt, version);
+    }
+
     @Override
     public Money getCostBasis() {
         return getPrice().multiply(getExecutedQuantity());
@@ -35,6 +35,11 @@ public interface IOrder {
 
     void updatePrice(Money price);
 
+    /**
+     * Amends the total order quantity; must not drop below the executed quantity
+     */
+    void updateQuantity(BigDecimal quantity);
+
     // ===== BUSINESS LOGIC =====
     Money getTotalValue();
 
@@ -51,4 +56,12 @@ public interface IOrder {
      * Used for reconstruction from persistence
      */
     void setExecutedQuantity(BigDecimal executedQuantity);
+
+    // ===== PERSISTENCE =====
+    /**
+     * Row version the order was loaded with or last written at, for optimistic checks
+     */
+    long getVersion();
+
+    void setVersion(long version);
 }
\ No newline at end of file
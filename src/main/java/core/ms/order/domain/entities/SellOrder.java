@@ -15,6 +15,14 @@ public class SellOrder extends AbstractOrder implements ISellOrder {
         super(id, portfolioId, reservationId, symbol, price, quantity);
     }
 
+    public SellOrder(String id, String portfolioId, String reservationId,
+                     Symbol symbol, Money price, BigDecimal quantity,
+                     OrderStatus status, BigDecimal executedQuantity,
+                     LocalDateTime createdAt, LocalDateTime updatedAt, long version) {
+        super(id, portfolioId, reservationId, symbol, price, quantity,
+                status, executedQuantity, createdAt, updatedAt, version);
+    }
+
     @Override
     public Money getProceeds() {
         return getPrice().multiply(getExecutedQuantity());
@@ -1,8 +1,10 @@
 package core.ms.order.domain.entities;
 
+import core.ms.shared.money.Money;
 import core.ms.shared.money.Symbol;
 
 import java.math.BigDecimal;
+import java.time.LocalDateTime;
 
 
 public class Transaction extends AbstractTransaction {
@@ -17,4 +19,17 @@ public class Transaction extends AbstractTransaction {
         // Pure delegation - NO validation
         super(id, symbol, buyOrder, sellOrder, quantity);
     }
+
+    public Transaction(
+            String id,
+            Symbol symbol,
+            IBuyOrder buyOrder,
+            ISellOrder sellOrder,
+            Money price,
+            BigDecimal quantity,
+            LocalDateTime createdAt
+    ) {
+        // Rehydration - NO validation, NO order execution
+        super(id, symbol, buyOrder, sellOrder, price, quantity, createdAt);
+    }
 }
\ No newline at end of file
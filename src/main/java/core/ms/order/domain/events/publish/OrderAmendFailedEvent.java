@@ -0,0 +1,34 @@
+package core.ms.order.domain.events.publish;
+
+import core.ms.shared.events.BaseEvent;
+import core.ms.shared.money.Money;
+
+import java.math.BigDecimal;
+
+/**
+ * The order kept its terms. Price and quantity are what the order still holds, or null if unknown.
+ */
+public class OrderAmendFailedEvent extends BaseEvent {
+    private final String orderId;
+    private final String portfolioId;
+    private final Money currentPrice;
+    private final BigDecimal currentQuantity;
+    private final String reason;
+
+    public OrderAmendFailedEvent(String correlationId, String orderId, String portfolioId,
+                                 Money currentPrice, BigDecimal currentQuantity, String reason) {
+        super(correlationId, "ORDER_BC");
+        this.orderId = orderId;
+        this.portfolioId = portfolioId;
+        this.currentPrice = currentPrice;
+        this.currentQuantity = currentQuantity;
+        this.reason = reason;
+    }
+
+    // Getters
+    public String getOrderId() { return orderId; }
+    public String getPortfolioId() { return portfolioId; }
+    public Money getCurrentPrice() { return currentPrice; }
+    public BigDecimal getCurrentQuantity() { return currentQuantity; }
+    public String getReason() { return reason; }
+}
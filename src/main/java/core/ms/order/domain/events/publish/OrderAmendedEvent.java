@@ -0,0 +1,35 @@
+package core.ms.order.domain.events.publish;
+
+import core.ms.shared.events.BaseEvent;
+import core.ms.shared.money.Money;
+import core.ms.shared.money.Symbol;
+
+import java.math.BigDecimal;
+
+public class OrderAmendedEvent extends BaseEvent {
+    private final String orderId;
+    private final String portfolioId;
+    private final String reservationId;
+    private final Symbol symbol;
+    private final Money price;
+    private final BigDecimal quantity;
+
+    public OrderAmendedEvent(String correlationId, String orderId, String portfolioId,
+                             String reservationId, Symbol symbol, Money price, BigDecimal quantity) {
+        super(correlationId, "ORDER_BC");
+        this.orderId = orderId;
+        this.portfolioId = portfolioId;
+        this.reservationId = reservationId;
+        this.symbol = symbol;
+        this.price = price;
+        this.quantity = quantity;
+    }
+
+    // Getters
+    public String getOrderId() { return orderId; }
+    public String getPortfolioId() { return portfolioId; }
+    public String getReservationId() { return reservationId; }
+    public Symbol getSymbol() { return symbol; }
+    public Money getPrice() { return price; }
+    public BigDecimal getQuantity() { return quantity; }
+}
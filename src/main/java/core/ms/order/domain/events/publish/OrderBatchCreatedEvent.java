@@ -0,0 +1,24 @@
+package core.ms.order.domain.events.publish;
+
+import core.ms.shared.events.BaseEvent;
+
+import java.util.List;
+
+/**
+ * Orders of one batch request, persisted in a single transaction.
+ * Carries each order's full state so the book can build them without reloading each one.
+ */
+public class OrderBatchCreatedEvent extends BaseEvent {
+    private final String portfolioId;
+    private final List<OrderCreatedEvent> orders;
+
+    public OrderBatchCreatedEvent(String correlationId, String portfolioId, List<OrderCreatedEvent> orders) {
+        super(correlationId, "ORDER_BC");
+        this.portfolioId = portfolioId;
+        this.orders = List.copyOf(orders);
+    }
+
+    // Getters
+    public String getPortfolioId() { return portfolioId; }
+    public List<OrderCreatedEvent> getOrders() { return orders; }
+}
\ No newline at end of file
@@ -10,6 +10,10 @@ import core.ms.shared.money.Symbol;
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
 
+/**
+ * A persisted order with its full state at creation, so consumers can build their own copy
+ * of the order without reading it back from the database.
+ */
 public class OrderCreatedEvent extends BaseEvent {
     private final String orderId;
     private final String portfolioId;
@@ -19,10 +23,16 @@ public class OrderCreatedEvent extends BaseEvent {
     private final BigDecimal quantity;
     private final OrderType orderType;
     private final String status;
+    private final BigDecimal executedQuantity;
+    private final LocalDateTime createdAt;
+    private final LocalDateTime updatedAt;
+    private final long version;
 
     public OrderCreatedEvent(String correlationId, String orderId, String portfolioId,
                              String reservationId, Symbol symbol, Money price,
-                             BigDecimal quantity, OrderType orderType, String status) {
+                             BigDecimal quantity, OrderType orderType, String status,
+                             BigDecimal executedQuantity, LocalDateTime createdAt,
+                             LocalDateTime updatedAt, long version) {
         super(correlationId, "ORDER_BC");
         this.orderId = orderId;
         this.portfolioId = portfolioId;
@@ -32,6 +42,10 @@ public class OrderCreatedEvent extends BaseEvent {
         this.quantity = quantity;
         this.orderType = orderType;
         this.status = status;
+        this.executedQuantity = executedQuantity;
+        this.createdAt = createdAt;
+        this.updatedAt = updatedAt;
+        this.version = version;
     }
 
     // Getters
@@ -43,4 +57,8 @@ public class OrderCreatedEvent extends BaseEvent {
     public BigDecimal getQuantity() { return quantity; }
     public OrderType getOrderType() { return orderType; }
     public String getStatus() { return status; }
+    public BigDecimal getExecutedQuantity() { return executedQuantity; }
+    public LocalDateTime getCreatedAt() { return createdAt; }
+    public LocalDateTime getUpdatedAt() { return updatedAt; }
+    public long getVersion() { return version; }
 }
\ No newline at end of file
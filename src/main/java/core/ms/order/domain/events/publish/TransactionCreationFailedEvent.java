@@ -2,24 +2,38 @@ package core.ms.order.domain.events.publish;
 
 import core.ms.shared.events.BaseEvent;
 
+import java.math.BigDecimal;
+
 public class TransactionCreationFailedEvent extends BaseEvent {
+    // Id of the failed match as the book numbered it; null when the match had none
+    private final String matchId;
+    private final String symbolCode;
     private final String buyOrderId;
     private final String sellOrderId;
+    // Quantity the book took from both orders for the match
+    private final BigDecimal matchedQuantity;
     private final String reason;
     private final String errorDetails;
 
-    public TransactionCreationFailedEvent(String correlationId, String buyOrderId,
-                                          String sellOrderId, String reason, String errorDetails) {
+    public TransactionCreationFailedEvent(String correlationId, String matchId, String symbolCode,
+                                          String buyOrderId, String sellOrderId, BigDecimal matchedQuantity,
+                                          String reason, String errorDetails) {
         super(correlationId, "ORDER_BC");
+        this.matchId = matchId;
+        this.symbolCode = symbolCode;
         this.buyOrderId = buyOrderId;
         this.sellOrderId = sellOrderId;
+        this.matchedQuantity = matchedQuantity;
         this.reason = reason;
         this.errorDetails = errorDetails;
     }
 
     // Getters
+    public String getMatchId() { return matchId; }
+    public String getSymbolCode() { return symbolCode; }
     public String getBuyOrderId() { return buyOrderId; }
     public String getSellOrderId() { return sellOrderId; }
+    public BigDecimal getMatchedQuantity() { return matchedQuantity; }
     public String getReason() { return reason; }
     public String getErrorDetails() { return errorDetails; }
-}
\ No newline at end of file
+}
@@ -0,0 +1,33 @@
+package core.ms.order.domain.events.subscribe;
+
+import core.ms.shared.events.BaseEvent;
+import core.ms.shared.money.Currency;
+
+import java.math.BigDecimal;
+
+public class OrderAmendRequestedEvent extends BaseEvent {
+    private final String orderId;
+    private final String portfolioId;
+    private final BigDecimal newPrice;
+    private final Currency currency;
+    private final BigDecimal newQuantity;
+
+    public OrderAmendRequestedEvent(String correlationId, String sourceBC,
+                                    String orderId, String portfolioId,
+                                    BigDecimal newPrice, Currency currency,
+                                    BigDecimal newQuantity) {
+        super(correlationId, sourceBC);
+        this.orderId = orderId;
+        this.portfolioId = portfolioId;
+        this.newPrice = newPrice;
+        this.currency = currency;
+        this.newQuantity = newQuantity;
+    }
+
+    // Getters
+    public String getOrderId() { return orderId; }
+    public String getPortfolioId() { return portfolioId; }
+    public BigDecimal getNewPrice() { return newPrice; }
+    public Currency getCurrency() { return currency; }
+    public BigDecimal getNewQuantity() { return newQuantity; }
+}
@@ -6,17 +6,22 @@ import core.ms.shared.money.Currency;
 import java.math.BigDecimal;
 
 public class OrderMatchedEvent extends BaseEvent {
+    // Stable across redeliveries of the same fill; null when the match cannot be told apart
+    private final String matchId;
+    private final String symbolCode;
     private final String buyOrderId;
     private final String sellOrderId;
     private final BigDecimal matchedQuantity;
     private final BigDecimal executionPrice;
     private final Currency currency;
 
-    public OrderMatchedEvent(String correlationId, String sourceBC,
+    public OrderMatchedEvent(String correlationId, String sourceBC, String matchId, String symbolCode,
                              String buyOrderId, String sellOrderId,
                              BigDecimal matchedQuantity, BigDecimal executionPrice,
                              Currency currency) {
         super(correlationId, sourceBC);
+        this.matchId = matchId;
+        this.symbolCode = symbolCode;
         this.buyOrderId = buyOrderId;
         this.sellOrderId = sellOrderId;
         this.matchedQuantity = matchedQuantity;
@@ -25,6 +30,8 @@ public class OrderMatchedEvent extends BaseEvent {
     }
 
     // Getters
+    public String getMatchId() { return matchId; }
+    public String getSymbolCode() { return symbolCode; }
     public String getBuyOrderId() { return buyOrderId; }
     public String getSellOrderId() { return sellOrderId; }
     public BigDecimal getMatchedQuantity() { return matchedQuantity; }
@@ -3,11 +3,14 @@ package core.ms.order.domain.factories;
 import core.ms.order.domain.entities.BuyOrder;
 import core.ms.order.domain.entities.SellOrder;
 import core.ms.order.domain.validators.OrderBuilderValidation;
+import core.ms.order.domain.value_objects.OrderStatus;
+import core.ms.order.domain.value_objects.OrderStatusEnum;
 import core.ms.shared.money.Money;
 import core.ms.shared.money.Symbol;
 import core.ms.utils.idgenerator.IdGen;
 
 import java.math.BigDecimal;
+import java.time.LocalDateTime;
 
 /**
  * Domain factory for creating validated orders.
@@ -161,6 +164,32 @@ public class OrderFactory {
         }
     }
 
+    // ===== REHYDRATION =====
+
+    /**
+     * Restores a persisted buy order without validation or state replay.
+     * Only for data this domain already validated when it was first written.
+     */
+    public static BuyOrder restoreBuyOrder(String id, String portfolioId, String reservationId,
+                                           Symbol symbol, Money price, BigDecimal quantity,
+                                           OrderStatusEnum status, BigDecimal executedQuantity,
+                                           LocalDateTime createdAt, LocalDateTime updatedAt, long version) {
+        return new BuyOrder(id, portfolioId, reservationId, symbol, price, quantity,
+                OrderStatus.restore(status), executedQuantity, createdAt, updatedAt, version);
+    }
+
+    /**
+     * Restores a persisted sell order without validation or state replay.
+     * Only for data this domain already validated when it was first written.
+     */
+    public static SellOrder restoreSellOrder(String id, String portfolioId, String reservationId,
+                                             Symbol symbol, Money price, BigDecimal quantity,
+                                             OrderStatusEnum status, BigDecimal executedQuantity,
+                                             LocalDateTime createdAt, LocalDateTime updatedAt, long version) {
+        return new SellOrder(id, portfolioId, reservationId, symbol, price, quantity,
+                OrderStatus.restore(status), executedQuantity, createdAt, updatedAt, version);
+    }
+
     // ===== DOMAIN EXCEPTION =====
 
     /**
@@ -6,9 +6,12 @@ import core.ms.order.domain.entities.ISellOrder;
 import core.ms.order.domain.entities.Transaction;
 import core.ms.order.domain.validators.TransactionBuilderValidation;
 import core.ms.order.domain.validators.ValidationErrorMessage;
+import core.ms.shared.money.Money;
+import core.ms.shared.money.Symbol;
 import core.ms.utils.idgenerator.IdGen;
 
 import java.math.BigDecimal;
+import java.time.LocalDateTime;
 import java.util.List;
 
 /**
@@ -84,6 +87,15 @@ public class TransactionFactory {
         }
     }
 
+    /**
+     * Restores a persisted transaction as stored, without validation and without
+     * executing the orders again.
+     */
+    public static Transaction restore(String id, Symbol symbol, IBuyOrder buyOrder, ISellOrder sellOrder,
+                                      Money price, BigDecimal quantity, LocalDateTime createdAt) {
+        return new Transaction(id, symbol, buyOrder, sellOrder, price, quantity, createdAt);
+    }
+
     // ===== DOMAIN EXCEPTION =====
 
     /**
@@ -0,0 +1,15 @@
+package core.ms.order.domain.ports.outbound;
+
+import core.ms.shared.money.Money;
+import core.ms.shared.money.Symbol;
+
+import java.math.BigDecimal;
+
+public interface OrderBookAdapter {
+    /**
+     * Applies new terms to the book's copy of a resting order; the new quantity is its total.
+     * @return false if the order is not resting in the book
+     * @throws IllegalArgumentException if the book rejects the terms
+     */
+    boolean amendInBook(String orderId, Symbol symbol, Money price, BigDecimal quantity);
+}
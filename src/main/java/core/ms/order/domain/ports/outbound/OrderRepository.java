@@ -7,14 +7,29 @@ import core.ms.order.domain.value_objects.OrderStatusEnum;
 import core.ms.shared.money.Symbol;
 import jakarta.persistence.LockModeType;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
 public interface OrderRepository {
     IOrder save(IOrder order);
+    /**
+     * Inserts orders that are known to be new, without the existence check save does.
+     */
+    List<IOrder> insertAll(List<? extends IOrder> orders);
     void flush();
     Optional<IOrder> findById(String orderId);
     Optional<IOrder> findByIdWithLock(String orderId, LockModeType lockMode);
+    /**
+     * Loads several orders in one query; missing ids are left out.
+     */
+    List<IOrder> findAllById(Collection<String> orderIds);
+    /**
+     * Writes back orders without loading them, each only if its row is still at the order's
+     * version, and bumps the orders' versions.
+     * @throws org.springframework.dao.OptimisticLockingFailureException if a row has moved on
+     */
+    void updateAllVersioned(List<? extends IOrder> orders);
     void deleteById(String orderId);
     boolean existsById(String orderId);
 
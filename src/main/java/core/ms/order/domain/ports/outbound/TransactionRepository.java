@@ -12,6 +12,10 @@ public interface TransactionRepository {
     // Basic CRUD with locking support
     ITransaction save(ITransaction transaction);
     ITransaction saveAndFlush(ITransaction transaction);
+    /**
+     * Inserts new transactions without reloading their orders; written on the next flush.
+     */
+    void insertAll(List<? extends ITransaction> transactions);
     Optional<ITransaction> findById(String transactionId);
     Optional<ITransaction> findByIdWithLock(String transactionId, LockModeType lockMode);
     void deleteById(String transactionId);
@@ -1,5 +1,6 @@
 package core.ms.order.domain.validators;
 
+import core.ms.order.domain.entities.AbstractOrder;
 import core.ms.order.domain.value_objects.OrderStatus;
 import core.ms.shared.money.Money;
 import core.ms.shared.money.Symbol;
@@ -116,6 +117,13 @@ public class OrderBuilderValidation {
                 throw new ValidationOrderException("Quantity must be positive");
             }
 
+            // The book cannot hold finer quantities; reject here rather than fail while matching
+            if (quantity.stripTrailingZeros().scale() > AbstractOrder.MAX_QUANTITY_SCALE) {
+                throw new ValidationOrderException(
+                        String.format("Quantity %s has more than %d decimal places",
+                                quantity.toPlainString(), AbstractOrder.MAX_QUANTITY_SCALE));
+            }
+
             // 2. No relational validation needed for quantity
 
             // 3. Assignment after validation
@@ -7,6 +7,7 @@ import core.ms.order.domain.value_objects.OrderStatusEnum;
 import java.lang.reflect.Field;
 import java.lang.reflect.Method;
 import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
 import java.lang.annotation.Annotation;
 
 public class ValidateOrderState {
@@ -16,6 +17,9 @@ public class ValidateOrderState {
         annotationMap.put(OrderNotFinal.class, this::checkOrderNotFinal);
     }
 
+    // Annotated fields per class, resolved once; reflection lookups are the costly part
+    private final Map<Class<?>, List<FieldCheck>> fieldChecks = new ConcurrentHashMap<>();
+
     /**
      * Validates all annotated fields in the given object
      * @param target The object to validate
@@ -24,42 +28,45 @@ public class ValidateOrderState {
     public List<ValidationErrorMessage> validate(Object target) {
         List<ValidationErrorMessage> errors = new ArrayList<>();
 
+        for (FieldCheck check : fieldChecks.computeIfAbsent(target.getClass(), this::resolveFieldChecks)) {
+            try {
+                Object fieldValue = check.field.get(target);
+                Optional<ValidationErrorMessage> error =
+                        check.checker.checkMethod(check.annotation, check.getterMethod, fieldValue);
+                error.ifPresent(errors::add);
+            } catch (IllegalAccessException e) {
+                errors.add(new ValidationErrorMessage("Cannot access field: " + check.field.getName()));
+            }
+        }
+
+        return errors;
+    }
+
+    /**
+     * Collects the checked fields of a class hierarchy, with their getters where present
+     */
+    private List<FieldCheck> resolveFieldChecks(Class<?> targetClass) {
+        List<FieldCheck> checks = new ArrayList<>();
+
         // Get all fields from the class hierarchy
-        Class<?> clazz = target.getClass();
+        Class<?> clazz = targetClass;
         while (clazz != null) {
-            Field[] fields = clazz.getDeclaredFields();
-
-            for (Field field : fields) {
+            for (Field field : clazz.getDeclaredFields()) {
                 // Check each annotation on the field
                 for (Annotation annotation : field.getAnnotations()) {
                     MethodChecker checker = annotationMap.get(annotation.annotationType());
                     if (checker != null) {
-                        try {
-                            // Make field accessible to read its value
-                            field.setAccessible(true);
-                            Object fieldValue = field.get(target);
-
-                            // Find the corresponding getter method
-                            Method getterMethod = findGetterMethod(clazz, field);
-                            if (getterMethod != null) {
-                                Optional<ValidationErrorMessage> error = checker.checkMethod(annotation, getterMethod, fieldValue);
-                                error.ifPresent(errors::add);
-                            } else {
-                                // If no getter found, pass null method but use fieldValue as object
-                                Optional<ValidationErrorMessage> error = checker.checkMethod(annotation, null, fieldValue);
-                                error.ifPresent(errors::add);
-                            }
-
-                        } catch (IllegalAccessException e) {
-                            errors.add(new ValidationErrorMessage("Cannot access field: " + field.getName()));
-                        }
+                        // Make field accessible to read its value
+                        field.setAccessible(true);
+                        // If no getter found, the checker gets a null method and uses the field value
+                        checks.add(new FieldCheck(field, annotation, checker, findGetterMethod(clazz, field)));
                     }
                 }
             }
             clazz = clazz.getSuperclass();
         }
 
-        return errors;
+        return List.copyOf(checks);
     }
 
     /**
@@ -126,4 +133,18 @@ public class ValidateOrderState {
         if (str == null || str.isEmpty()) return str;
         return str.substring(0, 1).toUpperCase() + str.substring(1);
     }
+
+    private static class FieldCheck {
+        private final Field field;
+        private final Annotation annotation;
+        private final MethodChecker checker;
+        private final Method getterMethod;
+
+        private FieldCheck(Field field, Annotation annotation, MethodChecker checker, Method getterMethod) {
+            this.field = field;
+            this.annotation = annotation;
+            this.checker = checker;
+            this.getterMethod = getterMethod;
+        }
+    }
 }
\ No newline at end of file
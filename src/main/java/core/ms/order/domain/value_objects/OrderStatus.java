@@ -13,6 +13,22 @@ public class OrderStatus implements IOrderState, StateTransition {
         status = OrderStatusEnum.PENDING;
     }
 
+    /**
+     * Restores a persisted status directly, without replaying the transitions that led to it
+     */
+    public static OrderStatus restore(OrderStatusEnum status) {
+        OrderStatus restored = new OrderStatus();
+        switch (status) {
+            case PARTIAL -> restored.transitionTo(new PartialOrder(restored), OrderStatusEnum.PARTIAL);
+            case FILLED -> restored.transitionTo(new FilledOrder(restored), OrderStatusEnum.FILLED);
+            case CANCELLED -> restored.transitionTo(new CancelledOrder(restored), OrderStatusEnum.CANCELLED);
+            case PENDING -> {
+                // Default state
+            }
+        }
+        return restored;
+    }
+
     // ===== STATE TRANSITION CALLBACK =====
     @Override
     public void transitionTo(IOrderState newState, OrderStatusEnum status) {
@@ -0,0 +1,30 @@
+package core.ms.order.infrastructure.adapters;
+
+import core.ms.order.domain.ports.outbound.OrderBookAdapter;
+import core.ms.order_book.application.services.OrderBookApplicationService;
+import core.ms.order_book.domain.ports.inbound.OrderBookOperationResult;
+import core.ms.shared.money.Money;
+import core.ms.shared.money.Symbol;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.math.BigDecimal;
+
+@Component
+public class OrderBookAdapterImpl implements OrderBookAdapter {
+
+    @Autowired
+    private OrderBookApplicationService orderBookService;
+
+    @Override
+    public boolean amendInBook(String orderId, Symbol symbol, Money price, BigDecimal quantity) {
+        OrderBookOperationResult result = orderBookService.amendOrderInBook(orderId, symbol, price, quantity);
+        if (result.isSuccess()) {
+            return true;
+        }
+        if (result.getMessage() != null && result.getMessage().contains("not found")) {
+            return false;
+        }
+        throw new IllegalArgumentException(result.getMessage());
+    }
+}
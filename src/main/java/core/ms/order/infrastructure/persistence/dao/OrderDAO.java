@@ -0,0 +1,18 @@
+package core.ms.order.infrastructure.persistence.dao;
+
+import core.ms.order.domain.value_objects.OrderStatusEnum;
+import core.ms.order.infrastructure.persistence.entities.AbstractOrderEntity;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+/**
+ * Both sides of the orders table; results come back as BuyOrderEntity or SellOrderEntity.
+ */
+@Repository
+public interface OrderDAO extends JpaRepository<AbstractOrderEntity, String> {
+    List<AbstractOrderEntity> findBySymbolCode(String symbolCode);
+    List<AbstractOrderEntity> findByStatus(OrderStatusEnum status);
+    List<AbstractOrderEntity> findByPortfolioId(String portfolioId);
+}
\ No newline at end of file
@@ -8,7 +8,20 @@ import java.math.BigDecimal;
 import java.time.LocalDateTime;
 import java.util.Objects;
 
-@MappedSuperclass
+/**
+ * Buy and sell orders share one table, told apart by the side column, so a lookup by id,
+ * symbol, status or portfolio is a single indexed query whatever the side.
+ */
+@Entity
+@Table(name = "orders",
+        indexes = {
+                @Index(name = "idx_orders_symbol_status_portfolio", columnList = "symbol_code,status,portfolio_id"),
+                @Index(name = "idx_orders_side_symbol", columnList = "side,symbol_code"),
+                @Index(name = "idx_orders_portfolio_status", columnList = "portfolio_id,status"),
+                @Index(name = "idx_orders_status", columnList = "status")
+        })
+@Inheritance(strategy = InheritanceType.SINGLE_TABLE)
+@DiscriminatorColumn(name = "side", discriminatorType = DiscriminatorType.STRING, length = 4)
 public abstract class AbstractOrderEntity {
 
     @Id
@@ -50,6 +63,10 @@ public abstract class AbstractOrderEntity {
     @Column(name = "updated_at", nullable = false)
     protected LocalDateTime updatedAt;
 
+    @Version
+    @Column(name = "version", nullable = false)
+    protected long version;
+
     // Constructors
     protected AbstractOrderEntity() {}
 
@@ -97,6 +114,8 @@ public abstract class AbstractOrderEntity {
     public void setCreatedAt(LocalDateTime createdAt) { this.createdAt = createdAt; }
     public LocalDateTime getUpdatedAt() { return updatedAt; }
     public void setUpdatedAt(LocalDateTime updatedAt) { this.updatedAt = updatedAt; }
+    public long getVersion() { return version; }
+    public void setVersion(long version) { this.version = version; }
 
     @Override
     public boolean equals(Object obj) {
@@ -2,14 +2,14 @@ package core.ms.order.infrastructure.persistence.entities;
 
 import core.ms.order.domain.value_objects.OrderStatusEnum;
 import core.ms.shared.money.Currency;
+import jakarta.persistence.DiscriminatorValue;
 import jakarta.persistence.Entity;
-import jakarta.persistence.Table;
 
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "buy_orders")
+@DiscriminatorValue("BUY")
 public class BuyOrderEntity extends AbstractOrderEntity {
 
     public BuyOrderEntity() { super(); }
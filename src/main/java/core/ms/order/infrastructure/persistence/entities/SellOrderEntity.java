@@ -2,14 +2,14 @@ package core.ms.order.infrastructure.persistence.entities;
 
 import core.ms.order.domain.value_objects.OrderStatusEnum;
 import core.ms.shared.money.Currency;
+import jakarta.persistence.DiscriminatorValue;
 import jakarta.persistence.Entity;
-import jakarta.persistence.Table;
 
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "sell_orders")
+@DiscriminatorValue("SELL")
 public class SellOrderEntity extends AbstractOrderEntity {
 
     public SellOrderEntity() { super(); }
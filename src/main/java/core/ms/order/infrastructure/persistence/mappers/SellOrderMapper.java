@@ -2,6 +2,7 @@ package core.ms.order.infrastructure.persistence.mappers;
 
 import core.ms.order.domain.entities.SellOrder;
 import core.ms.order.domain.factories.OrderFactory;
+import core.ms.order.domain.value_objects.OrderStatusEnum;
 import core.ms.order.infrastructure.persistence.entities.SellOrderEntity;
 import core.ms.shared.money.AssetType;
 import core.ms.shared.money.Currency;
@@ -9,11 +10,17 @@ import core.ms.shared.money.Money;
 import core.ms.shared.money.Symbol;
 import org.springframework.stereotype.Component;
 
+import java.math.BigDecimal;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
 @Component
 public class SellOrderMapper {
 
+    private final Map<String, Symbol> symbols = new ConcurrentHashMap<>();
+
     public SellOrderEntity fromDomain(SellOrder order) {
-        return new SellOrderEntity(
+        SellOrderEntity entity = new SellOrderEntity(
                 order.getId(),
                 order.getPortfolioId(),
                 order.getReservationId(),
@@ -27,75 +34,41 @@ public class SellOrderMapper {
                 order.getCreatedAt(),
                 order.getUpdatedAt()
         );
+        entity.setVersion(order.getVersion());
+        return entity;
     }
 
+    /**
+     * Trusted rehydration: the row was validated when it was written, so the order is restored
+     * as stored, status included, without running the creation builder or replaying transitions.
+     */
     public SellOrder toDomain(SellOrderEntity entity) {
-        try {
-            Symbol symbol = reconstructSymbol(entity.getSymbolCode(), entity.getSymbolName(), entity.getCurrency());
-            Money price = Money.of(entity.getPrice(), entity.getCurrency());
-
-            String portfolioId = entity.getPortfolioId();
-            String reservationId = entity.getReservationId();
-
-            // Create order with factory
-            SellOrder order = OrderFactory.createSellOrderWithId(
-                    entity.getId(),
-                    portfolioId,
-                    reservationId,
-                    symbol,
-                    price,
-                    entity.getQuantity()
-            );
-
-            // Set executed quantity WITHOUT changing status
-            if (entity.getExecutedQuantity() != null && entity.getExecutedQuantity().signum() > 0) {
-                order.setExecutedQuantity(entity.getExecutedQuantity());
-            }
+        Symbol symbol = reconstructSymbol(entity.getSymbolCode(), entity.getSymbolName(), entity.getCurrency());
 
-            // Only reconstruct state if it's different from default PENDING
-            if (entity.getStatus() != null && entity.getStatus() != core.ms.order.domain.value_objects.OrderStatusEnum.PENDING) {
-                reconstructOrderState(order, entity);
-            }
-
-            return order;
-
-        } catch (OrderFactory.OrderCreationException e) {
-            throw new IllegalStateException("Failed to reconstruct SellOrder from persistence: " + e.getMessage(), e);
-        }
-    }
-
-    private void reconstructOrderState(SellOrder order, SellOrderEntity entity) {
-        // Only change state if necessary, avoid redundant state transitions
-        switch (entity.getStatus()) {
-            case PARTIAL -> {
-                // Only transition if not already partial
-                if (order.getStatus().getStatus() != core.ms.order.domain.value_objects.OrderStatusEnum.PARTIAL) {
-                    order.fillPartial();
-                }
-            }
-            case FILLED -> {
-                // Only transition if not already filled
-                if (order.getStatus().getStatus() != core.ms.order.domain.value_objects.OrderStatusEnum.FILLED) {
-                    order.complete();
-                }
-            }
-            case CANCELLED -> {
-                // Only transition if not already cancelled
-                if (order.getStatus().getStatus() != core.ms.order.domain.value_objects.OrderStatusEnum.CANCELLED) {
-                    order.cancel();
-                }
-            }
-            // PENDING is default state, no action needed
-        }
+        return OrderFactory.restoreSellOrder(
+                entity.getId(),
+                entity.getPortfolioId(),
+                entity.getReservationId(),
+                symbol,
+                Money.of(entity.getPrice(), entity.getCurrency()),
+                entity.getQuantity(),
+                entity.getStatus() != null ? entity.getStatus() : OrderStatusEnum.PENDING,
+                entity.getExecutedQuantity() != null ? entity.getExecutedQuantity() : BigDecimal.ZERO,
+                entity.getCreatedAt(),
+                entity.getUpdatedAt(),
+                entity.getVersion()
+        );
     }
 
     private Symbol reconstructSymbol(String code, String name, Currency quoteCurrency) {
-        return switch (code.toUpperCase()) {
-            case "BTC" -> quoteCurrency == Currency.USD ? Symbol.btcUsd() : Symbol.btcEur();
-            case "ETH" -> Symbol.ethUsd();
-            case "EURUSD" -> Symbol.eurUsd();
-            case "GBPUSD" -> Symbol.gbpUsd();
-            default -> new Symbol(code, name, AssetType.STOCK, Currency.USD, quoteCurrency);
-        };
+        // Symbols are immutable, so one instance per stored combination is shared
+        return symbols.computeIfAbsent(code + "|" + name + "|" + quoteCurrency, key ->
+                switch (code.toUpperCase()) {
+                    case "BTC" -> quoteCurrency == Currency.USD ? Symbol.btcUsd() : Symbol.btcEur();
+                    case "ETH" -> Symbol.ethUsd();
+                    case "EURUSD" -> Symbol.eurUsd();
+                    case "GBPUSD" -> Symbol.gbpUsd();
+                    default -> new Symbol(code, name, AssetType.STOCK, Currency.USD, quoteCurrency);
+                });
     }
 }
\ No newline at end of file
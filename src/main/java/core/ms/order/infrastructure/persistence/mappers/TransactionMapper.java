@@ -11,9 +11,14 @@ import core.ms.shared.money.Money;
 import core.ms.shared.money.Symbol;
 import org.springframework.stereotype.Component;
 
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
 @Component
 public class TransactionMapper {
 
+    private final Map<String, Symbol> symbols = new ConcurrentHashMap<>();
+
     public TransactionEntity fromDomain(Transaction transaction) {
         return new TransactionEntity(
                 transaction.getId(),
@@ -29,34 +34,31 @@ public class TransactionMapper {
         );
     }
 
+    /**
+     * Trusted rehydration: restores the stored id, price and time as they are. The orders are
+     * not executed again and no validation runs against their current state.
+     */
     public Transaction toDomain(TransactionEntity entity, IBuyOrder buyOrder, ISellOrder sellOrder) {
-        try {
-            // Reconstruct domain objects
-            Money executionPrice = Money.of(entity.getPrice(), entity.getCurrency());
-
-            // Use TransactionFactory for proper domain object creation
-            Transaction transaction = TransactionFactory.create(
-                    buyOrder,
-                    sellOrder,
-                    entity.getQuantity()
-            );
-
-            return transaction;
-
-        } catch (TransactionFactory.TransactionCreationException e) {
-            throw new IllegalStateException("Failed to reconstruct Transaction from persistence: " + e.getMessage(), e);
-        } catch (Exception e) {
-            throw new IllegalStateException("Failed to reconstruct Transaction from persistence: " + e.getMessage(), e);
-        }
+        return TransactionFactory.restore(
+                entity.getId(),
+                reconstructSymbol(entity.getSymbolCode(), entity.getSymbolName(), entity.getCurrency()),
+                buyOrder,
+                sellOrder,
+                Money.of(entity.getPrice(), entity.getCurrency()),
+                entity.getQuantity(),
+                entity.getCreatedAt()
+        );
     }
 
     private Symbol reconstructSymbol(String code, String name, Currency quoteCurrency) {
-        return switch (code.toUpperCase()) {
-            case "BTC" -> quoteCurrency == Currency.USD ? Symbol.btcUsd() : Symbol.btcEur();
-            case "ETH" -> Symbol.ethUsd();
-            case "EURUSD" -> Symbol.eurUsd();
-            case "GBPUSD" -> Symbol.gbpUsd();
-            default -> new Symbol(code, name, AssetType.STOCK, Currency.USD, quoteCurrency);
-        };
+        // Symbols are immutable, so one instance per stored combination is shared
+        return symbols.computeIfAbsent(code + "|" + name + "|" + quoteCurrency, key ->
+                switch (code.toUpperCase()) {
+                    case "BTC" -> quoteCurrency == Currency.USD ? Symbol.btcUsd() : Symbol.btcEur();
+                    case "ETH" -> Symbol.ethUsd();
+                    case "EURUSD" -> Symbol.eurUsd();
+                    case "GBPUSD" -> Symbol.gbpUsd();
+                    default -> new Symbol(code, name, AssetType.STOCK, Currency.USD, quoteCurrency);
+                });
     }
 }
\ No newline at end of file
@@ -4,7 +4,9 @@ import core.ms.order.domain.entities.*;
 import core.ms.order.domain.ports.outbound.OrderRepository;
 import core.ms.order.domain.value_objects.OrderStatusEnum;
 import core.ms.order.infrastructure.persistence.dao.BuyOrderDAO;
+import core.ms.order.infrastructure.persistence.dao.OrderDAO;
 import core.ms.order.infrastructure.persistence.dao.SellOrderDAO;
+import core.ms.order.infrastructure.persistence.entities.AbstractOrderEntity;
 import core.ms.order.infrastructure.persistence.entities.BuyOrderEntity;
 import core.ms.order.infrastructure.persistence.entities.SellOrderEntity;
 import core.ms.order.infrastructure.persistence.mappers.BuyOrderMapper;
@@ -14,10 +16,17 @@ import jakarta.persistence.EntityManager;
 import jakarta.persistence.LockModeType;
 import jakarta.persistence.PersistenceContext;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Timestamp;
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 import java.util.stream.Collectors;
@@ -26,6 +35,13 @@ import java.util.stream.Collectors;
 @Transactional
 public class OrderRepositoryService implements OrderRepository {
 
+    private static final String UPDATE_VERSIONED_SQL =
+            "UPDATE orders SET price = ?, currency = ?, quantity = ?, status = ?, executed_quantity = ?, " +
+                    "updated_at = ?, version = version + 1 WHERE id = ? AND version = ?";
+
+    @Autowired
+    private OrderDAO orderDAO;
+
     @Autowired
     private BuyOrderDAO buyOrderDAO;
 
@@ -41,6 +57,9 @@ public class OrderRepositoryService implements OrderRepository {
     @PersistenceContext
     private EntityManager entityManager;
 
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
     @Override
     public IOrder save(IOrder order) {
         if (order instanceof BuyOrder buyOrder) {
@@ -56,6 +75,27 @@ public class OrderRepositoryService implements OrderRepository {
         }
     }
 
+    /**
+     * Persists new orders directly: save merges entities with assigned ids, which selects
+     * each row first. With hibernate.jdbc.batch_size set the inserts go out as JDBC batches
+     * when the persistence context is flushed.
+     */
+    @Override
+    public List<IOrder> insertAll(List<? extends IOrder> orders) {
+        List<IOrder> inserted = new ArrayList<>(orders.size());
+        for (IOrder order : orders) {
+            if (order instanceof BuyOrder buyOrder) {
+                entityManager.persist(buyOrderMapper.fromDomain(buyOrder));
+            } else if (order instanceof SellOrder sellOrder) {
+                entityManager.persist(sellOrderMapper.fromDomain(sellOrder));
+            } else {
+                throw new IllegalArgumentException("Unknown order type: " + order.getClass());
+            }
+            inserted.add(order);
+        }
+        return inserted;
+    }
+
     @Override
     public void flush() {
         entityManager.flush();
@@ -63,94 +103,101 @@ public class OrderRepositoryService implements OrderRepository {
 
     @Override
     public Optional<IOrder> findById(String orderId) {
-        // Try buy orders first
-        Optional<BuyOrderEntity> buyEntity = buyOrderDAO.findById(orderId);
-        if (buyEntity.isPresent()) {
-            return Optional.of(buyOrderMapper.toDomain(buyEntity.get()));
+        return orderDAO.findById(orderId).map(this::toDomain);
+    }
+
+    @Override
+    public Optional<IOrder> findByIdWithLock(String orderId, LockModeType lockMode) {
+        // One locking select on the orders table; the side column picks the entity class
+        AbstractOrderEntity locked = entityManager.find(AbstractOrderEntity.class, orderId, lockMode);
+        return Optional.ofNullable(locked).map(this::toDomain);
+    }
+
+    @Override
+    public List<IOrder> findAllById(Collection<String> orderIds) {
+        if (orderIds.isEmpty()) {
+            return new ArrayList<>();
         }
 
-        // Try sell orders
-        Optional<SellOrderEntity> sellEntity = sellOrderDAO.findById(orderId);
-        return sellEntity.map(sellOrderEntity -> sellOrderMapper.toDomain(sellOrderEntity));
+        return orderDAO.findAllById(orderIds).stream()
+                .map(this::toDomain)
+                .collect(Collectors.toList());
     }
 
+    /**
+     * One JDBC batch of conditional updates instead of a locking select and a merge per
+     * order; a row that is no longer at the order's version means someone else wrote the
+     * order. Pending inserts are flushed first, as a bulk JPQL update would do.
+     */
     @Override
-    public Optional<IOrder> findByIdWithLock(String orderId, LockModeType lockMode) {
-        // Try buy orders first
-        Optional<BuyOrderEntity> buyEntity = buyOrderDAO.findById(orderId);
-        if (buyEntity.isPresent()) {
-            BuyOrderEntity locked = entityManager.find(BuyOrderEntity.class, orderId, lockMode);
-            if (locked != null) {
-                return Optional.of(buyOrderMapper.toDomain(locked));
-            }
+    public void updateAllVersioned(List<? extends IOrder> orders) {
+        if (orders.isEmpty()) {
+            return;
         }
+        entityManager.flush();
 
-        // Try sell orders
-        Optional<SellOrderEntity> sellEntity = sellOrderDAO.findById(orderId);
-        if (sellEntity.isPresent()) {
-            SellOrderEntity locked = entityManager.find(SellOrderEntity.class, orderId, lockMode);
-            if (locked != null) {
-                return Optional.of(sellOrderMapper.toDomain(locked));
+        int[] updated = jdbcTemplate.batchUpdate(UPDATE_VERSIONED_SQL, new BatchPreparedStatementSetter() {
+            @Override
+            public void setValues(PreparedStatement ps, int i) throws SQLException {
+                IOrder order = orders.get(i);
+                ps.setBigDecimal(1, order.getPrice().getAmount());
+                ps.setString(2, order.getPrice().getCurrency().name());
+                ps.setBigDecimal(3, order.getQuantity());
+                ps.setString(4, order.getStatus().getStatus().name());
+                ps.setBigDecimal(5, order.getExecutedQuantity());
+                ps.setTimestamp(6, Timestamp.valueOf(order.getUpdatedAt()));
+                ps.setString(7, order.getId());
+                ps.setLong(8, order.getVersion());
             }
-        }
 
-        return Optional.empty();
+            @Override
+            public int getBatchSize() {
+                return orders.size();
+            }
+        });
+
+        // Drivers that cannot report per-row counts answer SUCCESS_NO_INFO; only 0 is a conflict
+        for (int i = 0; i < updated.length; i++) {
+            if (updated[i] == 0) {
+                IOrder order = orders.get(i);
+                throw new OptimisticLockingFailureException(
+                        "Order " + order.getId() + " is no longer at version " + order.getVersion());
+            }
+        }
+        for (IOrder order : orders) {
+            order.setVersion(order.getVersion() + 1);
+        }
     }
 
     @Override
     public void deleteById(String orderId) {
-        buyOrderDAO.deleteById(orderId);
-        sellOrderDAO.deleteById(orderId);
+        orderDAO.deleteById(orderId);
     }
 
     @Override
     public boolean existsById(String orderId) {
-        return buyOrderDAO.existsById(orderId) || sellOrderDAO.existsById(orderId);
+        return orderDAO.existsById(orderId);
     }
 
     @Override
     public List<IOrder> findBySymbol(Symbol symbol) {
-        List<IOrder> orders = new ArrayList<>();
-
-        orders.addAll(buyOrderDAO.findBySymbolCode(symbol.getCode()).stream()
-                .map(buyOrderMapper::toDomain)
-                .toList());
-
-        orders.addAll(sellOrderDAO.findBySymbolCode(symbol.getCode()).stream()
-                .map(sellOrderMapper::toDomain)
-                .toList());
-
-        return orders;
+        return orderDAO.findBySymbolCode(symbol.getCode()).stream()
+                .map(this::toDomain)
+                .collect(Collectors.toList());
     }
 
     @Override
     public List<IOrder> findByStatus(OrderStatusEnum status) {
-        List<IOrder> orders = new ArrayList<>();
-
-        orders.addAll(buyOrderDAO.findByStatus(status).stream()
-                .map(buyOrderMapper::toDomain)
-                .toList());
-
-        orders.addAll(sellOrderDAO.findByStatus(status).stream()
-                .map(sellOrderMapper::toDomain)
-                .toList());
-
-        return orders;
+        return orderDAO.findByStatus(status).stream()
+                .map(this::toDomain)
+                .collect(Collectors.toList());
     }
 
     @Override
     public List<IOrder> findByPortfolioId(String portfolioId) {
-        List<IOrder> orders = new ArrayList<>();
-
-        orders.addAll(buyOrderDAO.findByPortfolioId(portfolioId).stream()
-                .map(buyOrderMapper::toDomain)
-                .toList());
-
-        orders.addAll(sellOrderDAO.findByPortfolioId(portfolioId).stream()
-                .map(sellOrderMapper::toDomain)
-                .toList());
-
-        return orders;
+        return orderDAO.findByPortfolioId(portfolioId).stream()
+                .map(this::toDomain)
+                .collect(Collectors.toList());
     }
 
     @Override
@@ -169,21 +216,23 @@ public class OrderRepositoryService implements OrderRepository {
 
     @Override
     public List<IOrder> findAll() {
-        List<IOrder> orders = new ArrayList<>();
-
-        orders.addAll(buyOrderDAO.findAll().stream()
-                .map(buyOrderMapper::toDomain)
-                .toList());
-
-        orders.addAll(sellOrderDAO.findAll().stream()
-                .map(sellOrderMapper::toDomain)
-                .toList());
-
-        return orders;
+        return orderDAO.findAll().stream()
+                .map(this::toDomain)
+                .collect(Collectors.toList());
     }
 
     @Override
     public long count() {
-        return buyOrderDAO.count() + sellOrderDAO.count();
+        return orderDAO.count();
+    }
+
+    private IOrder toDomain(AbstractOrderEntity entity) {
+        if (entity instanceof BuyOrderEntity buyEntity) {
+            return buyOrderMapper.toDomain(buyEntity);
+        } else if (entity instanceof SellOrderEntity sellEntity) {
+            return sellOrderMapper.toDomain(sellEntity);
+        } else {
+            throw new IllegalArgumentException("Unknown order entity type: " + entity.getClass());
+        }
     }
 }
\ No newline at end of file
@@ -19,8 +19,11 @@ import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
 import java.util.ArrayList;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 import java.util.stream.Collectors;
 
 @Service
@@ -44,13 +47,10 @@ public class TransactionRepositoryService implements TransactionRepository {
     public ITransaction save(ITransaction transaction) {
         Transaction domainTransaction = (Transaction) transaction;
         TransactionEntity entity = transactionMapper.fromDomain(domainTransaction);
-        TransactionEntity saved = transactionDAO.save(entity);
+        transactionDAO.save(entity);
 
-        // Get orders for reconstruction
-        IBuyOrder buyOrder = getBuyOrderById(saved.getBuyOrderId());
-        ISellOrder sellOrder = getSellOrderById(saved.getSellOrderId());
-
-        return transactionMapper.toDomain(saved, buyOrder, sellOrder);
+        // The stored row is exactly this transaction, so its orders are not reloaded to map it back
+        return domainTransaction;
     }
 
     @Override
@@ -60,6 +60,13 @@ public class TransactionRepositoryService implements TransactionRepository {
         return saved;
     }
 
+    @Override
+    public void insertAll(List<? extends ITransaction> transactions) {
+        for (ITransaction transaction : transactions) {
+            entityManager.persist(transactionMapper.fromDomain((Transaction) transaction));
+        }
+    }
+
     @Override
     public Optional<ITransaction> findById(String transactionId) {
         Optional<TransactionEntity> entityOpt = transactionDAO.findById(transactionId);
@@ -180,27 +187,40 @@ public class TransactionRepositoryService implements TransactionRepository {
 
     // Helper methods
     private List<ITransaction> mapToDomain(List<TransactionEntity> entities) {
+        // Load every order the rows refer to in one query, not two lookups per row
+        Set<String> orderIds = new HashSet<>();
+        for (TransactionEntity entity : entities) {
+            orderIds.add(entity.getBuyOrderId());
+            orderIds.add(entity.getSellOrderId());
+        }
+        Map<String, IOrder> orders = orderRepository.findAllById(orderIds).stream()
+                .collect(Collectors.toMap(IOrder::getId, order -> order));
+
         return entities.stream()
-                .map(entity -> {
-                    IBuyOrder buyOrder = getBuyOrderById(entity.getBuyOrderId());
-                    ISellOrder sellOrder = getSellOrderById(entity.getSellOrderId());
-                    return transactionMapper.toDomain(entity, buyOrder, sellOrder);
-                })
+                .map(entity -> transactionMapper.toDomain(entity,
+                        asBuyOrder(orders.get(entity.getBuyOrderId()), entity.getBuyOrderId()),
+                        asSellOrder(orders.get(entity.getSellOrderId()), entity.getSellOrderId())))
                 .collect(Collectors.toList());
     }
 
     private IBuyOrder getBuyOrderById(String orderId) {
-        Optional<IOrder> order = orderRepository.findById(orderId);
-        if (order.isPresent() && order.get() instanceof IBuyOrder) {
-            return (IBuyOrder) order.get();
+        return asBuyOrder(orderRepository.findById(orderId).orElse(null), orderId);
+    }
+
+    private ISellOrder getSellOrderById(String orderId) {
+        return asSellOrder(orderRepository.findById(orderId).orElse(null), orderId);
+    }
+
+    private IBuyOrder asBuyOrder(IOrder order, String orderId) {
+        if (order instanceof IBuyOrder buyOrder) {
+            return buyOrder;
         }
         throw new IllegalStateException("Buy order not found: " + orderId);
     }
 
-    private ISellOrder getSellOrderById(String orderId) {
-        Optional<IOrder> order = orderRepository.findById(orderId);
-        if (order.isPresent() && order.get() instanceof ISellOrder) {
-            return (ISellOrder) order.get();
+    private ISellOrder asSellOrder(IOrder order, String orderId) {
+        if (order instanceof ISellOrder sellOrder) {
+            return sellOrder;
         }
         throw new IllegalStateException("Sell order not found: " + orderId);
     }
@@ -0,0 +1,38 @@
+package core.ms.order_book.application.dto.query;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Changed price levels of one book update. A level with zero total quantity was removed.
+ */
+public class DepthDiffDTO {
+    private String symbolCode;
+    private long sequence;
+    private List<PriceLevelDTO> bids;
+    private List<PriceLevelDTO> asks;
+    private LocalDateTime timestamp;
+
+    public DepthDiffDTO() {}
+
+    public DepthDiffDTO(String symbolCode, long sequence, List<PriceLevelDTO> bids,
+                        List<PriceLevelDTO> asks, LocalDateTime timestamp) {
+        this.symbolCode = symbolCode;
+        this.sequence = sequence;
+        this.bids = bids;
+        this.asks = asks;
+        this.timestamp = timestamp;
+    }
+
+    // Getters and Setters
+    public String getSymbolCode() { return symbolCode; }
+    public void setSymbolCode(String symbolCode) { this.symbolCode = symbolCode; }
+    public long getSequence() { return sequence; }
+    public void setSequence(long sequence) { this.sequence = sequence; }
+    public List<PriceLevelDTO> getBids() { return bids; }
+    public void setBids(List<PriceLevelDTO> bids) { this.bids = bids; }
+    public List<PriceLevelDTO> getAsks() { return asks; }
+    public void setAsks(List<PriceLevelDTO> asks) { this.asks = asks; }
+    public LocalDateTime getTimestamp() { return timestamp; }
+    public void setTimestamp(LocalDateTime timestamp) { this.timestamp = timestamp; }
+}
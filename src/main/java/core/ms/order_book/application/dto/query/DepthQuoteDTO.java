@@ -0,0 +1,52 @@
+package core.ms.order_book.application.dto.query;
+
+import core.ms.shared.money.Currency;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * Estimated fill of a hypothetical taker order; prices are null when the opposite side is empty.
+ */
+public class DepthQuoteDTO {
+    private String symbolCode;
+    private String side;
+    private BigDecimal requestedQuantity;
+    private BigDecimal fillableQuantity;
+    private boolean fullyFillable;
+    private BigDecimal bestPrice;
+    private BigDecimal averagePrice;
+    private BigDecimal worstPrice;
+    private BigDecimal slippage;
+    private BigDecimal slippageBps;
+    private Currency currency;
+    private LocalDateTime timestamp;
+
+    public DepthQuoteDTO() {}
+
+    // Getters and Setters
+    public String getSymbolCode() { return symbolCode; }
+    public void setSymbolCode(String symbolCode) { this.symbolCode = symbolCode; }
+    public String getSide() { return side; }
+    public void setSide(String side) { this.side = side; }
+    public BigDecimal getRequestedQuantity() { return requestedQuantity; }
+    public void setRequestedQuantity(BigDecimal requestedQuantity) { this.requestedQuantity = requestedQuantity; }
+    public BigDecimal getFillableQuantity() { return fillableQuantity; }
+    public void setFillableQuantity(BigDecimal fillableQuantity) { this.fillableQuantity = fillableQuantity; }
+    public boolean isFullyFillable() { return fullyFillable; }
+    public void setFullyFillable(boolean fullyFillable) { this.fullyFillable = fullyFillable; }
+    public BigDecimal getBestPrice() { return bestPrice; }
+    public void setBestPrice(BigDecimal bestPrice) { this.bestPrice = bestPrice; }
+    public BigDecimal getAveragePrice() { return averagePrice; }
+    public void setAveragePrice(BigDecimal averagePrice) { this.averagePrice = averagePrice; }
+    public BigDecimal getWorstPrice() { return worstPrice; }
+    public void setWorstPrice(BigDecimal worstPrice) { this.worstPrice = worstPrice; }
+    public BigDecimal getSlippage() { return slippage; }
+    public void setSlippage(BigDecimal slippage) { this.slippage = slippage; }
+    public BigDecimal getSlippageBps() { return slippageBps; }
+    public void setSlippageBps(BigDecimal slippageBps) { this.slippageBps = slippageBps; }
+    public Currency getCurrency() { return currency; }
+    public void setCurrency(Currency currency) { this.currency = currency; }
+    public LocalDateTime getTimestamp() { return timestamp; }
+    public void setTimestamp(LocalDateTime timestamp) { this.timestamp = timestamp; }
+}
@@ -0,0 +1,38 @@
+package core.ms.order_book.application.dto.query;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Every price level of a book as of a depth-diff sequence; diffs after it apply on top.
+ */
+public class DepthSnapshotDTO {
+    private String symbolCode;
+    private long sequence;
+    private List<PriceLevelDTO> bidLevels;
+    private List<PriceLevelDTO> askLevels;
+    private LocalDateTime timestamp;
+
+    public DepthSnapshotDTO() {}
+
+    public DepthSnapshotDTO(String symbolCode, long sequence, List<PriceLevelDTO> bidLevels,
+                            List<PriceLevelDTO> askLevels, LocalDateTime timestamp) {
+        this.symbolCode = symbolCode;
+        this.sequence = sequence;
+        this.bidLevels = bidLevels;
+        this.askLevels = askLevels;
+        this.timestamp = timestamp;
+    }
+
+    // Getters and Setters
+    public String getSymbolCode() { return symbolCode; }
+    public void setSymbolCode(String symbolCode) { this.symbolCode = symbolCode; }
+    public long getSequence() { return sequence; }
+    public void setSequence(long sequence) { this.sequence = sequence; }
+    public List<PriceLevelDTO> getBidLevels() { return bidLevels; }
+    public void setBidLevels(List<PriceLevelDTO> bidLevels) { this.bidLevels = bidLevels; }
+    public List<PriceLevelDTO> getAskLevels() { return askLevels; }
+    public void setAskLevels(List<PriceLevelDTO> askLevels) { this.askLevels = askLevels; }
+    public LocalDateTime getTimestamp() { return timestamp; }
+    public void setTimestamp(LocalDateTime timestamp) { this.timestamp = timestamp; }
+}
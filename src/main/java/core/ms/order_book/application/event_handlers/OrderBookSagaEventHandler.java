@@ -1,8 +1,12 @@
 package core.ms.order_book.application.event_handlers;
 
 import core.ms.order.domain.entities.IOrder;
+import core.ms.order.domain.factories.OrderFactory;
+import core.ms.order.domain.value_objects.OrderStatusEnum;
 import core.ms.order.domain.ports.inbound.OrderService;
 import core.ms.order_book.application.services.OrderBookApplicationService;
+import core.ms.order_book.domain.ports.inbound.OrderBookOperationResult;
+import core.ms.shared.OrderType;
 import core.ms.shared.events.CorrelationAwareEventListener;
 import core.ms.shared.money.Symbol;
 import org.slf4j.Logger;
@@ -12,8 +16,11 @@ import org.springframework.context.event.EventListener;
 import org.springframework.scheduling.annotation.Async;
 import org.springframework.stereotype.Component;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
 
-import java.util.Optional;
+import java.math.BigDecimal;
+import java.util.List;
 
 @Component
 public class OrderBookSagaEventHandler extends CorrelationAwareEventListener {
@@ -124,24 +131,22 @@ public class OrderBookSagaEventHandler extends CorrelationAwareEventListener {
             }
         });
     }*/
-    @EventListener
+    /**
+     * Handles OrderCreatedEvent from Order BC once the order has committed. The event carries
+     * the order's full state, so the book builds its own copy without reading it back.
+     * The snapshot cannot miss an amendment: the Order BC only amends orders resting in the
+     * book, and the book applies the amendment before it is persisted. A snapshot older than
+     * the copy the book already holds is ignored.
+     */
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
     @Async
-// NO @Transactional annotation - handle everything in memory
     public void handleOrderCreatedFromOrderBC(core.ms.order.domain.events.publish.OrderCreatedEvent event) {
         logger.info("📥 ORDERBOOK BC: RECEIVED OrderCreatedEvent");
 
         handleEvent(event, () -> {
-            // Fetch order with retries
-            IOrder order = fetchOrderWithRetries(event.getOrderId(), 3);
-
-            if (order == null) {
-                logger.warn("Order {} not found after retries - skipping", event.getOrderId());
-                return;
-            }
-
             // Add to in-memory order book (no database transaction)
             try {
-                var result = orderBookService.addOrderToBook(order);
+                var result = orderBookService.addOrderToBook(restoreOrder(event));
                 if (result.isSuccess()) {
                     logger.info("✅ Order {} added to book", event.getOrderId());
                 } else {
@@ -153,26 +158,54 @@ public class OrderBookSagaEventHandler extends CorrelationAwareEventListener {
         });
     }
 
-    private IOrder fetchOrderWithRetries(String orderId, int maxRetries) {
-        for (int i = 0; i < maxRetries; i++) {
-            try {
-                Optional<IOrder> orderOpt = orderService.findOrderById(orderId);
-                if (orderOpt.isPresent()) {
-                    return orderOpt.get();
-                }
+    /**
+     * Handles OrderBatchCreatedEvent from Order BC once the batch has committed, so matches
+     * never reference orders settlement cannot load yet. The event carries the orders; each
+     * symbol's book takes its share in one turn.
+     */
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    @Async
+    public void handleOrderBatchCreatedFromOrderBC(core.ms.order.domain.events.publish.OrderBatchCreatedEvent event) {
+        logger.info("📥 ORDERBOOK BC: RECEIVED OrderBatchCreatedEvent - {} orders", event.getOrders().size());
 
-                if (i < maxRetries - 1) {
-                    Thread.sleep(100 * (i + 1));
-                }
+        handleEvent(event, () -> {
+            try {
+                List<OrderBookOperationResult> results = orderBookService.addOrdersToBook(
+                        event.getOrders().stream().map(this::restoreOrder).toList());
+
+                long added = results.stream().filter(OrderBookOperationResult::isSuccess).count();
+                results.stream()
+                        .filter(result -> !result.isSuccess())
+                        .forEach(result -> logger.warn("Failed to add order {}: {}",
+                                result.getOrderId(), result.getMessage()));
+                logger.info("✅ {} of {} batch orders added to book", added, results.size());
             } catch (Exception e) {
-                logger.debug("Attempt {} failed: {}", i + 1, e.getMessage());
+                logger.error("Error adding order batch to book", e);
             }
+        });
+    }
+
+    /**
+     * Builds the book's own order from an event snapshot; the Order BC's instance is never shared.
+     */
+    private IOrder restoreOrder(core.ms.order.domain.events.publish.OrderCreatedEvent event) {
+        OrderStatusEnum status = OrderStatusEnum.valueOf(event.getStatus());
+        if (event.getOrderType() == OrderType.BUY) {
+            return OrderFactory.restoreBuyOrder(event.getOrderId(), event.getPortfolioId(),
+                    event.getReservationId(), event.getSymbol(), event.getPrice(), event.getQuantity(),
+                    status, event.getExecutedQuantity(), event.getCreatedAt(), event.getUpdatedAt(),
+                    event.getVersion());
         }
-        return null;
+        return OrderFactory.restoreSellOrder(event.getOrderId(), event.getPortfolioId(),
+                event.getReservationId(), event.getSymbol(), event.getPrice(), event.getQuantity(),
+                status, event.getExecutedQuantity(), event.getCreatedAt(), event.getUpdatedAt(),
+                event.getVersion());
     }
+
     /**
      * Handles TransactionCreatedEvent from Order BC.
-     * Updates or removes orders based on execution status.
+     * The book already applied the fill when it matched, so this only reconciles the
+     * remaining quantities; an order is reloaded only if the book disagrees with settlement.
      */
     @EventListener
     @Async
@@ -198,58 +231,10 @@ public class OrderBookSagaEventHandler extends CorrelationAwareEventListener {
                 // Convert symbol code to Symbol object
                 var symbol = core.ms.shared.money.Symbol.createFromCode(event.getSymbolCode());
 
-                // HANDLE BUY ORDER
-                logger.info("🔄 ORDERBOOK BC: Processing buy order {}", event.getBuyOrderId());
-
-                if (event.getBuyOrderRemainingQuantity().signum() == 0) {
-                    logger.info("🗑️ ORDERBOOK BC: Buy order {} is FULLY EXECUTED - removing from book",
-                            event.getBuyOrderId());
-
-                    var removeResult = orderBookService.removeOrderFromBook(
-                            event.getBuyOrderId(), symbol);
-
-                    if (removeResult.isSuccess()) {
-                        logger.info("✅ ORDERBOOK BC: Buy order {} removed from book", event.getBuyOrderId());
-                    } else {
-                        logger.warn("⚠️ ORDERBOOK BC: Could not remove buy order {} - {}",
-                                event.getBuyOrderId(), removeResult.getMessage());
-                    }
-                } else {
-                    logger.info("📝 ORDERBOOK BC: Buy order {} is PARTIALLY EXECUTED - updating in book",
-                            event.getBuyOrderId());
-                    logger.info("   - Remaining Quantity: {}", event.getBuyOrderRemainingQuantity());
-
-                    updateOrderInBook(event.getBuyOrderId(), symbol, event.getCorrelationId());
-                }
-
-                // HANDLE SELL ORDER
-                logger.info("🔄 ORDERBOOK BC: Processing sell order {}", event.getSellOrderId());
-
-                if (event.getSellOrderRemainingQuantity().signum() == 0) {
-                    logger.info("🗑️ ORDERBOOK BC: Sell order {} is FULLY EXECUTED - removing from book",
-                            event.getSellOrderId());
-
-                    var removeResult = orderBookService.removeOrderFromBook(
-                            event.getSellOrderId(), symbol);
-
-                    if (removeResult.isSuccess()) {
-                        logger.info("✅ ORDERBOOK BC: Sell order {} removed from book", event.getSellOrderId());
-                    } else {
-                        logger.warn("⚠️ ORDERBOOK BC: Could not remove sell order {} - {}",
-                                event.getSellOrderId(), removeResult.getMessage());
-                    }
-                } else {
-                    logger.info("📝 ORDERBOOK BC: Sell order {} is PARTIALLY EXECUTED - updating in book",
-                            event.getSellOrderId());
-                    logger.info("   - Remaining Quantity: {}", event.getSellOrderRemainingQuantity());
-
-                    updateOrderInBook(event.getSellOrderId(), symbol, event.getCorrelationId());
-                }
-
-                // TRIGGER MATCH CHECK
-                logger.info("🔍 ORDERBOOK BC: Triggering match check for symbol {}", symbol.getCode());
-                orderBookService.processPendingMatches(symbol);
-                logger.info("✅ ORDERBOOK BC: Match check completed");
+                reconcileOrder(event.getBuyOrderId(), symbol,
+                        event.getBuyOrderRemainingQuantity(), event.getCorrelationId());
+                reconcileOrder(event.getSellOrderId(), symbol,
+                        event.getSellOrderRemainingQuantity(), event.getCorrelationId());
 
             } catch (Exception e) {
                 logger.error("💥 ORDERBOOK BC: EXCEPTION processing TransactionCreatedEvent", e);
@@ -266,6 +251,48 @@ public class OrderBookSagaEventHandler extends CorrelationAwareEventListener {
         });
     }
 
+    /**
+     * Handles TransactionCreationFailedEvent from Order BC.
+     * The book consumed the fill's quantity when it matched; settlement never executed it,
+     * so each order gets that quantity back in place and keeps its time priority. Only an
+     * order the book cannot restore itself is reloaded from the Order BC.
+     * Listens outside any transaction phase: the failing settlement rolls back.
+     */
+    @EventListener
+    @Async
+    public void handleTransactionCreationFailedFromOrderBC(
+            core.ms.order.domain.events.publish.TransactionCreationFailedEvent event) {
+        logger.info("📥 ORDERBOOK BC: RECEIVED TransactionCreationFailedEvent - Buy: {}, Sell: {}",
+                event.getBuyOrderId(), event.getSellOrderId());
+
+        handleEvent(event, () -> {
+            try {
+                Symbol symbol = Symbol.createFromCode(event.getSymbolCode());
+                releaseFailedFill(event, event.getBuyOrderId(), symbol);
+                releaseFailedFill(event, event.getSellOrderId(), symbol);
+            } catch (Exception e) {
+                logger.error("💥 ORDERBOOK BC: EXCEPTION processing TransactionCreationFailedEvent", e);
+                throw new RuntimeException("Failed to process TransactionCreationFailedEvent", e);
+            }
+        });
+    }
+
+    private void releaseFailedFill(core.ms.order.domain.events.publish.TransactionCreationFailedEvent event,
+                                   String orderId, Symbol symbol) {
+        if (!orderBookService.releaseFailedFill(symbol, event.getMatchId(), orderId, event.getMatchedQuantity())) {
+            updateOrderInBook(orderId, symbol, event.getCorrelationId());
+        }
+    }
+
+    private void reconcileOrder(String orderId, Symbol symbol, BigDecimal remainingQuantity, String correlationId) {
+        logger.info("🔄 ORDERBOOK BC: Reconciling order {} ({} remaining after settlement)",
+                orderId, remainingQuantity);
+
+        if (!orderBookService.reconcileSettledFill(symbol, orderId, remainingQuantity)) {
+            updateOrderInBook(orderId, symbol, correlationId);
+        }
+    }
+
     /**
      * Updates an order in the book by removing and re-adding it.
      */
@@ -283,7 +310,8 @@ public class OrderBookSagaEventHandler extends CorrelationAwareEventListener {
                         .orElse(null);
 
                 if (order == null) {
-                    logger.warn("Order {} not found, skipping update", orderId);
+                    logger.warn("Order {} not found in Order BC - removing from book", orderId);
+                    orderBookService.removeOrderFromBook(orderId, symbol);
                     return;
                 }
 
@@ -38,6 +38,13 @@ public class CandlestickService {
     @Autowired(required = false)
     private SimpMessagingTemplate messagingTemplate;
 
+    // Live candle updates and invalidation notices are conflated per destination
+    @Autowired
+    private MarketDataConflator marketDataConflator;
+
+    @Autowired
+    private MarketDataSubscriptionRegistry subscriptionRegistry;
+
     // Active candle builders for real-time updates
     private final Map<String, CurrentCandleBuilder> activeCandles = new ConcurrentHashMap<>();
 
@@ -129,22 +136,18 @@ public class CandlestickService {
 
             builder.addTransaction(price, quantity);
 
-            // Broadcast update via WebSocket if available
-            if (messagingTemplate != null) {
-                try {
-                    CandlestickUpdate update = new CandlestickUpdate(
-                            symbol,
-                            interval.toString(),
-                            builder.getCurrentCandle()
-                    );
-
-                    String destination = "/topic/ohlc/" + symbol + "/" + interval.toString().toLowerCase();
-                    messagingTemplate.convertAndSend(destination, update);
-
-                    logger.trace("Broadcasted candle update to {}", destination);
-                } catch (Exception e) {
-                    logger.error("Failed to broadcast candle update", e);
-                }
+            // Broadcast update via WebSocket; only the latest candle per flush is sent,
+            // and nothing is built for intervals nobody watches
+            String destination = "/topic/ohlc/" + symbol + "/" + interval.toString().toLowerCase();
+            if (subscriptionRegistry.hasSubscribers(destination)) {
+                CandlestickUpdate update = new CandlestickUpdate(
+                        symbol,
+                        interval.toString(),
+                        builder.getCurrentCandle()
+                );
+                marketDataConflator.publish(destination, update);
+
+                logger.trace("Queued candle update for {}", destination);
             }
         }
 
@@ -155,18 +158,11 @@ public class CandlestickService {
         // Clear cache
         candleCache.entrySet().removeIf(entry -> entry.getKey().startsWith(symbol + "-"));
 
-        // Send cache invalidation notice via WebSocket
-        if (messagingTemplate != null) {
-            try {
-                // Notify clients that they should refresh their data
-                messagingTemplate.convertAndSend(
-                        "/topic/ohlc/cache-invalidated/" + symbol,
-                        LocalDateTime.now()
-                );
-                logger.debug("Cache cleared and invalidation notice sent for {}", symbol);
-            } catch (Exception e) {
-                logger.error("Failed to send cache invalidation notice", e);
-            }
+        // Notify clients that they should refresh their data; one notice per flush is enough
+        String destination = "/topic/ohlc/cache-invalidated/" + symbol;
+        if (subscriptionRegistry.hasSubscribers(destination)) {
+            marketDataConflator.publish(destination, LocalDateTime.now());
+            logger.debug("Cache cleared and invalidation notice queued for {}", symbol);
         }
     }
     /**
@@ -205,9 +201,10 @@ public class CandlestickService {
                     if (builder.shouldClose()) {
                         CandlestickDTO completed = builder.closeAndReset();
 
-                        if (completed != null && messagingTemplate != null) {
-                            // Broadcast completed candle
-                            String destination = "/topic/ohlc/complete/" + builder.symbol + "/" + interval.toString().toLowerCase();
+                        // Broadcast completed candle
+                        String destination = "/topic/ohlc/complete/" + builder.symbol + "/" + interval.toString().toLowerCase();
+                        if (completed != null && messagingTemplate != null
+                                && subscriptionRegistry.hasSubscribers(destination)) {
                             messagingTemplate.convertAndSend(destination, completed);
                             logger.debug("Closed and broadcasted {} candle for {}", interval, builder.symbol);
                         }
@@ -0,0 +1,131 @@
+package core.ms.order_book.application.services;
+
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * Conflating fan-out for market data topics.
+ *
+ * Publishers only record the latest value per destination; a scheduled flush sends what is
+ * pending, so a destination gets at most one message per flush no matter how many trades or
+ * book changes happened in between. Each flushed value is converted once and the broker hands
+ * that same message to every subscriber of the destination.
+ *
+ * Only for state topics where the latest value replaces the previous ones; streams whose
+ * messages all matter (depth diffs, trade events) must not go through here.
+ */
+@Component
+public class MarketDataConflator {
+
+    private static final Logger logger = LoggerFactory.getLogger(MarketDataConflator.class);
+
+    @Autowired
+    private SimpMessagingTemplate messagingTemplate;
+
+    @Value("${orderbook.market-data.conflation.enabled:true}")
+    private boolean enabled;
+
+    // Distinct destinations waiting for a flush; updates for new ones are dropped beyond this
+    @Value("${orderbook.market-data.conflation.max-pending:10000}")
+    private int maxPending;
+
+    private final Map<String, Supplier<?>> pending = new ConcurrentHashMap<>();
+
+    private final LongAdder published = new LongAdder();
+    private final LongAdder conflated = new LongAdder();
+    private final LongAdder dropped = new LongAdder();
+    private final LongAdder sent = new LongAdder();
+
+    /**
+     * Queues a value for the destination, replacing any value not sent yet.
+     */
+    public void publish(String destination, Object payload) {
+        publishLatest(destination, () -> payload);
+    }
+
+    /**
+     * Queues a value that is only computed when the destination is flushed, so superseded
+     * updates (a full depth view, a ticker) are never built.
+     */
+    public void publishLatest(String destination, Supplier<?> payload) {
+        published.increment();
+
+        if (!enabled) {
+            send(destination, payload);
+            return;
+        }
+
+        if (pending.size() >= maxPending && !pending.containsKey(destination)) {
+            dropped.increment();
+            return;
+        }
+
+        if (pending.put(destination, payload) != null) {
+            conflated.increment();
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${orderbook.market-data.conflation.flush-interval:100}")
+    public void flush() {
+        if (pending.isEmpty()) {
+            return;
+        }
+
+        int flushed = 0;
+        for (String destination : new ArrayList<>(pending.keySet())) {
+            Supplier<?> payload = pending.remove(destination);
+            if (payload != null && send(destination, payload)) {
+                flushed++;
+            }
+        }
+
+        logger.trace("📡 Flushed {} market data destinations", flushed);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        pending.clear();
+    }
+
+    private boolean send(String destination, Supplier<?> payload) {
+        try {
+            Object value = payload.get();
+            if (value == null) {
+                return false;
+            }
+
+            messagingTemplate.convertAndSend(destination, value);
+            sent.increment();
+            return true;
+        } catch (Exception e) {
+            dropped.increment();
+            logger.error("Failed to send market data to {}", destination, e);
+            return false;
+        }
+    }
+
+    // ============ STATISTICS ============
+
+    public Map<String, Long> getStatistics() {
+        Map<String, Long> statistics = new LinkedHashMap<>();
+        statistics.put("published", published.sum());
+        statistics.put("conflated", conflated.sum());
+        statistics.put("dropped", dropped.sum());
+        statistics.put("sent", sent.sum());
+        statistics.put("pending", (long) pending.size());
+        return statistics;
+    }
+}
@@ -0,0 +1,204 @@
+package core.ms.order_book.application.services;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.messaging.simp.SimpMessageHeaderAccessor;
+import org.springframework.stereotype.Component;
+import org.springframework.util.AntPathMatcher;
+import org.springframework.web.socket.messaging.SessionDisconnectEvent;
+import org.springframework.web.socket.messaging.SessionSubscribeEvent;
+import org.springframework.web.socket.messaging.SessionUnsubscribeEvent;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Live STOMP interest per destination, kept from subscribe, unsubscribe and disconnect events.
+ *
+ * Market data publishers ask it before building a message so that symbols, intervals and
+ * depth levels nobody watches cost nothing. A subscription may carry a {@code depth} header
+ * with the number of book levels it wants; depth is then built only to the deepest one.
+ */
+@Component
+public class MarketDataSubscriptionRegistry {
+
+    private static final Logger logger = LoggerFactory.getLogger(MarketDataSubscriptionRegistry.class);
+
+    public static final String DEPTH_HEADER = "depth";
+
+    // When disabled every destination counts as watched, e.g. behind an external broker relay
+    @Value("${orderbook.market-data.subscription-filter.enabled:true}")
+    private boolean enabled;
+
+    private final AntPathMatcher pathMatcher = new AntPathMatcher();
+
+    // destination -> (session/subscription key -> requested depth, 0 when not given)
+    private final Map<String, Map<String, Integer>> destinations = new ConcurrentHashMap<>();
+    // Subscriptions to patterns such as /topic/orderbook/*, checked when no exact one exists
+    private final Map<String, Map<String, Integer>> patterns = new ConcurrentHashMap<>();
+    // session -> (subscription id -> destination), to undo subscriptions on disconnect
+    private final Map<String, Map<String, String>> sessions = new HashMap<>();
+
+    // ============ STOMP EVENTS ============
+
+    @EventListener
+    public void onSubscribe(SessionSubscribeEvent event) {
+        SimpMessageHeaderAccessor accessor = SimpMessageHeaderAccessor.wrap(event.getMessage());
+        String sessionId = accessor.getSessionId();
+        String subscriptionId = accessor.getSubscriptionId();
+        String destination = accessor.getDestination();
+        if (sessionId == null || subscriptionId == null || destination == null) {
+            return;
+        }
+
+        subscribe(sessionId, subscriptionId, destination, parseDepth(accessor.getFirstNativeHeader(DEPTH_HEADER)));
+    }
+
+    @EventListener
+    public void onUnsubscribe(SessionUnsubscribeEvent event) {
+        SimpMessageHeaderAccessor accessor = SimpMessageHeaderAccessor.wrap(event.getMessage());
+        if (accessor.getSessionId() != null && accessor.getSubscriptionId() != null) {
+            unsubscribe(accessor.getSessionId(), accessor.getSubscriptionId());
+        }
+    }
+
+    @EventListener
+    public void onDisconnect(SessionDisconnectEvent event) {
+        disconnect(event.getSessionId());
+    }
+
+    synchronized void subscribe(String sessionId, String subscriptionId, String destination, int depth) {
+        String previous = sessions.computeIfAbsent(sessionId, id -> new HashMap<>()).put(subscriptionId, destination);
+        if (previous != null) {
+            removeInterest(previous, key(sessionId, subscriptionId));
+        }
+
+        registryFor(destination)
+                .computeIfAbsent(destination, d -> new ConcurrentHashMap<>())
+                .put(key(sessionId, subscriptionId), depth);
+        logger.debug("Subscription {} of session {} to {}", subscriptionId, sessionId, destination);
+    }
+
+    synchronized void unsubscribe(String sessionId, String subscriptionId) {
+        Map<String, String> subscriptions = sessions.get(sessionId);
+        if (subscriptions == null) {
+            return;
+        }
+
+        String destination = subscriptions.remove(subscriptionId);
+        if (destination != null) {
+            removeInterest(destination, key(sessionId, subscriptionId));
+        }
+        if (subscriptions.isEmpty()) {
+            sessions.remove(sessionId);
+        }
+    }
+
+    synchronized void disconnect(String sessionId) {
+        Map<String, String> subscriptions = sessions.remove(sessionId);
+        if (subscriptions == null) {
+            return;
+        }
+
+        subscriptions.forEach((subscriptionId, destination) ->
+                removeInterest(destination, key(sessionId, subscriptionId)));
+    }
+
+    // ============ QUERIES ============
+
+    /**
+     * Whether any live subscription would receive a message sent to the destination.
+     */
+    public boolean hasSubscribers(String destination) {
+        if (!enabled || destinations.containsKey(destination)) {
+            return true;
+        }
+
+        for (String pattern : patterns.keySet()) {
+            if (pathMatcher.match(pattern, destination)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Deepest number of levels requested for the destination, or the default when no
+     * subscription gave one (or when filtering is off).
+     */
+    public int getRequestedDepth(String destination, int defaultDepth) {
+        if (!enabled) {
+            return defaultDepth;
+        }
+
+        int deepest = deepest(destinations.get(destination), defaultDepth);
+        for (Map.Entry<String, Map<String, Integer>> pattern : patterns.entrySet()) {
+            if (pathMatcher.match(pattern.getKey(), destination)) {
+                deepest = Math.max(deepest, deepest(pattern.getValue(), defaultDepth));
+            }
+        }
+        return deepest;
+    }
+
+    public int getSubscriptionCount() {
+        int count = 0;
+        for (Map<String, Integer> subscribers : destinations.values()) {
+            count += subscribers.size();
+        }
+        for (Map<String, Integer> subscribers : patterns.values()) {
+            count += subscribers.size();
+        }
+        return count;
+    }
+
+    public int getWatchedDestinationCount() {
+        return destinations.size() + patterns.size();
+    }
+
+    // ============ HELPERS ============
+
+    private Map<String, Map<String, Integer>> registryFor(String destination) {
+        return pathMatcher.isPattern(destination) ? patterns : destinations;
+    }
+
+    private void removeInterest(String destination, String key) {
+        Map<String, Map<String, Integer>> registry = registryFor(destination);
+        Map<String, Integer> subscribers = registry.get(destination);
+        if (subscribers != null) {
+            subscribers.remove(key);
+            if (subscribers.isEmpty()) {
+                registry.remove(destination);
+            }
+        }
+    }
+
+    private static int deepest(Map<String, Integer> subscribers, int defaultDepth) {
+        if (subscribers == null || subscribers.isEmpty()) {
+            return 0;
+        }
+
+        int deepest = 0;
+        for (int depth : subscribers.values()) {
+            deepest = Math.max(deepest, depth > 0 ? depth : defaultDepth);
+        }
+        return deepest;
+    }
+
+    private static int parseDepth(String header) {
+        if (header == null || header.isBlank()) {
+            return 0;
+        }
+        try {
+            return Math.max(0, Integer.parseInt(header.trim()));
+        } catch (NumberFormatException e) {
+            return 0;
+        }
+    }
+
+    private static String key(String sessionId, String subscriptionId) {
+        return sessionId + ":" + subscriptionId;
+    }
+}
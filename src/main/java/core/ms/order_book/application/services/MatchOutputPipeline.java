@@ -0,0 +1,269 @@
+package core.ms.order_book.application.services;
+
+import core.ms.order_book.domain.events.publish.OrderMatchedEvent;
+import core.ms.order_book.domain.ports.outbound.OrderBookJournal;
+import core.ms.order_book.domain.ports.outbound.OrderMatchEventPublisher;
+import core.ms.shared.events.EventContext;
+import core.ms.shared.money.Symbol;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Carries match events from the order books to the event publisher.
+ *
+ * Each symbol has a bounded ring written by the book's writer and drained by one
+ * dedicated publisher thread, so matches of a symbol are published strictly in the order
+ * the book produced them, in batches. When the ring is full the writer waits for the
+ * publisher to catch up instead of buffering without limit.
+ * With the journal enabled, a batch is only published once the fills in it are on disk.
+ *
+ * The fills are already applied to the book, so a match is never dropped or overtaken: one
+ * that cannot be published stays at the head of its ring and is retried with doubling backoff,
+ * capped at retry.max-backoff-ms. Its slot is only freed once it has gone out, so while the
+ * publisher is stuck the ring fills up and the book waits. Idle publisher threads sleep until
+ * the next match arrives.
+ */
+@Component
+public class MatchOutputPipeline {
+
+    private static final Logger logger = LoggerFactory.getLogger(MatchOutputPipeline.class);
+    private static final long PRODUCER_WAIT_NANOS = TimeUnit.MICROSECONDS.toNanos(50);
+    private static final long BACKPRESSURE_LOG_NANOS = TimeUnit.SECONDS.toNanos(1);
+
+    @Autowired
+    private OrderMatchEventPublisher eventPublisher;
+
+    @Autowired
+    private OrderBookJournal journal;
+
+    @Value("${orderbook.match-output.capacity:8192}")
+    private int capacity;
+
+    @Value("${orderbook.match-output.batch-size:256}")
+    private int batchSize;
+
+    @Value("${orderbook.match-output.retry.backoff-ms:50}")
+    private long backoffMs;
+
+    @Value("${orderbook.match-output.retry.max-backoff-ms:5000}")
+    private long maxBackoffMs;
+
+    // Attempts still made for a failing match once its publisher has been stopped
+    @Value("${orderbook.match-output.retry.attempts-after-stop:5}")
+    private int attemptsAfterStop;
+
+    private final Map<Symbol, SymbolRing> rings = new ConcurrentHashMap<>();
+    private final AtomicLong backpressureWaits = new AtomicLong();
+    private final AtomicLong publishRetries = new AtomicLong();
+
+    /**
+     * Appends matches to the symbol's ring, waiting while the ring is full.
+     */
+    public void publish(Symbol symbol, List<OrderMatchedEvent> events) {
+        if (events.isEmpty()) {
+            return;
+        }
+        SymbolRing ring = rings.computeIfAbsent(symbol, this::startRing);
+        for (OrderMatchedEvent event : events) {
+            ring.put(event);
+        }
+    }
+
+    /**
+     * Stops the publisher of a symbol once its book is removed. Queued matches are still published.
+     */
+    public void retire(Symbol symbol) {
+        SymbolRing ring = rings.remove(symbol);
+        if (ring != null) {
+            ring.stop();
+        }
+    }
+
+    public long getPendingCount(Symbol symbol) {
+        SymbolRing ring = rings.get(symbol);
+        return ring == null ? 0 : ring.size();
+    }
+
+    public long getPublishedSequence(Symbol symbol) {
+        SymbolRing ring = rings.get(symbol);
+        return ring == null ? 0 : ring.readSequence;
+    }
+
+    public long getBackpressureWaits() {
+        return backpressureWaits.get();
+    }
+
+    public long getPublishRetries() {
+        return publishRetries.get();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        rings.values().forEach(SymbolRing::stop);
+        rings.clear();
+    }
+
+    private SymbolRing startRing(Symbol symbol) {
+        SymbolRing ring = new SymbolRing(symbol, capacity);
+        ring.thread.start();
+        logger.info("📤 Started match publisher thread for symbol {}", symbol.getCode());
+        return ring;
+    }
+
+    // ============ RING ============
+
+    /**
+     * Bounded ring of match events with sequence numbers.
+     * Writers are serialised by the ring's monitor; there is exactly one reader.
+     */
+    private final class SymbolRing implements Runnable {
+        private final Symbol symbol;
+        private final OrderMatchedEvent[] slots;
+        private final int mask;
+        private final Thread thread;
+        // Sequence of the next event to write / to publish; slot = sequence & mask
+        private volatile long writeSequence;
+        private volatile long readSequence;
+        private volatile boolean running = true;
+        // Set by the reader before it checks for work and parks; writers only unpark when set
+        private volatile boolean parked;
+
+        private SymbolRing(Symbol symbol, int requestedCapacity) {
+            int size = Integer.highestOneBit(Math.max(2, requestedCapacity - 1)) << 1;
+            this.symbol = symbol;
+            this.slots = new OrderMatchedEvent[size];
+            this.mask = size - 1;
+            this.thread = new Thread(this, "orderbook-out-" + symbol.getCode());
+            this.thread.setDaemon(true);
+        }
+
+        private synchronized void put(OrderMatchedEvent event) {
+            long sequence = writeSequence;
+            if (sequence - readSequence >= slots.length) {
+                awaitSpace(sequence);
+            }
+            slots[(int) (sequence & mask)] = event;
+            writeSequence = sequence + 1;
+            if (parked) {
+                LockSupport.unpark(thread);
+            }
+        }
+
+        private void awaitSpace(long sequence) {
+            backpressureWaits.incrementAndGet();
+            long waitStart = System.nanoTime();
+            long nextLog = waitStart + BACKPRESSURE_LOG_NANOS;
+            while (sequence - readSequence >= slots.length) {
+                LockSupport.unpark(thread);
+                LockSupport.parkNanos(PRODUCER_WAIT_NANOS);
+                if (System.nanoTime() > nextLog) {
+                    logger.warn("⚠️ Match output for {} full ({} pending), book waiting for {} ms",
+                            symbol.getCode(), size(),
+                            TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - waitStart));
+                    nextLog += BACKPRESSURE_LOG_NANOS;
+                }
+            }
+        }
+
+        private long size() {
+            return writeSequence - readSequence;
+        }
+
+        @Override
+        public void run() {
+            List<OrderMatchedEvent> batch = new ArrayList<>(batchSize);
+            while (running || size() > 0) {
+                long read = readSequence;
+                long available = writeSequence - read;
+                if (available == 0) {
+                    parked = true;
+                    // Re-check after announcing the park, so a write in between is not slept through
+                    if (running && writeSequence == read) {
+                        LockSupport.park(this);
+                    }
+                    parked = false;
+                    continue;
+                }
+
+                int count = (int) Math.min(available, batchSize);
+                for (int i = 0; i < count; i++) {
+                    batch.add(slots[(int) ((read + i) & mask)]);
+                }
+
+                publishBatch(batch, read);
+                batch.clear();
+            }
+        }
+
+        private void publishBatch(List<OrderMatchedEvent> batch, long read) {
+            try {
+                // The fills were journaled before they entered the ring; one wait covers the batch
+                journal.awaitDurable(symbol);
+            } catch (Exception e) {
+                // Not durable yet: publishing still beats losing the matches, recovery re-derives the book
+                logger.error("💥 Journal not durable for {} match events of {}", batch.size(), symbol.getCode(), e);
+            }
+            // One by one, each slot freed once its match is out, so a failing match holds back the rest
+            for (int i = 0; i < batch.size(); i++) {
+                publishWithRetry(batch.get(i));
+                slots[(int) ((read + i) & mask)] = null;
+                readSequence = read + i + 1;
+            }
+        }
+
+        /**
+         * Publishes a match, retrying until it goes through. A stopped publisher gives up after
+         * attempts-after-stop attempts, leaving the match to be re-derived from the journal.
+         */
+        private void publishWithRetry(OrderMatchedEvent event) {
+            long delayMs = backoffMs;
+            int failedWhileStopped = 0;
+            for (int attempt = 1; ; attempt++) {
+                try {
+                    eventPublisher.publishOrderMatchedEvent(event);
+                    return;
+                } catch (Exception e) {
+                    logger.warn("⚠️ Publishing match {} for {} failed (attempt {}), {} more waiting: {}",
+                            event.getMatchId(), symbol.getCode(), attempt, size() - 1, e.getMessage());
+                    if (!running && ++failedWhileStopped >= attemptsAfterStop) {
+                        logger.error("❌ Match {} for {} not published before its publisher stopped",
+                                event.getMatchId(), symbol.getCode());
+                        return;
+                    }
+                } finally {
+                    EventContext.clear();
+                }
+                publishRetries.incrementAndGet();
+                backOff(delayMs);
+                delayMs = Math.min(delayMs * 2, maxBackoffMs);
+            }
+        }
+
+        /**
+         * Sleeps for the whole delay; a writer waiting for space unparks this thread repeatedly.
+         */
+        private void backOff(long delayMs) {
+            long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(delayMs);
+            for (long left = deadline - System.nanoTime(); left > 0; left = deadline - System.nanoTime()) {
+                LockSupport.parkNanos(left);
+            }
+        }
+
+        private void stop() {
+            running = false;
+            LockSupport.unpark(thread);
+        }
+    }
+}
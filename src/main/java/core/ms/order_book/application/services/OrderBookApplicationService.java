@@ -11,11 +11,15 @@ import core.ms.order_book.domain.events.publish.OrderMatchedEvent;
 import core.ms.order_book.domain.ports.inbound.OrderBookOperationResult;
 import core.ms.order_book.domain.ports.inbound.OrderBookService;
 import core.ms.order_book.domain.ports.outbound.OrderBookRepository;
-import core.ms.order_book.domain.ports.outbound.OrderMatchEventPublisher;
+import core.ms.order_book.domain.value_object.AmendOutcome;
+import core.ms.order_book.domain.value_object.DepthQuote;
 import core.ms.order_book.domain.value_object.MarketDepth;
 import core.ms.order_book.domain.value_object.MarketOverview;
+import core.ms.order_book.domain.value_object.TopOfBookSnapshot;
 import core.ms.order_book.infrastructure.persistence.OrderBookRepositoryJpaImpl;
+import core.ms.shared.OrderType;
 import core.ms.shared.events.EventContext;
+import core.ms.shared.money.Money;
 import core.ms.shared.money.Symbol;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -30,13 +34,16 @@ import org.springframework.transaction.annotation.Transactional;
 
 import java.math.BigDecimal;
 import java.math.RoundingMode;
-import java.time.LocalDateTime;
 import java.util.*;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
 import java.util.concurrent.locks.ReadWriteLock;
 import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Function;
+import java.util.function.Supplier;
 import java.util.stream.Collectors;
 
 @Service
@@ -49,27 +56,125 @@ public class OrderBookApplicationService implements OrderBookService {
     // Symbol-level locks for order book operations
     private final Map<Symbol, ReadWriteLock> symbolLocks = new ConcurrentHashMap<>();
 
-    // Track pending matches per symbol to avoid duplicate processing
-    private final Map<Symbol, Set<String>> processingMatches = new ConcurrentHashMap<>();
-
     private final OrderBookRepository orderBookRepository;
-    private final OrderMatchEventPublisher eventPublisher;
+    private final OrderBookSequencer sequencer;
+    private final MatchOutputPipeline matchOutput;
 
     @Autowired
     public OrderBookApplicationService(
             OrderBookRepository orderBookRepository,
-            OrderMatchEventPublisher eventPublisher) {
+            OrderBookSequencer sequencer,
+            MatchOutputPipeline matchOutput) {
         this.orderBookRepository = Objects.requireNonNull(orderBookRepository);
-        this.eventPublisher = Objects.requireNonNull(eventPublisher);
+        this.sequencer = Objects.requireNonNull(sequencer);
+        this.matchOutput = Objects.requireNonNull(matchOutput);
+    }
+
+    // ===== SEQUENCED COMMANDS =====
+
+    @Override
+    public CompletableFuture<OrderBookOperationResult> submitAddOrder(IOrder order) {
+        Objects.requireNonNull(order, "Order cannot be null");
+        if (!sequencer.isEnabled()) {
+            return CompletableFuture.completedFuture(addOrderToBook(order));
+        }
+
+        String correlationId = EventContext.getCurrentCorrelationId();
+        return sequenced(order.getSymbol(), order.getId(),
+                () -> applyAddOrder(order, correlationId));
+    }
+
+    @Override
+    public CompletableFuture<OrderBookOperationResult> submitRemoveOrder(String orderId, Symbol symbol) {
+        if (!sequencer.isEnabled()) {
+            return CompletableFuture.completedFuture(removeOrderFromBook(orderId, symbol));
+        }
+        return sequenced(symbol, orderId, () -> applyRemoveOrder(orderId, symbol));
+    }
+
+    @Override
+    public CompletableFuture<OrderBookOperationResult> submitMatch(Symbol symbol) {
+        Objects.requireNonNull(symbol, "Symbol cannot be null");
+        if (!sequencer.isEnabled()) {
+            processPendingMatches(symbol);
+            return CompletableFuture.completedFuture(OrderBookOperationResult.builder()
+                    .success(true)
+                    .message("Pending matches processed")
+                    .build());
+        }
+
+        String correlationId = EventContext.getCurrentCorrelationId();
+        return sequenced(symbol, null, () -> applyPendingMatches(symbol, correlationId));
+    }
+
+    /**
+     * Queues a command on the symbol's sequencer lane, turning a full queue or a
+     * failed command into an unsuccessful result.
+     */
+    private CompletableFuture<OrderBookOperationResult> sequenced(
+            Symbol symbol, String orderId, Supplier<OrderBookOperationResult> command) {
+        return sequencer.submit(symbol, command)
+                .exceptionally(e -> OrderBookOperationResult.builder()
+                        .success(false)
+                        .message(sequencerFailureMessage(e))
+                        .orderId(orderId)
+                        .build());
+    }
+
+    private static String sequencerFailureMessage(Throwable e) {
+        Throwable cause = e instanceof CompletionException && e.getCause() != null ? e.getCause() : e;
+        if (cause instanceof OrderBookSequencer.QueueFullException) {
+            return "Order book is busy, please try again";
+        }
+        if (cause instanceof TimeoutException) {
+            return "Order book did not answer in time, the command may still be applied";
+        }
+        return "Failed to apply command: " + cause.getMessage();
+    }
+
+    /**
+     * Runs a read on the symbol's lane so it never observes a book mid-mutation.
+     */
+    private <T> T readOnLane(Symbol symbol, Supplier<T> read) {
+        return sequencer.submit(symbol, read).join();
+    }
+
+    /**
+     * Reads the whole book with its writer held off (lane or read lock), so the result
+     * matches the book's journal sequence. Keep the read short: matching waits for it.
+     *
+     * @return empty for a symbol without a book; no book, lane or lock is created for it
+     */
+    public <T> Optional<T> readBook(Symbol symbol, Function<OrderBook, T> read) {
+        Objects.requireNonNull(symbol, "Symbol cannot be null");
+        if (findOrderBook(symbol).isEmpty()) {
+            return Optional.empty();
+        }
+
+        if (sequencer.isEnabled()) {
+            return readOnLane(symbol, () -> findOrderBook(symbol).map(read));
+        }
+
+        var lock = getReadLock(symbol);
+        lock.lock();
+        try {
+            return findOrderBook(symbol).map(read);
+        } finally {
+            lock.unlock();
+        }
     }
 
     /**
      * Adds order to book with thread-safe matching.
-     * Uses write lock to ensure atomic order addition and matching.
+     * Uses write lock to ensure atomic order addition and matching,
+     * or the symbol's sequencer lane when the sequencer is enabled.
      */
     @Override
     public OrderBookOperationResult addOrderToBook(IOrder order) {
         Objects.requireNonNull(order, "Order cannot be null");
+        if (sequencer.isEnabled()) {
+            return submitAddOrder(order).join();
+        }
 
         Symbol symbol = order.getSymbol();
         String correlationId = EventContext.getCurrentCorrelationId();
@@ -87,49 +192,7 @@ public class OrderBookApplicationService implements OrderBookService {
             }
 
             try {
-                logger.info("📚 Adding order {} to book for symbol: {}",
-                        order.getId(), symbol.getCode());
-
-                // Get or create order book
-                OrderBook orderBook = getOrCreateOrderBookInternal(symbol);
-
-                // Log state before
-                logOrderBookState(orderBook, "BEFORE ADD");
-
-                // Add order based on type
-                if (order instanceof IBuyOrder buyOrder) {
-                    orderBook.addOrder(buyOrder);
-                } else if (order instanceof ISellOrder sellOrder) {
-                    orderBook.addOrder(sellOrder);
-                } else {
-                    throw new IllegalArgumentException("Unknown order type: " + order.getClass());
-                }
-
-                // Log state after
-                logOrderBookState(orderBook, "AFTER ADD");
-
-                // Save order book state
-                orderBookRepository.save(orderBook);
-
-                // Process matches if any
-                List<OrderMatchedEvent> matchEvents = processMatchesInternal(orderBook, correlationId);
-
-                if (!matchEvents.isEmpty()) {
-                    logger.info("🎯 Found {} matches for order {}",
-                            matchEvents.size(), order.getId());
-
-                    // Publish match events asynchronously
-                    publishMatchEventsAsync(matchEvents);
-                } else {
-                    logger.info("❌ No matches found for order {}", order.getId());
-                }
-
-                return OrderBookOperationResult.builder()
-                        .success(true)
-                        .message("Order added to book")
-                        .orderId(order.getId())
-                        .build();
-
+                return applyAddOrder(order, correlationId);
             } finally {
                 lock.unlock();
             }
@@ -152,11 +215,73 @@ public class OrderBookApplicationService implements OrderBookService {
         }
     }
 
+    /**
+     * Adds a batch of orders with one writer turn per symbol: the book is saved, published
+     * and drained of matches once per symbol instead of once per order.
+     */
+    @Override
+    public List<OrderBookOperationResult> addOrdersToBook(List<? extends IOrder> orders) {
+        Objects.requireNonNull(orders, "Orders cannot be null");
+
+        Map<Symbol, List<IOrder>> ordersBySymbol = new LinkedHashMap<>();
+        for (IOrder order : orders) {
+            Objects.requireNonNull(order, "Order cannot be null");
+            ordersBySymbol.computeIfAbsent(order.getSymbol(), symbol -> new ArrayList<>()).add(order);
+        }
+
+        String correlationId = EventContext.getCurrentCorrelationId();
+        Map<Symbol, Iterator<OrderBookOperationResult>> resultsBySymbol = new HashMap<>();
+
+        if (sequencer.isEnabled()) {
+            Map<Symbol, CompletableFuture<List<OrderBookOperationResult>>> turns = new LinkedHashMap<>();
+            ordersBySymbol.forEach((symbol, symbolOrders) -> turns.put(symbol,
+                    sequencer.submit(symbol, () -> applyAddOrders(symbol, symbolOrders, correlationId))
+                            .exceptionally(e -> failedResults(symbolOrders, sequencerFailureMessage(e)))));
+            turns.forEach((symbol, turn) -> resultsBySymbol.put(symbol, turn.join().iterator()));
+        } else {
+            ordersBySymbol.forEach((symbol, symbolOrders) -> resultsBySymbol.put(symbol,
+                    addOrdersUnderLock(symbol, symbolOrders, correlationId).iterator()));
+        }
+
+        List<OrderBookOperationResult> results = new ArrayList<>(orders.size());
+        for (IOrder order : orders) {
+            results.add(resultsBySymbol.get(order.getSymbol()).next());
+        }
+        return results;
+    }
+
+    private List<OrderBookOperationResult> addOrdersUnderLock(Symbol symbol, List<IOrder> orders,
+                                                              String correlationId) {
+        var lock = getWriteLock(symbol);
+
+        try {
+            if (!lock.tryLock(LOCK_TIMEOUT_SECONDS, TimeUnit.SECONDS)) {
+                logger.warn("Failed to acquire write lock for symbol: {} within timeout", symbol.getCode());
+                return failedResults(orders, "Order book is busy, please try again");
+            }
+
+            try {
+                return applyAddOrders(symbol, orders, correlationId);
+            } finally {
+                lock.unlock();
+            }
+
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            logger.error("Interrupted while waiting for lock on symbol: {}", symbol.getCode());
+            return failedResults(orders, "Operation interrupted");
+        }
+    }
+
     /**
      * Removes order from book with thread safety.
      */
     @Override
     public OrderBookOperationResult removeOrderFromBook(String orderId, Symbol symbol) {
+        if (sequencer.isEnabled()) {
+            return submitRemoveOrder(orderId, symbol).join();
+        }
+
         var lock = getWriteLock(symbol);
 
         try {
@@ -169,33 +294,46 @@ public class OrderBookApplicationService implements OrderBookService {
             }
 
             try {
-                // Use in-memory operation only
-                OrderBook orderBook = getOrderBookFromMemory(symbol);
-                if (orderBook == null) {
-                    return OrderBookOperationResult.builder()
-                            .success(false)
-                            .message("Order book not found")
-                            .orderId(orderId)
-                            .build();
-                }
+                return applyRemoveOrder(orderId, symbol);
+            } finally {
+                lock.unlock();
+            }
 
-                boolean removed = orderBook.removeOrderById(orderId);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return OrderBookOperationResult.builder()
+                    .success(false)
+                    .message("Operation interrupted")
+                    .orderId(orderId)
+                    .build();
+        }
+    }
 
-                if (removed) {
-                    logger.info("✅ Order {} removed from book", orderId);
-                    return OrderBookOperationResult.builder()
-                            .success(true)
-                            .message("Order removed")
-                            .orderId(orderId)
-                            .build();
-                }
+    /**
+     * Amends a resting order in place with thread safety.
+     */
+    @Override
+    public OrderBookOperationResult amendOrderInBook(String orderId, Symbol symbol,
+                                                     Money newPrice, BigDecimal newQuantity) {
+        String correlationId = EventContext.getCurrentCorrelationId();
+        if (sequencer.isEnabled()) {
+            return sequenced(symbol, orderId,
+                    () -> applyAmendOrder(orderId, symbol, newPrice, newQuantity, correlationId)).join();
+        }
+
+        var lock = getWriteLock(symbol);
 
+        try {
+            if (!lock.tryLock(LOCK_TIMEOUT_SECONDS, TimeUnit.SECONDS)) {
                 return OrderBookOperationResult.builder()
                         .success(false)
-                        .message("Order not found in book")
+                        .message("Order book is busy")
                         .orderId(orderId)
                         .build();
+            }
 
+            try {
+                return applyAmendOrder(orderId, symbol, newPrice, newQuantity, correlationId);
             } finally {
                 lock.unlock();
             }
@@ -209,11 +347,282 @@ public class OrderBookApplicationService implements OrderBookService {
                     .build();
         }
     }
-    private OrderBook getOrderBookFromMemory(Symbol symbol) {
-        if (orderBookRepository instanceof OrderBookRepositoryJpaImpl repo) {
-            return repo.getManager().getOrderBook(symbol);
+
+    /**
+     * Reconciles an order's remaining quantity in the book with a settled transaction.
+     * Returns false when the book and settlement disagree and the order should be reloaded.
+     */
+    @Override
+    public boolean reconcileSettledFill(Symbol symbol, String orderId, BigDecimal remainingQuantity) {
+        return settlementUpdate(symbol, orderId,
+                () -> applyReconcileSettledFill(symbol, orderId, remainingQuantity));
+    }
+
+    /**
+     * Takes back a fill whose settlement failed, returning its quantity to the order in place.
+     * Returns false when the book could not restore the order and it should be reloaded.
+     */
+    @Override
+    public boolean releaseFailedFill(Symbol symbol, String matchId, String orderId, BigDecimal quantity) {
+        return settlementUpdate(symbol, orderId,
+                () -> applyReleaseFailedFill(symbol, matchId, orderId, quantity));
+    }
+
+    /**
+     * Runs a settlement update on the book's writer. An update that never ran counts as a
+     * disagreement, so the caller reloads the order instead of trusting the book.
+     */
+    private boolean settlementUpdate(Symbol symbol, String orderId, Supplier<Boolean> update) {
+        if (sequencer.isEnabled()) {
+            try {
+                return sequencer.submit(symbol, update).join();
+            } catch (CompletionException e) {
+                logger.error("❌ Settlement update for order {} did not run on lane {}: {}",
+                        orderId, symbol.getCode(), sequencerFailureMessage(e));
+                return false;
+            }
+        }
+
+        var lock = getWriteLock(symbol);
+
+        try {
+            if (!lock.tryLock(LOCK_TIMEOUT_SECONDS, TimeUnit.SECONDS)) {
+                logger.error("❌ Could not acquire write lock to update order {} after settlement for symbol: {}",
+                        orderId, symbol.getCode());
+                return false;
+            }
+
+            try {
+                return update.get();
+            } finally {
+                lock.unlock();
+            }
+
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            logger.error("❌ Interrupted while updating order {} after settlement", orderId);
+            return false;
+        }
+    }
+
+    private boolean applyReconcileSettledFill(Symbol symbol, String orderId, BigDecimal remainingQuantity) {
+        OrderBook orderBook = findOrderBook(symbol).orElse(null);
+        if (orderBook == null) {
+            return true;
+        }
+
+        boolean consistent = orderBook.reconcileSettledFill(orderId, remainingQuantity);
+        orderBook.publishView();
+        if (!consistent) {
+            logger.warn("⚠️ Order {} in book disagrees with settlement ({} remaining)",
+                    orderId, remainingQuantity);
+        }
+        return consistent;
+    }
+
+    private boolean applyReleaseFailedFill(Symbol symbol, String matchId, String orderId, BigDecimal quantity) {
+        OrderBook orderBook = findOrderBook(symbol).orElse(null);
+        if (orderBook == null) {
+            return true;
+        }
+
+        boolean restored = orderBook.releaseFailedFill(matchId, orderId, quantity);
+        orderBook.publishView();
+        logger.warn("⚠️ Settlement failed for match {} of order {} - {}", matchId, orderId,
+                restored ? quantity + " given back in place" : "reloading it");
+        return restored;
+    }
+
+    private OrderBookOperationResult applyAddOrder(IOrder order, String correlationId) {
+        Symbol symbol = order.getSymbol();
+        logger.info("📚 Adding order {} to book for symbol: {}",
+                order.getId(), symbol.getCode());
+
+        // Get or create order book
+        OrderBook orderBook = getOrCreateOrderBookInternal(symbol);
+
+        // Log state before
+        logOrderBookState(orderBook, "BEFORE ADD");
+
+        // Add order based on type
+        if (order instanceof IBuyOrder buyOrder) {
+            orderBook.addOrder(buyOrder);
+        } else if (order instanceof ISellOrder sellOrder) {
+            orderBook.addOrder(sellOrder);
+        } else {
+            throw new IllegalArgumentException("Unknown order type: " + order.getClass());
+        }
+
+        // Log state after
+        logOrderBookState(orderBook, "AFTER ADD");
+
+        // Save order book state
+        orderBookRepository.save(orderBook);
+        orderBook.publishView();
+
+        // Process matches if any
+        List<OrderMatchedEvent> matchEvents = processMatchesInternal(orderBook, correlationId);
+
+        if (!matchEvents.isEmpty()) {
+            logger.info("🎯 Found {} matches for order {}",
+                    matchEvents.size(), order.getId());
+
+            // Hand off to the symbol's match publisher
+            publishMatchEvents(symbol, matchEvents);
+        } else {
+            logger.info("❌ No matches found for order {}", order.getId());
+        }
+
+        return OrderBookOperationResult.builder()
+                .success(true)
+                .message("Order added to book")
+                .orderId(order.getId())
+                .build();
+    }
+
+    private List<OrderBookOperationResult> applyAddOrders(Symbol symbol, List<IOrder> orders,
+                                                          String correlationId) {
+        logger.info("📚 Adding {} orders to book for symbol: {}", orders.size(), symbol.getCode());
+
+        OrderBook orderBook = getOrCreateOrderBookInternal(symbol);
+        List<OrderBookOperationResult> results = new ArrayList<>(orders.size());
+
+        for (IOrder order : orders) {
+            try {
+                if (order instanceof IBuyOrder buyOrder) {
+                    orderBook.addOrder(buyOrder);
+                } else if (order instanceof ISellOrder sellOrder) {
+                    orderBook.addOrder(sellOrder);
+                } else {
+                    throw new IllegalArgumentException("Unknown order type: " + order.getClass());
+                }
+
+                results.add(OrderBookOperationResult.builder()
+                        .success(true)
+                        .message("Order added to book")
+                        .orderId(order.getId())
+                        .build());
+            } catch (Exception e) {
+                logger.error("Failed to add order {} to book", order.getId(), e);
+                results.add(OrderBookOperationResult.builder()
+                        .success(false)
+                        .message("Failed to add order: " + e.getMessage())
+                        .orderId(order.getId())
+                        .build());
+            }
         }
-        throw new UnsupportedOperationException("Memory access not available");
+
+        // Save, publish and drain matches once for the whole batch
+        orderBookRepository.save(orderBook);
+        orderBook.publishView();
+
+        List<OrderMatchedEvent> matchEvents = processMatchesInternal(orderBook, correlationId);
+        if (!matchEvents.isEmpty()) {
+            logger.info("🎯 Found {} matches for {} orders on {}",
+                    matchEvents.size(), orders.size(), symbol.getCode());
+            publishMatchEvents(symbol, matchEvents);
+        }
+
+        return results;
+    }
+
+    private static List<OrderBookOperationResult> failedResults(List<IOrder> orders, String message) {
+        List<OrderBookOperationResult> results = new ArrayList<>(orders.size());
+        for (IOrder order : orders) {
+            results.add(OrderBookOperationResult.builder()
+                    .success(false)
+                    .message(message)
+                    .orderId(order.getId())
+                    .build());
+        }
+        return results;
+    }
+
+    private OrderBookOperationResult applyRemoveOrder(String orderId, Symbol symbol) {
+        // Use in-memory operation only
+        OrderBook orderBook = findOrderBook(symbol).orElse(null);
+        if (orderBook == null) {
+            return OrderBookOperationResult.builder()
+                    .success(false)
+                    .message("Order book not found")
+                    .orderId(orderId)
+                    .build();
+        }
+
+        boolean removed = orderBook.removeOrderById(orderId);
+
+        if (removed) {
+            orderBook.publishView();
+            logger.info("✅ Order {} removed from book", orderId);
+            return OrderBookOperationResult.builder()
+                    .success(true)
+                    .message("Order removed")
+                    .orderId(orderId)
+                    .build();
+        }
+
+        return OrderBookOperationResult.builder()
+                .success(false)
+                .message("Order not found in book")
+                .orderId(orderId)
+                .build();
+    }
+
+    private OrderBookOperationResult applyAmendOrder(String orderId, Symbol symbol, Money newPrice,
+                                                     BigDecimal newQuantity, String correlationId) {
+        OrderBook orderBook = findOrderBook(symbol).orElse(null);
+        if (orderBook == null) {
+            return OrderBookOperationResult.builder()
+                    .success(false)
+                    .message("Order book not found")
+                    .orderId(orderId)
+                    .build();
+        }
+
+        AmendOutcome outcome;
+        try {
+            outcome = orderBook.amendOrder(orderId, newPrice, newQuantity);
+        } catch (IllegalArgumentException e) {
+            logger.warn("⚠️ Amendment of order {} rejected: {}", orderId, e.getMessage());
+            return OrderBookOperationResult.builder()
+                    .success(false)
+                    .message(e.getMessage())
+                    .orderId(orderId)
+                    .build();
+        }
+
+        if (outcome == AmendOutcome.NOT_FOUND) {
+            return OrderBookOperationResult.builder()
+                    .success(false)
+                    .message("Order not found in book")
+                    .orderId(orderId)
+                    .build();
+        }
+
+        orderBook.publishView();
+        logger.info("✏️ Order {} amended in book: {}", orderId, outcome);
+
+        // A requeued order may now cross the spread
+        if (outcome == AmendOutcome.REQUEUED) {
+            List<OrderMatchedEvent> matchEvents = processMatchesInternal(orderBook, correlationId);
+            if (!matchEvents.isEmpty()) {
+                logger.info("🎯 Found {} matches for amended order {}", matchEvents.size(), orderId);
+                publishMatchEvents(symbol, matchEvents);
+            }
+        }
+
+        return OrderBookOperationResult.builder()
+                .success(true)
+                .message(outcome.name())
+                .orderId(orderId)
+                .build();
+    }
+
+    /**
+     * Looks up the registered book without creating one.
+     */
+    private Optional<OrderBook> findOrderBook(Symbol symbol) {
+        return orderBookRepository.findBySymbol(symbol);
     }
     /**
      * Processes pending matches for a symbol.
@@ -224,32 +633,22 @@ public class OrderBookApplicationService implements OrderBookService {
             isolation = Isolation.READ_COMMITTED)
     public void processPendingMatches(Symbol symbol) {
         Objects.requireNonNull(symbol, "Symbol cannot be null");
+        if (sequencer.isEnabled()) {
+            submitMatch(symbol);
+            return;
+        }
 
-        var lock = getReadLock(symbol);
+        // Draining the book's matches mutates it, so this needs the write lock
+        var lock = getWriteLock(symbol);
 
         try {
             if (!lock.tryLock(LOCK_TIMEOUT_SECONDS, TimeUnit.SECONDS)) {
-                logger.warn("Could not acquire read lock for symbol: {}", symbol.getCode());
+                logger.warn("Could not acquire write lock for symbol: {}", symbol.getCode());
                 return;
             }
 
             try {
-                Optional<OrderBook> orderBookOpt = orderBookRepository.findBySymbol(symbol);
-                if (orderBookOpt.isEmpty()) {
-                    return;
-                }
-
-                OrderBook orderBook = orderBookOpt.get();
-                String correlationId = EventContext.getCurrentCorrelationId();
-
-                List<OrderMatchedEvent> matchEvents = processMatchesInternal(orderBook, correlationId);
-
-                if (!matchEvents.isEmpty()) {
-                    logger.info("📤 Publishing {} pending matches for symbol {}",
-                            matchEvents.size(), symbol.getCode());
-                    publishMatchEventsAsync(matchEvents);
-                }
-
+                applyPendingMatches(symbol, EventContext.getCurrentCorrelationId());
             } finally {
                 lock.unlock();
             }
@@ -262,6 +661,29 @@ public class OrderBookApplicationService implements OrderBookService {
         }
     }
 
+    private OrderBookOperationResult applyPendingMatches(Symbol symbol, String correlationId) {
+        Optional<OrderBook> orderBookOpt = orderBookRepository.findBySymbol(symbol);
+        if (orderBookOpt.isEmpty()) {
+            return OrderBookOperationResult.builder()
+                    .success(false)
+                    .message("Order book not found")
+                    .build();
+        }
+
+        List<OrderMatchedEvent> matchEvents = processMatchesInternal(orderBookOpt.get(), correlationId);
+
+        if (!matchEvents.isEmpty()) {
+            logger.info("📤 Publishing {} pending matches for symbol {}",
+                    matchEvents.size(), symbol.getCode());
+            publishMatchEvents(symbol, matchEvents);
+        }
+
+        return OrderBookOperationResult.builder()
+                .success(true)
+                .message("Processed " + matchEvents.size() + " pending matches")
+                .build();
+    }
+
     /**
      * Processes all pending matches across all books.
      */
@@ -272,12 +694,17 @@ public class OrderBookApplicationService implements OrderBookService {
         logger.info("🔄 Processing all pending matches");
 
         Collection<OrderBook> orderBooks = orderBookRepository.findAll();
+        if (sequencer.isEnabled()) {
+            orderBooks.forEach(orderBook -> submitMatch(orderBook.getSymbol()));
+            return;
+        }
+
         int totalMatches = 0;
 
         for (OrderBook orderBook : orderBooks) {
             try {
                 Symbol symbol = orderBook.getSymbol();
-                var lock = getReadLock(symbol);
+                var lock = getWriteLock(symbol);
 
                 if (lock.tryLock(1, TimeUnit.SECONDS)) {
                     try {
@@ -286,7 +713,7 @@ public class OrderBookApplicationService implements OrderBookService {
 
                         if (!events.isEmpty()) {
                             totalMatches += events.size();
-                            publishMatchEventsAsync(events);
+                            publishMatchEvents(symbol, events);
                         }
                     } finally {
                         lock.unlock();
@@ -304,90 +731,32 @@ public class OrderBookApplicationService implements OrderBookService {
     }
 
     /**
-     * Internal method to process matches with deduplication.
+     * Collects the fills the book has applied since the last call.
+     * The book removes matched quantity as it matches, so every fill is reported exactly once.
      */
     private List<OrderMatchedEvent> processMatchesInternal(OrderBook orderBook, String correlationId) {
         if (!orderBook.hasRecentMatches()) {
             return Collections.emptyList();
         }
 
-        List<OrderMatchedEvent> rawEvents = orderBook.consumeRecentMatchEvents();
-        Symbol symbol = orderBook.getSymbol();
-
-        // Get or create processing set for this symbol
-        Set<String> processing = processingMatches.computeIfAbsent(
-                symbol, k -> ConcurrentHashMap.newKeySet()
-        );
-
-        // Filter out already processing matches
-        List<OrderMatchedEvent> uniqueEvents = new ArrayList<>();
-        for (OrderMatchedEvent event : rawEvents) {
-            String matchKey = createMatchKey(event);
-            if (processing.add(matchKey)) {
-                uniqueEvents.add(event);
-            } else {
-                logger.debug("Skipping duplicate match: {}", matchKey);
-            }
-        }
-
-        // Schedule cleanup of processing set
-        scheduleMatchCleanup(symbol, uniqueEvents);
-
-        return uniqueEvents;
+        List<OrderMatchedEvent> fills = new ArrayList<>();
+        orderBook.drainMatchEvents(fills::add);
+        return fills;
     }
 
     /**
-     * Publishes match events asynchronously.
+     * Queues match events on the symbol's output ring; its publisher thread delivers them
+     * in order. Waits if the publisher has fallen a full ring behind.
      */
-    private void publishMatchEventsAsync(List<OrderMatchedEvent> events) {
-        // Use CompletableFuture for true async
-        CompletableFuture.runAsync(() -> {
-            try {
-                eventPublisher.publishOrderMatchedEvents(events);
-            } catch (Exception e) {
-                logger.error("Failed to publish {} match events", events.size(), e);
-                // Don't propagate - let order book continue
-            }
-        });
-    }
-
-    /**
-     * Creates unique key for match deduplication.
-     */
-    private String createMatchKey(OrderMatchedEvent event) {
-        return String.format("%s-%s-%s",
-                event.getBuyOrderId(),
-                event.getSellOrderId(),
-                event.getMatchedQuantity());
+    private void publishMatchEvents(Symbol symbol, List<OrderMatchedEvent> events) {
+        matchOutput.publish(symbol, events);
     }
 
     /**
-     * Schedules cleanup of processed matches.
-     */
-    private void scheduleMatchCleanup(Symbol symbol, List<OrderMatchedEvent> events) {
-        // Clean up after 30 seconds to allow for processing
-        new Timer().schedule(new TimerTask() {
-            @Override
-            public void run() {
-                Set<String> processing = processingMatches.get(symbol);
-                if (processing != null) {
-                    for (OrderMatchedEvent event : events) {
-                        processing.remove(createMatchKey(event));
-                    }
-                }
-            }
-        }, 30000);
-    }
-
-    /**
-     * Gets or creates order book with internal locking.
+     * Gets or creates the registered order book for the symbol.
      */
     private OrderBook getOrCreateOrderBookInternal(Symbol symbol) {
-        return orderBookRepository.findBySymbol(symbol)
-                .orElseGet(() -> {
-                    OrderBook newOrderBook = new OrderBook(symbol);
-                    return orderBookRepository.save(newOrderBook);
-                });
+        return orderBookRepository.getOrCreate(symbol);
     }
 
     /**
@@ -418,62 +787,63 @@ public class OrderBookApplicationService implements OrderBookService {
                 orderBook.getBestAsk().map(Object::toString).orElse("NONE"));
     }
 
-    // ===== READ-ONLY METHODS (Use Read Locks) =====
+    // ===== READ-ONLY METHODS (Published views, no locks or DB) =====
+
+    /**
+     * Latest view published by the book's writer, or an empty view for an unknown symbol.
+     */
+    private TopOfBookSnapshot getPublishedView(Symbol symbol) {
+        Objects.requireNonNull(symbol, "Symbol cannot be null");
+        return findOrderBook(symbol).map(OrderBook::getPublishedView)
+                .orElseGet(() -> TopOfBookSnapshot.empty(symbol));
+    }
 
     @Override
-    @Transactional(readOnly = true)
     public MarketDepth getMarketDepth(Symbol symbol, int levels) {
-        var lock = getReadLock(symbol);
-        try {
-            lock.lock();
-            OrderBook orderBook = getOrCreateOrderBookInternal(symbol);
-            return orderBook.getMarketDepth(levels);
-        } finally {
-            lock.unlock();
-        }
+        return getPublishedView(symbol).getDepth(levels);
     }
 
+    /**
+     * Answered from the book's cumulative depth index on its writer; a short read.
+     */
     @Override
-    @Transactional(readOnly = true)
-    public OrderBookTickerDTO getOrderBookTicker(Symbol symbol) {
-        var lock = getReadLock(symbol);
-        try {
-            lock.lock();
-            OrderBook orderBook = getOrCreateOrderBookInternal(symbol);
-
-            OrderBookTickerDTO ticker = new OrderBookTickerDTO();
-            ticker.setSymbol(symbol.getCode());
-            ticker.setCurrency(symbol.getQuoteCurrency());
-            ticker.setTimestamp(LocalDateTime.now());
-
-            orderBook.getBestBid().ifPresent(bid -> {
-                ticker.setBidPrice(bid.getAmount());
-                orderBook.getBestBuyOrder().ifPresent(order ->
-                        ticker.setBidQuantity(order.getRemainingQuantity())
-                );
-            });
-
-            orderBook.getBestAsk().ifPresent(ask -> {
-                ticker.setAskPrice(ask.getAmount());
-                orderBook.getBestSellOrder().ifPresent(order ->
-                        ticker.setAskQuantity(order.getRemainingQuantity())
-                );
-            });
-
-            orderBook.getSpread().ifPresent(spread ->
-                    ticker.setSpread(spread.getAmount())
-            );
-
-            return ticker;
-        } finally {
-            lock.unlock();
-        }
+    public Optional<DepthQuote> getQuote(Symbol symbol, OrderType side, BigDecimal quantity) {
+        return readBook(symbol, orderBook -> orderBook.quote(side, quantity));
+    }
+
+    @Override
+    public BigDecimal getVolumeAtOrBetter(Symbol symbol, OrderType side, Money price) {
+        return readBook(symbol, orderBook -> orderBook.getVolumeAtOrBetter(side, price))
+                .orElse(BigDecimal.ZERO);
     }
 
-    // ... other read-only methods remain similar but use read locks ...
+    @Override
+    public OrderBookTickerDTO getOrderBookTicker(Symbol symbol) {
+        TopOfBookSnapshot view = getPublishedView(symbol);
+
+        OrderBookTickerDTO ticker = new OrderBookTickerDTO();
+        ticker.setSymbol(symbol.getCode());
+        ticker.setCurrency(symbol.getQuoteCurrency());
+        ticker.setTimestamp(view.getTimestamp());
+
+        view.getBestBid().ifPresent(bid -> {
+            ticker.setBidPrice(bid.getAmount());
+            view.getBestBidQuantity().ifPresent(ticker::setBidQuantity);
+        });
+
+        view.getBestAsk().ifPresent(ask -> {
+            ticker.setAskPrice(ask.getAmount());
+            view.getBestAskQuantity().ifPresent(ticker::setAskQuantity);
+        });
+
+        view.getSpread().ifPresent(spread ->
+                ticker.setSpread(spread.getAmount())
+        );
+
+        return ticker;
+    }
 
     @Override
-    @Transactional(readOnly = true)
     public MarketOverview getMarketOverview() {
         if (orderBookRepository instanceof OrderBookRepositoryJpaImpl repo) {
             return repo.getManager().getMarketOverview();
@@ -483,28 +853,33 @@ public class OrderBookApplicationService implements OrderBookService {
 
     @Override
     public OrderBookOperationResult createOrderBook(Symbol symbol) {
+        if (sequencer.isEnabled()) {
+            return sequenced(symbol, null, () -> applyCreateOrderBook(symbol)).join();
+        }
+
         var lock = getWriteLock(symbol);
         try {
             lock.lock();
+            return applyCreateOrderBook(symbol);
+        } finally {
+            lock.unlock();
+        }
+    }
 
-            if (orderBookRepository.existsBySymbol(symbol)) {
-                return OrderBookOperationResult.builder()
-                        .success(false)
-                        .message("Order book already exists")
-                        .build();
-            }
-
-            OrderBook orderBook = new OrderBook(symbol);
-            orderBookRepository.save(orderBook);
-
+    private OrderBookOperationResult applyCreateOrderBook(Symbol symbol) {
+        if (orderBookRepository.existsBySymbol(symbol)) {
             return OrderBookOperationResult.builder()
-                    .success(true)
-                    .message("Order book created")
+                    .success(false)
+                    .message("Order book already exists")
                     .build();
-
-        } finally {
-            lock.unlock();
         }
+
+        orderBookRepository.getOrCreate(symbol);
+
+        return OrderBookOperationResult.builder()
+                .success(true)
+                .message("Order book created")
+                .build();
     }
 
     @Override
@@ -513,19 +888,17 @@ public class OrderBookApplicationService implements OrderBookService {
 
         for (OrderBook orderBook : orderBookRepository.findAll()) {
             Symbol symbol = orderBook.getSymbol();
-            var lock = getWriteLock(symbol);
 
             try {
+                if (sequencer.isEnabled()) {
+                    totalRemoved += sequencer.submit(symbol, () -> removeInactiveOrders(orderBook)).join();
+                    continue;
+                }
+
+                var lock = getWriteLock(symbol);
                 if (lock.tryLock(1, TimeUnit.SECONDS)) {
                     try {
-                        int beforeCount = orderBook.getOrderCount();
-                        orderBook.removeInactiveOrders();
-                        int afterCount = orderBook.getOrderCount();
-                        totalRemoved += (beforeCount - afterCount);
-
-                        if (beforeCount != afterCount) {
-                            orderBookRepository.save(orderBook);
-                        }
+                        totalRemoved += removeInactiveOrders(orderBook);
                     } finally {
                         lock.unlock();
                     }
@@ -543,58 +916,55 @@ public class OrderBookApplicationService implements OrderBookService {
         return totalRemoved;
     }
 
+    private int removeInactiveOrders(OrderBook orderBook) {
+        int beforeCount = orderBook.getOrderCount();
+        orderBook.removeInactiveOrders();
+        int afterCount = orderBook.getOrderCount();
+
+        if (beforeCount != afterCount) {
+            orderBookRepository.save(orderBook);
+            orderBook.publishView();
+        }
+        return beforeCount - afterCount;
+    }
+
     // Implement remaining interface methods...
 
     @Override
-    @Transactional(readOnly = true)
     public OrderBookStatisticsDTO getOrderBookStatistics(Symbol symbol) {
-        var lock = getReadLock(symbol);
-        try {
-            lock.lock();
-            OrderBook orderBook = getOrCreateOrderBookInternal(symbol);
-
+        return readBook(symbol, orderBook -> {
             OrderBookStatisticsDTO stats = new OrderBookStatisticsDTO();
             // ... populate stats ...
             return stats;
-        } finally {
-            lock.unlock();
-        }
+        }).orElseGet(OrderBookStatisticsDTO::new);
     }
 
     @Override
-    @Transactional(readOnly = true)
     public OrderBookSummaryDTO getOrderBookSummary(Symbol symbol) {
-        var lock = getReadLock(symbol);
-        try {
-            lock.lock();
-            OrderBook orderBook = getOrCreateOrderBookInternal(symbol);
-
-            OrderBookSummaryDTO summary = new OrderBookSummaryDTO();
-            summary.setSymbol(symbol.getCode());
-            summary.setBidLevels(orderBook.getBidLevels().size());
-            summary.setAskLevels(orderBook.getAskLevels().size());
-            summary.setTotalBidVolume(orderBook.getTotalBidVolume());
-            summary.setTotalAskVolume(orderBook.getTotalAskVolume());
-            summary.setTimestamp(LocalDateTime.now());
-
-            // Calculate imbalance
-            BigDecimal totalVolume = summary.getTotalBidVolume().add(summary.getTotalAskVolume());
-            if (totalVolume.compareTo(BigDecimal.ZERO) > 0) {
-                BigDecimal volumeDiff = summary.getTotalBidVolume().subtract(summary.getTotalAskVolume());
-                BigDecimal imbalance = volumeDiff.divide(totalVolume, 4, RoundingMode.HALF_UP);
-                summary.setImbalance(imbalance);
-            } else {
-                summary.setImbalance(BigDecimal.ZERO);
-            }
-
-            return summary;
-        } finally {
-            lock.unlock();
+        TopOfBookSnapshot view = getPublishedView(symbol);
+
+        OrderBookSummaryDTO summary = new OrderBookSummaryDTO();
+        summary.setSymbol(symbol.getCode());
+        summary.setBidLevels(view.getBidLevelCount());
+        summary.setAskLevels(view.getAskLevelCount());
+        summary.setTotalBidVolume(view.getTotalBidVolume());
+        summary.setTotalAskVolume(view.getTotalAskVolume());
+        summary.setTimestamp(view.getTimestamp());
+
+        // Calculate imbalance
+        BigDecimal totalVolume = summary.getTotalBidVolume().add(summary.getTotalAskVolume());
+        if (totalVolume.compareTo(BigDecimal.ZERO) > 0) {
+            BigDecimal volumeDiff = summary.getTotalBidVolume().subtract(summary.getTotalAskVolume());
+            BigDecimal imbalance = volumeDiff.divide(totalVolume, 4, RoundingMode.HALF_UP);
+            summary.setImbalance(imbalance);
+        } else {
+            summary.setImbalance(BigDecimal.ZERO);
         }
+
+        return summary;
     }
 
     @Override
-    @Transactional(readOnly = true)
     public Set<Symbol> getActiveSymbols() {
         return orderBookRepository.findAll().stream()
                 .map(OrderBook::getSymbol)
@@ -602,13 +972,11 @@ public class OrderBookApplicationService implements OrderBookService {
     }
 
     @Override
-    @Transactional(readOnly = true)
     public boolean isOrderBookActive(Symbol symbol) {
         return orderBookRepository.existsBySymbol(symbol);
     }
 
     @Override
-    @Transactional(readOnly = true)
     public int getTotalOrderCount() {
         return orderBookRepository.findAll().stream()
                 .mapToInt(OrderBook::getOrderCount)
@@ -616,7 +984,6 @@ public class OrderBookApplicationService implements OrderBookService {
     }
 
     @Override
-    @Transactional(readOnly = true)
     public Map<String, OrderBookStatisticsDTO> getAllMarketStatistics() {
         Map<String, OrderBookStatisticsDTO> allStats = new HashMap<>();
 
@@ -630,30 +997,43 @@ public class OrderBookApplicationService implements OrderBookService {
 
     @Override
     public OrderBookOperationResult removeOrderBook(Symbol symbol) {
+        if (sequencer.isEnabled()) {
+            OrderBookOperationResult result = sequenced(symbol, null, () -> applyRemoveOrderBook(symbol)).join();
+            if (result.isSuccess()) {
+                sequencer.retire(symbol);
+                matchOutput.retire(symbol);
+            }
+            return result;
+        }
+
         var lock = getWriteLock(symbol);
         try {
             lock.lock();
-
-            boolean removed = orderBookRepository.deleteBySymbol(symbol);
-
-            if (removed) {
+            OrderBookOperationResult result = applyRemoveOrderBook(symbol);
+            if (result.isSuccess()) {
                 // Clean up locks
                 symbolLocks.remove(symbol);
-                processingMatches.remove(symbol);
-
-                return OrderBookOperationResult.builder()
-                        .success(true)
-                        .message("Order book removed")
-                        .build();
+                matchOutput.retire(symbol);
             }
+            return result;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private OrderBookOperationResult applyRemoveOrderBook(Symbol symbol) {
+        boolean removed = orderBookRepository.deleteBySymbol(symbol);
 
+        if (removed) {
             return OrderBookOperationResult.builder()
-                    .success(false)
-                    .message("Order book not found")
+                    .success(true)
+                    .message("Order book removed")
                     .build();
-
-        } finally {
-            lock.unlock();
         }
+
+        return OrderBookOperationResult.builder()
+                .success(false)
+                .message("Order book not found")
+                .build();
     }
 }
\ No newline at end of file
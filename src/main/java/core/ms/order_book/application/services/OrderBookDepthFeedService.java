@@ -0,0 +1,191 @@
+package core.ms.order_book.application.services;
+
+import core.ms.order_book.application.dto.query.DepthDiffDTO;
+import core.ms.order_book.application.dto.query.DepthSnapshotDTO;
+import core.ms.order_book.domain.ports.outbound.DepthDiffPublisher;
+import core.ms.order_book.domain.value_object.DepthDiff;
+import core.ms.order_book.infrastructure.persistence.OrderBookRepositoryJpaImpl;
+import core.ms.order_book.web.mappers.OrderBookWebMapper;
+import core.ms.shared.money.Symbol;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Incremental L2 feed: every book publication that changed price levels is sent to
+ * /topic/orderbook/{symbol}/diff with only those levels and a per-symbol sequence.
+ *
+ * Clients load {@link #getDepthSnapshot(Symbol)}, apply the diffs with a higher sequence and,
+ * when a sequence is skipped, fetch the missing diffs from the replay buffer or reload the
+ * snapshot. Diffs are handed to one sender thread through a bounded queue; when it is full
+ * the live message is dropped and clients recover it from the replay buffer.
+ */
+@Service
+public class OrderBookDepthFeedService implements DepthDiffPublisher {
+
+    private static final Logger logger = LoggerFactory.getLogger(OrderBookDepthFeedService.class);
+
+    @Autowired
+    private SimpMessagingTemplate messagingTemplate;
+
+    @Autowired
+    private OrderBookApplicationService orderBookService;
+
+    @Autowired
+    private OrderBookRepositoryJpaImpl orderBookRepository;
+
+    @Autowired
+    private OrderBookWebMapper webMapper;
+
+    @Autowired
+    private MarketDataSubscriptionRegistry subscriptionRegistry;
+
+    @Value("${orderbook.depth-feed.enabled:true}")
+    private boolean enabled;
+
+    // Diffs kept per symbol for clients that missed some
+    @Value("${orderbook.depth-feed.replay-capacity:1024}")
+    private int replayCapacity;
+
+    // Diffs waiting for the sender thread, all symbols together
+    @Value("${orderbook.depth-feed.queue-capacity:8192}")
+    private int queueCapacity;
+
+    private final Map<Symbol, ReplayBuffer> replayBuffers = new ConcurrentHashMap<>();
+    private final LongAdder droppedDiffs = new LongAdder();
+    private ThreadPoolExecutor sender;
+
+    @PostConstruct
+    public void start() {
+        if (!enabled) {
+            return;
+        }
+
+        sender = new ThreadPoolExecutor(1, 1, 0, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "orderbook-depth-feed");
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                (runnable, executor) -> droppedDiffs.increment());
+        orderBookRepository.getManager().setDepthDiffPublisher(this);
+        logger.info("📡 Depth diff feed started (replay {} diffs per symbol)", replayCapacity);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        if (sender != null) {
+            orderBookRepository.getManager().setDepthDiffPublisher(null);
+            sender.shutdown();
+        }
+    }
+
+    // ============ PUBLISHING ============
+
+    /**
+     * Called on the book's writer: records the diff for replay and queues it for sending.
+     */
+    @Override
+    public void publishDepthDiff(DepthDiff diff) {
+        replayBuffers.computeIfAbsent(diff.getSymbol(), symbol -> new ReplayBuffer(replayCapacity))
+                .add(diff);
+        sender.execute(() -> send(diff));
+    }
+
+    private void send(DepthDiff diff) {
+        // Unwatched symbols still fill the replay buffer, so a new subscriber can catch up
+        String destination = "/topic/orderbook/" + diff.getSymbol().getCode() + "/diff";
+        if (!subscriptionRegistry.hasSubscribers(destination)) {
+            return;
+        }
+
+        try {
+            messagingTemplate.convertAndSend(destination, webMapper.toDTO(diff));
+        } catch (Exception e) {
+            logger.error("Failed to send depth diff {} for symbol: {}",
+                    diff.getSequence(), diff.getSymbol().getCode(), e);
+        }
+    }
+
+    // ============ RESYNC ============
+
+    /**
+     * Every level of the book, read with its writer held off, and the diff sequence it reflects.
+     * Empty when the symbol has no book.
+     */
+    public Optional<DepthSnapshotDTO> getDepthSnapshot(Symbol symbol) {
+        return orderBookService.readBook(symbol, orderBook -> webMapper.toDepthSnapshotDTO(
+                orderBook.getMarketDepth(Math.max(1,
+                        Math.max(orderBook.getBidLevelCount(), orderBook.getAskLevelCount()))),
+                orderBook.getDepthSequence()));
+    }
+
+    /**
+     * Diffs after the given sequence, oldest first.
+     *
+     * @return empty when some of them are no longer buffered; the client must reload the snapshot
+     */
+    public Optional<List<DepthDiffDTO>> getDiffsAfter(Symbol symbol, long afterSequence) {
+        ReplayBuffer buffer = replayBuffers.get(symbol);
+        if (buffer == null) {
+            return afterSequence == 0 ? Optional.of(List.of()) : Optional.empty();
+        }
+        return buffer.after(afterSequence).map(diffs -> diffs.stream().map(webMapper::toDTO).toList());
+    }
+
+    public long getDroppedDiffCount() {
+        return droppedDiffs.sum();
+    }
+
+    /**
+     * Last diffs of one symbol. Appended by the book's writer, read by resync requests.
+     */
+    private static final class ReplayBuffer {
+        private final ArrayDeque<DepthDiff> diffs;
+        private final int capacity;
+
+        ReplayBuffer(int capacity) {
+            this.capacity = Math.max(1, capacity);
+            this.diffs = new ArrayDeque<>(this.capacity);
+        }
+
+        synchronized void add(DepthDiff diff) {
+            if (diffs.size() == capacity) {
+                diffs.pollFirst();
+            }
+            diffs.addLast(diff);
+        }
+
+        synchronized Optional<List<DepthDiff>> after(long afterSequence) {
+            DepthDiff oldest = diffs.peekFirst();
+            if (oldest == null || afterSequence < oldest.getSequence() - 1) {
+                return oldest == null && afterSequence == 0 ? Optional.of(List.of()) : Optional.empty();
+            }
+
+            List<DepthDiff> result = new ArrayList<>();
+            for (DepthDiff diff : diffs) {
+                if (diff.getSequence() > afterSequence) {
+                    result.add(diff);
+                }
+            }
+            return Optional.of(result);
+        }
+    }
+}
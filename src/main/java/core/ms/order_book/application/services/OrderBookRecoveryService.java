@@ -0,0 +1,157 @@
+package core.ms.order_book.application.services;
+
+import core.ms.order.domain.entities.IOrder;
+import core.ms.order.domain.factories.OrderFactory;
+import core.ms.order.domain.value_objects.OrderStatusEnum;
+import core.ms.order_book.domain.entities.OrderBook;
+import core.ms.order_book.domain.ports.outbound.OrderBookJournal;
+import core.ms.order_book.domain.ports.outbound.OrderBookRepository;
+import core.ms.order_book.domain.ports.outbound.OrderBookSnapshotRepository;
+import core.ms.order_book.domain.value_object.OrderBookSnapshot;
+import core.ms.shared.money.Symbol;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.event.ContextRefreshedEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Rebuilds the order books after a restart: the latest snapshot that records a journal
+ * position is loaded, then the journal records after that position are replayed.
+ * Without a usable snapshot the whole journal is replayed.
+ */
+@Service
+public class OrderBookRecoveryService {
+
+    private static final Logger logger = LoggerFactory.getLogger(OrderBookRecoveryService.class);
+
+    @Autowired
+    private OrderBookRepository orderBookRepository;
+
+    @Autowired
+    private OrderBookSnapshotRepository snapshotRepository;
+
+    @Autowired
+    private OrderBookJournal journal;
+
+    private final AtomicBoolean recovered = new AtomicBoolean();
+
+    @EventListener(ContextRefreshedEvent.class)
+    @Transactional(readOnly = true)
+    public void recoverOnStartup() {
+        if (!journal.isEnabled() || !recovered.compareAndSet(false, true)) {
+            return;
+        }
+
+        for (Symbol symbol : journal.getJournaledSymbols()) {
+            try {
+                restore(symbol);
+            } catch (Exception e) {
+                logger.error("💥 Failed to recover order book for {}", symbol.getCode(), e);
+            }
+        }
+    }
+
+    /**
+     * Refills an empty book from the latest snapshot and the journal.
+     *
+     * @return the number of orders resting in the book afterwards
+     */
+    @Transactional(readOnly = true)
+    public int restore(Symbol symbol) {
+        OrderBook orderBook = orderBookRepository.getOrCreate(symbol);
+        if (!orderBook.isEmpty()) {
+            logger.warn("⚠️ Order book for {} already holds {} orders, not restoring it",
+                    symbol.getCode(), orderBook.getOrderCount());
+            return orderBook.getOrderCount();
+        }
+
+        long startedAt = System.nanoTime();
+        long fromSequence = 0;
+        Optional<OrderBookSnapshot> snapshot = snapshotRepository.findLatestBySymbol(symbol)
+                .filter(OrderBookSnapshot::isRestorable);
+        if (snapshot.isPresent()) {
+            restoreOrders(orderBook, snapshot.get().getBuyOrders(), true);
+            restoreOrders(orderBook, snapshot.get().getSellOrders(), false);
+            orderBook.restoreSequences(snapshot.get().getMatchSequence(), snapshot.get().getDepthSequence());
+            fromSequence = snapshot.get().getJournalSequence();
+        }
+
+        long lastSequence = journal.replay(symbol, fromSequence, new OrderBookJournal.ReplayHandler() {
+            @Override
+            public void onAdd(long sequence, IOrder order) {
+                orderBook.restoreOrder(order);
+            }
+
+            @Override
+            public void onCancel(long sequence, String orderId) {
+                orderBook.restoreCancel(orderId);
+            }
+
+            @Override
+            public void onFill(long sequence, String buyOrderId, String sellOrderId, long units) {
+                orderBook.restoreFill(buyOrderId, sellOrderId, units);
+            }
+
+            @Override
+            public void onReduce(long sequence, String orderId, long units) {
+                orderBook.restoreReduction(orderId, units);
+            }
+
+            @Override
+            public void onRelease(long sequence, String orderId, long units) {
+                orderBook.restoreRelease(orderId, units);
+            }
+        });
+
+        orderBook.restoredThrough(lastSequence);
+        orderBookRepository.save(orderBook);
+        orderBook.publishView();
+
+        logger.info("♻️ Restored order book for {}: {} orders, snapshot at {}, {} journal records replayed in {} ms",
+                symbol.getCode(), orderBook.getOrderCount(), fromSequence, lastSequence - fromSequence,
+                (System.nanoTime() - startedAt) / 1_000_000);
+        return orderBook.getOrderCount();
+    }
+
+    /**
+     * Deletes the journal records a restore would no longer read, those up to the position of
+     * the latest snapshot it would load. Called once a new snapshot has committed.
+     */
+    @Transactional(readOnly = true)
+    public void truncateJournal(Symbol symbol) {
+        if (!journal.isEnabled()) {
+            return;
+        }
+        snapshotRepository.findLatestBySymbol(symbol)
+                .filter(OrderBookSnapshot::isRestorable)
+                .ifPresent(snapshot -> journal.truncateThrough(symbol, snapshot.getJournalSequence()));
+    }
+
+    private void restoreOrders(OrderBook orderBook, List<OrderBookSnapshot.OrderSnapshot> orders, boolean buy) {
+        Symbol symbol = orderBook.getSymbol();
+        for (OrderBookSnapshot.OrderSnapshot snapshot : orders) {
+            // Snapshot orders were validated when they entered the book; rehydrate them as they are
+            BigDecimal executed = snapshot.getQuantity().subtract(snapshot.getRemainingQuantity());
+            OrderStatusEnum status = executed.signum() > 0 ? OrderStatusEnum.PARTIAL : OrderStatusEnum.PENDING;
+            LocalDateTime createdAt = LocalDateTime.ofInstant(snapshot.getCreatedAt(), ZoneOffset.UTC);
+            IOrder order = buy
+                    ? OrderFactory.restoreBuyOrder(snapshot.getOrderId(), snapshot.getPortfolioId(),
+                    snapshot.getReservationId(), symbol, snapshot.getPrice(), snapshot.getQuantity(),
+                    status, executed, createdAt, createdAt, 0)
+                    : OrderFactory.restoreSellOrder(snapshot.getOrderId(), snapshot.getPortfolioId(),
+                    snapshot.getReservationId(), symbol, snapshot.getPrice(), snapshot.getQuantity(),
+                    status, executed, createdAt, createdAt, 0);
+            orderBook.restoreOrder(order);
+        }
+    }
+}
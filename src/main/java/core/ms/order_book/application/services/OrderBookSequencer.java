@@ -0,0 +1,276 @@
+package core.ms.order_book.application.services;
+
+import core.ms.shared.events.EventContext;
+import core.ms.shared.money.Symbol;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * Single-writer execution for order books.
+ *
+ * Each symbol gets a bounded command queue drained by one dedicated thread, so every
+ * mutation of a book happens on the same thread in submission order and needs no locks.
+ * A full queue rejects the command immediately instead of blocking the caller, and a
+ * command that has not finished within command-timeout-ms fails its future. A command
+ * that times out while still queued is cancelled and never runs.
+ */
+@Component
+public class OrderBookSequencer {
+
+    private static final Logger logger = LoggerFactory.getLogger(OrderBookSequencer.class);
+
+    @Value("${orderbook.sequencer.enabled:false}")
+    private boolean enabled;
+
+    @Value("${orderbook.sequencer.queue-capacity:4096}")
+    private int queueCapacity;
+
+    @Value("${orderbook.sequencer.command-timeout-ms:5000}")
+    private long commandTimeoutMs;
+
+    @Value("${orderbook.sequencer.shutdown-timeout-ms:5000}")
+    private long shutdownTimeoutMs;
+
+    private final Map<Symbol, SymbolLane> lanes = new ConcurrentHashMap<>();
+    private final ScheduledThreadPoolExecutor timeouts = newTimeoutScheduler();
+    private volatile boolean stopped;
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Queues an action on the symbol's lane.
+     * The returned future fails with {@link QueueFullException} if the lane is saturated,
+     * with {@link LaneStoppedException} if the lane stops before running it, and with a
+     * TimeoutException if it has not completed within command-timeout-ms. A command that
+     * times out before the lane picks it up is skipped, so a timeout on a queued command
+     * means the book never saw it.
+     */
+    public <T> CompletableFuture<T> submit(Symbol symbol, Supplier<T> action) {
+        if (stopped) {
+            return CompletableFuture.failedFuture(new LaneStoppedException(symbol));
+        }
+        SymbolLane lane = lanes.computeIfAbsent(symbol, this::startLane);
+
+        // Re-entrant call from the lane itself: run inline, queueing would deadlock
+        if (Thread.currentThread() == lane.thread) {
+            try {
+                return CompletableFuture.completedFuture(action.get());
+            } catch (Exception e) {
+                return CompletableFuture.failedFuture(e);
+            }
+        }
+
+        if (!lane.running) {
+            return CompletableFuture.failedFuture(new LaneStoppedException(symbol));
+        }
+
+        Command<T> command = new Command<>(action, EventContext.getCurrentCorrelationId());
+        if (!lane.queue.offer(command)) {
+            logger.warn("⚠️ Sequencer queue full for symbol {} ({} pending)",
+                    symbol.getCode(), lane.queue.size());
+            return CompletableFuture.failedFuture(new QueueFullException(symbol));
+        }
+
+        // The lane may have stopped during the offer. Its worker fails whatever it leaves
+        // queued, so a command still in the queue here would otherwise never complete.
+        if (!lane.running && lane.queue.remove(command)) {
+            command.fail(new LaneStoppedException(symbol));
+        }
+        if (!command.future.isDone()) {
+            ScheduledFuture<?> timeout = timeouts.schedule(command::expire, commandTimeoutMs, TimeUnit.MILLISECONDS);
+            command.future.whenComplete((result, failure) -> timeout.cancel(false));
+        }
+        return command.future;
+    }
+
+    /**
+     * Stops the lane for a symbol once its book is removed. The running command finishes;
+     * queued ones fail with {@link LaneStoppedException}.
+     */
+    public void retire(Symbol symbol) {
+        // Stopped inside the map's compute so no submit can pick the lane up afterwards
+        lanes.computeIfPresent(symbol, (key, lane) -> {
+            lane.stop();
+            return null;
+        });
+    }
+
+    public int getPendingCount(Symbol symbol) {
+        SymbolLane lane = lanes.get(symbol);
+        return lane == null ? 0 : lane.queue.size();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        stopped = true;
+        List<SymbolLane> stopping = new ArrayList<>(lanes.values());
+        lanes.clear();
+        stopping.forEach(SymbolLane::stop);
+        timeouts.shutdownNow();
+
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(shutdownTimeoutMs);
+        for (SymbolLane lane : stopping) {
+            try {
+                lane.thread.join(Math.max(1, TimeUnit.NANOSECONDS.toMillis(deadline - System.nanoTime())));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+            if (lane.thread.isAlive()) {
+                logger.warn("⚠️ Sequencer thread {} still running after shutdown timeout",
+                        lane.thread.getName());
+            }
+        }
+    }
+
+    private static ScheduledThreadPoolExecutor newTimeoutScheduler() {
+        ScheduledThreadPoolExecutor scheduler = new ScheduledThreadPoolExecutor(1, runnable -> {
+            Thread thread = new Thread(runnable, "orderbook-seq-timeouts");
+            thread.setDaemon(true);
+            return thread;
+        });
+        // Completed commands cancel their timer; drop it from the queue right away
+        scheduler.setRemoveOnCancelPolicy(true);
+        return scheduler;
+    }
+
+    private SymbolLane startLane(Symbol symbol) {
+        SymbolLane lane = new SymbolLane(symbol, queueCapacity);
+        lane.thread.start();
+        logger.info("🧵 Started sequencer thread for symbol {}", symbol.getCode());
+        return lane;
+    }
+
+    // ============ LANE ============
+
+    private final class SymbolLane implements Runnable {
+        private final Symbol symbol;
+        private final BlockingQueue<Command<?>> queue;
+        private final Thread thread;
+        private volatile boolean running = true;
+
+        private SymbolLane(Symbol symbol, int capacity) {
+            this.symbol = symbol;
+            this.queue = new ArrayBlockingQueue<>(capacity);
+            this.thread = new Thread(this, "orderbook-seq-" + symbol.getCode());
+            this.thread.setDaemon(true);
+        }
+
+        @Override
+        public void run() {
+            while (running) {
+                try {
+                    queue.take().execute();
+                } catch (InterruptedException e) {
+                    // stop() interrupts a lane waiting for work; the loop re-checks running
+                } catch (Throwable t) {
+                    // An Error leaves the book in an unknown state: stop taking work, fail what is
+                    // queued and let the next submit start a fresh lane
+                    logger.error("💥 Sequencer lane {} stopped by an unrecoverable error", symbol.getCode(), t);
+                    running = false;
+                    lanes.remove(symbol, this);
+                }
+            }
+
+            Command<?> command;
+            int failed = 0;
+            while ((command = queue.poll()) != null) {
+                command.fail(new LaneStoppedException(symbol));
+                failed++;
+            }
+            if (failed > 0) {
+                logger.warn("⚠️ Sequencer lane {} stopped with {} queued commands",
+                        symbol.getCode(), failed);
+            }
+        }
+
+        private void stop() {
+            running = false;
+            thread.interrupt();
+        }
+    }
+
+    private static final class Command<T> {
+        private static final int QUEUED = 0;
+        private static final int RUNNING = 1;
+        private static final int CANCELLED = 2;
+
+        private final Supplier<T> action;
+        private final String correlationId;
+        private final CompletableFuture<T> future = new CompletableFuture<>();
+        private final AtomicInteger state = new AtomicInteger(QUEUED);
+
+        private Command(Supplier<T> action, String correlationId) {
+            this.action = action;
+            this.correlationId = correlationId;
+        }
+
+        private void execute() {
+            if (!state.compareAndSet(QUEUED, RUNNING)) {
+                return; // timed out while queued
+            }
+            EventContext.setCorrelationId(correlationId);
+            try {
+                future.complete(action.get());
+            } catch (Exception e) {
+                logger.error("💥 Sequencer command failed", e);
+                future.completeExceptionally(e);
+            } catch (Throwable t) {
+                future.completeExceptionally(t);
+                throw t;
+            } finally {
+                EventContext.clear();
+            }
+        }
+
+        /**
+         * Fails the caller at the deadline. A command still queued is cancelled so the lane
+         * skips it; one already running cannot be stopped and still takes effect.
+         */
+        private void expire() {
+            if (state.compareAndSet(QUEUED, CANCELLED)) {
+                future.completeExceptionally(new TimeoutException("Order book command was not started in time"));
+            } else if (!future.isDone()) {
+                logger.warn("⚠️ Sequencer command still running after its timeout");
+                future.completeExceptionally(new TimeoutException("Order book command did not finish in time"));
+            }
+        }
+
+        private void fail(Throwable cause) {
+            future.completeExceptionally(cause);
+        }
+    }
+
+    // ============ EXCEPTIONS ============
+
+    public static class QueueFullException extends RuntimeException {
+        public QueueFullException(Symbol symbol) {
+            super("Order book is busy, please try again: queue full for " + symbol.getCode());
+        }
+    }
+
+    public static class LaneStoppedException extends IllegalStateException {
+        public LaneStoppedException(Symbol symbol) {
+            super("Order book sequencer stopped for " + symbol.getCode());
+        }
+    }
+}
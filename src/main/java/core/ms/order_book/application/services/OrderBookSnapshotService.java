@@ -7,9 +7,13 @@ import core.ms.order_book.application.dto.query.OrderSnapshotDTO;
 import core.ms.order_book.domain.entities.OrderBook;
 import core.ms.order_book.domain.ports.outbound.OrderBookRepository;
 import core.ms.order_book.domain.ports.outbound.OrderBookSnapshotRepository;
+import core.ms.order_book.domain.value_object.OrderBookImage;
 import core.ms.order_book.domain.value_object.OrderBookSnapshot;
 import core.ms.order_book.infrastructure.persistence.OrderBookSnapshotRepositoryImpl;
+import core.ms.order_book.infrastructure.persistence.entities.OrderBookSnapshotEntity;
 import core.ms.shared.money.Symbol;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -18,13 +22,22 @@ import org.springframework.scheduling.annotation.Async;
 import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
 import java.time.Instant;
 import java.time.LocalDateTime;
 import java.time.temporal.ChronoUnit;
 import java.util.Collection;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.stream.Collectors;
 
 @Service
@@ -42,6 +55,12 @@ public class OrderBookSnapshotService {
     @Autowired
     private OrderBookSnapshotRepositoryImpl snapshotRepositoryImpl;
 
+    @Autowired
+    private OrderBookApplicationService orderBookService;
+
+    @Autowired
+    private OrderBookRecoveryService recoveryService;
+
     @Value("${orderbook.snapshot.enabled:true}")
     private boolean snapshotEnabled;
 
@@ -51,6 +70,31 @@ public class OrderBookSnapshotService {
     @Value("${orderbook.snapshot.max-snapshots-per-symbol:100}")
     private int maxSnapshotsPerSymbol;
 
+    // binary: one encoded row per book; rows: one row per resting order
+    @Value("${orderbook.snapshot.format:binary}")
+    private String snapshotFormat;
+
+    // Books captured and stored at the same time by performSnapshot
+    @Value("${orderbook.snapshot.parallelism:4}")
+    private int snapshotParallelism;
+
+    private ExecutorService snapshotExecutor;
+
+    @PostConstruct
+    public void startSnapshotExecutor() {
+        AtomicInteger threadCount = new AtomicInteger();
+        snapshotExecutor = Executors.newFixedThreadPool(Math.max(1, snapshotParallelism), runnable -> {
+            Thread thread = new Thread(runnable, "orderbook-snapshot-" + threadCount.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    @PreDestroy
+    public void stopSnapshotExecutor() {
+        snapshotExecutor.shutdown();
+    }
+
     // ===== SCHEDULED OPERATIONS =====
 
     @Scheduled(fixedRateString = "${orderbook.snapshot.interval:300000}") // Default 5 minutes
@@ -85,6 +129,11 @@ public class OrderBookSnapshotService {
 
     public void performSnapshot() {
         Collection<OrderBook> orderBooks = orderBookRepository.findAll();
+        if (isBinaryFormat()) {
+            performParallelSnapshot(orderBooks);
+            return;
+        }
+
         int successCount = 0;
         int failureCount = 0;
 
@@ -143,20 +192,70 @@ public class OrderBookSnapshotService {
 
     // ===== RESTORE OPERATIONS =====
 
+    /**
+     * Refills an empty book from its latest snapshot and the journal records after it.
+     */
     public void restoreFromLatestSnapshot(String symbolCode) {
         Symbol symbol = Symbol.createFromCode(symbolCode);
-        Optional<OrderBookSnapshot> snapshot = snapshotRepository.findLatestBySymbol(symbol);
+        int orderCount = recoveryService.restore(symbol);
+        log.info("Order book for {} holds {} orders after restore", symbolCode, orderCount);
+    }
 
-        if (snapshot.isPresent()) {
-            // This would require additional logic to restore OrderBook state
-            // For now, just log
-            log.info("Found snapshot for {} from {}", symbolCode, snapshot.get().getTimestamp());
-        } else {
-            log.warn("No snapshot found for symbol: {}", symbolCode);
+    // ===== PRIVATE HELPER METHODS =====
+
+    /**
+     * Captures and stores every book on the snapshot threads. Each capture only holds its own
+     * book's writer while copying it, so books are captured at the same time and matching
+     * continues while the images are encoded and written.
+     */
+    private void performParallelSnapshot(Collection<OrderBook> orderBooks) {
+        long startedAt = System.nanoTime();
+        Map<Symbol, CompletableFuture<OrderBookSnapshotEntity>> snapshots = new LinkedHashMap<>();
+        for (OrderBook orderBook : orderBooks) {
+            if (shouldSnapshot(orderBook)) {
+                Symbol symbol = orderBook.getSymbol();
+                snapshots.put(symbol, CompletableFuture.supplyAsync(() -> snapshotImage(symbol), snapshotExecutor));
+            }
+        }
+
+        int successCount = 0;
+        int failureCount = 0;
+        long totalBytes = 0;
+        for (Map.Entry<Symbol, CompletableFuture<OrderBookSnapshotEntity>> snapshot : snapshots.entrySet()) {
+            try {
+                totalBytes += snapshot.getValue().join().getImage().length;
+                successCount++;
+            } catch (CompletionException e) {
+                log.error("Failed to snapshot OrderBook for symbol: {}",
+                        snapshot.getKey().getCode(), e.getCause());
+                failureCount++;
+            }
         }
+
+        log.info("Snapshot completed. Success: {}, Failures: {}, {} bytes in {} ms",
+                successCount, failureCount, totalBytes, (System.nanoTime() - startedAt) / 1_000_000);
     }
 
-    // ===== PRIVATE HELPER METHODS =====
+    /**
+     * Copies the book on its writer, then encodes and stores the copy on the calling thread.
+     */
+    private OrderBookSnapshotEntity snapshotImage(Symbol symbol) {
+        long startedAt = System.nanoTime();
+        OrderBookImage image = orderBookService.readBook(symbol, OrderBook::captureImage)
+                .orElseThrow(() -> new IllegalStateException("Order book not found: " + symbol.getCode()));
+        long capturedAt = System.nanoTime();
+        OrderBookSnapshotEntity entity = snapshotRepositoryImpl.saveImage(image);
+        truncateJournalAfterCommit(symbol);
+
+        log.debug("Snapshot of {}: {} orders copied in {} µs, {} bytes stored in {} ms",
+                symbol.getCode(), image.getOrderCount(), (capturedAt - startedAt) / 1_000,
+                entity.getImage().length, (System.nanoTime() - capturedAt) / 1_000_000);
+        return entity;
+    }
+
+    private boolean isBinaryFormat() {
+        return "binary".equalsIgnoreCase(snapshotFormat);
+    }
 
     private void createSnapshot(OrderBook orderBook) {
         // Check if we need to cleanup old snapshots for this symbol
@@ -166,7 +265,42 @@ public class OrderBookSnapshotService {
             log.warn("Maximum snapshots reached for symbol: {}", orderBook.getSymbol().getCode());
         }
 
-        snapshotRepositoryImpl.createSnapshot(orderBook);
+        if (isBinaryFormat()) {
+            snapshotImage(orderBook.getSymbol());
+            return;
+        }
+
+        // Copy the book while its writer is held off so the orders match the journal sequence,
+        // then write the rows without holding up matching
+        orderBookService.readBook(orderBook.getSymbol(), snapshotRepositoryImpl::captureSnapshot)
+                .ifPresent(snapshotRepositoryImpl::saveSnapshot);
+        truncateJournalAfterCommit(orderBook.getSymbol());
+    }
+
+    /**
+     * Drops the journal segments the new snapshot covers, but only once it has committed:
+     * until then a restore still needs them.
+     */
+    private void truncateJournalAfterCommit(Symbol symbol) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            truncateJournal(symbol);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                truncateJournal(symbol);
+            }
+        });
+    }
+
+    private void truncateJournal(Symbol symbol) {
+        try {
+            recoveryService.truncateJournal(symbol);
+        } catch (Exception e) {
+            // The segments stay and are tried again after the next snapshot
+            log.error("Failed to truncate the journal of {}", symbol.getCode(), e);
+        }
     }
 
     private boolean shouldSnapshot(OrderBook orderBook) {
@@ -13,6 +13,10 @@ public class OrderBookWebSocketService {
 
     private static final Logger logger = LoggerFactory.getLogger(OrderBookWebSocketService.class);
 
+    // Levels sent when no subscriber asked for a depth, and the most one can ask for
+    private static final int DEFAULT_DEPTH = 25;
+    private static final int MAX_DEPTH = 50;
+
     @Autowired
     private SimpMessagingTemplate messagingTemplate;
 
@@ -22,31 +26,32 @@ public class OrderBookWebSocketService {
     @Autowired
     private OrderBookWebMapper webMapper;
 
+    @Autowired
+    private MarketDataConflator marketDataConflator;
+
+    @Autowired
+    private MarketDataSubscriptionRegistry subscriptionRegistry;
+
     /**
      * Broadcasts order book update to all subscribed clients.
+     * Depth and ticker are built when the conflator flushes, once per flush at most,
+     * and only for topics someone subscribes to.
      */
     public void broadcastOrderBookUpdate(String symbolCode) {
         try {
             Symbol symbol = Symbol.createFromCode(symbolCode);
 
-            // Get market depth
-            var marketDepth = orderBookService.getMarketDepth(symbol, 25);
-            var depthDTO = webMapper.toDTO(marketDepth);
-
-            // Broadcast to order book topic
-            messagingTemplate.convertAndSend(
-                    "/topic/orderbook/" + symbolCode,
-                    depthDTO
-            );
+            // Broadcast to order book topic, as deep as the deepest subscriber asked
+            String destination = "/topic/orderbook/" + symbolCode;
+            if (subscriptionRegistry.hasSubscribers(destination)) {
+                marketDataConflator.publishLatest(destination, () -> webMapper.toDTO(
+                        orderBookService.getMarketDepth(symbol, requestedDepth(destination))));
+            }
 
             // Also broadcast ticker update
-            var ticker = orderBookService.getOrderBookTicker(symbol);
-            messagingTemplate.convertAndSend(
-                    "/topic/ticker/" + symbolCode,
-                    ticker
-            );
+            publishTicker(symbol, symbolCode);
 
-            logger.debug("📡 Broadcasted order book update for symbol: {}", symbolCode);
+            logger.debug("📡 Queued order book update for symbol: {}", symbolCode);
 
         } catch (Exception e) {
             logger.error("Failed to broadcast order book update for symbol: {}", symbolCode, e);
@@ -58,21 +63,27 @@ public class OrderBookWebSocketService {
      */
     public void broadcastTickerUpdate(String symbolCode) {
         try {
-            Symbol symbol = Symbol.createFromCode(symbolCode);
+            publishTicker(Symbol.createFromCode(symbolCode), symbolCode);
 
-            var ticker = orderBookService.getOrderBookTicker(symbol);
-            messagingTemplate.convertAndSend(
-                    "/topic/ticker/" + symbolCode,
-                    ticker
-            );
-
-            logger.debug("📡 Broadcasted ticker update for symbol: {}", symbolCode);
+            logger.debug("📡 Queued ticker update for symbol: {}", symbolCode);
 
         } catch (Exception e) {
             logger.error("Failed to broadcast ticker update for symbol: {}", symbolCode, e);
         }
     }
 
+    private void publishTicker(Symbol symbol, String symbolCode) {
+        String destination = "/topic/ticker/" + symbolCode;
+        if (subscriptionRegistry.hasSubscribers(destination)) {
+            marketDataConflator.publishLatest(destination, () -> orderBookService.getOrderBookTicker(symbol));
+        }
+    }
+
+    private int requestedDepth(String destination) {
+        int depth = subscriptionRegistry.getRequestedDepth(destination, DEFAULT_DEPTH);
+        return Math.min(Math.max(depth, 1), MAX_DEPTH);
+    }
+
     /**
      * Sends a direct message to a specific user session.
      */
@@ -5,29 +5,82 @@ import core.ms.order.domain.entities.IOrder;
 import core.ms.order.domain.entities.ISellOrder;
 import core.ms.order_book.domain.events.publish.OrderMatchedEvent;
 import core.ms.order_book.domain.factory.OrderMatchEventFactory;
+import core.ms.order_book.domain.ports.outbound.DepthDiffPublisher;
+import core.ms.order_book.domain.ports.outbound.OrderBookJournal;
 import core.ms.order_book.domain.value_object.*;
+import core.ms.shared.OrderType;
 import core.ms.shared.money.Money;
 import core.ms.shared.money.Symbol;
 
 import java.math.BigDecimal;
+import java.time.Instant;
 import java.time.LocalDateTime;
 import java.util.*;
-import java.util.stream.Collectors;
+import java.util.function.Consumer;
 
 public class OrderBook {
+    private static final int RELEASED_FILL_MEMORY = 4096;
+
     private final Symbol symbol;
     private final BidSideManager bidSide;
     private final AskSideManager askSide;
-    private final Map<String, IOrder> orderIndex;
+    // Order id -> queue handle, so cancels unlink in O(1) without searching the level
+    private final Map<String, OrderNode<? extends IOrder>> orderIndex;
     private LocalDateTime lastUpdate;
     private final List<OrderMatchedEvent> recentMatchEvents = new ArrayList<>();
+    private final IncrementalMatchingAlgorithm incrementalMatcher = new IncrementalMatchingAlgorithm();
+    private MatchingMode matchingMode = MatchingMode.FULL_SCAN;
+
+    // Fills are applied to the book when matched; each one is numbered in match order
+    private long matchSequence;
+    // Order id -> fills applied here that settlement has not reported back yet
+    private final Map<String, SettlementLedger> unsettledFills = new HashMap<>();
+    // Match id/order id of failed fills already given back, so a redelivered failure is ignored
+    private final Map<String, Boolean> releasedFills = new LinkedHashMap<>() {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, Boolean> eldest) {
+            return size() > RELEASED_FILL_MEMORY;
+        }
+    };
+
+    // Every change to resting orders is recorded here when set; null when the book is not journaled
+    private OrderBookJournal journal;
+    private long journalSequence;
+
+    // Read model for lock-free readers; replaced wholesale by the writer in publishView()
+    private volatile TopOfBookSnapshot publishedView;
+
+    // Receives the levels changed since the previous publication; null when nobody listens
+    private DepthDiffPublisher depthDiffPublisher;
+    private long depthSequence;
+
+    // Tick of the cumulative depth index a side builds on its first quote; most books are never quoted
+    private final BigDecimal depthTickSize;
 
     public OrderBook(Symbol symbol) {
         this.symbol = Objects.requireNonNull(symbol, "Symbol cannot be null");
         this.bidSide = new BidSideManager();
         this.askSide = new AskSideManager();
+        // Quotes use the quote currency's smallest unit as the tick; off-grid prices fall back to a level walk
+        this.depthTickSize = BigDecimal.ONE.movePointLeft(symbol.getQuoteCurrency().getDecimalPlaces());
         this.orderIndex = new HashMap<>();
         this.lastUpdate = LocalDateTime.now();
+        this.publishedView = TopOfBookSnapshot.empty(symbol);
+    }
+
+    /**
+     * Creates a book whose sides are tick ladders instead of price-keyed trees.
+     * Orders priced off the tick grid are rejected by the ladder.
+     */
+    public OrderBook(Symbol symbol, BigDecimal tickSize) {
+        this.symbol = Objects.requireNonNull(symbol, "Symbol cannot be null");
+        Objects.requireNonNull(tickSize, "Tick size cannot be null");
+        this.bidSide = new BidSideManager(tickSize);
+        this.askSide = new AskSideManager(tickSize);
+        this.depthTickSize = tickSize;
+        this.orderIndex = new HashMap<>();
+        this.lastUpdate = LocalDateTime.now();
+        this.publishedView = TopOfBookSnapshot.empty(symbol);
     }
 
     // ============ ORDER OPERATIONS WITH MATCHING ============
@@ -38,20 +91,36 @@ public class OrderBook {
             System.out.println("DEBUG: Rejecting inactive/fully executed buy order: " + order.getId());
             return;
         }
+        if (isStale(order)) {
+            return;
+        }
 
-        // Store reference in index
-        orderIndex.put(order.getId(), order);
+        // Remove any existing version first (in case of updates)
+        if (orderIndex.containsKey(order.getId())) {
+            removeOrderById(order.getId());
+        }
+
+        // Add to bid side first so a rejected price leaves the index untouched
+        OrderNode<IBuyOrder> node = bidSide.addOrder(order);
+        if (node == null) {
+            return;
+        }
 
-        // Add to bid side
-        bidSide.addOrder(order);
+        // Store handle in index
+        orderIndex.put(order.getId(), node);
         lastUpdate = LocalDateTime.now();
+        journalAdd(node);
 
         System.out.println("DEBUG: Added buy order " + order.getId() +
                 " to book. Price: " + order.getPrice() +
                 ", Remaining qty: " + order.getRemainingQuantity() +
                 ", Status: " + order.getStatus().getStatus());
 
-        checkForMatches();
+        if (matchingMode == MatchingMode.INCREMENTAL) {
+            matchIncoming(order);
+        } else {
+            checkForMatches();
+        }
     }
 
     public void addOrder(ISellOrder order) {
@@ -60,112 +129,544 @@ public class OrderBook {
             System.out.println("DEBUG: Rejecting inactive/fully executed sell order: " + order.getId());
             return;
         }
+        if (isStale(order)) {
+            return;
+        }
 
         // Remove any existing version first (in case of updates)
         if (orderIndex.containsKey(order.getId())) {
             removeOrderById(order.getId());
         }
 
-        // Store reference in index
-        orderIndex.put(order.getId(), order);
+        // Add to ask side first so a rejected price leaves the index untouched
+        OrderNode<ISellOrder> node = askSide.addOrder(order);
+        if (node == null) {
+            return;
+        }
 
-        // Add to ask side
-        askSide.addOrder(order);
+        // Store handle in index
+        orderIndex.put(order.getId(), node);
         lastUpdate = LocalDateTime.now();
+        journalAdd(node);
 
         // Check for matches
-        checkForMatches();
+        if (matchingMode == MatchingMode.INCREMENTAL) {
+            matchIncoming(order);
+        } else {
+            checkForMatches();
+        }
+    }
+
+    /**
+     * True when the book already holds a newer version of the order, e.g. reloaded after a
+     * settlement, so a snapshot that was delayed on its way here must not replace it.
+     */
+    private boolean isStale(IOrder order) {
+        OrderNode<? extends IOrder> resting = orderIndex.get(order.getId());
+        return resting != null && resting.getOrder().getVersion() > order.getVersion();
     }
 
     public boolean removeOrderById(String orderId) {
-        IOrder order = orderIndex.remove(orderId);
-        if (order == null) return false;
+        if (!dropOrder(orderId)) {
+            // Cancelled after a fill emptied it: the order must not come back if that fill fails
+            SettlementLedger ledger = unsettledFills.get(orderId);
+            if (ledger != null) {
+                ledger.filledOut = null;
+            }
+            return false;
+        }
 
-        if (order instanceof IBuyOrder) {
-            return bidSide.removeOrder((IBuyOrder) order);
-        } else if (order instanceof ISellOrder) {
-            return askSide.removeOrder((ISellOrder) order);
+        if (journal != null) {
+            journalSequence = journal.recordCancel(symbol, orderId);
+        }
+        return true;
+    }
+
+    /**
+     * Takes an order out of the index and its level without journaling the removal.
+     */
+    private boolean dropOrder(String orderId) {
+        OrderNode<? extends IOrder> node = orderIndex.remove(orderId);
+        if (node == null) return false;
+
+        lastUpdate = LocalDateTime.now();
+        return unlink(node);
+    }
+
+    @SuppressWarnings("unchecked")
+    private boolean unlink(OrderNode<? extends IOrder> node) {
+        if (node.getOrder() instanceof IBuyOrder) {
+            return bidSide.removeNode((OrderNode<IBuyOrder>) node);
+        } else if (node.getOrder() instanceof ISellOrder) {
+            return askSide.removeNode((OrderNode<ISellOrder>) node);
         }
         return false;
     }
 
+    // ============ AMENDMENTS ============
+
+    /**
+     * Amends a resting order to a new price and/or total quantity.
+     *
+     * Exchange semantics: reducing the quantity at the same price keeps the order's place in
+     * the queue; a price change or a quantity increase sends it to the back of its level and
+     * may match on the spot. The new quantity is the order's new total, so fills the book has
+     * already applied still count against it. A null price or quantity leaves that field as is.
+     */
+    public AmendOutcome amendOrder(String orderId, Money newPrice, BigDecimal newQuantity) {
+        Objects.requireNonNull(orderId, "Order ID cannot be null");
+        OrderNode<? extends IOrder> node = orderIndex.get(orderId);
+        if (node == null) {
+            return AmendOutcome.NOT_FOUND;
+        }
+
+        IOrder order = node.getOrder();
+        Money price = newPrice != null ? newPrice : order.getPrice();
+        BigDecimal quantity = newQuantity != null ? newQuantity : order.getQuantity();
+        validateAmendment(order, price, quantity);
+
+        FixedPointScale scale = bidSide.getQuantityScale();
+        long deltaUnits = scale.toUnits(quantity) - scale.toUnits(order.getQuantity());
+        long remainingUnits = node.getRemainingUnits() + deltaUnits;
+        boolean samePrice = price.equals(order.getPrice());
+
+        if (remainingUnits <= 0) {
+            removeOrderById(orderId);
+            return AmendOutcome.REMOVED;
+        }
+
+        if (samePrice && deltaUnits <= 0) {
+            if (deltaUnits == 0) {
+                return AmendOutcome.UNCHANGED;
+            }
+            order.updateQuantity(quantity);
+            reduceNode(node, -deltaUnits);
+            lastUpdate = LocalDateTime.now();
+            if (journal != null) {
+                journalSequence = journal.recordReduce(symbol, orderId, -deltaUnits);
+            }
+            return AmendOutcome.REDUCED_IN_PLACE;
+        }
+
+        removeOrderById(orderId);
+        // The book's copy carries its own fills as executed so the new node starts at the right size
+        order.updatePrice(price);
+        order.updateQuantity(quantity);
+        order.setExecutedQuantity(quantity.subtract(scale.toBigDecimal(remainingUnits)));
+        if (order instanceof IBuyOrder buyOrder) {
+            addOrder(buyOrder);
+        } else if (order instanceof ISellOrder sellOrder) {
+            addOrder(sellOrder);
+        }
+        return AmendOutcome.REQUEUED;
+    }
+
+    private void validateAmendment(IOrder order, Money price, BigDecimal quantity) {
+        if (quantity.compareTo(BigDecimal.ZERO) <= 0) {
+            throw new IllegalArgumentException("Amended quantity must be positive");
+        }
+        if (!price.isPositive()) {
+            throw new IllegalArgumentException("Amended price must be positive");
+        }
+        if (price.getCurrency() != order.getPrice().getCurrency()) {
+            throw new IllegalArgumentException("Amended price currency " + price.getCurrency() +
+                    " does not match order currency " + order.getPrice().getCurrency());
+        }
+        // Throws for prices the side cannot queue (e.g. off the tick grid) before anything is touched
+        if (order instanceof IBuyOrder) {
+            bidSide.getLevelIndex().get(price);
+        } else {
+            askSide.getLevelIndex().get(price);
+        }
+        bidSide.getQuantityScale().toUnits(quantity);
+    }
+
     // ============ MATCHING LOGIC ============
 
     private void checkForMatches() {
         // Clean up inactive orders FIRST
         removeInactiveOrders();
 
-        if (!hasSpreadCrossed()) {
-            return;
+        // Candidates are sized from the orders, which do not see fills applied here,
+        // so keep going until the spread uncrosses or nothing more can be filled
+        while (hasSpreadCrossed()) {
+            List<OrderMatchedEvent> candidates = OrderMatchEventFactory.createMatchEvents(bidSide, askSide);
+            if (applyFills(candidates) == 0) {
+                return;
+            }
         }
+    }
+
+    /**
+     * Incremental mode: matches only the order just added against the opposite side.
+     * Stops at the first level that does not cross, so the cost follows the number of fills.
+     */
+    private void matchIncoming(IBuyOrder order) {
+        List<ISellOrder> staleOrders = new ArrayList<>();
+        List<OrderMatch> matches = incrementalMatcher.matchBuyOrder(order, askSide, staleOrders);
+        staleOrders.forEach(stale -> removeOrderById(stale.getId()));
+        applyFills(OrderMatchEventFactory.createMatchEvents(matches));
+    }
+
+    private void matchIncoming(ISellOrder order) {
+        List<IBuyOrder> staleOrders = new ArrayList<>();
+        List<OrderMatch> matches = incrementalMatcher.matchSellOrder(order, bidSide, staleOrders);
+        staleOrders.forEach(stale -> removeOrderById(stale.getId()));
+        applyFills(OrderMatchEventFactory.createMatchEvents(matches));
+    }
+
+    // ============ FILL ACCOUNTING ============
+
+    /**
+     * Applies candidate matches to the book in order and records the resulting fills.
+     * Each fill is capped by what both resting orders still hold here, so a quantity
+     * can never be matched twice. Returns the number of fills applied.
+     */
+    private int applyFills(List<OrderMatchedEvent> candidates) {
+        int applied = 0;
+        for (OrderMatchedEvent candidate : candidates) {
+            if (candidate == null) {
+                continue;
+            }
+            OrderMatchedEvent fill = applyFill(candidate);
+            if (fill != null) {
+                recentMatchEvents.add(fill);
+                applied++;
+            }
+        }
+        return applied;
+    }
 
-        List<OrderMatchedEvent> events = OrderMatchEventFactory.createMatchEvents(bidSide, askSide);
+    @SuppressWarnings("unchecked")
+    private OrderMatchedEvent applyFill(OrderMatchedEvent candidate) {
+        OrderNode<IBuyOrder> buyNode = (OrderNode<IBuyOrder>) orderIndex.get(candidate.getBuyOrderId());
+        OrderNode<ISellOrder> sellNode = (OrderNode<ISellOrder>) orderIndex.get(candidate.getSellOrderId());
+        if (buyNode == null || sellNode == null) {
+            return null;
+        }
 
-        // Only keep matches where BOTH orders are still active
-        List<OrderMatchedEvent> validEvents = events.stream()
-                .filter(Objects::nonNull)
-                .filter(event -> {
-                    IOrder buy = orderIndex.get(event.getBuyOrderId());
-                    IOrder sell = orderIndex.get(event.getSellOrderId());
+        FixedPointScale scale = bidSide.getQuantityScale();
+        long candidateUnits = scale.toUnits(candidate.getMatchedQuantity());
+        long units = Math.min(candidateUnits,
+                Math.min(buyNode.getRemainingUnits(), sellNode.getRemainingUnits()));
+        if (units <= 0) {
+            return null;
+        }
 
-                    // Check both orders exist and are truly matchable
-                    return buy != null && sell != null &&
-                            buy.isActive() && sell.isActive() &&
-                            buy.getRemainingQuantity().compareTo(BigDecimal.ZERO) > 0 &&
-                            sell.getRemainingQuantity().compareTo(BigDecimal.ZERO) > 0 &&
-                            buy.getRemainingQuantity().compareTo(event.getMatchedQuantity()) >= 0 &&
-                            sell.getRemainingQuantity().compareTo(event.getMatchedQuantity()) >= 0;
-                })
-                .collect(Collectors.toList());
+        bidSide.reduceUnits(buyNode, units);
+        askSide.reduceUnits(sellNode, units);
+        recordUnsettledFill(candidate.getBuyOrderId());
+        recordUnsettledFill(candidate.getSellOrderId());
+        if (journal != null) {
+            journalSequence = journal.recordFill(symbol, candidate.getBuyOrderId(), candidate.getSellOrderId(), units);
+        }
 
-        if (!validEvents.isEmpty()) {
-            recentMatchEvents.addAll(validEvents);
+        // Fully filled orders leave the book now, not when settlement catches up;
+        // the fill record already implies their removal
+        if (buyNode.getRemainingUnits() == 0) {
+            dropFilledOut(buyNode);
+        }
+        if (sellNode.getRemainingUnits() == 0) {
+            dropFilledOut(sellNode);
         }
+
+        return new OrderMatchedEvent(
+                candidate.getCorrelationId(),
+                candidate.getBuyOrderId(),
+                candidate.getSellOrderId(),
+                symbol,
+                units == candidateUnits ? candidate.getMatchedQuantity() : scale.toBigDecimal(units),
+                candidate.getExecutionPrice(),
+                ++matchSequence
+        );
     }
 
-    private boolean isMatchStillValid(OrderMatchedEvent event) {
-        // Get the orders from our index
-        IOrder buyOrder = orderIndex.get(event.getBuyOrderId());
-        IOrder sellOrder = orderIndex.get(event.getSellOrderId());
+    private void recordUnsettledFill(String orderId) {
+        unsettledFills.computeIfAbsent(orderId, id -> new SettlementLedger()).pendingFills++;
+    }
 
-        if (buyOrder == null) {
-            System.out.println("DEBUG: Buy order " + event.getBuyOrderId() + " not found in index");
-            return false;
+    /**
+     * Takes an emptied order out of the book, keeping it with its unsettled fills until they settle.
+     */
+    private void dropFilledOut(OrderNode<? extends IOrder> node) {
+        String orderId = node.getOrder().getId();
+        dropOrder(orderId);
+        unsettledFills.get(orderId).filledOut = node.getOrder();
+    }
+
+    /**
+     * Reconciles the book with a fill that settlement has committed for one order.
+     *
+     * The book is authoritative while fills of the order are in flight. Once the last one
+     * has settled, the quantity the book still holds must equal what settlement reports;
+     * a fully executed order is dropped outright. Returns false when they disagree and the
+     * book cannot correct itself (the order should then be reloaded from the order context).
+     */
+    public boolean reconcileSettledFill(String orderId, BigDecimal settledRemaining) {
+        Objects.requireNonNull(orderId, "Order ID cannot be null");
+        Objects.requireNonNull(settledRemaining, "Remaining quantity cannot be null");
+
+        FixedPointScale scale = bidSide.getQuantityScale();
+        long settledUnits = scale.toUnits(settledRemaining);
+        if (settledUnits == 0) {
+            unsettledFills.remove(orderId);
+            removeOrderById(orderId);
+            return true;
         }
-        if (sellOrder == null) {
-            System.out.println("DEBUG: Sell order " + event.getSellOrderId() + " not found in index");
-            return false;
+
+        SettlementLedger ledger = unsettledFills.get(orderId);
+        if (ledger != null) {
+            ledger.pendingFills--;
+            // Settlements can be reported out of order; the lowest remaining is the latest
+            ledger.lowestSettledUnits = Math.min(ledger.lowestSettledUnits, settledUnits);
+            if (ledger.pendingFills > 0) {
+                return true;
+            }
+            unsettledFills.remove(orderId);
+            settledUnits = ledger.lowestSettledUnits;
         }
 
-        // Check if orders are still active
-        if (!buyOrder.isActive() || !sellOrder.isActive()) {
-            System.out.println("DEBUG: One or both orders are inactive");
+        OrderNode<? extends IOrder> node = orderIndex.get(orderId);
+        long bookUnits = node == null ? 0 : node.getRemainingUnits();
+        if (bookUnits == settledUnits) {
+            return true;
+        }
+        if (node != null && settledUnits < bookUnits) {
+            // Settlement executed more than the book knew of: shrink the resting order
+            reduceNode(node, bookUnits - settledUnits);
+            if (journal != null) {
+                journalSequence = journal.recordReduce(symbol, orderId, bookUnits - settledUnits);
+            }
+            return true;
+        }
+        return false;
+    }
+
+    /**
+     * Gives back the units of a fill of one order that settlement rejected.
+     *
+     * A resting order gets them back in place and keeps its queue position; an order the fill
+     * emptied is queued again at the back of its level. Nothing is matched here, so the failed
+     * pair is not tried again before the book next matches. A failure already released for the
+     * match is ignored. Returns false when the book cannot restore the order itself (it left the
+     * book before a restart, or it disagrees with fills settled meanwhile) and it should be
+     * reloaded from the order context.
+     */
+    public boolean releaseFailedFill(String matchId, String orderId, BigDecimal quantity) {
+        Objects.requireNonNull(orderId, "Order ID cannot be null");
+        Objects.requireNonNull(quantity, "Quantity cannot be null");
+        if (matchId != null && releasedFills.put(matchId + "/" + orderId, Boolean.TRUE) != null) {
+            return true;
+        }
+
+        SettlementLedger ledger = unsettledFills.get(orderId);
+        boolean lastInFlight = ledger == null || --ledger.pendingFills <= 0;
+        if (ledger != null && lastInFlight) {
+            unsettledFills.remove(orderId);
+        }
+
+        long units = bidSide.getQuantityScale().toUnits(quantity);
+        OrderNode<? extends IOrder> node = orderIndex.get(orderId);
+        if (node != null) {
+            units = restoreUnits(node, units);
+            if (journal != null && units > 0) {
+                journalSequence = journal.recordRelease(symbol, orderId, units);
+            }
+        } else if (ledger != null && ledger.filledOut != null) {
+            node = requeue(ledger.filledOut, units);
+        }
+        if (node == null) {
             return false;
         }
+        lastUpdate = LocalDateTime.now();
+
+        // Fills of the order settled while this one was in flight: the book must now agree with them
+        if (lastInFlight && ledger != null && ledger.lowestSettledUnits != Long.MAX_VALUE) {
+            return node.getRemainingUnits() == ledger.lowestSettledUnits;
+        }
+        return true;
+    }
 
-        // Check if both orders still have enough remaining quantity
-        BigDecimal matchQty = event.getMatchedQuantity();
-        BigDecimal buyRemaining = buyOrder.getRemainingQuantity();
-        BigDecimal sellRemaining = sellOrder.getRemainingQuantity();
+    /**
+     * Adds units to a resting order in place, never beyond its total quantity.
+     * Returns the units actually added.
+     */
+    @SuppressWarnings("unchecked")
+    private long restoreUnits(OrderNode<? extends IOrder> node, long units) {
+        FixedPointScale scale = bidSide.getQuantityScale();
+        long restored = Math.min(units, scale.toUnits(node.getOrder().getQuantity()) - node.getRemainingUnits());
+        if (restored <= 0) {
+            return 0;
+        }
+        if (node.getOrder() instanceof IBuyOrder) {
+            bidSide.restoreUnits((OrderNode<IBuyOrder>) node, restored);
+        } else if (node.getOrder() instanceof ISellOrder) {
+            askSide.restoreUnits((OrderNode<ISellOrder>) node, restored);
+        }
+        return restored;
+    }
 
-        // Log the validation check
-        System.out.println("DEBUG: Validating match - Buy: " + event.getBuyOrderId() +
-                " (remaining: " + buyRemaining + "), Sell: " + event.getSellOrderId() +
-                " (remaining: " + sellRemaining + "), Match qty: " + matchQty);
+    /**
+     * Queues an order the book had emptied again with the given units, without matching it.
+     */
+    private OrderNode<? extends IOrder> requeue(IOrder order, long units) {
+        FixedPointScale scale = bidSide.getQuantityScale();
+        long totalUnits = scale.toUnits(order.getQuantity());
+        // The book's copy carries its own fills as executed so the new node starts at the right size
+        order.setExecutedQuantity(scale.toBigDecimal(totalUnits - Math.min(units, totalUnits)));
+
+        OrderNode<? extends IOrder> node = null;
+        if (order instanceof IBuyOrder buyOrder) {
+            node = bidSide.addOrder(buyOrder);
+        } else if (order instanceof ISellOrder sellOrder) {
+            node = askSide.addOrder(sellOrder);
+        }
+        if (node != null) {
+            orderIndex.put(order.getId(), node);
+            journalAdd(node);
+        }
+        return node;
+    }
 
-        // Use conservative check
-        boolean buyHasQuantity = buyRemaining.compareTo(matchQty) >= 0;
-        boolean sellHasQuantity = sellRemaining.compareTo(matchQty) >= 0;
+    @SuppressWarnings("unchecked")
+    private void reduceNode(OrderNode<? extends IOrder> node, long units) {
+        if (node.getOrder() instanceof IBuyOrder) {
+            bidSide.reduceUnits((OrderNode<IBuyOrder>) node, units);
+        } else if (node.getOrder() instanceof ISellOrder) {
+            askSide.reduceUnits((OrderNode<ISellOrder>) node, units);
+        }
+    }
 
-        if (!buyHasQuantity || !sellHasQuantity) {
-            System.out.println("DEBUG: Match validation FAILED - insufficient quantity");
-            return false;
+    public long getMatchSequence() {
+        return matchSequence;
+    }
+
+    // ============ JOURNAL ============
+
+    private void journalAdd(OrderNode<? extends IOrder> node) {
+        if (journal != null) {
+            journalSequence = journal.recordAdd(symbol, node.getOrder(), node.getRemainingUnits());
         }
+    }
+
+    /**
+     * Starts recording changes to the journal. The restore methods below never record.
+     */
+    public void setJournal(OrderBookJournal journal) {
+        this.journal = journal;
+    }
+
+    /**
+     * Sequence of the last journal record this book wrote or was restored from.
+     */
+    public long getJournalSequence() {
+        return journalSequence;
+    }
 
-        System.out.println("DEBUG: Match validation PASSED");
+    /**
+     * Copies the resting orders as of the current journal sequence.
+     * Must be called by the thread that mutates this book; the copy is safe to read anywhere.
+     */
+    public OrderBookImage captureImage() {
+        return new OrderBookImage(symbol, Instant.now(), journalSequence, matchSequence, depthSequence,
+                bidSide.getQuantityScale(), OrderBookImage.capture(bidSide), OrderBookImage.capture(askSide));
+    }
+
+    // ============ RECOVERY ============
+
+    /**
+     * Puts an order back at the end of its price level without matching or journaling it.
+     * Used to rebuild the book from a snapshot and the journal, in the original arrival order.
+     */
+    public boolean restoreOrder(IOrder order) {
+        Objects.requireNonNull(order, "Order cannot be null");
+        dropOrder(order.getId());
+
+        OrderNode<? extends IOrder> node = null;
+        if (order instanceof IBuyOrder buyOrder) {
+            node = bidSide.addOrder(buyOrder);
+        } else if (order instanceof ISellOrder sellOrder) {
+            node = askSide.addOrder(sellOrder);
+        }
+        if (node == null) {
+            return false;
+        }
+        orderIndex.put(order.getId(), node);
+        lastUpdate = LocalDateTime.now();
         return true;
     }
 
+    public boolean restoreCancel(String orderId) {
+        return dropOrder(orderId);
+    }
+
+    /**
+     * Replays a journaled fill: both orders lose the units and leave the book when empty.
+     */
+    @SuppressWarnings("unchecked")
+    public void restoreFill(String buyOrderId, String sellOrderId, long units) {
+        OrderNode<IBuyOrder> buyNode = (OrderNode<IBuyOrder>) orderIndex.get(buyOrderId);
+        OrderNode<ISellOrder> sellNode = (OrderNode<ISellOrder>) orderIndex.get(sellOrderId);
+        if (buyNode != null) {
+            bidSide.reduceUnits(buyNode, Math.min(units, buyNode.getRemainingUnits()));
+            if (buyNode.getRemainingUnits() == 0) {
+                dropOrder(buyOrderId);
+            }
+        }
+        if (sellNode != null) {
+            askSide.reduceUnits(sellNode, Math.min(units, sellNode.getRemainingUnits()));
+            if (sellNode.getRemainingUnits() == 0) {
+                dropOrder(sellOrderId);
+            }
+        }
+        matchSequence++;
+    }
+
+    public void restoreReduction(String orderId, long units) {
+        OrderNode<? extends IOrder> node = orderIndex.get(orderId);
+        if (node != null) {
+            reduceNode(node, Math.min(units, node.getRemainingUnits()));
+        }
+    }
+
+    public void restoreRelease(String orderId, long units) {
+        OrderNode<? extends IOrder> node = orderIndex.get(orderId);
+        if (node != null) {
+            restoreUnits(node, units);
+        }
+    }
+
+    /**
+     * Continues numbering matches and depth diffs from a snapshot, so match ids and the
+     * depth sequence seen by subscribers never go backwards across a restore.
+     * Must be called before the journal after the snapshot is replayed.
+     */
+    public void restoreSequences(long matchSequence, long depthSequence) {
+        this.matchSequence = matchSequence;
+        this.depthSequence = depthSequence;
+    }
+
+    /**
+     * Marks the book as rebuilt up to the given journal sequence.
+     */
+    public void restoredThrough(long journalSequence) {
+        this.journalSequence = journalSequence;
+    }
+
+    public int getUnsettledOrderCount() {
+        return unsettledFills.size();
+    }
+
+    /**
+     * Fills of one order applied by the book and not yet reported back by settlement.
+     */
+    private static final class SettlementLedger {
+        private int pendingFills;
+        private long lowestSettledUnits = Long.MAX_VALUE;
+        // The order itself once a fill emptied it, so a rejected fill can queue it again
+        private IOrder filledOut;
+    }
+
     private boolean hasSpreadCrossed() {
         Optional<Money> bestBid = getBestBid();
         Optional<Money> bestAsk = getBestAsk();
@@ -178,24 +679,12 @@ public class OrderBook {
 
     public boolean removeOrder(IBuyOrder order) {
         Objects.requireNonNull(order, "Buy order cannot be null");
-
-        if (orderIndex.remove(order.getId()) != null) {
-            boolean removed = bidSide.removeOrder(order);
-            lastUpdate = LocalDateTime.now();
-            return removed;
-        }
-        return false;
+        return removeOrderById(order.getId());
     }
 
     public boolean removeOrder(ISellOrder order) {
         Objects.requireNonNull(order, "Sell order cannot be null");
-
-        if (orderIndex.remove(order.getId()) != null) {
-            boolean removed = askSide.removeOrder(order);
-            lastUpdate = LocalDateTime.now();
-            return removed;
-        }
-        return false;
+        return removeOrderById(order.getId());
     }
 
     // ============ QUERY METHODS ============
@@ -242,6 +731,22 @@ public class OrderBook {
         return orderIndex.size();
     }
 
+    public int getBidOrderCount() {
+        return bidSide.getOrderCount();
+    }
+
+    public int getAskOrderCount() {
+        return askSide.getOrderCount();
+    }
+
+    public int getBidLevelCount() {
+        return bidSide.getLevelCount();
+    }
+
+    public int getAskLevelCount() {
+        return askSide.getLevelCount();
+    }
+
     // ============ DATA ACCESS METHODS ============
 
     public MarketDepth getMarketDepth(int levels) {
@@ -255,6 +760,124 @@ public class OrderBook {
         return new MarketDepth(symbol, topBids, topAsks);
     }
 
+    // ============ QUOTES ============
+
+    /**
+     * Estimates a taker order of the given size against the resting book: a buy walks the
+     * asks, a sell the bids. No order is reserved or changed; the first quote on a side starts its
+     * cumulative depth index. Must not run alongside the book's writer.
+     */
+    public DepthQuote quote(OrderType side, BigDecimal quantity) {
+        Objects.requireNonNull(side, "Side cannot be null");
+        if (quantity == null || quantity.signum() <= 0) {
+            throw new IllegalArgumentException("Quantity must be positive");
+        }
+
+        AbstractPriceLevelManager<?, ?> opposite = depthFor(side);
+        FixedPointScale scale = opposite.getQuantityScale();
+        CumulativeDepthIndex.Fill fill = opposite.estimateFill(scale.toUnits(quantity));
+        return new DepthQuote(symbol, side, quantity, scale.toBigDecimal(fill.getFilledUnits()), fill);
+    }
+
+    /**
+     * Resting volume a taker on the given side could reach at the price or better:
+     * asks at or below it for a buy, bids at or above it for a sell.
+     */
+    public BigDecimal getVolumeAtOrBetter(OrderType side, Money price) {
+        Objects.requireNonNull(side, "Side cannot be null");
+        Objects.requireNonNull(price, "Price cannot be null");
+
+        AbstractPriceLevelManager<?, ?> opposite = depthFor(side);
+        return opposite.getQuantityScale().toBigDecimal(opposite.getUnitsAtOrBetter(price));
+    }
+
+    /**
+     * Whether the side a taker on the given side walks keeps a cumulative depth index yet.
+     */
+    public boolean isTrackingCumulativeDepth(OrderType side) {
+        return (side == OrderType.BUY ? askSide : bidSide).isTrackingCumulativeDepth();
+    }
+
+    // The side a taker walks, with its depth index started on first use so unquoted books never pay for it.
+    // Locked because concurrent readers holding the book's read lock may both get here first.
+    private AbstractPriceLevelManager<?, ?> depthFor(OrderType side) {
+        AbstractPriceLevelManager<?, ?> opposite = side == OrderType.BUY ? askSide : bidSide;
+        synchronized (opposite) {
+            if (!opposite.isTrackingCumulativeDepth()) {
+                opposite.trackCumulativeDepth(depthTickSize);
+            }
+        }
+        return opposite;
+    }
+
+    // ============ PUBLISHED VIEW ============
+
+    /**
+     * Captures the current top of book and makes it visible to readers.
+     * Must be called by the thread that mutates this book, after a batch of changes.
+     */
+    public TopOfBookSnapshot publishView() {
+        TopOfBookSnapshot view = new TopOfBookSnapshot(
+                symbol,
+                publishedView.getVersion() + 1,
+                getMarketDepth(TopOfBookSnapshot.MAX_DEPTH),
+                bidSide.getBestOrder().map(order -> remainingInBook(order.getId())).orElse(null),
+                askSide.getBestOrder().map(order -> remainingInBook(order.getId())).orElse(null),
+                bidSide.getLevelCount(),
+                askSide.getLevelCount(),
+                bidSide.getTotalVolume(),
+                askSide.getTotalVolume(),
+                orderIndex.size()
+        );
+        publishedView = view;
+        publishDepthDiff();
+        return view;
+    }
+
+    /**
+     * Numbers the levels changed since the last diff as the next diff and hands them on.
+     * Changes are drained even without a publisher, so they never pile up.
+     */
+    private void publishDepthDiff() {
+        List<PriceLevelSnapshot> bidChanges = bidSide.drainChangedLevels();
+        List<PriceLevelSnapshot> askChanges = askSide.drainChangedLevels();
+        if (bidChanges.isEmpty() && askChanges.isEmpty()) {
+            return;
+        }
+
+        depthSequence++;
+        if (depthDiffPublisher != null) {
+            depthDiffPublisher.publishDepthDiff(new DepthDiff(symbol, depthSequence, bidChanges, askChanges));
+        }
+    }
+
+    public void setDepthDiffPublisher(DepthDiffPublisher depthDiffPublisher) {
+        this.depthDiffPublisher = depthDiffPublisher;
+    }
+
+    /**
+     * Sequence of the last depth diff. Read by the writer together with the levels, a full depth
+     * is then current as of this sequence: diffs after it apply on top of it.
+     */
+    public long getDepthSequence() {
+        return depthSequence;
+    }
+
+    /**
+     * Quantity of an order still resting in this book, net of fills applied here.
+     */
+    public BigDecimal remainingInBook(String orderId) {
+        OrderNode<? extends IOrder> node = orderIndex.get(orderId);
+        return node == null ? BigDecimal.ZERO : node.getRemainingQuantity();
+    }
+
+    /**
+     * Latest published view. Safe to call from any thread without locking.
+     */
+    public TopOfBookSnapshot getPublishedView() {
+        return publishedView;
+    }
+
     public Collection<BidPriceLevel> getBidLevels() {
         return bidSide.getLevels();
     }
@@ -268,8 +891,8 @@ public class OrderBook {
     public void removeInactiveOrders() {
         List<String> toRemove = new ArrayList<>();
 
-        for (Map.Entry<String, IOrder> entry : orderIndex.entrySet()) {
-            IOrder order = entry.getValue();
+        for (Map.Entry<String, OrderNode<? extends IOrder>> entry : orderIndex.entrySet()) {
+            IOrder order = entry.getValue().getOrder();
             // Remove if not active OR no remaining quantity OR status is terminal
             if (!order.isActive() ||
                     order.getRemainingQuantity().compareTo(BigDecimal.ZERO) <= 0 ||
@@ -301,6 +924,19 @@ public class OrderBook {
         return events;
     }
 
+    /**
+     * Hands the pending match events to the sink in match order and clears them, without copying.
+     * Returns the number of events drained.
+     */
+    public int drainMatchEvents(Consumer<OrderMatchedEvent> sink) {
+        int count = recentMatchEvents.size();
+        for (int i = 0; i < count; i++) {
+            sink.accept(recentMatchEvents.get(i));
+        }
+        recentMatchEvents.clear();
+        return count;
+    }
+
     // ============ GETTERS ============
 
     public Symbol getSymbol() {
@@ -310,4 +946,12 @@ public class OrderBook {
     public LocalDateTime getLastUpdate() {
         return lastUpdate;
     }
+
+    public MatchingMode getMatchingMode() {
+        return matchingMode;
+    }
+
+    public void setMatchingMode(MatchingMode matchingMode) {
+        this.matchingMode = Objects.requireNonNull(matchingMode, "Matching mode cannot be null");
+    }
 }
\ No newline at end of file
@@ -3,25 +3,50 @@ package core.ms.order_book.domain.entities;
 import core.ms.order.domain.entities.IBuyOrder;
 import core.ms.order.domain.entities.IOrder;
 import core.ms.order.domain.entities.ISellOrder;
+import core.ms.order_book.domain.ports.outbound.DepthDiffPublisher;
+import core.ms.order_book.domain.ports.outbound.OrderBookJournal;
 import core.ms.order_book.domain.value_object.MarketOverview;
+import core.ms.order_book.domain.value_object.MatchingMode;
 import core.ms.shared.money.Symbol;
 
 import java.math.BigDecimal;
 import java.util.*;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
 
 public class OrderBookManager {
     private final Map<Symbol, OrderBook> orderBooks;
+    // Returns the tick size for symbols that should use a tick ladder, null for the tree layout
+    private final Function<Symbol, BigDecimal> ladderTickSizeResolver;
+    private volatile MatchingMode matchingMode = MatchingMode.FULL_SCAN;
+    // Journal attached to every book, null when books are not journaled
+    private volatile OrderBookJournal journal;
+    // Receives the depth diffs of every book, null when there is no depth feed
+    private volatile DepthDiffPublisher depthDiffPublisher;
 
 
     public OrderBookManager() {
+        this(symbol -> null);
+    }
+
+    public OrderBookManager(Function<Symbol, BigDecimal> ladderTickSizeResolver) {
         this.orderBooks = new ConcurrentHashMap<>();
+        this.ladderTickSizeResolver = Objects.requireNonNull(ladderTickSizeResolver,
+                "Tick size resolver cannot be null");
     }
     // ============ ORDER BOOK MANAGEMENT ============
 
     public OrderBook getOrderBook(Symbol symbol) {
         Objects.requireNonNull(symbol, "Symbol cannot be null");
-        return orderBooks.computeIfAbsent(symbol, OrderBook::new);
+        return orderBooks.computeIfAbsent(symbol, this::newOrderBook);
+    }
+
+    /**
+     * Looks up a book without creating one.
+     */
+    public Optional<OrderBook> findOrderBook(Symbol symbol) {
+        Objects.requireNonNull(symbol, "Symbol cannot be null");
+        return Optional.ofNullable(orderBooks.get(symbol));
     }
 
     public OrderBook createOrderBook(Symbol symbol) {
@@ -31,11 +56,61 @@ public class OrderBookManager {
             throw new IllegalArgumentException("OrderBook for symbol " + symbol + " already exists");
         }
 
-        OrderBook orderBook = new OrderBook(symbol);
+        OrderBook orderBook = newOrderBook(symbol);
         orderBooks.put(symbol, orderBook);
         return orderBook;
     }
 
+    /**
+     * Registers an existing book unless its symbol already has one.
+     *
+     * @return the book registered for the symbol
+     */
+    public OrderBook registerOrderBook(OrderBook orderBook) {
+        Objects.requireNonNull(orderBook, "OrderBook cannot be null");
+        OrderBook existing = orderBooks.putIfAbsent(orderBook.getSymbol(), orderBook);
+        return existing != null ? existing : orderBook;
+    }
+
+    private OrderBook newOrderBook(Symbol symbol) {
+        BigDecimal tickSize = ladderTickSizeResolver.apply(symbol);
+        OrderBook orderBook = tickSize != null && tickSize.signum() > 0
+                ? new OrderBook(symbol, tickSize)
+                : new OrderBook(symbol);
+        orderBook.setMatchingMode(matchingMode);
+        orderBook.setJournal(journal);
+        orderBook.setDepthDiffPublisher(depthDiffPublisher);
+        return orderBook;
+    }
+
+    /**
+     * Sets the matching mode for every book, existing and future.
+     */
+    public synchronized void setMatchingMode(MatchingMode matchingMode) {
+        this.matchingMode = Objects.requireNonNull(matchingMode, "Matching mode cannot be null");
+        orderBooks.values().forEach(book -> book.setMatchingMode(matchingMode));
+    }
+
+    public MatchingMode getMatchingMode() {
+        return matchingMode;
+    }
+
+    /**
+     * Journals every book, existing and future.
+     */
+    public synchronized void setJournal(OrderBookJournal journal) {
+        this.journal = journal;
+        orderBooks.values().forEach(book -> book.setJournal(journal));
+    }
+
+    /**
+     * Sends the depth diffs of every book, existing and future, to the publisher.
+     */
+    public synchronized void setDepthDiffPublisher(DepthDiffPublisher depthDiffPublisher) {
+        this.depthDiffPublisher = depthDiffPublisher;
+        orderBooks.values().forEach(book -> book.setDepthDiffPublisher(depthDiffPublisher));
+    }
+
     public boolean removeOrderBook(Symbol symbol) {
         Objects.requireNonNull(symbol, "Symbol cannot be null");
         OrderBook removed = orderBooks.remove(symbol);
@@ -44,7 +119,8 @@ public class OrderBookManager {
 
     // ============ ORDER MANAGEMENT WITH TYPE INTROSPECTION ============
 
-    public synchronized void addOrderToBook(IOrder order) {
+    // Not synchronized: a book is only ever mutated by the single writer that owns its symbol
+    public void addOrderToBook(IOrder order) {
         Objects.requireNonNull(order, "Order cannot be null");
 
         OrderBook orderBook = getOrderBook(order.getSymbol());
@@ -59,7 +135,7 @@ public class OrderBookManager {
         }
     }
 
-    public synchronized boolean removeOrderFromBook(IOrder order, Symbol symbol) {
+    public boolean removeOrderFromBook(IOrder order, Symbol symbol) {
         Objects.requireNonNull(order, "Order cannot be null");
         Objects.requireNonNull(symbol, "Symbol cannot be null");
 
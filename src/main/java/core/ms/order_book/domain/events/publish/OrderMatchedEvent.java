@@ -13,15 +13,24 @@ public class OrderMatchedEvent extends BaseEvent {
     private final Symbol symbol;
     private final BigDecimal matchedQuantity;
     private final Money executionPrice;
+    // Position of this fill in the book's match order; 0 for matches not applied by a book
+    private final long bookSequence;
 
     public OrderMatchedEvent(String correlationId, String buyOrderId, String sellOrderId,
                              Symbol symbol, BigDecimal matchedQuantity, Money executionPrice) {
+        this(correlationId, buyOrderId, sellOrderId, symbol, matchedQuantity, executionPrice, 0);
+    }
+
+    public OrderMatchedEvent(String correlationId, String buyOrderId, String sellOrderId,
+                             Symbol symbol, BigDecimal matchedQuantity, Money executionPrice,
+                             long bookSequence) {
         super(correlationId, "ORDER_BOOK_BC");
         this.buyOrderId = Objects.requireNonNull(buyOrderId, "Buy order ID cannot be null");
         this.sellOrderId = Objects.requireNonNull(sellOrderId, "Sell order ID cannot be null");
         this.symbol = Objects.requireNonNull(symbol, "Symbol cannot be null");
         this.matchedQuantity = Objects.requireNonNull(matchedQuantity, "Matched quantity cannot be null");
         this.executionPrice = Objects.requireNonNull(executionPrice, "Execution price cannot be null");
+        this.bookSequence = bookSequence;
     }
 
     // Getters
@@ -30,6 +39,14 @@ public class OrderMatchedEvent extends BaseEvent {
     public Symbol getSymbol() { return symbol; }
     public BigDecimal getMatchedQuantity() { return matchedQuantity; }
     public Money getExecutionPrice() { return executionPrice; }
+    public long getBookSequence() { return bookSequence; }
+
+    /**
+     * Identifies this fill for idempotent settlement; null for matches not applied by a book.
+     */
+    public String getMatchId() {
+        return bookSequence == 0 ? null : symbol.getCode() + "#" + bookSequence;
+    }
 
     public Money getTotalValue() {
         return executionPrice.multiply(matchedQuantity);
@@ -55,8 +72,8 @@ public class OrderMatchedEvent extends BaseEvent {
     @Override
     public String toString() {
         return String.format("OrderMatchedEvent{correlationId='%s', buyOrderId='%s', sellOrderId='%s', " +
-                        "symbol='%s', matchedQuantity=%s, executionPrice=%s, totalValue=%s}",
+                        "symbol='%s', matchedQuantity=%s, executionPrice=%s, totalValue=%s, bookSequence=%d}",
                 getCorrelationId(), buyOrderId, sellOrderId, symbol, matchedQuantity,
-                executionPrice, getTotalValue());
+                executionPrice, getTotalValue(), bookSequence);
     }
 }
\ No newline at end of file
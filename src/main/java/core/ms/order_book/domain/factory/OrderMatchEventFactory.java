@@ -6,6 +6,7 @@ import core.ms.shared.events.EventContext;
 import core.ms.shared.money.Money;
 
 import java.math.BigDecimal;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Objects;
 import java.util.stream.Collectors;
@@ -58,6 +59,36 @@ public class OrderMatchEventFactory {
         return events;
     }
 
+    /**
+     * Creates order matched events from fills that are already sized,
+     * e.g. by the incremental matcher. Uses current correlation ID from EventContext.
+     */
+    public static List<OrderMatchedEvent> createMatchEvents(List<OrderMatch> matches) {
+        Objects.requireNonNull(matches, "Matches cannot be null");
+
+        String correlationId = EventContext.getCurrentCorrelationId();
+        if (correlationId == null && !matches.isEmpty()) {
+            correlationId = "ORDERBOOK-" + System.currentTimeMillis();
+            System.out.println("WARNING: No correlation ID in context, using: " + correlationId);
+        }
+
+        List<OrderMatchedEvent> events = new ArrayList<>(matches.size());
+        for (OrderMatch match : matches) {
+            if (match.getQuantity().compareTo(BigDecimal.ZERO) <= 0) {
+                continue;
+            }
+            events.add(new OrderMatchedEvent(
+                    correlationId,
+                    match.getBuyOrder().getId(),
+                    match.getSellOrder().getId(),
+                    match.getBuyOrder().getSymbol(),
+                    match.getQuantity(),
+                    match.getExecutionPrice()
+            ));
+        }
+        return events;
+    }
+
     /**
      * Creates OrderMatchedEvent from valid candidate.
      * Price is always set by the seller (business rule).
@@ -5,13 +5,19 @@ import core.ms.order_book.application.dto.query.OrderBookStatisticsDTO;
 import core.ms.order_book.application.dto.query.OrderBookSummaryDTO;
 import core.ms.order_book.application.dto.query.OrderBookTickerDTO;
 import core.ms.order_book.domain.events.publish.OrderMatchedEvent;
+import core.ms.order_book.domain.value_object.DepthQuote;
 import core.ms.order_book.domain.value_object.MarketDepth;
 import core.ms.order_book.domain.value_object.MarketOverview;
+import core.ms.shared.OrderType;
+import core.ms.shared.money.Money;
 import core.ms.shared.money.Symbol;
 
+import java.math.BigDecimal;
 import java.util.List;
 import java.util.Map;
+import java.util.Optional;
 import java.util.Set;
+import java.util.concurrent.CompletableFuture;
 
 public interface OrderBookService {
 
@@ -25,6 +31,14 @@ public interface OrderBookService {
      */
     OrderBookOperationResult addOrderToBook(IOrder order);
 
+    /**
+     * Adds several orders, taking each symbol's book once (one sequencer turn or write lock)
+     * and matching and publishing after the last order of that symbol.
+     * @param orders The orders to add, applied in the given order within each symbol
+     * @return One result per order, in the given order
+     */
+    List<OrderBookOperationResult> addOrdersToBook(List<? extends IOrder> orders);
+
     /**
      * Removes an order from the order book.
      * @param orderId The order ID to remove
@@ -33,6 +47,54 @@ public interface OrderBookService {
      */
     OrderBookOperationResult removeOrderFromBook(String orderId, Symbol symbol);
 
+    /**
+     * Amends a resting order's price and/or total quantity.
+     * A quantity reduction at the same price keeps queue priority; anything else requeues the order.
+     * @param orderId The order to amend
+     * @param symbol The symbol of the order book
+     * @param newPrice The new limit price, or null to keep it
+     * @param newQuantity The new total quantity, or null to keep it
+     * @return Result of the amendment; the message names the outcome
+     */
+    OrderBookOperationResult amendOrderInBook(String orderId, Symbol symbol, Money newPrice, BigDecimal newQuantity);
+
+    /**
+     * Reconciles the book with a transaction settled by the order context.
+     * The book applies fills when it matches; settlement only confirms them.
+     * @param symbol The symbol of the order book
+     * @param orderId The order the transaction executed against
+     * @param remainingQuantity The order's remaining quantity after the transaction
+     * @return false if the book disagrees with settlement and the order should be reloaded
+     */
+    boolean reconcileSettledFill(Symbol symbol, String orderId, BigDecimal remainingQuantity);
+
+    /**
+     * Takes back a fill the book applied but the order context failed to settle, giving the
+     * order its units back in place.
+     * @param symbol The symbol of the order book
+     * @param matchId The id the book gave the match, or null if it had none
+     * @param orderId The order the failed transaction was for
+     * @param quantity The quantity the match took from the order
+     * @return false if the order should be reloaded because the book could not restore it
+     */
+    boolean releaseFailedFill(Symbol symbol, String matchId, String orderId, BigDecimal quantity);
+
+    /**
+     * Queues an add on the symbol's sequencer lane.
+     * Completes once the order has been applied and matched; runs inline when the sequencer is off.
+     */
+    CompletableFuture<OrderBookOperationResult> submitAddOrder(IOrder order);
+
+    /**
+     * Queues a removal on the symbol's sequencer lane.
+     */
+    CompletableFuture<OrderBookOperationResult> submitRemoveOrder(String orderId, Symbol symbol);
+
+    /**
+     * Queues a pending-match pass on the symbol's sequencer lane.
+     */
+    CompletableFuture<OrderBookOperationResult> submitMatch(Symbol symbol);
+
     /**
      * Triggers processing of any pending matches for a symbol.
      * Events are published internally - this is fire-and-forget.
@@ -56,6 +118,21 @@ public interface OrderBookService {
      */
     MarketDepth getMarketDepth(Symbol symbol, int levels);
 
+    /**
+     * Estimates a hypothetical taker order without touching the book.
+     * @param side BUY walks the asks, SELL walks the bids
+     * @param quantity Size of the hypothetical order
+     * @return Fillable quantity, best, average and worst fill price, and slippage;
+     *         empty when the symbol has no book
+     */
+    Optional<DepthQuote> getQuote(Symbol symbol, OrderType side, BigDecimal quantity);
+
+    /**
+     * Gets the resting volume a taker could reach at the price or better:
+     * asks at or below it for BUY, bids at or above it for SELL.
+     */
+    BigDecimal getVolumeAtOrBetter(Symbol symbol, OrderType side, Money price);
+
     /**
      * Gets overview of all markets.
      * @return Market overview data
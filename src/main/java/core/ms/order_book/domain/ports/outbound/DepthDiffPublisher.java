@@ -0,0 +1,11 @@
+package core.ms.order_book.domain.ports.outbound;
+
+import core.ms.order_book.domain.value_object.DepthDiff;
+
+public interface DepthDiffPublisher {
+    /**
+     * Receives the levels changed by a batch, in sequence order per symbol.
+     * Called by the book's writer, so implementations must hand the diff off without blocking.
+     */
+    void publishDepthDiff(DepthDiff diff);
+}
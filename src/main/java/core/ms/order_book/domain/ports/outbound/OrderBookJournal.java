@@ -0,0 +1,86 @@
+package core.ms.order_book.domain.ports.outbound;
+
+import core.ms.order.domain.entities.IOrder;
+import core.ms.shared.money.Symbol;
+
+import java.util.Set;
+
+/**
+ * Append-only log of every change to the resting orders of a book.
+ *
+ * Each symbol has its own journal whose records are numbered from 1. A book is rebuilt by
+ * loading a snapshot taken at some sequence and replaying the records after it.
+ * The record methods are called by the book's single writer and return the record's sequence.
+ */
+public interface OrderBookJournal {
+
+    boolean isEnabled();
+
+    /**
+     * An order entered the book holding the given quantity units.
+     */
+    long recordAdd(Symbol symbol, IOrder order, long remainingUnits);
+
+    /**
+     * An order left the book other than by being filled (cancel, stale or inactive order).
+     */
+    long recordCancel(Symbol symbol, String orderId);
+
+    /**
+     * Two resting orders were matched for the given units. Orders left with nothing are gone.
+     */
+    long recordFill(Symbol symbol, String buyOrderId, String sellOrderId, long units);
+
+    /**
+     * An order was shrunk by the given units outside matching, e.g. to agree with settlement.
+     */
+    long recordReduce(Symbol symbol, String orderId, long units);
+
+    /**
+     * A resting order got back the units of a fill that settlement rejected.
+     */
+    long recordRelease(Symbol symbol, String orderId, long units);
+
+    /**
+     * Blocks until every record appended so far for the symbol is on disk.
+     */
+    void awaitDurable(Symbol symbol);
+
+    long getLastSequence(Symbol symbol);
+
+    /**
+     * Deletes the records up to the given sequence where the storage allows it, once a
+     * snapshot at that sequence makes them unnecessary. Records after it are always kept.
+     *
+     * @return the number of storage units (e.g. segment files) removed
+     */
+    int truncateThrough(Symbol symbol, long sequence);
+
+    Set<Symbol> getJournaledSymbols();
+
+    /**
+     * Feeds the records after the given sequence to the handler, in order.
+     * Stops at the first record that was not completely written.
+     *
+     * @return the sequence of the last record replayed
+     */
+    long replay(Symbol symbol, long afterSequence, ReplayHandler handler);
+
+    /**
+     * Receives journal records during recovery.
+     */
+    interface ReplayHandler {
+        /**
+         * The order is rebuilt with the quantity it held in the book as its remaining quantity.
+         */
+        void onAdd(long sequence, IOrder order);
+
+        void onCancel(long sequence, String orderId);
+
+        void onFill(long sequence, String buyOrderId, String sellOrderId, long units);
+
+        void onReduce(long sequence, String orderId, long units);
+
+        void onRelease(long sequence, String orderId, long units);
+    }
+}
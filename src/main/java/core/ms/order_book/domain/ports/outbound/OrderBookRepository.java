@@ -13,6 +13,11 @@ public interface OrderBookRepository {
      */
     OrderBook save(OrderBook orderBook);
 
+    /**
+     * Gets the active order book for a symbol, creating and registering it if needed.
+     */
+    OrderBook getOrCreate(Symbol symbol);
+
     /**
      * Finds an order book by symbol.
      */
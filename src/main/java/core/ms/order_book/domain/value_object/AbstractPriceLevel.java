@@ -9,19 +9,36 @@ import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
 public abstract class AbstractPriceLevel<T extends IOrder> implements IPriceLevel {
-    protected final LinkedList<T> orders; // Time-ordered queue
+    // Time-ordered queue of intrusive nodes: head is first in, tail is last in
+    private OrderNode<T> head;
+    private OrderNode<T> tail;
     protected final Money price;
+    protected final FixedPointScale quantityScale;
     protected int orderCount;
+    // Running total in fixed-point units of quantityScale
+    protected long totalUnits;
 
     protected AbstractPriceLevel(Money price) {
+        this(price, FixedPointScale.defaultQuantityScale());
+    }
+
+    protected AbstractPriceLevel(Money price, FixedPointScale quantityScale) {
         this.price = Objects.requireNonNull(price, "Price cannot be null");
-        this.orders = new LinkedList<>();
+        this.quantityScale = Objects.requireNonNull(quantityScale, "Quantity scale cannot be null");
         this.orderCount = 0;
+        this.totalUnits = 0;
     }
 
     // ============ COMMON OPERATIONS ============
 
-    public void addOrder(T order) {
+    /**
+     * Appends the order to the back of the queue and returns its handle.
+     * Uniqueness is enforced by the owning book's order index, not by scanning the level.
+     *
+     * @return the node handle, or null when the order is inactive or fully executed
+     * @throws IllegalArgumentException if the quantity is finer than the book's quantity scale
+     */
+    public OrderNode<T> addOrder(T order) {
         Objects.requireNonNull(order, "Order cannot be null");
         validateOrderPrice(order);
 
@@ -29,84 +46,196 @@ public abstract class AbstractPriceLevel<T extends IOrder> implements IPriceLeve
         if (!order.isActive() || order.getRemainingQuantity().compareTo(BigDecimal.ZERO) <= 0) {
             System.out.println("DEBUG AbstractPriceLevel: Rejecting inactive/fully executed order: " +
                     order.getId());
-            return;
+            return null;
+        }
+
+        OrderNode<T> node = new OrderNode<>(order, this, quantityScale);
+        node.prev = tail;
+        if (tail == null) {
+            head = node;
+        } else {
+            tail.next = node;
+        }
+        tail = node; // Time priority: first in, first out
+
+        orderCount++;
+        totalUnits = FixedPointScale.add(totalUnits, node.getRemainingUnits());
+        return node;
+    }
+
+    /**
+     * Unlinks a node in O(1) and takes its quantity out of the running total.
+     */
+    public boolean unlink(OrderNode<T> node) {
+        Objects.requireNonNull(node, "Order node cannot be null");
+        if (node.level != this) {
+            return false;
+        }
+
+        if (node.prev == null) {
+            head = node.next;
+        } else {
+            node.prev.next = node.next;
+        }
+        if (node.next == null) {
+            tail = node.prev;
+        } else {
+            node.next.prev = node.prev;
         }
 
-        // Check if order already exists (avoid duplicates)
-        if (orders.stream().anyMatch(o -> o.getId().equals(order.getId()))) {
-            System.out.println("DEBUG AbstractPriceLevel: Order already exists in level: " + order.getId());
+        node.prev = null;
+        node.next = null;
+        node.level = null;
+
+        orderCount--;
+        totalUnits = FixedPointScale.subtract(totalUnits, node.getRemainingUnits());
+        return true;
+    }
+
+    /**
+     * Reduces a resting order's contribution after a fill, keeping its queue position.
+     */
+    public void reduceQuantity(OrderNode<T> node, BigDecimal filledQuantity) {
+        Objects.requireNonNull(filledQuantity, "Filled quantity cannot be null");
+        reduceUnits(node, quantityScale.toUnits(filledQuantity));
+    }
+
+    /**
+     * Fixed-point form of {@link #reduceQuantity}; never takes the node below zero.
+     */
+    public void reduceUnits(OrderNode<T> node, long filledUnits) {
+        Objects.requireNonNull(node, "Order node cannot be null");
+        if (node.level != this) {
+            throw new IllegalArgumentException("Order " + node.getOrder().getId() + " is not in level " + price);
+        }
+        if (filledUnits <= 0) {
             return;
         }
 
-        orders.addLast(order); // Time priority: first in, first out
-        recalculateTotals();
+        long reduced = Math.min(filledUnits, node.getRemainingUnits());
+        node.setRemainingUnits(node.getRemainingUnits() - reduced);
+        totalUnits = FixedPointScale.subtract(totalUnits, reduced);
+    }
 
-        System.out.println("DEBUG AbstractPriceLevel: Added order " + order.getId() +
-                " to price level " + price + ". Level now has " + orders.size() + " orders");
+    /**
+     * Gives units back to a resting order, e.g. from a fill that did not settle.
+     * The order keeps its queue position.
+     */
+    public void restoreUnits(OrderNode<T> node, long units) {
+        Objects.requireNonNull(node, "Order node cannot be null");
+        if (node.level != this) {
+            throw new IllegalArgumentException("Order " + node.getOrder().getId() + " is not in level " + price);
+        }
+        if (units <= 0) {
+            return;
+        }
+
+        node.setRemainingUnits(FixedPointScale.add(node.getRemainingUnits(), units));
+        totalUnits = FixedPointScale.add(totalUnits, units);
     }
 
+    /**
+     * Removes by order id. Linear in the level; callers holding a node should use {@link #unlink}.
+     */
     public boolean removeOrder(T order) {
         Objects.requireNonNull(order, "Order cannot be null");
-        boolean removed = orders.removeIf(o -> o.getId().equals(order.getId()));
-        if (removed) {
-            recalculateTotals();
-            System.out.println("DEBUG AbstractPriceLevel: Removed order " + order.getId() +
-                    " from price level " + price);
-        }
-        return removed;
+        OrderNode<T> node = findNode(order.getId());
+        return node != null && unlink(node);
     }
 
     public void removeInactiveOrders() {
-        int beforeSize = orders.size();
-        orders.removeIf(order -> !order.isActive() ||
-                order.getRemainingQuantity().compareTo(BigDecimal.ZERO) <= 0);
-        int afterSize = orders.size();
+        int removed = 0;
+        OrderNode<T> node = head;
+        while (node != null) {
+            OrderNode<T> next = node.next;
+            if (!isLive(node.getOrder())) {
+                unlink(node);
+                removed++;
+            }
+            node = next;
+        }
 
-        if (beforeSize != afterSize) {
-            System.out.println("DEBUG AbstractPriceLevel: Removed " + (beforeSize - afterSize) +
+        if (removed > 0) {
+            System.out.println("DEBUG AbstractPriceLevel: Removed " + removed +
                     " inactive orders from level " + price);
-            recalculateTotals();
         }
     }
 
     // ============ QUERY METHODS ============
 
     public List<T> getOrders() {
-        return new ArrayList<>(orders); // Defensive copy
+        List<T> result = new ArrayList<>(orderCount); // Defensive copy
+        for (OrderNode<T> node = head; node != null; node = node.next) {
+            result.add(node.getOrder());
+        }
+        return result;
     }
 
     public List<T> getActiveOrders() {
-        List<T> activeOrders = orders.stream()
-                .filter(order -> order.isActive() &&
-                        order.getRemainingQuantity().compareTo(BigDecimal.ZERO) > 0)
+        List<T> activeOrders = getOrdersStream()
+                .filter(this::isLive)
                 .collect(Collectors.toList());
 
         System.out.println("DEBUG AbstractPriceLevel: Price " + price +
                 " has " + activeOrders.size() + " active orders out of " +
-                orders.size() + " total");
+                orderCount + " total");
 
         return activeOrders;
     }
 
+    /**
+     * Read-only walk over the level in time priority, without copying the queue.
+     */
+    public Iterator<T> orderIterator() {
+        return new Iterator<>() {
+            private OrderNode<T> next = head;
+
+            @Override
+            public boolean hasNext() {
+                return next != null;
+            }
+
+            @Override
+            public T next() {
+                if (next == null) {
+                    throw new NoSuchElementException();
+                }
+                T order = next.getOrder();
+                next = next.next;
+                return order;
+            }
+        };
+    }
+
+    public Optional<OrderNode<T>> getFirstNode() {
+        return Optional.ofNullable(head);
+    }
+
+    // Allocation-free access for walkers in this package
+    OrderNode<T> firstNode() {
+        return head;
+    }
+
     public Optional<T> getFirstOrder() {
-        return orders.isEmpty() ? Optional.empty() : Optional.of(orders.getFirst());
+        return head == null ? Optional.empty() : Optional.of(head.getOrder());
     }
 
     public Optional<T> getFirstActiveOrder() {
-        return getOrdersStream()
-                .filter(order -> order.isActive() &&
-                        order.getRemainingQuantity().compareTo(BigDecimal.ZERO) > 0)
-                .findFirst();
+        for (OrderNode<T> node = head; node != null; node = node.next) {
+            if (isLive(node.getOrder())) {
+                return Optional.of(node.getOrder());
+            }
+        }
+        return Optional.empty();
     }
 
     @Override
     public boolean isEmpty() {
-        // Consider level empty if no active orders with remaining quantity
-        return getActiveOrders().isEmpty();
+        return head == null;
     }
 
     protected Stream<T> getOrdersStream() {
-        return orders.stream();
+        return getOrders().stream();
     }
 
     // ============ INTERFACE IMPLEMENTATIONS ============
@@ -141,19 +270,28 @@ public abstract class AbstractPriceLevel<T extends IOrder> implements IPriceLeve
     }
 
     protected BigDecimal calculateCurrentTotal() {
-        BigDecimal total = getOrdersStream()
-                .filter(IOrder::isActive)
-                .map(IOrder::getRemainingQuantity)
-                .reduce(BigDecimal.ZERO, BigDecimal::add);
+        return quantityScale.toBigDecimal(totalUnits);
+    }
 
-        return total;
+    public long getTotalUnits() {
+        return totalUnits;
+    }
+
+    public FixedPointScale getQuantityScale() {
+        return quantityScale;
+    }
+
+    private OrderNode<T> findNode(String orderId) {
+        for (OrderNode<T> node = head; node != null; node = node.next) {
+            if (node.getOrder().getId().equals(orderId)) {
+                return node;
+            }
+        }
+        return null;
     }
 
-    protected void recalculateTotals() {
-        orderCount = (int) orders.stream()
-                .filter(order -> order.isActive() &&
-                        order.getRemainingQuantity().compareTo(BigDecimal.ZERO) > 0)
-                .count();
+    private boolean isLive(T order) {
+        return order.isActive() && order.getRemainingQuantity().compareTo(BigDecimal.ZERO) > 0;
     }
 
     // ============ EQUALS/HASHCODE ============
@@ -174,6 +312,6 @@ public abstract class AbstractPriceLevel<T extends IOrder> implements IPriceLeve
     @Override
     public String toString() {
         return String.format("PriceLevel[%s, orders=%d, total=%s]",
-                price, orders.size(), getTotalQuantity());
+                price, orderCount, getTotalQuantity());
     }
 }
\ No newline at end of file
@@ -4,39 +4,99 @@ import core.ms.order.domain.entities.IOrder;
 import core.ms.shared.money.Money;
 
 import java.math.BigDecimal;
+import java.math.RoundingMode;
 import java.util.*;
-import java.util.stream.Collectors;
 
 public abstract class AbstractPriceLevelManager<
         T extends IOrder,
         L extends AbstractPriceLevel<T>
         > {
-    protected final TreeMap<Money, L> levels;
+    protected final PriceLevelIndex<L> levels;
     protected final IPriorityCalculator<T> priorityCalculator;
+    protected final FixedPointScale quantityScale;
+
+    // Running aggregates for the whole side, kept in step with every level mutation.
+    // Volume is in fixed-point units of quantityScale.
+    private long totalUnits;
+    private int orderCount;
+    // Prices whose level changed since the last drainChangedLevels(), for the depth-diff feed
+    private final Set<Money> changedPrices = new LinkedHashSet<>();
+    // Cumulative volume by tick for quotes; null until trackCumulativeDepth() is called
+    private CumulativeDepthIndex depthIndex;
 
     protected AbstractPriceLevelManager(IPriorityCalculator<T> priorityCalculator) {
-        this.priorityCalculator = Objects.requireNonNull(priorityCalculator, "Priority calculator cannot be null");
+        this(priorityCalculator, new TreePriceLevelIndex<>(priorityCalculator));
+    }
+
+    protected AbstractPriceLevelManager(IPriorityCalculator<T> priorityCalculator, PriceLevelIndex<L> levels) {
+        this(priorityCalculator, levels, FixedPointScale.defaultQuantityScale());
+    }
 
-        // Create TreeMap with custom comparator based on priority calculator
-        this.levels = new TreeMap<>((price1, price2) -> {
-            if (priorityCalculator.isPriceBetter(price2, price1)) return 1;
-            if (priorityCalculator.isPriceBetter(price1, price2)) return -1;
-            return 0;
-        });
+    protected AbstractPriceLevelManager(IPriorityCalculator<T> priorityCalculator, PriceLevelIndex<L> levels,
+                                        FixedPointScale quantityScale) {
+        this.priorityCalculator = Objects.requireNonNull(priorityCalculator, "Priority calculator cannot be null");
+        this.levels = Objects.requireNonNull(levels, "Price level index cannot be null");
+        this.quantityScale = Objects.requireNonNull(quantityScale, "Quantity scale cannot be null");
     }
 
     // ============ CORE OPERATIONS ============
     protected abstract L createPriceLevel(Money price);
 
-    public void addOrder(T order) {
+    /**
+     * True for the bid side, where a higher price is a better one.
+     */
+    protected abstract boolean isHigherPriceBetter();
+
+    /**
+     * Queues the order at its price level.
+     *
+     * @return the node handle for O(1) removal, or null when the order was not queued
+     */
+    public OrderNode<T> addOrder(T order) {
         Objects.requireNonNull(order, "Order cannot be null");
         if (!order.isActive() || order.getStatus().isTerminal()) {
-            return;
+            return null;
         }
 
         Money price = order.getPrice();
         L level = levels.computeIfAbsent(price, this::createPriceLevel);
-        level.addOrder(order);
+        OrderNode<T> node = null;
+        try {
+            node = level.addOrder(order);
+        } finally {
+            // Rejected orders, including ones off the quantity scale, must not leave an empty level
+            if (node == null && level.isEmpty()) {
+                levels.remove(price);
+            }
+        }
+        if (node == null) {
+            return null;
+        }
+
+        orderCount++;
+        totalUnits = FixedPointScale.add(totalUnits, node.getRemainingUnits());
+        levelChanged(price, node.getRemainingUnits());
+        return node;
+    }
+
+    /**
+     * Unlinks the order behind a handle in O(1), dropping its level once empty.
+     */
+    public boolean removeNode(OrderNode<T> node) {
+        Objects.requireNonNull(node, "Order node cannot be null");
+
+        AbstractPriceLevel<T> level = node.getLevel();
+        if (level == null || !level.unlink(node)) {
+            return false;
+        }
+
+        orderCount--;
+        totalUnits = FixedPointScale.subtract(totalUnits, node.getRemainingUnits());
+        levelChanged(level.getPrice(), -node.getRemainingUnits());
+        if (level.isEmpty()) {
+            levels.remove(level.getPrice());
+        }
+        return true;
     }
 
     public boolean removeOrder(T order) {
@@ -44,8 +104,15 @@ public abstract class AbstractPriceLevelManager<
 
         Money price = order.getPrice();
         L level = levels.get(price);
+        if (level == null) {
+            return false;
+        }
 
-        if (level != null && level.removeOrder(order)) {
+        long levelUnitsBefore = level.getTotalUnits();
+        if (level.removeOrder(order)) {
+            orderCount--;
+            totalUnits -= levelUnitsBefore - level.getTotalUnits();
+            levelChanged(price, level.getTotalUnits() - levelUnitsBefore);
             if (level.isEmpty()) {
                 levels.remove(price);
             }
@@ -56,46 +123,217 @@ public abstract class AbstractPriceLevelManager<
 
 
 
+    /**
+     * Records a fill against a resting order without changing its queue position.
+     */
+    public void reduceQuantity(OrderNode<T> node, BigDecimal filledQuantity) {
+        Objects.requireNonNull(node, "Order node cannot be null");
+
+        AbstractPriceLevel<T> level = node.getLevel();
+        if (level == null) {
+            return;
+        }
+
+        long levelUnitsBefore = level.getTotalUnits();
+        level.reduceQuantity(node, filledQuantity);
+        totalUnits -= levelUnitsBefore - level.getTotalUnits();
+        levelChanged(level.getPrice(), level.getTotalUnits() - levelUnitsBefore);
+    }
+
+    /**
+     * Fixed-point form of {@link #reduceQuantity}, for callers already working in units.
+     */
+    public void reduceUnits(OrderNode<T> node, long filledUnits) {
+        Objects.requireNonNull(node, "Order node cannot be null");
+
+        AbstractPriceLevel<T> level = node.getLevel();
+        if (level == null) {
+            return;
+        }
+
+        long levelUnitsBefore = level.getTotalUnits();
+        level.reduceUnits(node, filledUnits);
+        totalUnits -= levelUnitsBefore - level.getTotalUnits();
+        levelChanged(level.getPrice(), level.getTotalUnits() - levelUnitsBefore);
+    }
+
+    /**
+     * Gives units back to a resting order without changing its queue position.
+     */
+    public void restoreUnits(OrderNode<T> node, long units) {
+        Objects.requireNonNull(node, "Order node cannot be null");
+
+        AbstractPriceLevel<T> level = node.getLevel();
+        if (level == null) {
+            return;
+        }
+
+        long levelUnitsBefore = level.getTotalUnits();
+        level.restoreUnits(node, units);
+        totalUnits = FixedPointScale.add(totalUnits, level.getTotalUnits() - levelUnitsBefore);
+        levelChanged(level.getPrice(), level.getTotalUnits() - levelUnitsBefore);
+    }
+
     public void removeInactiveOrders() {
-        Iterator<Map.Entry<Money, L>> iterator = levels.entrySet().iterator();
-        while (iterator.hasNext()) {
-            Map.Entry<Money, L> entry = iterator.next();
-            L level = entry.getValue();
+        for (L level : getLevels()) {
+            int countBefore = level.getOrderCount();
+            long unitsBefore = level.getTotalUnits();
             level.removeInactiveOrders();
+            if (level.getOrderCount() != countBefore || level.getTotalUnits() != unitsBefore) {
+                levelChanged(level.getPrice(), level.getTotalUnits() - unitsBefore);
+            }
+            orderCount -= countBefore - level.getOrderCount();
+            totalUnits -= unitsBefore - level.getTotalUnits();
             if (level.isEmpty()) {
-                iterator.remove();
+                levels.remove(level.getPrice());
             }
         }
     }
 
+    private void levelChanged(Money price, long unitsDelta) {
+        changedPrices.add(price);
+        if (depthIndex != null) {
+            depthIndex.add(price, unitsDelta);
+        }
+    }
+
+    /**
+     * Current aggregates of the levels changed since the last call, then forgets them.
+     * A level that no longer exists is reported with zero quantity and no orders.
+     */
+    public List<PriceLevelSnapshot> drainChangedLevels() {
+        if (changedPrices.isEmpty()) {
+            return List.of();
+        }
+
+        List<PriceLevelSnapshot> changes = new ArrayList<>(changedPrices.size());
+        for (Money price : changedPrices) {
+            L level = levels.get(price);
+            changes.add(level == null
+                    ? new PriceLevelSnapshot(price, BigDecimal.ZERO, 0)
+                    : new PriceLevelSnapshot(price, level.getTotalQuantity(), level.getOrderCount()));
+        }
+        changedPrices.clear();
+        return changes;
+    }
+
+    // ============ CUMULATIVE DEPTH ============
+
+    /**
+     * Starts keeping cumulative volume per tick of the given size, seeded from the current levels.
+     */
+    public void trackCumulativeDepth(BigDecimal tickSize) {
+        CumulativeDepthIndex index = new CumulativeDepthIndex(tickSize, isHigherPriceBetter());
+        for (L level : levels) {
+            index.add(level.getPrice(), level.getTotalUnits());
+        }
+        this.depthIndex = index;
+    }
+
+    /**
+     * Volume resting at the price or better, in quantity units.
+     * O(log n) ticks with a complete cumulative index, otherwise a walk over the better levels.
+     */
+    public long getUnitsAtOrBetter(Money price) {
+        Objects.requireNonNull(price, "Price cannot be null");
+        if (depthIndex != null && depthIndex.isComplete()) {
+            return depthIndex.unitsAtOrBetter(price);
+        }
+
+        long units = 0;
+        for (L level : levels) {
+            if (priorityCalculator.isPriceBetter(price, level.getPrice())) {
+                break;
+            }
+            units = FixedPointScale.add(units, level.getTotalUnits());
+        }
+        return units;
+    }
+
+    /**
+     * Where a taker of the given size would get filled on this side, from the best price on.
+     */
+    public CumulativeDepthIndex.Fill estimateFill(long quantityUnits) {
+        if (depthIndex != null && depthIndex.isComplete()) {
+            return depthIndex.fill(quantityUnits);
+        }
+        if (quantityUnits <= 0 || levels.isEmpty()) {
+            return CumulativeDepthIndex.Fill.EMPTY;
+        }
+
+        long filled = 0;
+        BigDecimal notional = BigDecimal.ZERO;
+        Money bestPrice = null;
+        Money worstPrice = null;
+        for (L level : levels) {
+            if (filled == quantityUnits) {
+                break;
+            }
+            long take = Math.min(level.getTotalUnits(), quantityUnits - filled);
+            filled += take;
+            notional = notional.add(level.getPrice().getAmount().multiply(BigDecimal.valueOf(take)));
+            if (bestPrice == null) {
+                bestPrice = level.getPrice();
+            }
+            worstPrice = level.getPrice();
+        }
+
+        BigDecimal averagePrice = notional.divide(BigDecimal.valueOf(filled),
+                Math.max(worstPrice.getAmount().scale(), 0) + 4, RoundingMode.HALF_EVEN);
+        return new CumulativeDepthIndex.Fill(filled, averagePrice, bestPrice.getAmount(), worstPrice.getAmount());
+    }
+
+    public boolean hasCumulativeDepth() {
+        return depthIndex != null && depthIndex.isComplete();
+    }
+
+    /**
+     * Whether trackCumulativeDepth() was called, even if off-grid prices have since made the index incomplete.
+     */
+    public boolean isTrackingCumulativeDepth() {
+        return depthIndex != null;
+    }
+
     // ============ QUERY METHODS ============
 
     public Optional<Money> getBestPrice() {
-        return levels.isEmpty() ? Optional.empty() : Optional.of(levels.firstKey());
+        return levels.best().map(AbstractPriceLevel::getPrice);
     }
 
     public Optional<T> getBestOrder() {
-        return levels.values().stream()
-                .map(AbstractPriceLevel::getFirstActiveOrder)
-                .filter(Optional::isPresent)
-                .map(Optional::get)
-                .findFirst();
+        for (L level : levels) {
+            Optional<T> order = level.getFirstActiveOrder();
+            if (order.isPresent()) {
+                return order;
+            }
+        }
+        return Optional.empty();
     }
 
     public BigDecimal getTotalVolume() {
-        return levels.values().stream()
-                .map(AbstractPriceLevel::getTotalQuantity)
-                .reduce(BigDecimal.ZERO, BigDecimal::add);
+        return quantityScale.toBigDecimal(totalUnits);
+    }
+
+    public long getTotalUnits() {
+        return totalUnits;
+    }
+
+    public FixedPointScale getQuantityScale() {
+        return quantityScale;
+    }
+
+    public int getOrderCount() {
+        return orderCount;
     }
 
     public Collection<L> getLevels() {
-        return new ArrayList<>(levels.values());
+        List<L> result = new ArrayList<>(levels.size());
+        levels.forEach(result::add);
+        return result;
     }
 
     public List<L> getTopLevels(int count) {
-        return levels.values().stream()
-                .limit(count)
-                .collect(Collectors.toList());
+        return levels.top(count);
     }
 
     public boolean isEmpty() {
@@ -106,9 +344,9 @@ public abstract class AbstractPriceLevelManager<
         return levels.size();
     }
 
-    // ============ TREEMAP ACCESS ============
+    // ============ LEVEL INDEX ACCESS ============
 
-    public TreeMap<Money, L> getTreeMap() {
+    public PriceLevelIndex<L> getLevelIndex() {
         return levels;
     }
 }
@@ -0,0 +1,35 @@
+package core.ms.order_book.domain.value_object;
+
+/**
+ * What an amendment did to a resting order.
+ */
+public enum AmendOutcome {
+    /**
+     * The order is not resting in the book.
+     */
+    NOT_FOUND,
+
+    /**
+     * Same price and quantity; nothing changed.
+     */
+    UNCHANGED,
+
+    /**
+     * Quantity reduced at the same price; the order kept its queue position.
+     */
+    REDUCED_IN_PLACE,
+
+    /**
+     * Price changed or quantity increased; the order went to the back of its (new) level.
+     */
+    REQUEUED,
+
+    /**
+     * The new quantity is at or below what already filled; the order left the book.
+     */
+    REMOVED;
+
+    public boolean keptPriority() {
+        return this == UNCHANGED || this == REDUCED_IN_PLACE;
+    }
+}
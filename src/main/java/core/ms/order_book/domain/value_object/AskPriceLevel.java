@@ -9,4 +9,8 @@ public class AskPriceLevel extends AbstractPriceLevel<ISellOrder> {
         super(price);
     }
 
+    public AskPriceLevel(Money price, FixedPointScale quantityScale) {
+        super(price, quantityScale);
+    }
+
 }
\ No newline at end of file
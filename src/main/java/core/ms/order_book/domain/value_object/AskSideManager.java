@@ -3,13 +3,27 @@ package core.ms.order_book.domain.value_object;
 import core.ms.order.domain.entities.ISellOrder;
 import core.ms.shared.money.Money;
 
+import java.math.BigDecimal;
+
 public class AskSideManager extends AbstractPriceLevelManager<ISellOrder, AskPriceLevel>{
     public AskSideManager() {
         super(new SellOrderPriorityCalculator());
     }
 
+    /**
+     * Ask side backed by a tick ladder; the lowest price is the best level.
+     */
+    public AskSideManager(BigDecimal tickSize) {
+        super(new SellOrderPriorityCalculator(), new TickLadderPriceLevelIndex<>(tickSize, false));
+    }
+
     @Override
     protected AskPriceLevel createPriceLevel(Money price) {
-        return new AskPriceLevel(price);
+        return new AskPriceLevel(price, quantityScale);
+    }
+
+    @Override
+    protected boolean isHigherPriceBetter() {
+        return false;
     }
 }
@@ -9,4 +9,8 @@ public class BidPriceLevel extends AbstractPriceLevel<IBuyOrder> {
         super(price);
     }
 
+    public BidPriceLevel(Money price, FixedPointScale quantityScale) {
+        super(price, quantityScale);
+    }
+
 }
\ No newline at end of file
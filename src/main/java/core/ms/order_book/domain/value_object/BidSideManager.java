@@ -3,12 +3,26 @@ package core.ms.order_book.domain.value_object;
 import core.ms.order.domain.entities.IBuyOrder;
 import core.ms.shared.money.Money;
 
+import java.math.BigDecimal;
+
 public class BidSideManager extends AbstractPriceLevelManager<IBuyOrder,BidPriceLevel>{
     public BidSideManager() {
         super(new BuyOrderPriorityCalculator());
     }
 
+    /**
+     * Bid side backed by a tick ladder; the highest price is the best level.
+     */
+    public BidSideManager(BigDecimal tickSize) {
+        super(new BuyOrderPriorityCalculator(), new TickLadderPriceLevelIndex<>(tickSize, true));
+    }
+
     protected BidPriceLevel createPriceLevel(Money price) {
-        return new BidPriceLevel(price);
+        return new BidPriceLevel(price, quantityScale);
+    }
+
+    @Override
+    protected boolean isHigherPriceBetter() {
+        return true;
     }
 }
@@ -0,0 +1,422 @@
+package core.ms.order_book.domain.value_object;
+
+import core.ms.shared.money.Money;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.*;
+
+/**
+ * Resting volume of one book side per price tick, kept in Fenwick trees so that
+ * "volume at or better than P" and "where does a fill of Q end" cost O(log n) ticks.
+ *
+ * Ranks are ticks ordered from the best price (lower rank = better), as in
+ * {@link TickLadderPriceLevelIndex}. A window of ranks starting just before the best price
+ * lives in the trees; worse ranks beyond it sit in an overflow map and are walked only by
+ * queries that reach that deep. A second tree holds volume times window offset, so the
+ * notional of any prefix, and with it the average fill price, needs no level walk.
+ *
+ * The side manager reports every level volume change. Prices off the tick grid are only
+ * counted; while any exist the index is incomplete and callers walk the levels instead.
+ */
+public class CumulativeDepthIndex {
+    public static final int DEFAULT_WINDOW_TICKS = 16384;
+
+    private final BigDecimal tickSize;
+    private final FixedPointScale priceScale;
+    private final long tickUnits;
+    private final boolean higherIsBetter;
+
+    private final int capacity;
+    private final int headroom;
+    private final long[] levelUnits;
+    private final long[] unitTree;
+    private final long[] weightedTree;
+    // Cleared when a weighted sum would overflow; notional is then summed level by level
+    private boolean weightedValid = true;
+    private final TreeMap<Long, Long> overflow = new TreeMap<>();
+    private final Map<Money, Long> offGridUnits = new HashMap<>();
+
+    private long windowStart;
+    private long windowUnits;
+    private int windowLevels;
+
+    public CumulativeDepthIndex(BigDecimal tickSize, boolean higherIsBetter) {
+        this(tickSize, higherIsBetter, DEFAULT_WINDOW_TICKS);
+    }
+
+    public CumulativeDepthIndex(BigDecimal tickSize, boolean higherIsBetter, int windowTicks) {
+        Objects.requireNonNull(tickSize, "Tick size cannot be null");
+        if (tickSize.signum() <= 0) {
+            throw new IllegalArgumentException("Tick size must be positive: " + tickSize);
+        }
+        if (windowTicks < 16) {
+            throw new IllegalArgumentException("Window must hold at least 16 ticks");
+        }
+
+        this.tickSize = tickSize;
+        this.priceScale = FixedPointScale.forIncrement(tickSize);
+        this.tickUnits = priceScale.toUnits(tickSize);
+        this.higherIsBetter = higherIsBetter;
+
+        this.capacity = Integer.highestOneBit(windowTicks - 1) << 1;
+        this.headroom = capacity / 4;
+        this.levelUnits = new long[capacity];
+        this.unitTree = new long[capacity + 1];
+        this.weightedTree = new long[capacity + 1];
+    }
+
+    // ============ UPDATES ============
+
+    /**
+     * Applies a change of the volume resting at a price, in quantity units.
+     */
+    public void add(Money price, long unitsDelta) {
+        if (unitsDelta == 0) {
+            return;
+        }
+
+        long rank;
+        try {
+            rank = toRank(price);
+        } catch (IllegalArgumentException | ArithmeticException e) {
+            Long units = offGridUnits.merge(price, unitsDelta, Long::sum);
+            if (units != null && units == 0) {
+                offGridUnits.remove(price);
+            }
+            return;
+        }
+
+        if (windowLevels == 0 && overflow.isEmpty()) {
+            windowStart = rank - headroom;
+        } else if (rank < windowStart) {
+            recentre(rank - headroom);
+        }
+
+        if (inWindow(rank)) {
+            update((int) (rank - windowStart), unitsDelta);
+        } else {
+            Long units = overflow.merge(rank, unitsDelta, Long::sum);
+            if (units != null && units == 0) {
+                overflow.remove(rank);
+            }
+        }
+
+        if (unitsDelta < 0) {
+            keepBestInWindow();
+        }
+    }
+
+    /**
+     * Whether every resting level is on the tick grid, i.e. the queries below are exact.
+     */
+    public boolean isComplete() {
+        return offGridUnits.isEmpty();
+    }
+
+    public BigDecimal getTickSize() {
+        return tickSize;
+    }
+
+    // ============ QUERIES ============
+
+    /**
+     * Volume resting at the price or better, in quantity units.
+     */
+    public long unitsAtOrBetter(Money price) {
+        long maxRank;
+        try {
+            BigDecimal ticks = price.getAmount().divide(tickSize, 0,
+                    higherIsBetter ? RoundingMode.CEILING : RoundingMode.FLOOR);
+            maxRank = higherIsBetter ? -ticks.longValueExact() : ticks.longValueExact();
+        } catch (ArithmeticException e) {
+            // Beyond any representable tick: nothing or everything is at least as good
+            return (price.getAmount().signum() > 0) == higherIsBetter ? 0 : totalUnits();
+        }
+
+        if ((windowLevels == 0 && overflow.isEmpty()) || maxRank < windowStart) {
+            return 0;
+        }
+        if (inWindow(maxRank)) {
+            return prefix((int) (maxRank - windowStart));
+        }
+
+        long units = windowUnits;
+        for (long overflowUnits : overflow.headMap(maxRank, true).values()) {
+            units += overflowUnits;
+        }
+        return units;
+    }
+
+    /**
+     * Walks the side from the best price until the quantity is covered or the side runs out.
+     */
+    public Fill fill(long quantityUnits) {
+        if (quantityUnits <= 0 || (windowLevels == 0 && overflow.isEmpty())) {
+            return Fill.EMPTY;
+        }
+
+        long bestRank = windowLevels > 0 ? windowStart + lowerBound(1) : overflow.firstKey();
+
+        if (windowUnits >= quantityUnits) {
+            int last = lowerBound(quantityUnits);
+            long before = last == 0 ? 0 : prefix(last - 1);
+            BigDecimal rankSum = windowRankSum(last - 1)
+                    .add(BigDecimal.valueOf(quantityUnits - before).multiply(BigDecimal.valueOf(windowStart + last)));
+            return toFill(quantityUnits, rankSum, bestRank, windowStart + last);
+        }
+
+        long filled = windowUnits;
+        BigDecimal rankSum = windowRankSum(capacity - 1);
+        long worstRank = windowLevels > 0 ? windowStart + lowerBound(windowUnits) : bestRank;
+        for (Map.Entry<Long, Long> level : overflow.entrySet()) {
+            if (filled == quantityUnits) {
+                break;
+            }
+            long take = Math.min(level.getValue(), quantityUnits - filled);
+            filled += take;
+            rankSum = rankSum.add(BigDecimal.valueOf(take).multiply(BigDecimal.valueOf(level.getKey())));
+            worstRank = level.getKey();
+        }
+        return toFill(filled, rankSum, bestRank, worstRank);
+    }
+
+    // ============ FENWICK TREES ============
+
+    private void update(int offset, long unitsDelta) {
+        long before = levelUnits[offset];
+        long after = before + unitsDelta;
+        levelUnits[offset] = after;
+        if (before == 0 && after != 0) {
+            windowLevels++;
+        } else if (before != 0 && after == 0) {
+            windowLevels--;
+        }
+        windowUnits += unitsDelta;
+
+        for (int i = offset + 1; i <= capacity; i += i & -i) {
+            unitTree[i] += unitsDelta;
+        }
+        long weighted = weightedValid ? weighted(unitsDelta, offset) : 0;
+        for (int i = offset + 1; i <= capacity && weightedValid; i += i & -i) {
+            weightedTree[i] = weightedSum(weightedTree[i], weighted);
+        }
+    }
+
+    /**
+     * Volume of window offsets 0..offset inclusive.
+     */
+    private long prefix(int offset) {
+        long sum = 0;
+        for (int i = offset + 1; i > 0; i -= i & -i) {
+            sum += unitTree[i];
+        }
+        return sum;
+    }
+
+    /**
+     * Smallest window offset whose prefix volume reaches the target; the target must be
+     * positive and at most the window's volume.
+     */
+    private int lowerBound(long target) {
+        int position = 0;
+        long remaining = target;
+        for (int step = capacity; step > 0; step >>= 1) {
+            int next = position + step;
+            if (next <= capacity && unitTree[next] < remaining) {
+                position = next;
+                remaining -= unitTree[next];
+            }
+        }
+        return position;
+    }
+
+    /**
+     * Sum of volume times rank over window offsets 0..offset inclusive.
+     */
+    private BigDecimal windowRankSum(int offset) {
+        if (offset < 0) {
+            return BigDecimal.ZERO;
+        }
+
+        BigDecimal weighted;
+        if (weightedValid) {
+            long sum = 0;
+            for (int i = offset + 1; i > 0; i -= i & -i) {
+                sum += weightedTree[i];
+            }
+            weighted = BigDecimal.valueOf(sum);
+        } else {
+            weighted = BigDecimal.ZERO;
+            for (int i = 0; i <= offset; i++) {
+                if (levelUnits[i] != 0) {
+                    weighted = weighted.add(BigDecimal.valueOf(levelUnits[i]).multiply(BigDecimal.valueOf(i)));
+                }
+            }
+        }
+        return BigDecimal.valueOf(prefix(offset)).multiply(BigDecimal.valueOf(windowStart)).add(weighted);
+    }
+
+    private Fill toFill(long filledUnits, BigDecimal rankSum, long bestRank, long worstRank) {
+        BigDecimal averageRank = rankSum.divide(BigDecimal.valueOf(filledUnits),
+                priceScale.getScale() + 4, RoundingMode.HALF_EVEN);
+        BigDecimal averagePrice = averageRank.multiply(tickSize);
+        return new Fill(filledUnits,
+                higherIsBetter ? averagePrice.negate() : averagePrice,
+                toPrice(bestRank),
+                toPrice(worstRank));
+    }
+
+    // ============ WINDOW MAINTENANCE ============
+
+    private boolean inWindow(long rank) {
+        return rank >= windowStart && rank < windowStart + capacity;
+    }
+
+    /**
+     * Keeps the best price in the first quarter of the window after volume was removed,
+     * so the trees rather than the overflow map carry the active part of the side.
+     */
+    private void keepBestInWindow() {
+        if (windowLevels == 0) {
+            if (!overflow.isEmpty()) {
+                recentre(overflow.firstKey() - headroom);
+            }
+            return;
+        }
+
+        int bestOffset = lowerBound(1);
+        if (bestOffset > capacity - headroom) {
+            recentre(windowStart + bestOffset - headroom);
+        }
+    }
+
+    /**
+     * Moves the window to start at the given rank: levels that no longer fit spill into the
+     * overflow map, overflow levels that now fit are pulled in, and the trees are rebuilt
+     * in one linear pass.
+     */
+    private void recentre(long newStart) {
+        long[] ranks = new long[windowLevels];
+        long[] units = new long[windowLevels];
+        int count = 0;
+        for (int offset = 0; offset < capacity && count < ranks.length; offset++) {
+            if (levelUnits[offset] != 0) {
+                ranks[count] = windowStart + offset;
+                units[count++] = levelUnits[offset];
+            }
+        }
+
+        Arrays.fill(levelUnits, 0);
+        windowStart = newStart;
+        for (int i = 0; i < count; i++) {
+            if (inWindow(ranks[i])) {
+                levelUnits[(int) (ranks[i] - windowStart)] = units[i];
+            } else {
+                overflow.put(ranks[i], units[i]);
+            }
+        }
+        while (!overflow.isEmpty() && overflow.firstKey() < windowStart + capacity) {
+            Map.Entry<Long, Long> level = overflow.pollFirstEntry();
+            levelUnits[(int) (level.getKey() - windowStart)] = level.getValue();
+        }
+
+        rebuildTrees();
+    }
+
+    /**
+     * Builds both trees from the level volumes in O(capacity): each node hands its partial
+     * sum to its parent.
+     */
+    private void rebuildTrees() {
+        windowUnits = 0;
+        windowLevels = 0;
+        weightedValid = true;
+        for (int i = 1; i <= capacity; i++) {
+            long units = levelUnits[i - 1];
+            if (units != 0) {
+                windowLevels++;
+                windowUnits += units;
+            }
+            unitTree[i] = units;
+            weightedTree[i] = weightedValid ? weighted(units, i - 1) : 0;
+        }
+
+        for (int i = 1; i <= capacity; i++) {
+            int parent = i + (i & -i);
+            if (parent <= capacity) {
+                unitTree[parent] += unitTree[i];
+                if (weightedValid) {
+                    weightedTree[parent] = weightedSum(weightedTree[parent], weightedTree[i]);
+                }
+            }
+        }
+    }
+
+    private long weighted(long units, int offset) {
+        try {
+            return Math.multiplyExact(units, (long) offset);
+        } catch (ArithmeticException e) {
+            weightedValid = false;
+            return 0;
+        }
+    }
+
+    private long weightedSum(long a, long b) {
+        try {
+            return Math.addExact(a, b);
+        } catch (ArithmeticException e) {
+            weightedValid = false;
+            return 0;
+        }
+    }
+
+    // ============ TICK CONVERSION ============
+
+    private long toRank(Money price) {
+        long units = priceScale.toUnits(price.getAmount());
+        if (units % tickUnits != 0) {
+            throw new IllegalArgumentException("Price " + price + " is not on the tick grid");
+        }
+        long ticks = units / tickUnits;
+        return higherIsBetter ? -ticks : ticks;
+    }
+
+    private BigDecimal toPrice(long rank) {
+        BigDecimal price = BigDecimal.valueOf(higherIsBetter ? -rank : rank).multiply(tickSize);
+        return price.setScale(priceScale.getScale(), RoundingMode.UNNECESSARY);
+    }
+
+    private long totalUnits() {
+        long units = windowUnits;
+        for (long overflowUnits : overflow.values()) {
+            units += overflowUnits;
+        }
+        return units;
+    }
+
+    /**
+     * Outcome of walking one side for a given quantity. Prices are plain amounts in the
+     * quote currency; all of them are null when nothing could be filled.
+     */
+    public static final class Fill {
+        public static final Fill EMPTY = new Fill(0, null, null, null);
+
+        private final long filledUnits;
+        private final BigDecimal averagePrice;
+        private final BigDecimal bestPrice;
+        private final BigDecimal worstPrice;
+
+        public Fill(long filledUnits, BigDecimal averagePrice, BigDecimal bestPrice, BigDecimal worstPrice) {
+            this.filledUnits = filledUnits;
+            this.averagePrice = averagePrice;
+            this.bestPrice = bestPrice;
+            this.worstPrice = worstPrice;
+        }
+
+        public long getFilledUnits() { return filledUnits; }
+        public BigDecimal getAveragePrice() { return averagePrice; }
+        public BigDecimal getBestPrice() { return bestPrice; }
+        public BigDecimal getWorstPrice() { return worstPrice; }
+    }
+}
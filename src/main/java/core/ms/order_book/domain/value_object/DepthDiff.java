@@ -0,0 +1,55 @@
+package core.ms.order_book.domain.value_object;
+
+import core.ms.shared.money.Symbol;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * Price levels of a book that changed in one published batch, with their new aggregates.
+ * A level with zero quantity was removed. Sequences increase by one per diff, so a client
+ * that sees a gap knows it missed changes and must replay or take a new depth snapshot.
+ */
+public final class DepthDiff {
+    private final Symbol symbol;
+    private final long sequence;
+    private final List<PriceLevelSnapshot> bidChanges;
+    private final List<PriceLevelSnapshot> askChanges;
+    private final LocalDateTime timestamp;
+
+    public DepthDiff(Symbol symbol, long sequence,
+                     List<PriceLevelSnapshot> bidChanges, List<PriceLevelSnapshot> askChanges) {
+        this.symbol = Objects.requireNonNull(symbol, "Symbol cannot be null");
+        this.sequence = sequence;
+        this.bidChanges = List.copyOf(bidChanges);
+        this.askChanges = List.copyOf(askChanges);
+        this.timestamp = LocalDateTime.now();
+    }
+
+    public Symbol getSymbol() {
+        return symbol;
+    }
+
+    public long getSequence() {
+        return sequence;
+    }
+
+    public List<PriceLevelSnapshot> getBidChanges() {
+        return bidChanges;
+    }
+
+    public List<PriceLevelSnapshot> getAskChanges() {
+        return askChanges;
+    }
+
+    public LocalDateTime getTimestamp() {
+        return timestamp;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("DepthDiff[%s #%d, bids=%d, asks=%d]",
+                symbol.getCode(), sequence, bidChanges.size(), askChanges.size());
+    }
+}
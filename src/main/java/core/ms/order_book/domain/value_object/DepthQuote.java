@@ -0,0 +1,87 @@
+package core.ms.order_book.domain.value_object;
+
+import core.ms.shared.OrderType;
+import core.ms.shared.money.Currency;
+import core.ms.shared.money.Money;
+import core.ms.shared.money.Symbol;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.LocalDateTime;
+import java.util.Objects;
+import java.util.Optional;
+
+/**
+ * Estimated execution of a hypothetical taker order against the current book:
+ * how much would fill, at what average and worst price, and how far that is from the touch.
+ * Prices are empty when the opposite side is empty.
+ */
+public final class DepthQuote {
+    private static final BigDecimal BASIS_POINTS = BigDecimal.valueOf(10_000);
+
+    private final Symbol symbol;
+    private final OrderType side;
+    private final BigDecimal requestedQuantity;
+    private final BigDecimal fillableQuantity;
+    private final Money bestPrice;
+    private final Money averagePrice;
+    private final Money worstPrice;
+    private final LocalDateTime timestamp;
+
+    public DepthQuote(Symbol symbol, OrderType side, BigDecimal requestedQuantity, BigDecimal fillableQuantity,
+                      CumulativeDepthIndex.Fill fill) {
+        this.symbol = Objects.requireNonNull(symbol, "Symbol cannot be null");
+        this.side = Objects.requireNonNull(side, "Side cannot be null");
+        this.requestedQuantity = Objects.requireNonNull(requestedQuantity, "Requested quantity cannot be null");
+        this.fillableQuantity = Objects.requireNonNull(fillableQuantity, "Fillable quantity cannot be null");
+        Objects.requireNonNull(fill, "Fill cannot be null");
+
+        Currency currency = symbol.getQuoteCurrency();
+        this.bestPrice = fill.getBestPrice() == null ? null : Money.of(fill.getBestPrice(), currency);
+        this.averagePrice = fill.getAveragePrice() == null ? null : Money.of(fill.getAveragePrice(), currency);
+        this.worstPrice = fill.getWorstPrice() == null ? null : Money.of(fill.getWorstPrice(), currency);
+        this.timestamp = LocalDateTime.now();
+    }
+
+    public Symbol getSymbol() { return symbol; }
+    public OrderType getSide() { return side; }
+    public BigDecimal getRequestedQuantity() { return requestedQuantity; }
+    public BigDecimal getFillableQuantity() { return fillableQuantity; }
+    public Optional<Money> getBestPrice() { return Optional.ofNullable(bestPrice); }
+    public Optional<Money> getAveragePrice() { return Optional.ofNullable(averagePrice); }
+    public Optional<Money> getWorstPrice() { return Optional.ofNullable(worstPrice); }
+    public LocalDateTime getTimestamp() { return timestamp; }
+
+    public boolean isFullyFillable() {
+        return fillableQuantity.compareTo(requestedQuantity) >= 0;
+    }
+
+    /**
+     * How much worse the average price is than the best price, per unit; never negative.
+     */
+    public Optional<BigDecimal> getSlippage() {
+        if (bestPrice == null) {
+            return Optional.empty();
+        }
+        BigDecimal difference = averagePrice.getAmount().subtract(bestPrice.getAmount());
+        return Optional.of(side == OrderType.BUY ? difference : difference.negate());
+    }
+
+    /**
+     * Slippage relative to the best price, in basis points.
+     */
+    public Optional<BigDecimal> getSlippageBps() {
+        if (bestPrice == null || bestPrice.getAmount().signum() == 0) {
+            return Optional.empty();
+        }
+        return getSlippage().map(slippage -> slippage.multiply(BASIS_POINTS)
+                .divide(bestPrice.getAmount(), 4, RoundingMode.HALF_EVEN));
+    }
+
+    @Override
+    public String toString() {
+        return String.format("DepthQuote{%s %s %s: fillable=%s, avg=%s, worst=%s}",
+                side, requestedQuantity.toPlainString(), symbol.getCode(), fillableQuantity.toPlainString(),
+                averagePrice, worstPrice);
+    }
+}
@@ -0,0 +1,140 @@
+package core.ms.order_book.domain.value_object;
+
+import core.ms.shared.money.Currency;
+import core.ms.shared.money.Money;
+
+import java.math.BigDecimal;
+import java.util.Objects;
+
+/**
+ * Scaled-long fixed-point format used inside the matching core.
+ *
+ * A value is held as a long count of units, where one unit is 10^-scale. Conversion
+ * from BigDecimal happens once at the book boundary and is lossless: values with more
+ * decimals than the scale are rejected rather than rounded. Arithmetic on units goes
+ * through the exact helpers here, which fail on overflow instead of wrapping.
+ */
+public final class FixedPointScale {
+    public static final int MAX_SCALE = 18;
+    // Default for book quantities: satoshi precision, also what the bots produce.
+    // Order entry rejects finer quantities (AbstractOrder.MAX_QUANTITY_SCALE).
+    public static final int DEFAULT_QUANTITY_SCALE = 8;
+
+    private final int scale;
+
+    private FixedPointScale(int scale) {
+        if (scale < 0 || scale > MAX_SCALE) {
+            throw new IllegalArgumentException("Scale must be between 0 and " + MAX_SCALE + ": " + scale);
+        }
+        this.scale = scale;
+    }
+
+    public static FixedPointScale of(int scale) {
+        return new FixedPointScale(scale);
+    }
+
+    public static FixedPointScale forCurrency(Currency currency) {
+        Objects.requireNonNull(currency, "Currency cannot be null");
+        return new FixedPointScale(currency.getDecimalPlaces());
+    }
+
+    /**
+     * Scale just fine enough to represent every multiple of the increment (tick or lot size).
+     */
+    public static FixedPointScale forIncrement(BigDecimal increment) {
+        Objects.requireNonNull(increment, "Increment cannot be null");
+        if (increment.signum() <= 0) {
+            throw new IllegalArgumentException("Increment must be positive: " + increment);
+        }
+        return new FixedPointScale(Math.max(0, increment.stripTrailingZeros().scale()));
+    }
+
+    public static FixedPointScale defaultQuantityScale() {
+        return new FixedPointScale(DEFAULT_QUANTITY_SCALE);
+    }
+
+    // ============ BOUNDARY CONVERSION ============
+
+    /**
+     * Converts to units without rounding.
+     *
+     * @throws IllegalArgumentException if the value has more decimals than this scale
+     * @throws FixedPointOverflowException if the value does not fit in a long at this scale
+     */
+    public long toUnits(BigDecimal value) {
+        Objects.requireNonNull(value, "Value cannot be null");
+        BigDecimal scaled;
+        try {
+            scaled = value.setScale(scale);
+        } catch (ArithmeticException e) {
+            throw new IllegalArgumentException(
+                    "Value " + value.toPlainString() + " has more than " + scale + " decimal places");
+        }
+        try {
+            return scaled.unscaledValue().longValueExact();
+        } catch (ArithmeticException e) {
+            throw new FixedPointOverflowException(value.toPlainString() + " at scale " + scale);
+        }
+    }
+
+    public long toUnits(Money money) {
+        Objects.requireNonNull(money, "Money cannot be null");
+        return toUnits(money.getAmount());
+    }
+
+    public BigDecimal toBigDecimal(long units) {
+        // Zero as plain 0 rather than 0E-8, like BigDecimalNormalizer
+        return units == 0 ? BigDecimal.ZERO : BigDecimal.valueOf(units, scale);
+    }
+
+    public Money toMoney(long units, Currency currency) {
+        return Money.of(toBigDecimal(units), currency);
+    }
+
+    // ============ EXACT ARITHMETIC ============
+
+    public static long add(long a, long b) {
+        try {
+            return Math.addExact(a, b);
+        } catch (ArithmeticException e) {
+            throw new FixedPointOverflowException(a + " + " + b);
+        }
+    }
+
+    public static long subtract(long a, long b) {
+        try {
+            return Math.subtractExact(a, b);
+        } catch (ArithmeticException e) {
+            throw new FixedPointOverflowException(a + " - " + b);
+        }
+    }
+
+    public int getScale() {
+        return scale;
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+        if (this == obj) return true;
+        if (obj == null || getClass() != obj.getClass()) return false;
+        return scale == ((FixedPointScale) obj).scale;
+    }
+
+    @Override
+    public int hashCode() {
+        return Integer.hashCode(scale);
+    }
+
+    @Override
+    public String toString() {
+        return "FixedPointScale[" + scale + "]";
+    }
+
+    // ============ EXCEPTIONS ============
+
+    public static class FixedPointOverflowException extends ArithmeticException {
+        public FixedPointOverflowException(String operation) {
+            super("Fixed-point overflow: " + operation);
+        }
+    }
+}
@@ -0,0 +1,105 @@
+package core.ms.order_book.domain.value_object;
+
+import core.ms.order.domain.entities.IBuyOrder;
+import core.ms.order.domain.entities.IOrder;
+import core.ms.order.domain.entities.ISellOrder;
+import core.ms.shared.money.Money;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.function.BiConsumer;
+import java.util.function.Predicate;
+
+/**
+ * Matches a single incoming order against the opposite side of the book.
+ *
+ * Levels are walked from the best price and the walk stops at the first level that
+ * no longer crosses. Inside a level resting orders are filled FIFO while the incoming
+ * order's remaining quantity is tracked locally, so each fill is sized correctly and
+ * the cost is proportional to the number of fills rather than the size of the book.
+ * Quantities are compared and decremented as fixed-point units; only the emitted
+ * fills are converted back to BigDecimal.
+ *
+ * Resting orders found inactive or empty along the way are reported back so the
+ * caller can drop them from the book.
+ */
+public class IncrementalMatchingAlgorithm {
+
+    public List<OrderMatch> matchBuyOrder(IBuyOrder buyOrder, AskSideManager askSide,
+                                          List<ISellOrder> staleOrders) {
+        Objects.requireNonNull(buyOrder, "Buy order cannot be null");
+        Objects.requireNonNull(askSide, "AskSideManager cannot be null");
+
+        List<OrderMatch> matches = new ArrayList<>();
+        walk(buyOrder,
+                askSide,
+                level -> buyOrder.getPrice().isGreaterThanOrEqual(level.getPrice()),
+                (sellOrder, quantity) -> matches.add(
+                        new OrderMatch(buyOrder, sellOrder, quantity, sellOrder.getPrice())),
+                staleOrders);
+        return matches;
+    }
+
+    public List<OrderMatch> matchSellOrder(ISellOrder sellOrder, BidSideManager bidSide,
+                                           List<IBuyOrder> staleOrders) {
+        Objects.requireNonNull(sellOrder, "Sell order cannot be null");
+        Objects.requireNonNull(bidSide, "BidSideManager cannot be null");
+
+        // Price is always set by the seller (business rule)
+        Money executionPrice = sellOrder.getPrice();
+
+        List<OrderMatch> matches = new ArrayList<>();
+        walk(sellOrder,
+                bidSide,
+                level -> level.getPrice().isGreaterThanOrEqual(sellOrder.getPrice()),
+                (buyOrder, quantity) -> matches.add(
+                        new OrderMatch(buyOrder, sellOrder, quantity, executionPrice)),
+                staleOrders);
+        return matches;
+    }
+
+    private <T extends IOrder, L extends AbstractPriceLevel<T>> void walk(
+            IOrder incoming,
+            AbstractPriceLevelManager<T, L> opposite,
+            Predicate<L> crosses,
+            BiConsumer<T, BigDecimal> onFill,
+            List<T> staleOrders) {
+
+        if (!isMatchable(incoming)) {
+            return;
+        }
+
+        FixedPointScale scale = opposite.getQuantityScale();
+        long remaining = scale.toUnits(incoming.getRemainingQuantity());
+
+        for (L level : opposite.getLevelIndex()) {
+            if (!crosses.test(level)) {
+                break;
+            }
+
+            for (OrderNode<T> node = level.firstNode(); node != null; node = node.next) {
+                T restingOrder = node.getOrder();
+                if (!isMatchable(restingOrder) || node.getRemainingUnits() <= 0) {
+                    staleOrders.add(restingOrder);
+                    continue;
+                }
+
+                long fill = Math.min(remaining, node.getRemainingUnits());
+                onFill.accept(restingOrder, scale.toBigDecimal(fill));
+
+                remaining -= fill;
+                if (remaining <= 0) {
+                    return;
+                }
+            }
+        }
+    }
+
+    private boolean isMatchable(IOrder order) {
+        return order.isActive() &&
+                !order.getStatus().isTerminal() &&
+                order.getRemainingQuantity().compareTo(BigDecimal.ZERO) > 0;
+    }
+}
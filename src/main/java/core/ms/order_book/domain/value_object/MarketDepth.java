@@ -6,24 +6,34 @@ import core.ms.shared.money.Symbol;
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
 import java.util.Objects;
 import java.util.Optional;
 
+/**
+ * Immutable view of the top levels of a book. Levels are copied into
+ * {@link PriceLevelSnapshot}s, so a depth can be read outside the book's writer.
+ */
 public class MarketDepth {
     private final Symbol symbol;
-    private final List<BidPriceLevel> bidLevels;
-    private final List<AskPriceLevel> askLevels;
+    private final List<PriceLevelSnapshot> bidLevels;
+    private final List<PriceLevelSnapshot> askLevels;
     private final Money spread;
     private final BigDecimal totalBidVolume;
     private final BigDecimal totalAskVolume;
     private final LocalDateTime timestamp;
 
-    public MarketDepth(Symbol symbol, List<BidPriceLevel> bidLevels, List<AskPriceLevel> askLevels) {
+    public MarketDepth(Symbol symbol, List<? extends IPriceLevel> bidLevels, List<? extends IPriceLevel> askLevels) {
+        this(symbol, bidLevels, askLevels, LocalDateTime.now());
+    }
+
+    private MarketDepth(Symbol symbol, List<? extends IPriceLevel> bidLevels,
+                        List<? extends IPriceLevel> askLevels, LocalDateTime timestamp) {
         this.symbol = Objects.requireNonNull(symbol, "Symbol cannot be null");
-        this.bidLevels = new ArrayList<>(Objects.requireNonNull(bidLevels, "Bid levels cannot be null"));
-        this.askLevels = new ArrayList<>(Objects.requireNonNull(askLevels, "Ask levels cannot be null"));
-        this.timestamp = LocalDateTime.now();
+        this.bidLevels = freeze(Objects.requireNonNull(bidLevels, "Bid levels cannot be null"));
+        this.askLevels = freeze(Objects.requireNonNull(askLevels, "Ask levels cannot be null"));
+        this.timestamp = timestamp;
 
         this.totalBidVolume = calculateBidVolume();
         this.totalAskVolume = calculateAskVolume();
@@ -34,12 +44,12 @@ public class MarketDepth {
         return symbol;
     }
 
-    public List<BidPriceLevel> getBidLevels() {
-        return new ArrayList<>(bidLevels);
+    public List<PriceLevelSnapshot> getBidLevels() {
+        return bidLevels;
     }
 
-    public List<AskPriceLevel> getAskLevels() {
-        return new ArrayList<>(askLevels);
+    public List<PriceLevelSnapshot> getAskLevels() {
+        return askLevels;
     }
 
     public Money getSpread() {
@@ -58,11 +68,27 @@ public class MarketDepth {
         return timestamp;
     }
 
-    public Optional<BidPriceLevel> getBestBid() {
+    /**
+     * Returns a depth holding at most the given number of levels per side.
+     */
+    public MarketDepth limit(int levels) {
+        if (levels <= 0) {
+            throw new IllegalArgumentException("Levels must be positive");
+        }
+        if (levels >= bidLevels.size() && levels >= askLevels.size()) {
+            return this;
+        }
+        return new MarketDepth(symbol,
+                bidLevels.subList(0, Math.min(levels, bidLevels.size())),
+                askLevels.subList(0, Math.min(levels, askLevels.size())),
+                timestamp);
+    }
+
+    public Optional<PriceLevelSnapshot> getBestBid() {
         return bidLevels.isEmpty() ? Optional.empty() : Optional.of(bidLevels.get(0));
     }
 
-    public Optional<AskPriceLevel> getBestAsk() {
+    public Optional<PriceLevelSnapshot> getBestAsk() {
         return askLevels.isEmpty() ? Optional.empty() : Optional.of(askLevels.get(0));
     }
 
@@ -76,23 +102,31 @@ public class MarketDepth {
 
     private BigDecimal calculateBidVolume() {
         return bidLevels.stream()
-                .map(BidPriceLevel::getTotalQuantity)
+                .map(PriceLevelSnapshot::getTotalQuantity)
                 .reduce(BigDecimal.ZERO, BigDecimal::add);
     }
 
     private BigDecimal calculateAskVolume() {
         return askLevels.stream()
-                .map(AskPriceLevel::getTotalQuantity)
+                .map(PriceLevelSnapshot::getTotalQuantity)
                 .reduce(BigDecimal.ZERO, BigDecimal::add);
     }
 
     private Money calculateSpread() {
-        Optional<BidPriceLevel> bestBid = getBestBid();
-        Optional<AskPriceLevel> bestAsk = getBestAsk();
+        Optional<PriceLevelSnapshot> bestBid = getBestBid();
+        Optional<PriceLevelSnapshot> bestAsk = getBestAsk();
 
         if (bestBid.isPresent() && bestAsk.isPresent()) {
             return bestAsk.get().getPrice().subtract(bestBid.get().getPrice());
         }
         return null; // No spread when missing bid or ask
     }
+
+    private static List<PriceLevelSnapshot> freeze(List<? extends IPriceLevel> levels) {
+        List<PriceLevelSnapshot> snapshots = new ArrayList<>(levels.size());
+        for (IPriceLevel level : levels) {
+            snapshots.add(PriceLevelSnapshot.of(level));
+        }
+        return Collections.unmodifiableList(snapshots);
+    }
 }
@@ -0,0 +1,29 @@
+package core.ms.order_book.domain.value_object;
+
+/**
+ * How an order book looks for matches after an order is added.
+ */
+public enum MatchingMode {
+    /**
+     * Purges inactive orders and runs the matching algorithm over every crossing bid/ask level pair.
+     */
+    FULL_SCAN,
+
+    /**
+     * Matches only the incoming order against the best levels of the opposite side.
+     */
+    INCREMENTAL;
+
+    public static MatchingMode fromProperty(String value) {
+        if (value == null || value.isBlank()) {
+            return FULL_SCAN;
+        }
+        String normalized = value.trim().replace('-', '_').toUpperCase();
+        for (MatchingMode mode : values()) {
+            if (mode.name().equals(normalized)) {
+                return mode;
+            }
+        }
+        throw new IllegalArgumentException("Unknown matching mode: " + value);
+    }
+}
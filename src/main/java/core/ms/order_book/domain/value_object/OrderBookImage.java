@@ -0,0 +1,228 @@
+package core.ms.order_book.domain.value_object;
+
+import core.ms.order.domain.entities.IOrder;
+import core.ms.shared.money.Money;
+import core.ms.shared.money.Symbol;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.Objects;
+import java.util.Optional;
+
+/**
+ * Flat, immutable copy of the resting orders of a book at one journal sequence.
+ *
+ * Capturing only copies references and fixed-point units into arrays, so the book's writer is
+ * held for a few milliseconds even for large books; encoding and storing the image happen
+ * afterwards on another thread. Levels are best price first and orders in time priority.
+ */
+public final class OrderBookImage {
+    private final Symbol symbol;
+    private final Instant capturedAt;
+    private final long journalSequence;
+    private final long matchSequence;
+    private final long depthSequence;
+    private final FixedPointScale quantityScale;
+    private final Side bids;
+    private final Side asks;
+
+    public OrderBookImage(Symbol symbol, Instant capturedAt, long journalSequence, long matchSequence,
+                          long depthSequence, FixedPointScale quantityScale, Side bids, Side asks) {
+        this.symbol = Objects.requireNonNull(symbol, "Symbol cannot be null");
+        this.capturedAt = Objects.requireNonNull(capturedAt, "Capture time cannot be null");
+        this.journalSequence = journalSequence;
+        this.matchSequence = matchSequence;
+        this.depthSequence = depthSequence;
+        this.quantityScale = Objects.requireNonNull(quantityScale, "Quantity scale cannot be null");
+        this.bids = Objects.requireNonNull(bids, "Bid side cannot be null");
+        this.asks = Objects.requireNonNull(asks, "Ask side cannot be null");
+    }
+
+    /**
+     * Copies one side of a book. Must be called by the book's writer.
+     */
+    public static <T extends IOrder, L extends AbstractPriceLevel<T>> Side capture(AbstractPriceLevelManager<T, L> side) {
+        Side.Builder builder = Side.builder(side.getLevelCount(), side.getOrderCount());
+        for (L level : side.getLevelIndex()) {
+            builder.level(level.getPrice(), level.getOrderCount());
+            for (OrderNode<T> node = level.firstNode(); node != null; node = node.next) {
+                T order = node.getOrder();
+                builder.order(order.getId(), order.getPortfolioId(), order.getReservationId(),
+                        order.getQuantity(), node.getRemainingUnits(), order.getCreatedAt());
+            }
+        }
+        return builder.build();
+    }
+
+    // ============ GETTERS ============
+
+    public Symbol getSymbol() { return symbol; }
+    public Instant getCapturedAt() { return capturedAt; }
+    public long getJournalSequence() { return journalSequence; }
+    public long getMatchSequence() { return matchSequence; }
+    public long getDepthSequence() { return depthSequence; }
+    public FixedPointScale getQuantityScale() { return quantityScale; }
+    public Side getBids() { return bids; }
+    public Side getAsks() { return asks; }
+
+    public int getOrderCount() {
+        return bids.getOrderCount() + asks.getOrderCount();
+    }
+
+    public Optional<Money> getBestBid() {
+        return bids.getLevelCount() == 0 ? Optional.empty() : Optional.of(bids.getLevelPrice(0));
+    }
+
+    public Optional<Money> getBestAsk() {
+        return asks.getLevelCount() == 0 ? Optional.empty() : Optional.of(asks.getLevelPrice(0));
+    }
+
+    public Optional<Money> getSpread() {
+        Optional<Money> bestBid = getBestBid();
+        Optional<Money> bestAsk = getBestAsk();
+
+        if (bestBid.isPresent() && bestAsk.isPresent()) {
+            return Optional.of(bestAsk.get().subtract(bestBid.get()));
+        }
+        return Optional.empty();
+    }
+
+    /**
+     * Price levels of one side and the orders resting in them, level by level.
+     * Order {@code i} belongs to the level whose order counts cover position {@code i}.
+     */
+    public static final class Side {
+        private final Money[] levelPrices;
+        private final int[] levelOrderCounts;
+        private final String[] orderIds;
+        private final String[] portfolioIds;
+        private final String[] reservationIds;
+        private final BigDecimal[] quantities;
+        private final long[] remainingUnits;
+        private final LocalDateTime[] createdAt;
+
+        // Takes over the builder's arrays; they are only copied when the builder over-allocated
+        private Side(Builder builder) {
+            this.levelPrices = trim(builder.levelPrices, builder.levelCount);
+            this.levelOrderCounts = builder.levelOrderCounts.length == builder.levelCount
+                    ? builder.levelOrderCounts : Arrays.copyOf(builder.levelOrderCounts, builder.levelCount);
+            this.orderIds = trim(builder.orderIds, builder.orderCount);
+            this.portfolioIds = trim(builder.portfolioIds, builder.orderCount);
+            this.reservationIds = trim(builder.reservationIds, builder.orderCount);
+            this.quantities = trim(builder.quantities, builder.orderCount);
+            this.remainingUnits = builder.remainingUnits.length == builder.orderCount
+                    ? builder.remainingUnits : Arrays.copyOf(builder.remainingUnits, builder.orderCount);
+            this.createdAt = trim(builder.createdAt, builder.orderCount);
+        }
+
+        private static <E> E[] trim(E[] values, int length) {
+            return values.length == length ? values : Arrays.copyOf(values, length);
+        }
+
+        public static Builder builder(int expectedLevels, int expectedOrders) {
+            return new Builder(expectedLevels, expectedOrders);
+        }
+
+        public int getLevelCount() { return levelPrices.length; }
+        public Money getLevelPrice(int level) { return levelPrices[level]; }
+        public int getLevelOrderCount(int level) { return levelOrderCounts[level]; }
+
+        public int getOrderCount() { return orderIds.length; }
+        public String getOrderId(int order) { return orderIds[order]; }
+        public String getPortfolioId(int order) { return portfolioIds[order]; }
+        public String getReservationId(int order) { return reservationIds[order]; }
+        public BigDecimal getQuantity(int order) { return quantities[order]; }
+        public long getRemainingUnits(int order) { return remainingUnits[order]; }
+        public LocalDateTime getCreatedAt(int order) { return createdAt[order]; }
+
+        public long getTotalUnits() {
+            long total = 0;
+            for (long units : remainingUnits) {
+                total = FixedPointScale.add(total, units);
+            }
+            return total;
+        }
+
+        public static final class Builder {
+            private Money[] levelPrices;
+            private int[] levelOrderCounts;
+            private int levelCount;
+            private String[] orderIds;
+            private String[] portfolioIds;
+            private String[] reservationIds;
+            private BigDecimal[] quantities;
+            private long[] remainingUnits;
+            private LocalDateTime[] createdAt;
+            private int orderCount;
+
+            private Builder(int expectedLevels, int expectedOrders) {
+                int levels = Math.max(expectedLevels, 0);
+                int orders = Math.max(expectedOrders, 0);
+                this.levelPrices = new Money[levels];
+                this.levelOrderCounts = new int[levels];
+                this.orderIds = new String[orders];
+                this.portfolioIds = new String[orders];
+                this.reservationIds = new String[orders];
+                this.quantities = new BigDecimal[orders];
+                this.remainingUnits = new long[orders];
+                this.createdAt = new LocalDateTime[orders];
+            }
+
+            /**
+             * Starts the next level, worse than the previous one.
+             */
+            public Builder level(Money price, int orderCount) {
+                if (levelCount == levelPrices.length) {
+                    int capacity = Math.max(levelCount * 2, 8);
+                    levelPrices = Arrays.copyOf(levelPrices, capacity);
+                    levelOrderCounts = Arrays.copyOf(levelOrderCounts, capacity);
+                }
+                levelPrices[levelCount] = Objects.requireNonNull(price, "Price cannot be null");
+                levelOrderCounts[levelCount] = orderCount;
+                levelCount++;
+                return this;
+            }
+
+            public Builder order(String orderId, String portfolioId, String reservationId,
+                                 BigDecimal quantity, long remaining, LocalDateTime created) {
+                if (orderCount == orderIds.length) {
+                    grow(Math.max(orderCount * 2, 8));
+                }
+                orderIds[orderCount] = Objects.requireNonNull(orderId, "Order ID cannot be null");
+                portfolioIds[orderCount] = portfolioId;
+                reservationIds[orderCount] = reservationId;
+                quantities[orderCount] = quantity;
+                remainingUnits[orderCount] = remaining;
+                createdAt[orderCount] = created;
+                orderCount++;
+                return this;
+            }
+
+            /**
+             * The builder must not be used afterwards: the side keeps its arrays.
+             */
+            public Side build() {
+                long declared = 0;
+                for (int i = 0; i < levelCount; i++) {
+                    declared += levelOrderCounts[i];
+                }
+                if (declared != orderCount) {
+                    throw new IllegalStateException("Levels declare " + declared +
+                            " orders but " + orderCount + " were added");
+                }
+                return new Side(this);
+            }
+
+            private void grow(int capacity) {
+                orderIds = Arrays.copyOf(orderIds, capacity);
+                portfolioIds = Arrays.copyOf(portfolioIds, capacity);
+                reservationIds = Arrays.copyOf(reservationIds, capacity);
+                quantities = Arrays.copyOf(quantities, capacity);
+                remainingUnits = Arrays.copyOf(remainingUnits, capacity);
+                createdAt = Arrays.copyOf(createdAt, capacity);
+            }
+        }
+    }
+}
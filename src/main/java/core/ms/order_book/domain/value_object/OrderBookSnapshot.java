@@ -15,17 +15,41 @@ public class OrderBookSnapshot {
     private final List<OrderSnapshot> sellOrders;
     private final Instant timestamp;
     private final OrderBookStatistics statistics;
+    // Last journal record reflected in the orders, 0 when the snapshot predates the journal
+    private final long journalSequence;
+    // Book sequences as of the journal sequence, 0 when the snapshot did not record them
+    private final long matchSequence;
+    private final long depthSequence;
 
     public OrderBookSnapshot(String id, Symbol symbol,
                              List<OrderSnapshot> buyOrders,
                              List<OrderSnapshot> sellOrders,
                              OrderBookStatistics statistics) {
+        this(id, symbol, buyOrders, sellOrders, statistics, 0);
+    }
+
+    public OrderBookSnapshot(String id, Symbol symbol,
+                             List<OrderSnapshot> buyOrders,
+                             List<OrderSnapshot> sellOrders,
+                             OrderBookStatistics statistics,
+                             long journalSequence) {
+        this(id, symbol, buyOrders, sellOrders, statistics, journalSequence, 0, 0);
+    }
+
+    public OrderBookSnapshot(String id, Symbol symbol,
+                             List<OrderSnapshot> buyOrders,
+                             List<OrderSnapshot> sellOrders,
+                             OrderBookStatistics statistics,
+                             long journalSequence, long matchSequence, long depthSequence) {
         this.id = Objects.requireNonNull(id);
         this.symbol = Objects.requireNonNull(symbol);
         this.buyOrders = List.copyOf(buyOrders);
         this.sellOrders = List.copyOf(sellOrders);
         this.timestamp = Instant.now();
         this.statistics = Objects.requireNonNull(statistics);
+        this.journalSequence = journalSequence;
+        this.matchSequence = matchSequence;
+        this.depthSequence = depthSequence;
     }
 
     // Getters
@@ -35,6 +59,18 @@ public class OrderBookSnapshot {
     public List<OrderSnapshot> getSellOrders() { return List.copyOf(sellOrders); }
     public Instant getTimestamp() { return timestamp; }
     public OrderBookStatistics getStatistics() { return statistics; }
+    public long getJournalSequence() { return journalSequence; }
+    public long getMatchSequence() { return matchSequence; }
+    public long getDepthSequence() { return depthSequence; }
+
+    /**
+     * Whether the book can be rebuilt from this snapshot plus the journal records after it.
+     */
+    public boolean isRestorable() {
+        return journalSequence > 0 &&
+                buyOrders.stream().allMatch(OrderSnapshot::isRestorable) &&
+                sellOrders.stream().allMatch(OrderSnapshot::isRestorable);
+    }
 
     public static class OrderSnapshot {
         private final String orderId;
@@ -42,14 +78,24 @@ public class OrderBookSnapshot {
         private final BigDecimal quantity;
         private final BigDecimal remainingQuantity;
         private final Instant createdAt;
+        private final String portfolioId;
+        private final String reservationId;
 
         public OrderSnapshot(String orderId, Money price, BigDecimal quantity,
                              BigDecimal remainingQuantity, Instant createdAt) {
+            this(orderId, price, quantity, remainingQuantity, createdAt, null, null);
+        }
+
+        public OrderSnapshot(String orderId, Money price, BigDecimal quantity,
+                             BigDecimal remainingQuantity, Instant createdAt,
+                             String portfolioId, String reservationId) {
             this.orderId = Objects.requireNonNull(orderId);
             this.price = Objects.requireNonNull(price);
             this.quantity = Objects.requireNonNull(quantity);
             this.remainingQuantity = Objects.requireNonNull(remainingQuantity);
             this.createdAt = Objects.requireNonNull(createdAt);
+            this.portfolioId = portfolioId;
+            this.reservationId = reservationId;
         }
 
         // Getters
@@ -58,6 +104,12 @@ public class OrderBookSnapshot {
         public BigDecimal getQuantity() { return quantity; }
         public BigDecimal getRemainingQuantity() { return remainingQuantity; }
         public Instant getCreatedAt() { return createdAt; }
+        public String getPortfolioId() { return portfolioId; }
+        public String getReservationId() { return reservationId; }
+
+        boolean isRestorable() {
+            return portfolioId != null && reservationId != null;
+        }
     }
 
     public static class OrderBookStatistics {
@@ -0,0 +1,58 @@
+package core.ms.order_book.domain.value_object;
+
+import core.ms.order.domain.entities.IOrder;
+
+import java.math.BigDecimal;
+import java.util.Objects;
+
+/**
+ * Handle for an order resting in a price level queue.
+ * Links are intrusive, so the book can unlink a cancelled order in O(1)
+ * from the handle it keeps in its order index.
+ */
+public final class OrderNode<T extends IOrder> {
+    private final T order;
+    private final FixedPointScale quantityScale;
+    private long remainingUnits;
+
+    AbstractPriceLevel<T> level;
+    OrderNode<T> prev;
+    OrderNode<T> next;
+
+    OrderNode(T order, AbstractPriceLevel<T> level, FixedPointScale quantityScale) {
+        this.order = Objects.requireNonNull(order, "Order cannot be null");
+        this.level = level;
+        this.quantityScale = quantityScale;
+        this.remainingUnits = quantityScale.toUnits(order.getRemainingQuantity());
+    }
+
+    public T getOrder() {
+        return order;
+    }
+
+    /**
+     * Quantity this order contributes to its level's running total.
+     */
+    public BigDecimal getRemainingQuantity() {
+        return quantityScale.toBigDecimal(remainingUnits);
+    }
+
+    /**
+     * Same as {@link #getRemainingQuantity()} in fixed-point units of the book's quantity scale.
+     */
+    public long getRemainingUnits() {
+        return remainingUnits;
+    }
+
+    public AbstractPriceLevel<T> getLevel() {
+        return level;
+    }
+
+    public boolean isLinked() {
+        return level != null;
+    }
+
+    void setRemainingUnits(long remainingUnits) {
+        this.remainingUnits = remainingUnits;
+    }
+}
@@ -0,0 +1,28 @@
+package core.ms.order_book.domain.value_object;
+
+import core.ms.shared.money.Money;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.function.Function;
+
+/**
+ * Storage for the price levels of one book side.
+ * Iteration always starts at the best price and walks towards worse prices.
+ */
+public interface PriceLevelIndex<L extends IPriceLevel> extends Iterable<L> {
+
+    L get(Money price);
+
+    L computeIfAbsent(Money price, Function<Money, L> levelFactory);
+
+    L remove(Money price);
+
+    Optional<L> best();
+
+    List<L> top(int count);
+
+    int size();
+
+    boolean isEmpty();
+}
@@ -0,0 +1,59 @@
+package core.ms.order_book.domain.value_object;
+
+import core.ms.shared.money.Money;
+
+import java.math.BigDecimal;
+import java.util.Objects;
+
+/**
+ * Immutable copy of a price level's aggregates, safe to hand to readers
+ * while the live level keeps changing.
+ */
+public final class PriceLevelSnapshot implements IPriceLevel {
+    private final Money price;
+    private final BigDecimal totalQuantity;
+    private final int orderCount;
+
+    public PriceLevelSnapshot(Money price, BigDecimal totalQuantity, int orderCount) {
+        this.price = Objects.requireNonNull(price, "Price cannot be null");
+        this.totalQuantity = Objects.requireNonNull(totalQuantity, "Total quantity cannot be null");
+        this.orderCount = orderCount;
+    }
+
+    public static PriceLevelSnapshot of(IPriceLevel level) {
+        if (level instanceof PriceLevelSnapshot snapshot) {
+            return snapshot;
+        }
+        return new PriceLevelSnapshot(level.getPrice(), level.getTotalQuantity(), level.getOrderCount());
+    }
+
+    @Override
+    public Money getPrice() {
+        return price;
+    }
+
+    @Override
+    public BigDecimal getTotalQuantity() {
+        return totalQuantity;
+    }
+
+    @Override
+    public int getOrderCount() {
+        return orderCount;
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return orderCount == 0;
+    }
+
+    @Override
+    public boolean hasQuantity(BigDecimal quantity) {
+        return totalQuantity.compareTo(quantity) >= 0;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("PriceLevelSnapshot[%s, orders=%d, total=%s]", price, orderCount, totalQuantity);
+    }
+}
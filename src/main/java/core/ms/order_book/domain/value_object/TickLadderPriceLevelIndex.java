@@ -0,0 +1,301 @@
+package core.ms.order_book.domain.value_object;
+
+import core.ms.shared.money.Money;
+
+import java.math.BigDecimal;
+import java.util.*;
+import java.util.function.Function;
+
+/**
+ * Level storage indexed by integer ticks instead of Money keys.
+ *
+ * Prices are converted once to a tick rank (lower rank = better price for this side).
+ * Ranks inside a fixed window around the best price live in a ring of slots, so lookup,
+ * insert and removal are plain array accesses. Levels that fall behind the window are kept
+ * in an overflow TreeMap keyed by rank and pulled back in when the window moves.
+ *
+ * Every price must sit on the tick grid; off-grid prices are rejected.
+ */
+public class TickLadderPriceLevelIndex<L extends IPriceLevel> implements PriceLevelIndex<L> {
+    public static final int DEFAULT_WINDOW_TICKS = 4096;
+
+    private final BigDecimal tickSize;
+    private final FixedPointScale priceScale;
+    private final long tickUnits;
+    private final boolean higherIsBetter;
+
+    private final Object[] ring;
+    private final int mask;
+    private final int headroom;
+    private final TreeMap<Long, L> overflow = new TreeMap<>();
+
+    private long windowStart;
+    private long bestRank = Long.MAX_VALUE;
+    private int ringCount;
+    private int size;
+
+    public TickLadderPriceLevelIndex(BigDecimal tickSize, boolean higherIsBetter) {
+        this(tickSize, higherIsBetter, DEFAULT_WINDOW_TICKS);
+    }
+
+    public TickLadderPriceLevelIndex(BigDecimal tickSize, boolean higherIsBetter, int windowTicks) {
+        Objects.requireNonNull(tickSize, "Tick size cannot be null");
+        if (tickSize.signum() <= 0) {
+            throw new IllegalArgumentException("Tick size must be positive: " + tickSize);
+        }
+        if (windowTicks < 16) {
+            throw new IllegalArgumentException("Window must hold at least 16 ticks");
+        }
+
+        this.tickSize = tickSize;
+        this.priceScale = FixedPointScale.forIncrement(tickSize);
+        this.tickUnits = priceScale.toUnits(tickSize);
+        this.higherIsBetter = higherIsBetter;
+
+        int capacity = Integer.highestOneBit(windowTicks - 1) << 1;
+        this.ring = new Object[capacity];
+        this.mask = capacity - 1;
+        this.headroom = capacity / 4;
+    }
+
+    // ============ PriceLevelIndex ============
+
+    @Override
+    public L get(Money price) {
+        return find(toRank(price));
+    }
+
+    @Override
+    public L computeIfAbsent(Money price, Function<Money, L> levelFactory) {
+        long rank = toRank(price);
+        L existing = find(rank);
+        if (existing != null) {
+            return existing;
+        }
+
+        L level = levelFactory.apply(price);
+        if (size == 0) {
+            windowStart = rank - headroom;
+        } else if (rank < windowStart) {
+            recentre(rank - headroom);
+        }
+        place(rank, level);
+        size++;
+        return level;
+    }
+
+    @Override
+    public L remove(Money price) {
+        long rank = toRank(price);
+
+        if (!inWindow(rank)) {
+            L removed = overflow.remove(rank);
+            if (removed != null) {
+                size--;
+            }
+            return removed;
+        }
+
+        int slot = slot(rank);
+        L removed = levelAt(slot);
+        if (removed == null) {
+            return null;
+        }
+
+        ring[slot] = null;
+        ringCount--;
+        size--;
+        if (rank == bestRank) {
+            advanceBest();
+        }
+        return removed;
+    }
+
+    @Override
+    public Optional<L> best() {
+        if (ringCount > 0) {
+            return Optional.of(levelAt(slot(bestRank)));
+        }
+        return overflow.isEmpty() ? Optional.empty() : Optional.of(overflow.firstEntry().getValue());
+    }
+
+    @Override
+    public List<L> top(int count) {
+        List<L> result = new ArrayList<>(Math.min(count, size));
+        for (L level : this) {
+            if (result.size() >= count) {
+                break;
+            }
+            result.add(level);
+        }
+        return result;
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    @Override
+    public Iterator<L> iterator() {
+        return new Iterator<>() {
+            private final long end = windowStart + ring.length;
+            private long rank = ringCount > 0 ? bestRank : end;
+            private Iterator<L> overflowIterator;
+            private L next = advance();
+
+            private L advance() {
+                while (rank < end) {
+                    L level = levelAt(slot(rank++));
+                    if (level != null) {
+                        return level;
+                    }
+                }
+                if (overflowIterator == null) {
+                    overflowIterator = overflow.values().iterator();
+                }
+                return overflowIterator.hasNext() ? overflowIterator.next() : null;
+            }
+
+            @Override
+            public boolean hasNext() {
+                return next != null;
+            }
+
+            @Override
+            public L next() {
+                if (next == null) {
+                    throw new NoSuchElementException();
+                }
+                L current = next;
+                next = advance();
+                return current;
+            }
+        };
+    }
+
+    public BigDecimal getTickSize() {
+        return tickSize;
+    }
+
+    // ============ TICK CONVERSION ============
+
+    /**
+     * Converts a price to its rank on this side. Ranks grow as prices get worse.
+     */
+    long toRank(Money price) {
+        long ticks = toTicks(price.getAmount());
+        return higherIsBetter ? -ticks : ticks;
+    }
+
+    private long toTicks(BigDecimal amount) {
+        long units;
+        try {
+            units = priceScale.toUnits(amount);
+        } catch (IllegalArgumentException | ArithmeticException e) {
+            throw notAligned(amount);
+        }
+        if (units % tickUnits != 0) {
+            throw notAligned(amount);
+        }
+        return units / tickUnits;
+    }
+
+    private IllegalArgumentException notAligned(BigDecimal amount) {
+        return new IllegalArgumentException(
+                "Price " + amount.toPlainString() + " is not aligned to tick size " + tickSize.toPlainString());
+    }
+
+    // ============ RING MAINTENANCE ============
+
+    private L find(long rank) {
+        return inWindow(rank) ? levelAt(slot(rank)) : overflow.get(rank);
+    }
+
+    private boolean inWindow(long rank) {
+        return rank >= windowStart && rank < windowStart + ring.length;
+    }
+
+    private int slot(long rank) {
+        return (int) (rank & mask);
+    }
+
+    @SuppressWarnings("unchecked")
+    private L levelAt(int slot) {
+        return (L) ring[slot];
+    }
+
+    private void place(long rank, L level) {
+        if (inWindow(rank)) {
+            ring[slot(rank)] = level;
+            ringCount++;
+            if (rank < bestRank) {
+                bestRank = rank;
+            }
+        } else {
+            overflow.put(rank, level);
+        }
+    }
+
+    /**
+     * Finds the next occupied slot after the best one was emptied. Keeps the best
+     * price in the first quarter of the window so the ring, not the overflow map,
+     * carries the active part of the book.
+     */
+    private void advanceBest() {
+        if (ringCount == 0) {
+            bestRank = Long.MAX_VALUE;
+            if (!overflow.isEmpty()) {
+                recentre(overflow.firstKey() - headroom);
+            }
+            return;
+        }
+
+        long end = windowStart + ring.length;
+        for (long rank = bestRank + 1; rank < end; rank++) {
+            if (ring[slot(rank)] != null) {
+                bestRank = rank;
+                break;
+            }
+        }
+
+        if (bestRank - windowStart > (long) ring.length - headroom) {
+            recentre(bestRank - headroom);
+        }
+    }
+
+    /**
+     * Moves the window to start at the given rank, spilling levels that no longer fit
+     * into the overflow map and pulling overflow levels that now fit into the ring.
+     */
+    private void recentre(long newStart) {
+        List<Map.Entry<Long, L>> ringLevels = new ArrayList<>(ringCount);
+        if (ringCount > 0) {
+            long end = windowStart + ring.length;
+            for (long rank = bestRank; rank < end; rank++) {
+                int slot = slot(rank);
+                if (ring[slot] != null) {
+                    ringLevels.add(Map.entry(rank, levelAt(slot)));
+                    ring[slot] = null;
+                }
+            }
+        }
+
+        ringCount = 0;
+        bestRank = Long.MAX_VALUE;
+        windowStart = newStart;
+
+        for (Map.Entry<Long, L> entry : ringLevels) {
+            place(entry.getKey(), entry.getValue());
+        }
+        while (!overflow.isEmpty() && overflow.firstKey() < windowStart + ring.length) {
+            Map.Entry<Long, L> entry = overflow.pollFirstEntry();
+            place(entry.getKey(), entry.getValue());
+        }
+    }
+}
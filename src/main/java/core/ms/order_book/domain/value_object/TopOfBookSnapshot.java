@@ -0,0 +1,123 @@
+package core.ms.order_book.domain.value_object;
+
+import core.ms.shared.money.Money;
+import core.ms.shared.money.Symbol;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Objects;
+import java.util.Optional;
+
+/**
+ * Immutable read model of a book, published by the writer after each mutation.
+ * Readers take the latest instance through a volatile reference and never touch the live book.
+ */
+public final class TopOfBookSnapshot {
+    // Deepest view any reader can ask for (the depth endpoint caps at 50 levels)
+    public static final int MAX_DEPTH = 50;
+
+    private final Symbol symbol;
+    private final long version;
+    private final MarketDepth depth;
+    private final BigDecimal bestBidQuantity;
+    private final BigDecimal bestAskQuantity;
+    private final int bidLevelCount;
+    private final int askLevelCount;
+    private final BigDecimal totalBidVolume;
+    private final BigDecimal totalAskVolume;
+    private final int orderCount;
+    private final LocalDateTime timestamp;
+
+    public TopOfBookSnapshot(Symbol symbol, long version, MarketDepth depth,
+                             BigDecimal bestBidQuantity, BigDecimal bestAskQuantity,
+                             int bidLevelCount, int askLevelCount,
+                             BigDecimal totalBidVolume, BigDecimal totalAskVolume,
+                             int orderCount) {
+        this.symbol = Objects.requireNonNull(symbol, "Symbol cannot be null");
+        this.version = version;
+        this.depth = Objects.requireNonNull(depth, "Depth cannot be null");
+        this.bestBidQuantity = bestBidQuantity;
+        this.bestAskQuantity = bestAskQuantity;
+        this.bidLevelCount = bidLevelCount;
+        this.askLevelCount = askLevelCount;
+        this.totalBidVolume = Objects.requireNonNull(totalBidVolume, "Total bid volume cannot be null");
+        this.totalAskVolume = Objects.requireNonNull(totalAskVolume, "Total ask volume cannot be null");
+        this.orderCount = orderCount;
+        this.timestamp = depth.getTimestamp();
+    }
+
+    public static TopOfBookSnapshot empty(Symbol symbol) {
+        return new TopOfBookSnapshot(symbol, 0, new MarketDepth(symbol, List.of(), List.of()),
+                null, null, 0, 0, BigDecimal.ZERO, BigDecimal.ZERO, 0);
+    }
+
+    public Symbol getSymbol() {
+        return symbol;
+    }
+
+    /**
+     * Increases by one with every publication, so readers can tell whether the book moved.
+     */
+    public long getVersion() {
+        return version;
+    }
+
+    public MarketDepth getDepth() {
+        return depth;
+    }
+
+    public MarketDepth getDepth(int levels) {
+        return depth.limit(levels);
+    }
+
+    public Optional<Money> getBestBid() {
+        return depth.getBestBid().map(PriceLevelSnapshot::getPrice);
+    }
+
+    public Optional<Money> getBestAsk() {
+        return depth.getBestAsk().map(PriceLevelSnapshot::getPrice);
+    }
+
+    public Optional<Money> getSpread() {
+        return Optional.ofNullable(depth.getSpread());
+    }
+
+    /**
+     * Remaining quantity of the first order at the best bid.
+     */
+    public Optional<BigDecimal> getBestBidQuantity() {
+        return Optional.ofNullable(bestBidQuantity);
+    }
+
+    /**
+     * Remaining quantity of the first order at the best ask.
+     */
+    public Optional<BigDecimal> getBestAskQuantity() {
+        return Optional.ofNullable(bestAskQuantity);
+    }
+
+    public int getBidLevelCount() {
+        return bidLevelCount;
+    }
+
+    public int getAskLevelCount() {
+        return askLevelCount;
+    }
+
+    public BigDecimal getTotalBidVolume() {
+        return totalBidVolume;
+    }
+
+    public BigDecimal getTotalAskVolume() {
+        return totalAskVolume;
+    }
+
+    public int getOrderCount() {
+        return orderCount;
+    }
+
+    public LocalDateTime getTimestamp() {
+        return timestamp;
+    }
+}
@@ -0,0 +1,73 @@
+package core.ms.order_book.domain.value_object;
+
+import core.ms.order.domain.entities.IOrder;
+import core.ms.shared.money.Money;
+
+import java.util.*;
+import java.util.function.Function;
+
+/**
+ * Default level storage: a TreeMap ordered by the side's priority calculator.
+ * Works for any price, whether or not it sits on the symbol's tick grid.
+ */
+public class TreePriceLevelIndex<L extends IPriceLevel> implements PriceLevelIndex<L> {
+    private final TreeMap<Money, L> levels;
+
+    public <T extends IOrder> TreePriceLevelIndex(IPriorityCalculator<T> priorityCalculator) {
+        Objects.requireNonNull(priorityCalculator, "Priority calculator cannot be null");
+
+        // Create TreeMap with custom comparator based on priority calculator
+        this.levels = new TreeMap<>((price1, price2) -> {
+            if (priorityCalculator.isPriceBetter(price2, price1)) return 1;
+            if (priorityCalculator.isPriceBetter(price1, price2)) return -1;
+            return 0;
+        });
+    }
+
+    @Override
+    public L get(Money price) {
+        return levels.get(price);
+    }
+
+    @Override
+    public L computeIfAbsent(Money price, Function<Money, L> levelFactory) {
+        return levels.computeIfAbsent(price, levelFactory);
+    }
+
+    @Override
+    public L remove(Money price) {
+        return levels.remove(price);
+    }
+
+    @Override
+    public Optional<L> best() {
+        return levels.isEmpty() ? Optional.empty() : Optional.of(levels.firstEntry().getValue());
+    }
+
+    @Override
+    public List<L> top(int count) {
+        List<L> result = new ArrayList<>(Math.min(count, levels.size()));
+        for (L level : levels.values()) {
+            if (result.size() >= count) {
+                break;
+            }
+            result.add(level);
+        }
+        return result;
+    }
+
+    @Override
+    public int size() {
+        return levels.size();
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return levels.isEmpty();
+    }
+
+    @Override
+    public Iterator<L> iterator() {
+        return levels.values().iterator();
+    }
+}
@@ -1,6 +1,7 @@
 package core.ms.order_book.domain.value_object;
 
 import core.ms.order.domain.entities.IBuyOrder;
+import core.ms.order.domain.entities.IOrder;
 import core.ms.order.domain.entities.ISellOrder;
 
 import java.math.BigDecimal;
@@ -34,7 +35,8 @@ public class TwoPointerMatchingAlgorithm implements MatchingAlgorithm {
 
     /**
      * Core two-pointer traversal algorithm.
-     * Modified to handle multiple orders at each price level properly.
+     * Units an order has been paired for are tracked across level pairs, so an order keeps
+     * filling at its best crossing level before any worse level is paired with it.
      */
     private List<MatchCandidateExtractor> executeTraversal(
             List<BidPriceLevel> bidLevels,
@@ -42,6 +44,7 @@ public class TwoPointerMatchingAlgorithm implements MatchingAlgorithm {
             MatchingStrategy strategy) {
 
         List<MatchCandidateExtractor> allCandidates = new ArrayList<>();
+        Map<String, Long> unpairedUnits = new HashMap<>();
 
         // Process all crossing price levels
         for (BidPriceLevel bidLevel : bidLevels) {
@@ -59,7 +62,7 @@ public class TwoPointerMatchingAlgorithm implements MatchingAlgorithm {
 
                 // Find all matches at these price levels
                 List<MatchCandidateExtractor> levelCandidates =
-                        findCandidatesAtPriceLevels(bidLevel, askLevel, strategy);
+                        findCandidatesAtPriceLevels(bidLevel, askLevel, strategy, unpairedUnits);
 
                 allCandidates.addAll(levelCandidates);
             }
@@ -77,66 +80,61 @@ public class TwoPointerMatchingAlgorithm implements MatchingAlgorithm {
     }
 
     /**
-     * Finds match candidates between orders at two specific price levels.
-     * Processes ALL orders at these levels, not just the first.
+     * Pairs the orders of two crossing levels in FIFO order on both sides.
+     * The buy pointer moves on once its order is fully paired, the sell pointer likewise,
+     * so one order can be paired with several orders of the other level.
      */
     private List<MatchCandidateExtractor> findCandidatesAtPriceLevels(
             BidPriceLevel bidLevel,
             AskPriceLevel askLevel,
-            MatchingStrategy strategy) {
-
-        // Get ALL active orders from each level
-        List<IBuyOrder> buyOrders = bidLevel.getActiveOrders();
-        List<ISellOrder> sellOrders = askLevel.getActiveOrders();
-
-        System.out.println("DEBUG TwoPointer: Found " + buyOrders.size() +
-                " buy orders and " + sellOrders.size() +
-                " sell orders at crossing levels");
+            MatchingStrategy strategy,
+            Map<String, Long> unpairedUnits) {
 
         List<MatchCandidateExtractor> candidates = new ArrayList<>();
 
-        // Track which orders have been matched to avoid double-matching
-        Set<String> matchedBuyOrders = new HashSet<>();
-        Set<String> matchedSellOrders = new HashSet<>();
-
-        // Process orders in FIFO order within the price level
-        for (IBuyOrder buyOrder : buyOrders) {
-            if (matchedBuyOrders.contains(buyOrder.getId())) {
+        OrderNode<IBuyOrder> buyNode = bidLevel.firstNode();
+        OrderNode<ISellOrder> sellNode = askLevel.firstNode();
+        while (buyNode != null && sellNode != null) {
+            IBuyOrder buyOrder = buyNode.getOrder();
+            ISellOrder sellOrder = sellNode.getOrder();
+            long buyUnits = unpaired(buyNode, unpairedUnits);
+            long sellUnits = unpaired(sellNode, unpairedUnits);
+            if (buyUnits <= 0 || !isMatchable(buyOrder)) {
+                buyNode = buyNode.next;
+                continue;
+            }
+            if (sellUnits <= 0 || !isMatchable(sellOrder)) {
+                sellNode = sellNode.next;
                 continue;
             }
 
-            for (ISellOrder sellOrder : sellOrders) {
-                if (matchedSellOrders.contains(sellOrder.getId())) {
-                    continue;
-                }
-
-                // Check if orders have remaining quantity
-                if (buyOrder.getRemainingQuantity().compareTo(BigDecimal.ZERO) <= 0 ||
-                        sellOrder.getRemainingQuantity().compareTo(BigDecimal.ZERO) <= 0) {
-                    System.out.println("DEBUG TwoPointer: Skipping order with no remaining quantity");
-                    continue;
-                }
-
-                System.out.println("DEBUG TwoPointer: Testing match between Buy: " +
-                        buyOrder.getId() + " and Sell: " + sellOrder.getId());
-
-                // Delegate to strategy for validation and candidate creation
-                List<? extends MatchCandidateExtractor> matches =
-                        strategy.findMatchCandidates(buyOrder, sellOrder);
-
-                if (!matches.isEmpty()) {
-                    candidates.addAll(matches);
-
-                    // Mark orders as matched for this round
-                    matchedBuyOrders.add(buyOrder.getId());
-                    matchedSellOrders.add(sellOrder.getId());
+            // Delegate to strategy for validation and candidate creation
+            List<? extends MatchCandidateExtractor> matches = strategy.findMatchCandidates(buyOrder, sellOrder);
+            if (matches.isEmpty()) {
+                sellNode = sellNode.next;
+                continue;
+            }
+            candidates.addAll(matches);
 
-                    // Move to next buy order (FIFO)
-                    break;
-                }
+            long paired = Math.min(buyUnits, sellUnits);
+            unpairedUnits.put(buyOrder.getId(), buyUnits - paired);
+            unpairedUnits.put(sellOrder.getId(), sellUnits - paired);
+            if (buyUnits == paired) {
+                buyNode = buyNode.next;
+            }
+            if (sellUnits == paired) {
+                sellNode = sellNode.next;
             }
         }
 
         return candidates;
     }
-}
\ No newline at end of file
+
+    private long unpaired(OrderNode<? extends IOrder> node, Map<String, Long> unpairedUnits) {
+        return unpairedUnits.getOrDefault(node.getOrder().getId(), node.getRemainingUnits());
+    }
+
+    private boolean isMatchable(IOrder order) {
+        return order.isActive() && order.getRemainingQuantity().compareTo(BigDecimal.ZERO) > 0;
+    }
+}
@@ -0,0 +1,121 @@
+package core.ms.order_book.infrastructure.persistence;
+
+import core.ms.order_book.domain.entities.OrderBook;
+import core.ms.order_book.infrastructure.persistence.DAO.OrderBookDAO;
+import core.ms.order_book.infrastructure.persistence.entities.OrderBookEntity;
+import core.ms.shared.money.Symbol;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Write-behind for order book metadata.
+ *
+ * Book writers only record the latest values in memory; a scheduled flush writes them to
+ * the order_books table. Updates for the same symbol coalesce, so a busy book costs one
+ * row write per flush no matter how many orders it took.
+ */
+@Component
+public class OrderBookMetadataFlusher {
+
+    private static final Logger logger = LoggerFactory.getLogger(OrderBookMetadataFlusher.class);
+
+    @Autowired
+    private OrderBookDAO orderBookDAO;
+
+    private final Map<Symbol, PendingMetadata> pending = new ConcurrentHashMap<>();
+
+    /**
+     * Records the book's current counters. Called on the book's writer, touches no JDBC.
+     */
+    public void recordActivity(OrderBook orderBook) {
+        pending.put(orderBook.getSymbol(), new PendingMetadata(
+                true,
+                Instant.now(),
+                orderBook.getOrderCount(),
+                orderBook.getTotalBidVolume().add(orderBook.getTotalAskVolume())
+        ));
+    }
+
+    /**
+     * Records that the book was removed; the row is kept and marked inactive.
+     */
+    public void recordRemoval(Symbol symbol) {
+        pending.put(symbol, new PendingMetadata(false, Instant.now(), null, null));
+    }
+
+    @Scheduled(fixedDelayString = "${orderbook.metadata.flush-interval:5000}")
+    public void flush() {
+        int written = 0;
+        for (Symbol symbol : new ArrayList<>(pending.keySet())) {
+            PendingMetadata metadata = pending.remove(symbol);
+            if (metadata == null) {
+                continue;
+            }
+
+            try {
+                write(symbol, metadata);
+                written++;
+            } catch (Exception e) {
+                // Keep it for the next flush unless a newer update already replaced it
+                pending.putIfAbsent(symbol, metadata);
+                logger.error("❌ Failed to flush order book metadata for {}", symbol.getCode(), e);
+            }
+        }
+
+        if (written > 0) {
+            logger.debug("💾 Flushed metadata for {} order books", written);
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        flush();
+    }
+
+    public int getPendingCount() {
+        return pending.size();
+    }
+
+    private void write(Symbol symbol, PendingMetadata metadata) {
+        OrderBookEntity entity = orderBookDAO.findBySymbolCode(symbol.getCode())
+                .orElseGet(() -> new OrderBookEntity(
+                        symbol.getCode(),
+                        symbol.getName(),
+                        symbol.getBaseCurrency().name(),
+                        symbol.getQuoteCurrency().name()
+                ));
+
+        entity.setActive(metadata.active);
+        entity.setLastActivity(metadata.lastActivity);
+        if (metadata.totalOrders != null) {
+            entity.setTotalOrders(metadata.totalOrders);
+            entity.setTotalVolume(metadata.totalVolume);
+        }
+
+        orderBookDAO.save(entity);
+    }
+
+    private static final class PendingMetadata {
+        private final boolean active;
+        private final Instant lastActivity;
+        private final Integer totalOrders;
+        private final BigDecimal totalVolume;
+
+        private PendingMetadata(boolean active, Instant lastActivity, Integer totalOrders, BigDecimal totalVolume) {
+            this.active = active;
+            this.lastActivity = lastActivity;
+            this.totalOrders = totalOrders;
+            this.totalVolume = totalVolume;
+        }
+    }
+}
@@ -2,24 +2,32 @@ package core.ms.order_book.infrastructure.persistence;
 
 import core.ms.order_book.domain.entities.OrderBook;
 import core.ms.order_book.domain.entities.OrderBookManager;
+import core.ms.order_book.domain.ports.outbound.OrderBookJournal;
 import core.ms.order_book.domain.ports.outbound.OrderBookRepository;
+import core.ms.order_book.domain.value_object.MatchingMode;
 import core.ms.order_book.infrastructure.persistence.DAO.OrderBookDAO;
-import core.ms.order_book.infrastructure.persistence.entities.OrderBookEntity;
 import core.ms.shared.money.Symbol;
+import core.ms.symbol.dao.SymbolRepository;
+import core.ms.symbol.domain.SymbolEntity;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Primary;
 import org.springframework.stereotype.Repository;
-import org.springframework.transaction.annotation.Isolation;
-import org.springframework.transaction.annotation.Propagation;
-import org.springframework.transaction.annotation.Transactional;
 
-import java.time.Instant;
+import java.math.BigDecimal;
+import java.util.Arrays;
 import java.util.Collection;
 import java.util.Optional;
-
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Order books live in {@link OrderBookManager}, which acts as the registry of active books.
+ * The database only holds book metadata, written behind by {@link OrderBookMetadataFlusher},
+ * so adding an order or reading a book does not touch JDBC.
+ */
 @Repository
 @Primary  // This will be the primary implementation if both exist
-@Transactional
 public class OrderBookRepositoryJpaImpl implements OrderBookRepository {
 
     private final OrderBookManager orderBookManager;
@@ -27,92 +35,87 @@ public class OrderBookRepositoryJpaImpl implements OrderBookRepository {
     @Autowired
     private OrderBookDAO orderBookDAO;
 
+    @Autowired
+    private SymbolRepository symbolRepository;
+
+    @Autowired
+    private OrderBookMetadataFlusher metadataFlusher;
+
+    @Autowired
+    private OrderBookJournal journal;
+
+    // Symbols whose books use the tick ladder layout (comma separated codes)
+    @Value("${orderbook.price-ladder.symbols:}")
+    private String priceLadderSymbols;
+
+    // full-scan or incremental, see MatchingMode
+    @Value("${orderbook.matching.mode:full-scan}")
+    private String matchingMode;
+
     public OrderBookRepositoryJpaImpl() {
-        this.orderBookManager = new OrderBookManager();
+        this.orderBookManager = new OrderBookManager(this::resolveLadderTickSize);
     }
 
-    @Override
-    public OrderBook save(OrderBook orderBook) {
-        Symbol symbol = orderBook.getSymbol();
-
-        // Don't update DB metadata on every save - only periodically
-        boolean shouldUpdateMetadata = shouldUpdateDatabaseMetadata();
-
-        if (shouldUpdateMetadata) {
-            // Only update metadata occasionally
-            OrderBookEntity entity = orderBookDAO.findBySymbolCode(symbol.getCode())
-                    .orElse(new OrderBookEntity(
-                            symbol.getCode(),
-                            symbol.getName(),
-                            symbol.getBaseCurrency().name(),
-                            symbol.getQuoteCurrency().name()
-                    ));
-
-            entity.setLastActivity(Instant.now());
-            entity.setTotalOrders(orderBook.getOrderCount());
-            entity.setTotalVolume(orderBook.getTotalBidVolume().add(orderBook.getTotalAskVolume()));
-
-            orderBookDAO.save(entity);
+    /**
+     * Returns the symbol's tick size when its book is configured for the tick ladder.
+     */
+    private BigDecimal resolveLadderTickSize(Symbol symbol) {
+        if (!getPriceLadderSymbols().contains(symbol.getCode())) {
+            return null;
         }
+        return symbolRepository.findById(symbol.getCode())
+                .map(SymbolEntity::getTickSize)
+                .orElse(null);
+    }
 
-        // Keep in-memory state updated
-        if (!orderBookManager.getActiveSymbols().contains(symbol)) {
-            orderBookManager.createOrderBook(symbol);
+    private Set<String> getPriceLadderSymbols() {
+        if (priceLadderSymbols == null || priceLadderSymbols.isBlank()) {
+            return Set.of();
         }
-
-        return orderBook;
+        return Arrays.stream(priceLadderSymbols.split(","))
+                .map(code -> code.trim().toUpperCase())
+                .filter(code -> !code.isEmpty())
+                .collect(Collectors.toSet());
     }
 
-    private volatile long lastMetadataUpdate = 0;
-    private static final long METADATA_UPDATE_INTERVAL = 5000; // 5 seconds
+    @Override
+    public OrderBook save(OrderBook orderBook) {
+        // Keep the registry pointing at this instance, then queue the metadata write
+        OrderBook registered = orderBookManager.registerOrderBook(orderBook);
+        metadataFlusher.recordActivity(registered);
+        return registered;
+    }
 
-    private boolean shouldUpdateDatabaseMetadata() {
-        long now = System.currentTimeMillis();
-        if (now - lastMetadataUpdate > METADATA_UPDATE_INTERVAL) {
-            lastMetadataUpdate = now;
-            return true;
+    @Override
+    public OrderBook getOrCreate(Symbol symbol) {
+        Optional<OrderBook> existing = orderBookManager.findOrderBook(symbol);
+        if (existing.isPresent()) {
+            return existing.get();
         }
-        return false;
+
+        OrderBook orderBook = orderBookManager.getOrderBook(symbol);
+        metadataFlusher.recordActivity(orderBook);
+        return orderBook;
     }
 
     @Override
     public Optional<OrderBook> findBySymbol(Symbol symbol) {
-        // Check if exists in database
-        Optional<OrderBookEntity> entityOpt = orderBookDAO.findBySymbolCode(symbol.getCode());
-
-        if (entityOpt.isEmpty() || !entityOpt.get().isActive()) {
-            return Optional.empty();
-        }
-
-        // Get or create from manager
-        try {
-            OrderBook orderBook = orderBookManager.getOrderBook(symbol);
-            return Optional.of(orderBook);
-        } catch (Exception e) {
-            // If not in manager but in DB, create it
-            orderBookManager.createOrderBook(symbol);
-            return Optional.of(orderBookManager.getOrderBook(symbol));
-        }
+        return orderBookManager.findOrderBook(symbol);
     }
 
     @Override
     public boolean existsBySymbol(Symbol symbol) {
-        return orderBookDAO.existsBySymbolCode(symbol.getCode()) &&
-                orderBookManager.getActiveSymbols().contains(symbol);
+        return orderBookManager.findOrderBook(symbol).isPresent();
     }
 
     @Override
     public boolean deleteBySymbol(Symbol symbol) {
-        // Mark as inactive in database
-        Optional<OrderBookEntity> entityOpt = orderBookDAO.findBySymbolCode(symbol.getCode());
-        if (entityOpt.isPresent()) {
-            OrderBookEntity entity = entityOpt.get();
-            entity.setActive(false);
-            orderBookDAO.save(entity);
+        boolean removed = orderBookManager.removeOrderBook(symbol);
+        if (removed) {
+            // Row is marked inactive by the flusher
+            metadataFlusher.recordRemoval(symbol);
         }
-
-        // Remove from manager
-        return orderBookManager.removeOrderBook(symbol);
+        return removed;
     }
 
     @Override
@@ -123,14 +126,21 @@ public class OrderBookRepositoryJpaImpl implements OrderBookRepository {
 
     @Override
     public long count() {
-        return orderBookDAO.countActive();
+        return orderBookManager.getTotalOrderBooks();
     }
 
     /**
-     * Initializes order books from database on startup
+     * Loads the registry of active order books from the database on startup.
+     * After this the registry is the source of truth and lookups never hit the database.
      */
     @jakarta.annotation.PostConstruct
     public void initializeFromDatabase() {
+        orderBookManager.setMatchingMode(MatchingMode.fromProperty(matchingMode));
+        if (journal.isEnabled()) {
+            // Books are refilled from the journal by OrderBookRecoveryService once the context is up
+            orderBookManager.setJournal(journal);
+        }
+
         // Load all active order books from database
         orderBookDAO.findByActiveTrue().forEach(entity -> {
             Symbol symbol = Symbol.createFromCode(entity.getSymbolCode());
@@ -140,8 +150,6 @@ public class OrderBookRepositoryJpaImpl implements OrderBookRepository {
         });
     }
 
-   
-
     /**
      * Provides access to the manager for market overview functionality
      */
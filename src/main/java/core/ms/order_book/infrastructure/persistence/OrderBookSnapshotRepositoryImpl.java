@@ -2,6 +2,7 @@ package core.ms.order_book.infrastructure.persistence;
 
 import core.ms.order_book.domain.entities.OrderBook;
 import core.ms.order_book.domain.ports.outbound.OrderBookSnapshotRepository;
+import core.ms.order_book.domain.value_object.OrderBookImage;
 import core.ms.order_book.domain.value_object.OrderBookSnapshot;
 import core.ms.order_book.infrastructure.persistence.DAO.OrderBookSnapshotDAO;
 import core.ms.order_book.infrastructure.persistence.entities.OrderBookSnapshotEntity;
@@ -58,7 +59,27 @@ public class OrderBookSnapshotRepositoryImpl implements OrderBookSnapshotReposit
 
     // Helper method to create snapshot from OrderBook
     public void createSnapshot(OrderBook orderBook) {
-        OrderBookSnapshotEntity entity = mapper.toEntity(orderBook);
+        saveSnapshot(captureSnapshot(orderBook));
+    }
+
+    /**
+     * Copies the book into a snapshot entity without touching the database,
+     * so it can be done while the book's writer is held off.
+     */
+    public OrderBookSnapshotEntity captureSnapshot(OrderBook orderBook) {
+        return mapper.toEntity(orderBook);
+    }
+
+    public void saveSnapshot(OrderBookSnapshotEntity entity) {
         dao.save(entity);
     }
+
+    /**
+     * Encodes the image and stores it as a single row.
+     *
+     * @return the stored entity, whose image holds the encoded book
+     */
+    public OrderBookSnapshotEntity saveImage(OrderBookImage image) {
+        return dao.save(mapper.toEntity(image));
+    }
 }
\ No newline at end of file
@@ -22,6 +22,15 @@ public class OrderBookSnapshotEntity {
     @Column(name = "snapshot_time", nullable = false)
     private Instant snapshotTime;
 
+    // Last order book journal record reflected in the orders
+    @Column(name = "journal_sequence")
+    private Long journalSequence;
+
+    // Binary image of the whole book (see OrderBookImageCodec); orders are then not stored as rows
+    @Lob
+    @Column(name = "image")
+    private byte[] image;
+
     @OneToMany(mappedBy = "snapshot", cascade = CascadeType.ALL,
             fetch = FetchType.LAZY, orphanRemoval = true)
     private List<OrderSnapshotEntity> orders = new ArrayList<>();
@@ -51,6 +60,10 @@ public class OrderBookSnapshotEntity {
     public void setSymbolCode(String symbolCode) { this.symbolCode = symbolCode; }
     public Instant getSnapshotTime() { return snapshotTime; }
     public void setSnapshotTime(Instant snapshotTime) { this.snapshotTime = snapshotTime; }
+    public Long getJournalSequence() { return journalSequence; }
+    public void setJournalSequence(Long journalSequence) { this.journalSequence = journalSequence; }
+    public byte[] getImage() { return image; }
+    public void setImage(byte[] image) { this.image = image; }
     public List<OrderSnapshotEntity> getOrders() { return orders; }
     public void setOrders(List<OrderSnapshotEntity> orders) { this.orders = orders; }
     public OrderBookStatisticsEntity getStatistics() { return statistics; }
@@ -35,6 +35,12 @@ public class OrderSnapshotEntity {
     @Column(name = "created_at", nullable = false)
     private Instant createdAt;
 
+    @Column(name = "portfolio_id", length = 50)
+    private String portfolioId;
+
+    @Column(name = "reservation_id", length = 50)
+    private String reservationId;
+
     @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "snapshot_id", nullable = false)
     private OrderBookSnapshotEntity snapshot;
@@ -59,6 +65,10 @@ public class OrderSnapshotEntity {
     public void setRemainingQuantity(BigDecimal remainingQuantity) { this.remainingQuantity = remainingQuantity; }
     public Instant getCreatedAt() { return createdAt; }
     public void setCreatedAt(Instant createdAt) { this.createdAt = createdAt; }
+    public String getPortfolioId() { return portfolioId; }
+    public void setPortfolioId(String portfolioId) { this.portfolioId = portfolioId; }
+    public String getReservationId() { return reservationId; }
+    public void setReservationId(String reservationId) { this.reservationId = reservationId; }
     public OrderBookSnapshotEntity getSnapshot() { return snapshot; }
     public void setSnapshot(OrderBookSnapshotEntity snapshot) { this.snapshot = snapshot; }
 }
\ No newline at end of file
@@ -0,0 +1,96 @@
+package core.ms.order_book.infrastructure.persistence.journal;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Variable-length encoding of journal and snapshot fields.
+ *
+ * Unsigned values use LEB128 varints (7 bits per byte), so the unit counts and lengths that
+ * dominate the journal take one to three bytes. Strings are a varint length and UTF-8 bytes.
+ */
+public final class JournalCodec {
+
+    private JournalCodec() {
+    }
+
+    // ============ WRITE ============
+
+    public static void putVarLong(ByteBuffer buffer, long value) {
+        if (value < 0) {
+            throw new IllegalArgumentException("Negative value cannot be journaled: " + value);
+        }
+        while ((value & ~0x7FL) != 0) {
+            buffer.put((byte) ((value & 0x7F) | 0x80));
+            value >>>= 7;
+        }
+        buffer.put((byte) value);
+    }
+
+    public static int varLongSize(long value) {
+        int size = 1;
+        while ((value & ~0x7FL) != 0) {
+            value >>>= 7;
+            size++;
+        }
+        return size;
+    }
+
+    /**
+     * Signed value, zigzag encoded so small negatives stay short.
+     */
+    public static void putZigZag(ByteBuffer buffer, long value) {
+        putVarLong(buffer, (value << 1) ^ (value >> 63));
+    }
+
+    public static void putString(ByteBuffer buffer, String value) {
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        putVarLong(buffer, bytes.length);
+        buffer.put(bytes);
+    }
+
+    /**
+     * Scale byte followed by the unscaled value, zigzag encoded so small negatives stay short.
+     */
+    public static void putDecimal(ByteBuffer buffer, BigDecimal value) {
+        if (value.scale() < 0) {
+            value = value.setScale(0);
+        }
+        long unscaled = value.unscaledValue().longValueExact();
+        buffer.put((byte) value.scale());
+        putZigZag(buffer, unscaled);
+    }
+
+    // ============ READ ============
+
+    public static long getVarLong(ByteBuffer buffer) {
+        long value = 0;
+        for (int shift = 0; shift < 64; shift += 7) {
+            byte b = buffer.get();
+            value |= (long) (b & 0x7F) << shift;
+            if ((b & 0x80) == 0) {
+                return value;
+            }
+        }
+        throw new IllegalStateException("Malformed varint in journal");
+    }
+
+    public static long getZigZag(ByteBuffer buffer) {
+        long zigzag = getVarLong(buffer);
+        return (zigzag >>> 1) ^ -(zigzag & 1);
+    }
+
+    public static String getString(ByteBuffer buffer) {
+        int length = (int) getVarLong(buffer);
+        byte[] bytes = new byte[length];
+        buffer.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    public static BigDecimal getDecimal(ByteBuffer buffer) {
+        int scale = buffer.get();
+        return new BigDecimal(BigInteger.valueOf(getZigZag(buffer)), scale);
+    }
+}
@@ -0,0 +1,243 @@
+package core.ms.order_book.infrastructure.persistence.journal;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.zip.CRC32C;
+
+/**
+ * One pre-allocated, memory-mapped journal file.
+ *
+ * Layout: a 16 byte header (magic, quantity scale, sequence of the first record) followed by
+ * records framed as [varint payload length][payload][CRC32C of payload]. The file is
+ * zero-filled, so a zero length marks the end of the written records; a frame that runs past
+ * the file or fails its checksum is a torn write and also ends the segment.
+ */
+final class JournalSegment {
+    static final int MAGIC = 0x4F424A31; // "OBJ1"
+    static final int HEADER_SIZE = 16;
+    private static final int CRC_SIZE = 4;
+
+    private final Path path;
+    private final FileChannel channel;
+    private final MappedByteBuffer buffer;
+    private final long baseSequence;
+    private final int quantityScale;
+    private final CRC32C crc = new CRC32C();
+    private int writePosition;
+    private int recordCount;
+
+    private JournalSegment(Path path, FileChannel channel, MappedByteBuffer buffer,
+                           long baseSequence, int quantityScale) {
+        this.path = path;
+        this.channel = channel;
+        this.buffer = buffer;
+        this.baseSequence = baseSequence;
+        this.quantityScale = quantityScale;
+        this.writePosition = HEADER_SIZE;
+    }
+
+    static String fileName(long baseSequence) {
+        return String.format("%020d.journal", baseSequence);
+    }
+
+    static JournalSegment create(Path directory, long baseSequence, int quantityScale, int size) {
+        Path path = directory.resolve(fileName(baseSequence));
+        try {
+            FileChannel channel = FileChannel.open(path, StandardOpenOption.CREATE_NEW,
+                    StandardOpenOption.READ, StandardOpenOption.WRITE);
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, size);
+            buffer.putInt(0, MAGIC);
+            buffer.putInt(4, quantityScale);
+            buffer.putLong(8, baseSequence);
+            buffer.force(0, HEADER_SIZE);
+            return new JournalSegment(path, channel, buffer, baseSequence, quantityScale);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot create journal segment " + path, e);
+        }
+    }
+
+    /**
+     * Maps an existing segment for reading, or for appending after its last valid record.
+     */
+    static JournalSegment open(Path path, boolean writable) {
+        try {
+            FileChannel channel = writable
+                    ? FileChannel.open(path, StandardOpenOption.READ, StandardOpenOption.WRITE)
+                    : FileChannel.open(path, StandardOpenOption.READ);
+            MappedByteBuffer buffer = channel.map(
+                    writable ? FileChannel.MapMode.READ_WRITE : FileChannel.MapMode.READ_ONLY,
+                    0, channel.size());
+            if (buffer.capacity() < HEADER_SIZE || buffer.getInt(0) != MAGIC) {
+                channel.close();
+                throw new IllegalStateException("Not a journal segment: " + path);
+            }
+            JournalSegment segment = new JournalSegment(path, channel, buffer,
+                    buffer.getLong(8), buffer.getInt(4));
+            segment.forEachRecord((sequence, payload) -> { });
+            return segment;
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot open journal segment " + path, e);
+        }
+    }
+
+    // ============ WRITE ============
+
+    boolean hasRoom(int payloadLength) {
+        return writePosition + JournalCodec.varLongSize(payloadLength) + payloadLength + CRC_SIZE
+                <= buffer.capacity();
+    }
+
+    /**
+     * Appends one record. The caller checks {@link #hasRoom(int)} first.
+     *
+     * @return the record's sequence
+     */
+    long append(byte[] payload, int length) {
+        int position = writePosition;
+        long remaining = length;
+        while ((remaining & ~0x7FL) != 0) {
+            buffer.put(position++, (byte) ((remaining & 0x7F) | 0x80));
+            remaining >>>= 7;
+        }
+        buffer.put(position++, (byte) remaining);
+        buffer.put(position, payload, 0, length);
+        position += length;
+
+        crc.reset();
+        crc.update(payload, 0, length);
+        buffer.putInt(position, (int) crc.getValue());
+
+        writePosition = position + CRC_SIZE;
+        return baseSequence + recordCount++;
+    }
+
+    /**
+     * Zeroes everything after the last valid record, so records appended from there on are
+     * never followed by leftovers of a torn write that could read as valid records.
+     *
+     * @return whether anything had to be cleared
+     */
+    boolean clearTail() {
+        int capacity = buffer.capacity();
+        int dirtyFrom = -1;
+        int dirtyTo = -1;
+        int position = writePosition;
+        for (; position + Long.BYTES <= capacity; position += Long.BYTES) {
+            if (buffer.getLong(position) != 0) {
+                buffer.putLong(position, 0);
+                dirtyFrom = dirtyFrom < 0 ? position : dirtyFrom;
+                dirtyTo = position + Long.BYTES;
+            }
+        }
+        for (; position < capacity; position++) {
+            if (buffer.get(position) != 0) {
+                buffer.put(position, (byte) 0);
+                dirtyFrom = dirtyFrom < 0 ? position : dirtyFrom;
+                dirtyTo = position + 1;
+            }
+        }
+        if (dirtyFrom < 0) {
+            return false;
+        }
+        force(dirtyFrom, dirtyTo);
+        return true;
+    }
+
+    /**
+     * Flushes the given byte range of the mapping to the device.
+     */
+    void force(int from, int to) {
+        if (to > from) {
+            buffer.force(from, to - from);
+        }
+    }
+
+    // ============ READ ============
+
+    interface RecordVisitor {
+        void visit(long sequence, ByteBuffer payload);
+    }
+
+    /**
+     * Visits the valid records in order and leaves the write position after the last one.
+     */
+    void forEachRecord(RecordVisitor visitor) {
+        ByteBuffer view = buffer.duplicate();
+        int position = HEADER_SIZE;
+        int count = 0;
+        byte[] scratch = new byte[256];
+
+        while (position < view.capacity()) {
+            view.position(position);
+            int length;
+            try {
+                length = (int) JournalCodec.getVarLong(view);
+            } catch (RuntimeException e) {
+                break;
+            }
+            int payloadStart = view.position();
+            if (length <= 0 || payloadStart + length + CRC_SIZE > view.capacity()) {
+                break;
+            }
+
+            if (scratch.length < length) {
+                scratch = new byte[Math.max(length, scratch.length * 2)];
+            }
+            view.get(payloadStart, scratch, 0, length);
+            crc.reset();
+            crc.update(scratch, 0, length);
+            if (view.getInt(payloadStart + length) != (int) crc.getValue()) {
+                break;
+            }
+
+            visitor.visit(baseSequence + count, ByteBuffer.wrap(scratch, 0, length).slice());
+            count++;
+            position = payloadStart + length + CRC_SIZE;
+        }
+
+        writePosition = position;
+        recordCount = count;
+    }
+
+    // ============ STATE ============
+
+    long getBaseSequence() {
+        return baseSequence;
+    }
+
+    /**
+     * Sequence of the last record in the segment, or base - 1 when it is empty.
+     */
+    long getLastSequence() {
+        return baseSequence + recordCount - 1;
+    }
+
+    int getRecordCount() {
+        return recordCount;
+    }
+
+    int getQuantityScale() {
+        return quantityScale;
+    }
+
+    int getWritePosition() {
+        return writePosition;
+    }
+
+    Path getPath() {
+        return path;
+    }
+
+    void close() {
+        try {
+            channel.close();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot close journal segment " + path, e);
+        }
+    }
+}
@@ -0,0 +1,503 @@
+package core.ms.order_book.infrastructure.persistence.journal;
+
+import core.ms.order.domain.entities.IBuyOrder;
+import core.ms.order.domain.entities.IOrder;
+import core.ms.order.domain.factories.OrderFactory;
+import core.ms.order.domain.value_objects.OrderStatusEnum;
+import core.ms.order_book.domain.ports.outbound.OrderBookJournal;
+import core.ms.order_book.domain.value_object.FixedPointScale;
+import core.ms.shared.money.Currency;
+import core.ms.shared.money.Money;
+import core.ms.shared.money.Symbol;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.math.BigDecimal;
+import java.nio.BufferOverflowException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+import java.util.stream.Stream;
+
+/**
+ * Order book journal on memory-mapped segment files, one directory per symbol.
+ *
+ * Appending is a copy into the mapping, done by the book's writer. Durability is a group
+ * commit: a single sync thread forces the newly written range of every journal on each
+ * interval, so one fsync covers all the records written since the last one.
+ * Callers that must not act before their records are on disk use {@link #awaitDurable}.
+ * Segments are deleted once a snapshot covers every record in them, see {@link #truncateThrough}.
+ */
+@Component
+public class MappedOrderBookJournal implements OrderBookJournal {
+
+    private static final Logger logger = LoggerFactory.getLogger(MappedOrderBookJournal.class);
+
+    static final byte ADD_BUY = 1;
+    static final byte ADD_SELL = 2;
+    static final byte CANCEL = 3;
+    static final byte FILL = 4;
+    static final byte REDUCE = 5;
+    static final byte RELEASE = 6;
+
+    private static final int MAX_RECORD_SIZE = 4096;
+    private static final String SEGMENT_SUFFIX = ".journal";
+
+    @Value("${orderbook.journal.enabled:false}")
+    private boolean enabled;
+
+    @Value("${orderbook.journal.directory:data/journal}")
+    private String directory;
+
+    @Value("${orderbook.journal.segment-size-mb:64}")
+    private int segmentSizeMb;
+
+    @Value("${orderbook.journal.sync-interval-micros:1000}")
+    private long syncIntervalMicros;
+
+    private final Map<Symbol, SymbolJournal> journals = new ConcurrentHashMap<>();
+    private volatile boolean running;
+    private Thread syncThread;
+
+    @PostConstruct
+    public void start() {
+        if (!enabled) {
+            return;
+        }
+        try {
+            Files.createDirectories(root());
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot create journal directory " + root(), e);
+        }
+
+        running = true;
+        syncThread = new Thread(this::syncLoop, "orderbook-journal-sync");
+        syncThread.setDaemon(true);
+        syncThread.start();
+        logger.info("📒 Order book journal enabled in {} (sync every {} µs)",
+                root().toAbsolutePath(), syncIntervalMicros);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        if (!running) {
+            return;
+        }
+        running = false;
+        LockSupport.unpark(syncThread);
+        try {
+            syncThread.join(TimeUnit.SECONDS.toMillis(5));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        journals.values().forEach(SymbolJournal::close);
+        journals.clear();
+    }
+
+    @Override
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    // ============ RECORDING ============
+
+    @Override
+    public long recordAdd(Symbol symbol, IOrder order, long remainingUnits) {
+        return journal(symbol).append(record -> {
+            record.put(order instanceof IBuyOrder ? ADD_BUY : ADD_SELL);
+            JournalCodec.putString(record, order.getId());
+            JournalCodec.putString(record, Objects.toString(order.getPortfolioId(), ""));
+            JournalCodec.putString(record, Objects.toString(order.getReservationId(), ""));
+            JournalCodec.putString(record, order.getPrice().getCurrency().name());
+            JournalCodec.putDecimal(record, order.getPrice().getAmount());
+            JournalCodec.putDecimal(record, order.getQuantity());
+            JournalCodec.putVarLong(record, remainingUnits);
+        });
+    }
+
+    @Override
+    public long recordCancel(Symbol symbol, String orderId) {
+        return journal(symbol).append(record -> {
+            record.put(CANCEL);
+            JournalCodec.putString(record, orderId);
+        });
+    }
+
+    @Override
+    public long recordFill(Symbol symbol, String buyOrderId, String sellOrderId, long units) {
+        return journal(symbol).append(record -> {
+            record.put(FILL);
+            JournalCodec.putString(record, buyOrderId);
+            JournalCodec.putString(record, sellOrderId);
+            JournalCodec.putVarLong(record, units);
+        });
+    }
+
+    @Override
+    public long recordReduce(Symbol symbol, String orderId, long units) {
+        return journal(symbol).append(record -> {
+            record.put(REDUCE);
+            JournalCodec.putString(record, orderId);
+            JournalCodec.putVarLong(record, units);
+        });
+    }
+
+    @Override
+    public long recordRelease(Symbol symbol, String orderId, long units) {
+        return journal(symbol).append(record -> {
+            record.put(RELEASE);
+            JournalCodec.putString(record, orderId);
+            JournalCodec.putVarLong(record, units);
+        });
+    }
+
+    @Override
+    public void awaitDurable(Symbol symbol) {
+        if (!running) {
+            return;
+        }
+        SymbolJournal journal = journals.get(symbol);
+        if (journal != null) {
+            journal.awaitDurable(journal.lastSequence);
+        }
+    }
+
+    @Override
+    public long getLastSequence(Symbol symbol) {
+        SymbolJournal journal = journals.get(symbol);
+        return journal != null ? journal.lastSequence : lastSequenceOnDisk(symbol);
+    }
+
+    /**
+     * Deletes the segments whose last record is at or before the sequence. The segment being
+     * written is the last one on disk and is never deleted, even when a snapshot covers it.
+     */
+    @Override
+    public int truncateThrough(Symbol symbol, long sequence) {
+        List<Path> segments = segmentFiles(symbolDirectory(symbol));
+        int deleted = 0;
+        for (int i = 0; i + 1 < segments.size(); i++) {
+            // A segment ends just before the next one starts
+            if (baseSequenceOf(segments.get(i + 1)) - 1 > sequence) {
+                break;
+            }
+            try {
+                Files.deleteIfExists(segments.get(i));
+                deleted++;
+            } catch (IOException e) {
+                throw new UncheckedIOException("Cannot delete journal segment " + segments.get(i), e);
+            }
+        }
+        if (deleted > 0) {
+            logger.info("📒 Deleted {} journal segments of {} covered by the snapshot at {}",
+                    deleted, symbol.getCode(), sequence);
+        }
+        return deleted;
+    }
+
+    private SymbolJournal journal(Symbol symbol) {
+        if (!running) {
+            throw new IllegalStateException("Order book journal is not running");
+        }
+        return journals.computeIfAbsent(symbol, SymbolJournal::new);
+    }
+
+    // ============ GROUP COMMIT ============
+
+    private void syncLoop() {
+        long intervalNanos = TimeUnit.MICROSECONDS.toNanos(syncIntervalMicros);
+        while (running) {
+            syncAll();
+            LockSupport.parkNanos(intervalNanos);
+        }
+        syncAll();
+    }
+
+    private void syncAll() {
+        for (SymbolJournal journal : journals.values()) {
+            try {
+                journal.sync();
+            } catch (Exception e) {
+                logger.error("💥 Failed to sync order book journal for {}", journal.symbol.getCode(), e);
+            }
+        }
+    }
+
+    // ============ REPLAY ============
+
+    @Override
+    public Set<Symbol> getJournaledSymbols() {
+        if (!Files.isDirectory(root())) {
+            return Set.of();
+        }
+        Set<Symbol> symbols = new HashSet<>();
+        try (Stream<Path> children = Files.list(root())) {
+            children.filter(Files::isDirectory)
+                    .filter(dir -> !segmentFiles(dir).isEmpty())
+                    .forEach(dir -> symbols.add(Symbol.createFromCode(dir.getFileName().toString())));
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot list journal directory " + root(), e);
+        }
+        return symbols;
+    }
+
+    @Override
+    public long replay(Symbol symbol, long afterSequence, ReplayHandler handler) {
+        List<Path> segments = segmentFiles(symbolDirectory(symbol));
+        long lastSequence = afterSequence;
+        LocalDateTime restoredAt = LocalDateTime.now();
+
+        for (int i = 0; i < segments.size(); i++) {
+            // Skip segments that end before the requested sequence
+            if (i + 1 < segments.size() && baseSequenceOf(segments.get(i + 1)) <= afterSequence + 1) {
+                continue;
+            }
+
+            JournalSegment segment = JournalSegment.open(segments.get(i), false);
+            try {
+                FixedPointScale scale = FixedPointScale.of(segment.getQuantityScale());
+                segment.forEachRecord((sequence, payload) -> {
+                    if (sequence > afterSequence) {
+                        dispatch(symbol, scale, restoredAt, sequence, payload, handler);
+                    }
+                });
+                lastSequence = Math.max(lastSequence, segment.getLastSequence());
+            } finally {
+                segment.close();
+            }
+        }
+        return lastSequence;
+    }
+
+    private void dispatch(Symbol symbol, FixedPointScale scale, LocalDateTime restoredAt, long sequence,
+                          ByteBuffer payload, ReplayHandler handler) {
+        byte type = payload.get();
+        switch (type) {
+            case ADD_BUY, ADD_SELL -> handler.onAdd(sequence, readOrder(symbol, scale, restoredAt, type, payload));
+            case CANCEL -> handler.onCancel(sequence, JournalCodec.getString(payload));
+            case FILL -> handler.onFill(sequence, JournalCodec.getString(payload),
+                    JournalCodec.getString(payload), JournalCodec.getVarLong(payload));
+            case REDUCE -> handler.onReduce(sequence, JournalCodec.getString(payload),
+                    JournalCodec.getVarLong(payload));
+            case RELEASE -> handler.onRelease(sequence, JournalCodec.getString(payload),
+                    JournalCodec.getVarLong(payload));
+            default -> throw new IllegalStateException(
+                    "Unknown journal record type " + type + " at sequence " + sequence + " for " + symbol.getCode());
+        }
+    }
+
+    /**
+     * Rehydrates without validation or state replay: the order was validated when it entered
+     * the book. The journal keeps no timestamps, so replayed orders are stamped with the replay time.
+     */
+    private IOrder readOrder(Symbol symbol, FixedPointScale scale, LocalDateTime restoredAt, byte type,
+                             ByteBuffer payload) {
+        String orderId = JournalCodec.getString(payload);
+        String portfolioId = JournalCodec.getString(payload);
+        String reservationId = JournalCodec.getString(payload);
+        Currency currency = Currency.valueOf(JournalCodec.getString(payload));
+        Money price = Money.of(JournalCodec.getDecimal(payload), currency);
+        BigDecimal quantity = JournalCodec.getDecimal(payload);
+        BigDecimal remaining = scale.toBigDecimal(JournalCodec.getVarLong(payload));
+
+        BigDecimal executed = quantity.subtract(remaining);
+        OrderStatusEnum status = executed.signum() > 0 ? OrderStatusEnum.PARTIAL : OrderStatusEnum.PENDING;
+        return type == ADD_BUY
+                ? OrderFactory.restoreBuyOrder(orderId, portfolioId, reservationId, symbol, price, quantity,
+                status, executed, restoredAt, restoredAt, 0)
+                : OrderFactory.restoreSellOrder(orderId, portfolioId, reservationId, symbol, price, quantity,
+                status, executed, restoredAt, restoredAt, 0);
+    }
+
+    // ============ FILES ============
+
+    private Path root() {
+        return Paths.get(directory);
+    }
+
+    private Path symbolDirectory(Symbol symbol) {
+        return root().resolve(symbol.getCode());
+    }
+
+    private static List<Path> segmentFiles(Path directory) {
+        if (!Files.isDirectory(directory)) {
+            return List.of();
+        }
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.filter(file -> file.getFileName().toString().endsWith(SEGMENT_SUFFIX))
+                    .sorted(Comparator.comparingLong(MappedOrderBookJournal::baseSequenceOf))
+                    .toList();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot list journal segments in " + directory, e);
+        }
+    }
+
+    private static long baseSequenceOf(Path segment) {
+        String name = segment.getFileName().toString();
+        return Long.parseLong(name.substring(0, name.length() - SEGMENT_SUFFIX.length()));
+    }
+
+    private long lastSequenceOnDisk(Symbol symbol) {
+        List<Path> segments = segmentFiles(symbolDirectory(symbol));
+        if (segments.isEmpty()) {
+            return 0;
+        }
+        JournalSegment last = JournalSegment.open(segments.get(segments.size() - 1), false);
+        try {
+            return last.getLastSequence();
+        } finally {
+            last.close();
+        }
+    }
+
+    // ============ SYMBOL JOURNAL ============
+
+    private interface RecordWriter {
+        void write(ByteBuffer record);
+    }
+
+    /**
+     * Journal of one symbol. Appends come from the book's writer; the sync thread
+     * only takes the monitor to read how far the current segment is written.
+     */
+    private final class SymbolJournal {
+        private final Symbol symbol;
+        private final Path directory;
+        private final ByteBuffer record = ByteBuffer.allocate(MAX_RECORD_SIZE);
+        private final Object durableMonitor = new Object();
+        private JournalSegment segment;
+        private volatile long lastSequence;
+        private volatile long durableSequence;
+
+        // Sync thread only: how far the current segment has been forced
+        private JournalSegment forcedSegment;
+        private int forcedPosition;
+
+        private SymbolJournal(Symbol symbol) {
+            this.symbol = symbol;
+            this.directory = symbolDirectory(symbol);
+            try {
+                Files.createDirectories(directory);
+            } catch (IOException e) {
+                throw new UncheckedIOException("Cannot create journal directory " + directory, e);
+            }
+            this.segment = openTail();
+            this.lastSequence = segment.getLastSequence();
+            this.durableSequence = lastSequence;
+        }
+
+        /**
+         * Continues after the last valid record of the last segment, clearing whatever a torn
+         * write left behind it first. Only a segment of another quantity scale is not continued.
+         */
+        private JournalSegment openTail() {
+            List<Path> segments = segmentFiles(directory);
+            if (segments.isEmpty()) {
+                return newSegment(1);
+            }
+            JournalSegment last = JournalSegment.open(segments.get(segments.size() - 1), true);
+            if (last.getQuantityScale() != FixedPointScale.DEFAULT_QUANTITY_SCALE) {
+                long next = last.getLastSequence() + 1;
+                last.close();
+                return newSegment(next);
+            }
+            if (last.clearTail()) {
+                logger.warn("⚠️ Journal for {} had a torn record after sequence {}, cleared it",
+                        symbol.getCode(), last.getLastSequence());
+            }
+            return last;
+        }
+
+        private JournalSegment newSegment(long baseSequence) {
+            return JournalSegment.create(directory, baseSequence,
+                    FixedPointScale.DEFAULT_QUANTITY_SCALE, segmentSizeMb * 1024 * 1024);
+        }
+
+        private synchronized long append(RecordWriter writer) {
+            record.clear();
+            try {
+                writer.write(record);
+            } catch (BufferOverflowException e) {
+                throw new IllegalStateException("Journal record for " + symbol.getCode()
+                        + " exceeds " + MAX_RECORD_SIZE + " bytes", e);
+            }
+            int length = record.position();
+
+            if (!segment.hasRoom(length)) {
+                roll();
+            }
+            long sequence = segment.append(record.array(), length);
+            lastSequence = sequence;
+            return sequence;
+        }
+
+        private void roll() {
+            // The filled segment is forced here; the sync thread only follows the current one
+            segment.force(JournalSegment.HEADER_SIZE, segment.getWritePosition());
+            segment.close();
+            segment = newSegment(lastSequence + 1);
+            logger.info("📒 Journal for {} rolled to {}", symbol.getCode(), segment.getPath().getFileName());
+        }
+
+        private void sync() {
+            JournalSegment target;
+            int writePosition;
+            long sequence;
+            synchronized (this) {
+                target = segment;
+                writePosition = target.getWritePosition();
+                sequence = lastSequence;
+            }
+            if (sequence == durableSequence) {
+                return;
+            }
+
+            int from = target == forcedSegment ? forcedPosition : JournalSegment.HEADER_SIZE;
+            target.force(from, writePosition);
+            forcedSegment = target;
+            forcedPosition = writePosition;
+
+            synchronized (durableMonitor) {
+                durableSequence = sequence;
+                durableMonitor.notifyAll();
+            }
+        }
+
+        /**
+         * Sleeps until a sync covers the sequence; sync and close wake every waiter.
+         */
+        private void awaitDurable(long sequence) {
+            synchronized (durableMonitor) {
+                while (durableSequence < sequence && running) {
+                    try {
+                        durableMonitor.wait();
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                        return;
+                    }
+                }
+            }
+        }
+
+        private synchronized void close() {
+            sync();
+            segment.close();
+            // Waiters for records that never made it to disk see the journal stopped and return
+            synchronized (durableMonitor) {
+                durableMonitor.notifyAll();
+            }
+        }
+    }
+}
@@ -4,10 +4,13 @@ import core.ms.order.domain.entities.IOrder;
 import core.ms.order_book.domain.entities.OrderBook;
 import core.ms.order_book.domain.value_object.AskPriceLevel;
 import core.ms.order_book.domain.value_object.BidPriceLevel;
+import core.ms.order_book.domain.value_object.FixedPointScale;
+import core.ms.order_book.domain.value_object.OrderBookImage;
 import core.ms.order_book.domain.value_object.OrderBookSnapshot;
 import core.ms.order_book.infrastructure.persistence.entities.OrderBookSnapshotEntity;
 import core.ms.order_book.infrastructure.persistence.entities.OrderBookStatisticsEntity;
 import core.ms.order_book.infrastructure.persistence.entities.OrderSnapshotEntity;
+import core.ms.order_book.infrastructure.persistence.snapshot.OrderBookImageCodec;
 import core.ms.shared.money.Money;
 import core.ms.shared.money.Symbol;
 import core.ms.utils.idgenerator.IdGen;
@@ -15,6 +18,7 @@ import org.springframework.stereotype.Component;
 
 import java.time.Instant;
 import java.time.ZoneOffset;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.stream.Collectors;
 
@@ -33,11 +37,12 @@ public class OrderBookSnapshotMapper {
                 orderBook.getSymbol().getCode(),
                 snapshotTime  // Now passing Instant
         );
+        entity.setJournalSequence(orderBook.getJournalSequence());
 
         // Add buy orders
         for (BidPriceLevel level : orderBook.getBidLevels()) {
             for (IOrder order : level.getActiveOrders()) {
-                OrderSnapshotEntity orderSnapshot = createOrderSnapshot(order, "BUY");
+                OrderSnapshotEntity orderSnapshot = createOrderSnapshot(orderBook, order, "BUY");
                 entity.addOrder(orderSnapshot);
             }
         }
@@ -45,7 +50,7 @@ public class OrderBookSnapshotMapper {
         // Add sell orders
         for (AskPriceLevel level : orderBook.getAskLevels()) {
             for (IOrder order : level.getActiveOrders()) {
-                OrderSnapshotEntity orderSnapshot = createOrderSnapshot(order, "SELL");
+                OrderSnapshotEntity orderSnapshot = createOrderSnapshot(orderBook, order, "SELL");
                 entity.addOrder(orderSnapshot);
             }
         }
@@ -56,7 +61,27 @@ public class OrderBookSnapshotMapper {
         return entity;
     }
 
+    /**
+     * Stores the image as one encoded blob; the statistics columns are filled from it.
+     */
+    public OrderBookSnapshotEntity toEntity(OrderBookImage image) {
+        OrderBookSnapshotEntity entity = new OrderBookSnapshotEntity(
+                generateSnapshotId(image.getSymbol()),
+                image.getSymbol().getCode(),
+                image.getCapturedAt()
+        );
+        entity.setJournalSequence(image.getJournalSequence());
+        entity.setImage(OrderBookImageCodec.encode(image));
+        entity.setStatistics(createStatistics(image));
+        return entity;
+    }
+
     public OrderBookSnapshot toDomain(OrderBookSnapshotEntity entity) {
+        if (entity.getImage() != null) {
+            return toDomain(entity.getId(), OrderBookImageCodec.decode(entity.getImage()),
+                    toStatistics(entity.getStatistics()));
+        }
+
         Symbol symbol = Symbol.createFromCode(entity.getSymbolCode());
 
         List<OrderBookSnapshot.OrderSnapshot> buyOrders = entity.getOrders().stream()
@@ -76,18 +101,57 @@ public class OrderBookSnapshotMapper {
                 symbol,
                 buyOrders,
                 sellOrders,
-                stats
+                stats,
+                entity.getJournalSequence() != null ? entity.getJournalSequence() : 0
         );
     }
 
-    private OrderSnapshotEntity createOrderSnapshot(IOrder order, String orderType) {
+    private OrderBookSnapshot toDomain(String id, OrderBookImage image,
+                                       OrderBookSnapshot.OrderBookStatistics stats) {
+        return new OrderBookSnapshot(
+                id,
+                image.getSymbol(),
+                toOrderSnapshots(image.getBids(), image.getQuantityScale()),
+                toOrderSnapshots(image.getAsks(), image.getQuantityScale()),
+                stats,
+                image.getJournalSequence(),
+                image.getMatchSequence(),
+                image.getDepthSequence()
+        );
+    }
+
+    private List<OrderBookSnapshot.OrderSnapshot> toOrderSnapshots(OrderBookImage.Side side,
+                                                                   FixedPointScale quantityScale) {
+        List<OrderBookSnapshot.OrderSnapshot> orders = new ArrayList<>(side.getOrderCount());
+        int order = 0;
+        for (int level = 0; level < side.getLevelCount(); level++) {
+            Money price = side.getLevelPrice(level);
+            for (int end = order + side.getLevelOrderCount(level); order < end; order++) {
+                orders.add(new OrderBookSnapshot.OrderSnapshot(
+                        side.getOrderId(order),
+                        price,
+                        side.getQuantity(order),
+                        quantityScale.toBigDecimal(side.getRemainingUnits(order)),
+                        side.getCreatedAt(order).toInstant(ZoneOffset.UTC),
+                        side.getPortfolioId(order),
+                        side.getReservationId(order)
+                ));
+            }
+        }
+        return orders;
+    }
+
+    private OrderSnapshotEntity createOrderSnapshot(OrderBook orderBook, IOrder order, String orderType) {
         OrderSnapshotEntity entity = new OrderSnapshotEntity();
         entity.setOrderId(order.getId());
         entity.setOrderType(orderType);
         entity.setPrice(order.getPrice().getAmount());
         entity.setCurrency(order.getPrice().getCurrency());
         entity.setQuantity(order.getQuantity());
-        entity.setRemainingQuantity(order.getRemainingQuantity());
+        // The book applies fills before settlement does, so its quantity is the current one
+        entity.setRemainingQuantity(orderBook.remainingInBook(order.getId()));
+        entity.setPortfolioId(order.getPortfolioId());
+        entity.setReservationId(order.getReservationId());
 
         // Convert LocalDateTime to Instant
         Instant createdAtInstant = order.getCreatedAt()
@@ -109,20 +173,17 @@ public class OrderBookSnapshotMapper {
                 price,
                 entity.getQuantity(),
                 entity.getRemainingQuantity(),
-                entity.getCreatedAt()  // Passing Instant as-is
+                entity.getCreatedAt(),  // Passing Instant as-is
+                entity.getPortfolioId(),
+                entity.getReservationId()
         );
     }
 
     private OrderBookStatisticsEntity createStatistics(OrderBook orderBook) {
         OrderBookStatisticsEntity stats = new OrderBookStatisticsEntity();
 
-        stats.setTotalBuyOrders(orderBook.getBidLevels().stream()
-                .mapToInt(BidPriceLevel::getOrderCount)
-                .sum());
-
-        stats.setTotalSellOrders(orderBook.getAskLevels().stream()
-                .mapToInt(AskPriceLevel::getOrderCount)
-                .sum());
+        stats.setTotalBuyOrders(orderBook.getBidOrderCount());
+        stats.setTotalSellOrders(orderBook.getAskOrderCount());
 
         stats.setTotalBuyVolume(orderBook.getTotalBidVolume());
         stats.setTotalSellVolume(orderBook.getTotalAskVolume());
@@ -143,6 +204,33 @@ public class OrderBookSnapshotMapper {
         return stats;
     }
 
+    private OrderBookStatisticsEntity createStatistics(OrderBookImage image) {
+        OrderBookStatisticsEntity stats = new OrderBookStatisticsEntity();
+        FixedPointScale quantityScale = image.getQuantityScale();
+
+        stats.setTotalBuyOrders(image.getBids().getOrderCount());
+        stats.setTotalSellOrders(image.getAsks().getOrderCount());
+
+        stats.setTotalBuyVolume(quantityScale.toBigDecimal(image.getBids().getTotalUnits()));
+        stats.setTotalSellVolume(quantityScale.toBigDecimal(image.getAsks().getTotalUnits()));
+
+        image.getBestBid().ifPresent(bid -> {
+            stats.setBestBidPrice(bid.getAmount());
+            stats.setPriceCurrency(bid.getCurrency());
+        });
+
+        image.getBestAsk().ifPresent(ask -> {
+            stats.setBestAskPrice(ask.getAmount());
+            stats.setPriceCurrency(ask.getCurrency());
+        });
+
+        image.getSpread().ifPresent(spread -> {
+            stats.setSpread(spread.getAmount());
+        });
+
+        return stats;
+    }
+
     private OrderBookSnapshot.OrderBookStatistics toStatistics(OrderBookStatisticsEntity entity) {
         Money bestBid = entity.getBestBidPrice() != null ?
                 Money.of(entity.getBestBidPrice(), entity.getPriceCurrency()) : null;
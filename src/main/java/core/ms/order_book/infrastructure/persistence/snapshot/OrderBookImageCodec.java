@@ -0,0 +1,365 @@
+package core.ms.order_book.infrastructure.persistence.snapshot;
+
+import core.ms.order_book.domain.value_object.FixedPointScale;
+import core.ms.order_book.domain.value_object.OrderBookImage;
+import core.ms.order_book.infrastructure.persistence.journal.JournalCodec;
+import core.ms.shared.money.Currency;
+import core.ms.shared.money.Money;
+import core.ms.shared.money.Symbol;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.zip.CRC32C;
+
+/**
+ * Binary form of an {@link OrderBookImage}, stored as one blob per snapshot.
+ *
+ * Layout: header (magic, version, symbol, capture time, journal, match and depth sequences,
+ * quantity scale), then bids and asks, then a CRC32C of everything before it. Each side stores its level
+ * prices at one scale as deltas from the previous level, and the orders of each level in time
+ * priority. All numbers are varints, and times and quantities are deltas or units, so most take
+ * one or two bytes. Ids made by the id generators ({@code PREFIX<millis>-<4 digits>}) are split
+ * into a dictionary prefix, a millis delta from the previous id in the column and the four digits.
+ * Portfolio ids repeat across orders and are written once, then referenced.
+ */
+public final class OrderBookImageCodec {
+    static final int MAGIC = 0x4F425331; // "OBS1"
+    static final byte VERSION = 2;
+    // Version 1 images carry no depth sequence; they decode with 0
+    private static final byte VERSION_WITHOUT_DEPTH_SEQUENCE = 1;
+    private static final int CRC_SIZE = 4;
+
+    // Tags of an id column entry
+    private static final int NULL = 0;
+    private static final int LITERAL = 1;
+    private static final int NEW_PREFIX = 2;
+    private static final int KNOWN_PREFIX = 3;
+
+    // Tags of a dictionary column entry; KNOWN_VALUE + n refers to the n-th value
+    private static final int NEW_VALUE = 1;
+    private static final int KNOWN_VALUE = 2;
+
+    private OrderBookImageCodec() {
+    }
+
+    // ============ ENCODE ============
+
+    public static byte[] encode(OrderBookImage image) {
+        Output out = new Output(64 + image.getOrderCount() * 24);
+
+        out.buffer.putInt(MAGIC);
+        out.buffer.put(VERSION);
+        out.putString(image.getSymbol().getCode());
+        out.ensure(40);
+        JournalCodec.putVarLong(out.buffer, image.getCapturedAt().toEpochMilli());
+        JournalCodec.putVarLong(out.buffer, image.getJournalSequence());
+        JournalCodec.putVarLong(out.buffer, image.getMatchSequence());
+        JournalCodec.putVarLong(out.buffer, image.getDepthSequence());
+        out.buffer.put((byte) image.getQuantityScale().getScale());
+
+        long capturedAt = image.getCapturedAt().toEpochMilli();
+        encodeSide(out, image.getBids(), image.getQuantityScale(), capturedAt);
+        encodeSide(out, image.getAsks(), image.getQuantityScale(), capturedAt);
+
+        out.ensure(CRC_SIZE);
+        CRC32C crc = new CRC32C();
+        crc.update(out.buffer.array(), 0, out.buffer.position());
+        out.buffer.putInt((int) crc.getValue());
+
+        byte[] bytes = new byte[out.buffer.position()];
+        System.arraycopy(out.buffer.array(), 0, bytes, 0, bytes.length);
+        return bytes;
+    }
+
+    private static void encodeSide(Output out, OrderBookImage.Side side, FixedPointScale quantityScale,
+                                   long capturedAt) {
+        int levelCount = side.getLevelCount();
+        out.ensure(16);
+        JournalCodec.putVarLong(out.buffer, levelCount);
+        if (levelCount == 0) {
+            return;
+        }
+
+        int priceScale = 0;
+        for (int level = 0; level < levelCount; level++) {
+            priceScale = Math.max(priceScale, side.getLevelPrice(level).getAmount().scale());
+        }
+        out.putString(side.getLevelPrice(0).getCurrency().name());
+        out.ensure(1);
+        out.buffer.put((byte) priceScale);
+
+        IdColumn orderIds = new IdColumn();
+        IdColumn reservationIds = new IdColumn();
+        Map<String, Integer> portfolios = new HashMap<>();
+        long previousPrice = 0;
+        long previousCreatedAt = capturedAt;
+        int order = 0;
+
+        for (int level = 0; level < levelCount; level++) {
+            long price = side.getLevelPrice(level).getAmount().setScale(priceScale).unscaledValue().longValueExact();
+            int ordersInLevel = side.getLevelOrderCount(level);
+            out.ensure(24);
+            JournalCodec.putZigZag(out.buffer, price - previousPrice);
+            JournalCodec.putVarLong(out.buffer, ordersInLevel);
+            previousPrice = price;
+
+            for (int end = order + ordersInLevel; order < end; order++) {
+                orderIds.write(out, side.getOrderId(order));
+                writePortfolio(out, portfolios, side.getPortfolioId(order));
+                reservationIds.write(out, side.getReservationId(order));
+
+                long quantity = quantityScale.toUnits(side.getQuantity(order));
+                LocalDateTime created = side.getCreatedAt(order);
+                long createdAt = created == null ? capturedAt : created.toInstant(ZoneOffset.UTC).toEpochMilli();
+                out.ensure(32);
+                JournalCodec.putVarLong(out.buffer, quantity);
+                JournalCodec.putZigZag(out.buffer, quantity - side.getRemainingUnits(order));
+                JournalCodec.putZigZag(out.buffer, createdAt - previousCreatedAt);
+                previousCreatedAt = createdAt;
+            }
+        }
+    }
+
+    private static void writePortfolio(Output out, Map<String, Integer> portfolios, String portfolioId) {
+        out.ensure(8);
+        if (portfolioId == null) {
+            JournalCodec.putVarLong(out.buffer, NULL);
+            return;
+        }
+        Integer known = portfolios.get(portfolioId);
+        if (known != null) {
+            JournalCodec.putVarLong(out.buffer, KNOWN_VALUE + known);
+            return;
+        }
+        portfolios.put(portfolioId, portfolios.size());
+        JournalCodec.putVarLong(out.buffer, NEW_VALUE);
+        out.putString(portfolioId);
+    }
+
+    // ============ DECODE ============
+
+    /**
+     * @throws IllegalStateException when the blob is not a snapshot image or is damaged
+     */
+    public static OrderBookImage decode(byte[] bytes) {
+        if (bytes.length < 5 + CRC_SIZE) {
+            throw new IllegalStateException("Order book image is truncated");
+        }
+        CRC32C crc = new CRC32C();
+        crc.update(bytes, 0, bytes.length - CRC_SIZE);
+        ByteBuffer buffer = ByteBuffer.wrap(bytes);
+        if (buffer.getInt(bytes.length - CRC_SIZE) != (int) crc.getValue()) {
+            throw new IllegalStateException("Order book image checksum mismatch");
+        }
+
+        if (buffer.getInt() != MAGIC) {
+            throw new IllegalStateException("Not an order book image");
+        }
+        byte version = buffer.get();
+        if (version != VERSION && version != VERSION_WITHOUT_DEPTH_SEQUENCE) {
+            throw new IllegalStateException("Unsupported order book image version " + version);
+        }
+
+        Symbol symbol = Symbol.createFromCode(JournalCodec.getString(buffer));
+        long capturedAt = JournalCodec.getVarLong(buffer);
+        long journalSequence = JournalCodec.getVarLong(buffer);
+        long matchSequence = JournalCodec.getVarLong(buffer);
+        long depthSequence = version == VERSION_WITHOUT_DEPTH_SEQUENCE ? 0 : JournalCodec.getVarLong(buffer);
+        FixedPointScale quantityScale = FixedPointScale.of(buffer.get());
+
+        OrderBookImage.Side bids = decodeSide(buffer, quantityScale, capturedAt);
+        OrderBookImage.Side asks = decodeSide(buffer, quantityScale, capturedAt);
+
+        return new OrderBookImage(symbol, Instant.ofEpochMilli(capturedAt), journalSequence, matchSequence,
+                depthSequence, quantityScale, bids, asks);
+    }
+
+    private static OrderBookImage.Side decodeSide(ByteBuffer buffer, FixedPointScale quantityScale,
+                                                  long capturedAt) {
+        int levelCount = (int) JournalCodec.getVarLong(buffer);
+        if (levelCount == 0) {
+            return OrderBookImage.Side.builder(0, 0).build();
+        }
+
+        Currency currency = Currency.valueOf(JournalCodec.getString(buffer));
+        int priceScale = buffer.get();
+        OrderBookImage.Side.Builder builder = OrderBookImage.Side.builder(levelCount, levelCount);
+
+        IdColumn orderIds = new IdColumn();
+        IdColumn reservationIds = new IdColumn();
+        List<String> portfolios = new ArrayList<>();
+        long price = 0;
+        long createdAt = capturedAt;
+
+        for (int level = 0; level < levelCount; level++) {
+            price += JournalCodec.getZigZag(buffer);
+            int ordersInLevel = (int) JournalCodec.getVarLong(buffer);
+            builder.level(Money.of(new BigDecimal(BigInteger.valueOf(price), priceScale), currency), ordersInLevel);
+
+            for (int i = 0; i < ordersInLevel; i++) {
+                String orderId = orderIds.read(buffer);
+                String portfolioId = readPortfolio(buffer, portfolios);
+                String reservationId = reservationIds.read(buffer);
+                long quantity = JournalCodec.getVarLong(buffer);
+                long remaining = quantity - JournalCodec.getZigZag(buffer);
+                createdAt += JournalCodec.getZigZag(buffer);
+
+                builder.order(orderId, portfolioId, reservationId, quantityScale.toBigDecimal(quantity), remaining,
+                        LocalDateTime.ofInstant(Instant.ofEpochMilli(createdAt), ZoneOffset.UTC));
+            }
+        }
+        return builder.build();
+    }
+
+    private static String readPortfolio(ByteBuffer buffer, List<String> portfolios) {
+        int tag = (int) JournalCodec.getVarLong(buffer);
+        if (tag == NULL) {
+            return null;
+        }
+        if (tag == NEW_VALUE) {
+            String portfolioId = JournalCodec.getString(buffer);
+            portfolios.add(portfolioId);
+            return portfolioId;
+        }
+        return portfolios.get(tag - KNOWN_VALUE);
+    }
+
+    // ============ HELPERS ============
+
+    /**
+     * One column of generated ids. Both sides of the codec keep the same prefix dictionary and
+     * previous millis, so an id costs a tag, a small delta and the two bytes of its random digits.
+     */
+    private static final class IdColumn {
+        private final Map<String, Integer> prefixIndex = new HashMap<>();
+        private final List<String> prefixes = new ArrayList<>();
+        private long previousMillis;
+        private String previousPrefix;
+        private int previousPrefixIndex;
+
+        void write(Output out, String id) {
+            out.ensure(24);
+            if (id == null) {
+                JournalCodec.putVarLong(out.buffer, NULL);
+                return;
+            }
+
+            int dash = id.lastIndexOf('-');
+            int millisStart = dash;
+            while (millisStart > 0 && isDigit(id.charAt(millisStart - 1))) {
+                millisStart--;
+            }
+            // Only split ids that render back exactly: millis without leading zeros, four random digits
+            if (dash < 0 || id.length() - dash != 5 || !isDigits(id, dash + 1, id.length())
+                    || dash - millisStart < 1 || dash - millisStart > 18 || id.charAt(millisStart) == '0') {
+                JournalCodec.putVarLong(out.buffer, LITERAL);
+                out.putString(id);
+                return;
+            }
+
+            long millis = Long.parseLong(id, millisStart, dash, 10);
+            int random = Integer.parseInt(id, dash + 1, id.length(), 10);
+
+            // Consecutive ids nearly always share the prefix, so check the last one before hashing
+            if (previousPrefix == null || previousPrefix.length() != millisStart || !id.startsWith(previousPrefix)) {
+                previousPrefix = id.substring(0, millisStart);
+                Integer known = prefixIndex.get(previousPrefix);
+                if (known == null) {
+                    previousPrefixIndex = prefixes.size();
+                    prefixIndex.put(previousPrefix, previousPrefixIndex);
+                    prefixes.add(previousPrefix);
+                    JournalCodec.putVarLong(out.buffer, NEW_PREFIX);
+                    out.putString(previousPrefix);
+                    out.ensure(16);
+                    writeTimestamp(out, millis, random);
+                    return;
+                }
+                previousPrefixIndex = known;
+            }
+            JournalCodec.putVarLong(out.buffer, KNOWN_PREFIX + previousPrefixIndex);
+            writeTimestamp(out, millis, random);
+        }
+
+        private void writeTimestamp(Output out, long millis, int random) {
+            JournalCodec.putZigZag(out.buffer, millis - previousMillis);
+            JournalCodec.putVarLong(out.buffer, random);
+            previousMillis = millis;
+        }
+
+        String read(ByteBuffer buffer) {
+            int tag = (int) JournalCodec.getVarLong(buffer);
+            if (tag == NULL) {
+                return null;
+            }
+            if (tag == LITERAL) {
+                return JournalCodec.getString(buffer);
+            }
+
+            String prefix;
+            if (tag == NEW_PREFIX) {
+                prefix = JournalCodec.getString(buffer);
+                prefixes.add(prefix);
+            } else {
+                prefix = prefixes.get(tag - KNOWN_PREFIX);
+            }
+            long millis = previousMillis + JournalCodec.getZigZag(buffer);
+            int random = (int) JournalCodec.getVarLong(buffer);
+            previousMillis = millis;
+
+            StringBuilder id = new StringBuilder(prefix.length() + 20).append(prefix).append(millis).append('-');
+            if (random < 1000) id.append('0');
+            if (random < 100) id.append('0');
+            if (random < 10) id.append('0');
+            return id.append(random).toString();
+        }
+
+        private static boolean isDigits(String value, int from, int to) {
+            for (int i = from; i < to; i++) {
+                if (!isDigit(value.charAt(i))) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        private static boolean isDigit(char c) {
+            return c >= '0' && c <= '9';
+        }
+    }
+
+    /**
+     * Heap buffer that doubles when a write would not fit.
+     */
+    private static final class Output {
+        private ByteBuffer buffer;
+
+        Output(int initialCapacity) {
+            this.buffer = ByteBuffer.allocate(initialCapacity);
+        }
+
+        void ensure(int bytes) {
+            if (buffer.remaining() < bytes) {
+                ByteBuffer grown = ByteBuffer.allocate(Math.max(buffer.capacity() * 2, buffer.position() + bytes));
+                buffer.flip();
+                grown.put(buffer);
+                buffer = grown;
+            }
+        }
+
+        void putString(String value) {
+            byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+            ensure(10 + bytes.length);
+            JournalCodec.putVarLong(buffer, bytes.length);
+            buffer.put(bytes);
+        }
+    }
+}
@@ -1,13 +1,20 @@
 package core.ms.order_book.web.controllers;
 
+import core.ms.order_book.application.dto.query.DepthDiffDTO;
+import core.ms.order_book.application.dto.query.DepthQuoteDTO;
+import core.ms.order_book.application.dto.query.DepthSnapshotDTO;
 import core.ms.order_book.application.dto.query.MarketDepthDTO;
 import core.ms.order_book.application.dto.query.MarketOverviewDTO;
 import core.ms.order_book.application.dto.query.OrderBookStatisticsDTO;
 import core.ms.order_book.application.dto.query.OrderBookSummaryDTO;
 import core.ms.order_book.application.services.OrderBookApplicationService;
+import core.ms.order_book.application.services.OrderBookDepthFeedService;
 import core.ms.order_book.web.mappers.OrderBookWebMapper;
+import core.ms.shared.OrderType;
+import core.ms.shared.money.Money;
 import core.ms.shared.money.Symbol;
 import io.swagger.v3.oas.annotations.Operation;
+import jakarta.validation.constraints.DecimalMin;
 import jakarta.validation.constraints.Max;
 import jakarta.validation.constraints.Min;
 import jakarta.validation.constraints.NotBlank;
@@ -15,11 +22,15 @@ import jakarta.validation.constraints.Pattern;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
 import io.swagger.v3.oas.annotations.tags.Tag;
 
+import java.math.BigDecimal;
+import java.util.List;
+
 /**
  * Public REST API for market data queries.
  * All endpoints are READ-ONLY and provide market information.
@@ -39,6 +50,9 @@ public class MarketDataController {
     @Autowired
     private OrderBookWebMapper webMapper;
 
+    @Autowired
+    private OrderBookDepthFeedService depthFeedService;
+
     // ===== MARKET DEPTH =====
 
     @GetMapping("/depth/{symbol}")
@@ -67,6 +81,106 @@ public class MarketDataController {
         }
     }
 
+    @GetMapping("/depth/{symbol}/snapshot")
+    @Operation(summary = "Get full depth snapshot for the diff feed",
+            description = "Returns every price level and the diff sequence it reflects")
+    public ResponseEntity<DepthSnapshotDTO> getDepthSnapshot(
+            @PathVariable
+            @NotBlank(message = "Symbol cannot be blank")
+            @Pattern(regexp = "^[A-Z0-9]+$", message = "Invalid symbol format")
+            String symbol) {
+
+        logger.debug("Depth snapshot request - Symbol: {}", symbol);
+
+        try {
+            Symbol domainSymbol = Symbol.createFromCode(symbol);
+            return depthFeedService.getDepthSnapshot(domainSymbol)
+                    .map(ResponseEntity::ok)
+                    .orElseGet(() -> ResponseEntity.notFound().build());
+        } catch (IllegalArgumentException e) {
+            logger.error("Invalid symbol: {}", symbol);
+            return ResponseEntity.badRequest().build();
+        }
+    }
+
+    @GetMapping("/depth/{symbol}/diffs")
+    @Operation(summary = "Replay missed depth diffs",
+            description = "Returns the diffs after a sequence, or 410 when they are no longer buffered")
+    public ResponseEntity<List<DepthDiffDTO>> getDepthDiffs(
+            @PathVariable
+            @NotBlank(message = "Symbol cannot be blank")
+            @Pattern(regexp = "^[A-Z0-9]+$", message = "Invalid symbol format")
+            String symbol,
+            @RequestParam
+            @Min(0)
+            long after) {
+
+        logger.debug("Depth diff replay request - Symbol: {}, After: {}", symbol, after);
+
+        try {
+            Symbol domainSymbol = Symbol.createFromCode(symbol);
+            return depthFeedService.getDiffsAfter(domainSymbol, after)
+                    .map(ResponseEntity::ok)
+                    .orElseGet(() -> ResponseEntity.status(HttpStatus.GONE).build());
+        } catch (IllegalArgumentException e) {
+            logger.error("Invalid symbol: {}", symbol);
+            return ResponseEntity.badRequest().build();
+        }
+    }
+
+    // ===== QUOTES =====
+
+    @GetMapping("/quote/{symbol}")
+    @Operation(summary = "Estimate a market order",
+            description = "Returns fillable quantity, average and worst fill price and slippage for a hypothetical order")
+    public ResponseEntity<DepthQuoteDTO> getQuote(
+            @PathVariable
+            @NotBlank(message = "Symbol cannot be blank")
+            @Pattern(regexp = "^[A-Z0-9]+$", message = "Invalid symbol format")
+            String symbol,
+            @RequestParam OrderType side,
+            @RequestParam
+            @DecimalMin(value = "0", inclusive = false, message = "Quantity must be positive")
+            BigDecimal quantity) {
+
+        logger.debug("Quote request - Symbol: {}, Side: {}, Quantity: {}", symbol, side, quantity);
+
+        try {
+            Symbol domainSymbol = Symbol.createFromCode(symbol);
+            return orderBookService.getQuote(domainSymbol, side, quantity)
+                    .map(quote -> ResponseEntity.ok(webMapper.toDTO(quote)))
+                    .orElseGet(() -> ResponseEntity.notFound().build());
+        } catch (IllegalArgumentException e) {
+            logger.error("Invalid quote request for {}: {}", symbol, e.getMessage());
+            return ResponseEntity.badRequest().build();
+        }
+    }
+
+    @GetMapping("/depth/{symbol}/volume")
+    @Operation(summary = "Get volume available at or better than a price",
+            description = "Asks at or below the price for BUY, bids at or above it for SELL")
+    public ResponseEntity<BigDecimal> getVolumeAtOrBetter(
+            @PathVariable
+            @NotBlank(message = "Symbol cannot be blank")
+            @Pattern(regexp = "^[A-Z0-9]+$", message = "Invalid symbol format")
+            String symbol,
+            @RequestParam OrderType side,
+            @RequestParam
+            @DecimalMin(value = "0", message = "Price cannot be negative")
+            BigDecimal price) {
+
+        logger.debug("Volume request - Symbol: {}, Side: {}, Price: {}", symbol, side, price);
+
+        try {
+            Symbol domainSymbol = Symbol.createFromCode(symbol);
+            Money limit = Money.of(price, domainSymbol.getQuoteCurrency());
+            return ResponseEntity.ok(orderBookService.getVolumeAtOrBetter(domainSymbol, side, limit));
+        } catch (IllegalArgumentException e) {
+            logger.error("Invalid symbol: {}", symbol);
+            return ResponseEntity.badRequest().build();
+        }
+    }
+
     // ===== BEST PRICES =====
 
     @GetMapping("/ticker/{symbol}")
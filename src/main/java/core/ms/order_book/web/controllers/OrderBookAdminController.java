@@ -2,6 +2,8 @@ package core.ms.order_book.web.controllers;
 
 import core.ms.order_book.application.dto.command.CreateSnapshotCommand;
 import core.ms.order_book.application.dto.query.OrderBookSnapshotDTO;
+import core.ms.order_book.application.services.MarketDataConflator;
+import core.ms.order_book.application.services.MarketDataSubscriptionRegistry;
 import core.ms.order_book.application.services.OrderBookSnapshotService;
 import core.ms.shared.web.ApiResponse;
 import jakarta.validation.Valid;
@@ -17,6 +19,7 @@ import org.springframework.web.bind.annotation.*;
 
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 @RestController
@@ -28,6 +31,12 @@ public class OrderBookAdminController {
     @Autowired
     private OrderBookSnapshotService snapshotService;
 
+    @Autowired
+    private MarketDataConflator marketDataConflator;
+
+    @Autowired
+    private MarketDataSubscriptionRegistry subscriptionRegistry;
+
     // ===== SNAPSHOT OPERATIONS =====
 
     @PostMapping("/snapshot")
@@ -132,4 +141,16 @@ public class OrderBookAdminController {
                     .body(ApiResponse.error("Restore failed: " + e.getMessage()));
         }
     }
-}
\ No newline at end of file
+
+    // ===== MARKET DATA FAN-OUT =====
+
+    @GetMapping("/market-data/statistics")
+    public ResponseEntity<ApiResponse<Map<String, Long>>> getMarketDataStatistics() {
+        Map<String, Long> statistics = marketDataConflator.getStatistics();
+        statistics.put("subscriptions", (long) subscriptionRegistry.getSubscriptionCount());
+        statistics.put("watchedDestinations", (long) subscriptionRegistry.getWatchedDestinationCount());
+        return ResponseEntity.ok(
+                ApiResponse.success("Market data fan-out statistics", statistics)
+        );
+    }
+}
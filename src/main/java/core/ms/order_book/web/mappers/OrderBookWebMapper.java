@@ -2,20 +2,27 @@ package core.ms.order_book.web.mappers;
 
 import core.ms.order.domain.entities.IOrder;
 import core.ms.order.domain.ports.outbound.OrderRepository;
+import core.ms.order_book.application.dto.query.DepthDiffDTO;
+import core.ms.order_book.application.dto.query.DepthQuoteDTO;
+import core.ms.order_book.application.dto.query.DepthSnapshotDTO;
 import core.ms.order_book.application.dto.query.MarketDepthDTO;
 import core.ms.order_book.application.dto.query.MarketOverviewDTO;
 import core.ms.order_book.application.dto.query.OrderBookOperationResultDTO;
 import core.ms.order_book.application.dto.query.PriceLevelDTO;
 import core.ms.order_book.domain.ports.inbound.OrderBookOperationResult;
+import core.ms.order_book.domain.value_object.DepthDiff;
+import core.ms.order_book.domain.value_object.DepthQuote;
 import core.ms.order_book.domain.value_object.IPriceLevel;
 import core.ms.order_book.domain.value_object.MarketDepth;
 import core.ms.order_book.domain.value_object.MarketOverview;
+import core.ms.shared.money.Money;
 import core.ms.shared.money.Symbol;
 import core.ms.shared.web.ApiResponse;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Component;
 
 import java.math.BigDecimal;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
 import java.util.stream.Collectors;
@@ -77,6 +84,43 @@ public class OrderBookWebMapper {
         );
     }
 
+    public DepthDiffDTO toDTO(DepthDiff diff) {
+        return new DepthDiffDTO(
+                diff.getSymbol().getCode(),
+                diff.getSequence(),
+                toPriceLevelDTOs(diff.getBidChanges()),
+                toPriceLevelDTOs(diff.getAskChanges()),
+                diff.getTimestamp()
+        );
+    }
+
+    public DepthSnapshotDTO toDepthSnapshotDTO(MarketDepth marketDepth, long sequence) {
+        return new DepthSnapshotDTO(
+                marketDepth.getSymbol().getCode(),
+                sequence,
+                toPriceLevelDTOs(marketDepth.getBidLevels()),
+                toPriceLevelDTOs(marketDepth.getAskLevels()),
+                marketDepth.getTimestamp()
+        );
+    }
+
+    public DepthQuoteDTO toDTO(DepthQuote quote) {
+        DepthQuoteDTO dto = new DepthQuoteDTO();
+        dto.setSymbolCode(quote.getSymbol().getCode());
+        dto.setSide(quote.getSide().name());
+        dto.setRequestedQuantity(quote.getRequestedQuantity());
+        dto.setFillableQuantity(quote.getFillableQuantity());
+        dto.setFullyFillable(quote.isFullyFillable());
+        dto.setBestPrice(quote.getBestPrice().map(Money::getAmount).orElse(null));
+        dto.setAveragePrice(quote.getAveragePrice().map(Money::getAmount).orElse(null));
+        dto.setWorstPrice(quote.getWorstPrice().map(Money::getAmount).orElse(null));
+        dto.setSlippage(quote.getSlippage().orElse(null));
+        dto.setSlippageBps(quote.getSlippageBps().orElse(null));
+        dto.setCurrency(quote.getSymbol().getQuoteCurrency());
+        dto.setTimestamp(quote.getTimestamp());
+        return dto;
+    }
+
     public MarketOverviewDTO toDTO(MarketOverview overview) {
         List<String> symbolCodes = overview.getActiveSymbols().stream()
                 .map(Symbol::getCode)
@@ -97,6 +141,14 @@ public class OrderBookWebMapper {
         );
     }
 
+    private List<PriceLevelDTO> toPriceLevelDTOs(List<? extends IPriceLevel> levels) {
+        List<PriceLevelDTO> dtos = new ArrayList<>(levels.size());
+        for (IPriceLevel level : levels) {
+            dtos.add(toPriceLevelDTO(level));
+        }
+        return dtos;
+    }
+
     private PriceLevelDTO toPriceLevelDTO(IPriceLevel priceLevel) {
         return new PriceLevelDTO(
                 priceLevel.getPrice().getAmount(),
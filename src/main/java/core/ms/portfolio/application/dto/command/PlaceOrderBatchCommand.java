@@ -0,0 +1,51 @@
+package core.ms.portfolio.application.dto.command;
+
+import core.ms.shared.OrderType;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+
+public class PlaceOrderBatchCommand {
+    private String portfolioId;
+    private List<OrderItem> orders = new ArrayList<>();
+
+    // Constructors
+    public PlaceOrderBatchCommand() {}
+
+    // Getters and Setters
+    public String getPortfolioId() { return portfolioId; }
+    public void setPortfolioId(String portfolioId) { this.portfolioId = portfolioId; }
+    public List<OrderItem> getOrders() { return orders; }
+    public void setOrders(List<OrderItem> orders) { this.orders = orders; }
+
+    public static class OrderItem {
+        private OrderType orderType;
+        private String symbolCode;
+        private BigDecimal price;
+        private String currency;
+        private BigDecimal quantity;
+
+        public OrderItem() {}
+
+        public OrderItem(OrderType orderType, String symbolCode, BigDecimal price,
+                         String currency, BigDecimal quantity) {
+            this.orderType = orderType;
+            this.symbolCode = symbolCode;
+            this.price = price;
+            this.currency = currency;
+            this.quantity = quantity;
+        }
+
+        public OrderType getOrderType() { return orderType; }
+        public void setOrderType(OrderType orderType) { this.orderType = orderType; }
+        public String getSymbolCode() { return symbolCode; }
+        public void setSymbolCode(String symbolCode) { this.symbolCode = symbolCode; }
+        public BigDecimal getPrice() { return price; }
+        public void setPrice(BigDecimal price) { this.price = price; }
+        public String getCurrency() { return currency; }
+        public void setCurrency(String currency) { this.currency = currency; }
+        public BigDecimal getQuantity() { return quantity; }
+        public void setQuantity(BigDecimal quantity) { this.quantity = quantity; }
+    }
+}
@@ -0,0 +1,95 @@
+package core.ms.portfolio.application.dto.query;
+
+import core.ms.shared.OrderType;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Outcome of a batch order request: one entry per requested order, in request order.
+ * A reserved order has been handed to the order context; its order id follows with the
+ * portfolio's reservation updates.
+ */
+public class OrderBatchResultDTO {
+    private boolean success;
+    private String portfolioId;
+    private String message;
+    private int reserved;
+    private int rejected;
+    private List<OrderResult> orders;
+    private LocalDateTime timestamp;
+
+    public OrderBatchResultDTO() {}
+
+    public OrderBatchResultDTO(boolean success, String portfolioId, String message,
+                               List<OrderResult> orders, LocalDateTime timestamp) {
+        this.success = success;
+        this.portfolioId = portfolioId;
+        this.message = message;
+        this.orders = orders;
+        this.timestamp = timestamp;
+        this.reserved = (int) orders.stream().filter(OrderResult::isReserved).count();
+        this.rejected = orders.size() - reserved;
+    }
+
+    // Static factory methods
+    public static OrderBatchResultDTO processed(String portfolioId, List<OrderResult> orders) {
+        OrderBatchResultDTO result = new OrderBatchResultDTO(true, portfolioId, null, orders, LocalDateTime.now());
+        result.setMessage(result.getReserved() + " of " + orders.size() + " orders requested");
+        return result;
+    }
+
+    public static OrderBatchResultDTO error(String portfolioId, String message) {
+        return new OrderBatchResultDTO(false, portfolioId, message, List.of(), LocalDateTime.now());
+    }
+
+    // Getters and Setters
+    public boolean isSuccess() { return success; }
+    public void setSuccess(boolean success) { this.success = success; }
+    public String getPortfolioId() { return portfolioId; }
+    public void setPortfolioId(String portfolioId) { this.portfolioId = portfolioId; }
+    public String getMessage() { return message; }
+    public void setMessage(String message) { this.message = message; }
+    public int getReserved() { return reserved; }
+    public void setReserved(int reserved) { this.reserved = reserved; }
+    public int getRejected() { return rejected; }
+    public void setRejected(int rejected) { this.rejected = rejected; }
+    public List<OrderResult> getOrders() { return orders; }
+    public void setOrders(List<OrderResult> orders) { this.orders = orders; }
+    public LocalDateTime getTimestamp() { return timestamp; }
+    public void setTimestamp(LocalDateTime timestamp) { this.timestamp = timestamp; }
+
+    public static class OrderResult {
+        private int index;
+        private OrderType orderType;
+        private String symbolCode;
+        private boolean reserved;
+        private String reservationId;
+        private String message;
+
+        public OrderResult() {}
+
+        public OrderResult(int index, OrderType orderType, String symbolCode,
+                           boolean reserved, String reservationId, String message) {
+            this.index = index;
+            this.orderType = orderType;
+            this.symbolCode = symbolCode;
+            this.reserved = reserved;
+            this.reservationId = reservationId;
+            this.message = message;
+        }
+
+        public int getIndex() { return index; }
+        public void setIndex(int index) { this.index = index; }
+        public OrderType getOrderType() { return orderType; }
+        public void setOrderType(OrderType orderType) { this.orderType = orderType; }
+        public String getSymbolCode() { return symbolCode; }
+        public void setSymbolCode(String symbolCode) { this.symbolCode = symbolCode; }
+        public boolean isReserved() { return reserved; }
+        public void setReserved(boolean reserved) { this.reserved = reserved; }
+        public String getReservationId() { return reservationId; }
+        public void setReservationId(String reservationId) { this.reservationId = reservationId; }
+        public String getMessage() { return message; }
+        public void setMessage(String message) { this.message = message; }
+    }
+}
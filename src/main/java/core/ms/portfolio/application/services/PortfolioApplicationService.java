@@ -1,19 +1,25 @@
 package core.ms.portfolio.application.services;
 
 import core.ms.portfolio.application.dto.command.*;
+import core.ms.portfolio.application.dto.query.OrderBatchResultDTO;
 import core.ms.portfolio.application.dto.query.PortfolioDTO;
 import core.ms.portfolio.application.dto.query.PortfolioOperationResultDTO;
 import core.ms.portfolio.domain.Portfolio;
 import core.ms.portfolio.domain.cash.CashManager;
+import core.ms.order.domain.events.publish.OrderBatchCreatedEvent;
 import core.ms.order.domain.events.publish.OrderCreatedEvent;
 import core.ms.order.domain.events.publish.OrderCreationFailedEvent;
 import core.ms.order.domain.events.publish.TransactionCreatedEvent;
+import core.ms.portfolio.domain.events.publish.OrderBatchRequestedEvent;
+import core.ms.portfolio.domain.events.publish.OrderRequestedEvent;
 import core.ms.portfolio.domain.ports.inbound.PortfolioSnapshot;
 import core.ms.portfolio.domain.ports.outbound.*;
 import core.ms.portfolio.domain.positions.PositionManager;
+import core.ms.portfolio.infrastructure.persistence.entities.ReservationEntity;
 import core.ms.shared.OrderType;
 import core.ms.shared.events.CorrelationAwareEventListener;
 import core.ms.shared.events.DomainEvent;
+import core.ms.shared.events.EventContext;
 import core.ms.shared.money.Currency;
 import core.ms.shared.money.Money;
 import core.ms.shared.money.Symbol;
@@ -33,6 +39,7 @@ import org.springframework.transaction.annotation.Transactional;
 import jakarta.persistence.LockModeType;
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -213,6 +220,159 @@ public class PortfolioApplicationService extends CorrelationAwareEventListener {
         }
     }
 
+    // ===== BATCH ORDER PLACEMENT =====
+
+    /**
+     * Reserves every order of the batch under the portfolio lock with one load and one save,
+     * then hands the reserved orders to the order context as one batch. An order that cannot
+     * be reserved is rejected on its own; the others still go through.
+     */
+    @Transactional(isolation = Isolation.READ_COMMITTED)
+    public OrderBatchResultDTO placeOrderBatch(PlaceOrderBatchCommand command) {
+        String portfolioId = command.getPortfolioId();
+        List<PlaceOrderBatchCommand.OrderItem> items = command.getOrders();
+        if (items == null || items.isEmpty()) {
+            return OrderBatchResultDTO.error(portfolioId, "Batch contains no orders");
+        }
+
+        Lock lock = getPortfolioLock(portfolioId);
+        try {
+            if (!lock.tryLock(LOCK_TIMEOUT_SECONDS, TimeUnit.SECONDS)) {
+                logger.warn("Failed to acquire lock for portfolio: {} within timeout", portfolioId);
+                return OrderBatchResultDTO.error(portfolioId, "Portfolio is busy, please try again");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return OrderBatchResultDTO.error(portfolioId, "Operation interrupted");
+        }
+
+        try {
+            logger.info("Processing batch of {} orders for portfolio: {}", items.size(), portfolioId);
+
+            Portfolio portfolio = portfolioRepository.findById(portfolioId)
+                    .orElseThrow(() -> new IllegalArgumentException("Portfolio not found: " + portfolioId));
+
+            // Each order starts its own saga; the batch gets a correlation of its own
+            EventContext.startNewSaga();
+            String batchCorrelationId = EventContext.getCurrentCorrelationId();
+
+            List<OrderBatchResultDTO.OrderResult> results = new ArrayList<>(items.size());
+            for (int i = 0; i < items.size(); i++) {
+                results.add(reserveBatchOrder(portfolio, i, items.get(i)));
+            }
+
+            List<OrderRequestedEvent> requested = new ArrayList<>();
+            for (DomainEvent event : portfolio.getAndClearEvents()) {
+                if (event instanceof OrderRequestedEvent orderRequested) {
+                    requested.add(orderRequested);
+                }
+            }
+
+            portfolioRepository.save(portfolio);
+
+            if (!requested.isEmpty()) {
+                try {
+                    eventPublisher.publishEvent(new OrderBatchRequestedEvent(
+                            batchCorrelationId, "PORTFOLIO_BC", portfolioId, requested));
+                } catch (Exception e) {
+                    // The order context has already published a failure for every order
+                    logger.error("Failed to create order batch for portfolio: {}", portfolioId, e);
+                    results.replaceAll(result -> result.isReserved()
+                            ? new OrderBatchResultDTO.OrderResult(result.getIndex(), result.getOrderType(),
+                                    result.getSymbolCode(), false, result.getReservationId(),
+                                    "Order creation failed: " + e.getMessage())
+                            : result);
+                }
+            }
+
+            OrderBatchResultDTO result = OrderBatchResultDTO.processed(portfolioId, results);
+            logger.info("Order batch for portfolio {}: {}", portfolioId, result.getMessage());
+            return result;
+
+        } catch (Exception e) {
+            logger.error("Failed to place order batch for portfolio: {}", portfolioId, e);
+            return OrderBatchResultDTO.error(portfolioId, "Failed to place order batch: " + e.getMessage());
+        } finally {
+            EventContext.clear();
+            lock.unlock();
+        }
+    }
+
+    private OrderBatchResultDTO.OrderResult reserveBatchOrder(Portfolio portfolio, int index,
+                                                              PlaceOrderBatchCommand.OrderItem item) {
+        try {
+            if (item.getOrderType() == null) {
+                throw new IllegalArgumentException("Order type is required");
+            }
+
+            Symbol symbol = Symbol.createFromCode(item.getSymbolCode());
+            Money price = Money.of(item.getPrice(), Currency.valueOf(item.getCurrency()));
+
+            ReservationEntity reservation = portfolio.placeOrder(new Portfolio.PlaceOrderCommand(
+                    symbol, price, item.getQuantity(), item.getOrderType()));
+
+            return new OrderBatchResultDTO.OrderResult(index, item.getOrderType(), item.getSymbolCode(),
+                    true, reservation.getReservationId(), "Order requested");
+        } catch (Exception e) {
+            logger.warn("Batch order {} rejected for portfolio {}: {}",
+                    index, portfolio.getPortfolioId(), e.getMessage());
+            return new OrderBatchResultDTO.OrderResult(index, item.getOrderType(), item.getSymbolCode(),
+                    false, null, e.getMessage());
+        }
+    }
+
+    // ===== ORDER AMENDMENT =====
+
+    /**
+     * Amends a live order's price and total quantity. A reservation that has to grow is resized
+     * in place, so only the difference has to be available, and the order context is asked to
+     * apply the new terms once it has committed. It is sized down when OrderAmendedEvent arrives.
+     */
+    @Transactional(isolation = Isolation.READ_COMMITTED)
+    public PortfolioOperationResultDTO amendOrder(AmendOrderCommand command) {
+        String portfolioId = command.getPortfolioId();
+
+        Lock lock = getPortfolioLock(portfolioId);
+        try {
+            if (!lock.tryLock(LOCK_TIMEOUT_SECONDS, TimeUnit.SECONDS)) {
+                logger.warn("Failed to acquire lock for portfolio: {} within timeout", portfolioId);
+                return PortfolioOperationResultDTO.error(portfolioId, "Portfolio is busy, please try again");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return PortfolioOperationResultDTO.error(portfolioId, "Operation interrupted");
+        }
+
+        try {
+            logger.info("Amending order {} for portfolio: {}", command.getOrderId(), portfolioId);
+
+            Portfolio portfolio = portfolioRepository.findById(portfolioId)
+                    .orElseThrow(() -> new IllegalArgumentException("Portfolio not found: " + portfolioId));
+
+            Money price = Money.of(command.getPrice(), Currency.valueOf(command.getCurrency()));
+            portfolio.amendOrder(command.getOrderId(), price, command.getQuantity());
+
+            List<DomainEvent> events = portfolio.getAndClearEvents();
+            portfolioRepository.save(portfolio);
+            eventPublisher.publishEvents(events);
+
+            return PortfolioOperationResultDTO.success(portfolioId, "Order amendment requested successfully");
+
+        } catch (Portfolio.InsufficientFundsException e) {
+            logger.warn("Insufficient funds to amend order {} for portfolio: {}", command.getOrderId(), portfolioId);
+            return PortfolioOperationResultDTO.error(portfolioId, "Insufficient funds: " + e.getMessage());
+        } catch (Portfolio.InsufficientAssetsException e) {
+            logger.warn("Insufficient assets to amend order {} for portfolio: {}", command.getOrderId(), portfolioId);
+            return PortfolioOperationResultDTO.error(portfolioId, "Insufficient assets: " + e.getMessage());
+        } catch (Exception e) {
+            logger.error("Failed to amend order {} for portfolio: {}", command.getOrderId(), portfolioId, e);
+            return PortfolioOperationResultDTO.error(portfolioId, "Failed to amend order: " + e.getMessage());
+        } finally {
+            EventContext.clear();
+            lock.unlock();
+        }
+    }
+
     // ===== EVENT HANDLERS WITH SEPARATE TRANSACTIONS =====
 
     @EventListener
@@ -254,6 +414,43 @@ public class PortfolioApplicationService extends CorrelationAwareEventListener {
         });
     }
 
+    @EventListener
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    public void handleOrderBatchCreated(OrderBatchCreatedEvent event) {
+        handleEvent(event, () -> {
+            String portfolioId = event.getPortfolioId();
+            logger.info("[SAGA: {}] OrderBatchCreatedEvent - Portfolio: {}, Orders: {}",
+                    event.getCorrelationId(), portfolioId, event.getOrders().size());
+
+            Portfolio portfolio = portfolioRepository.findById(portfolioId)
+                    .orElse(null);
+
+            if (portfolio == null) {
+                logger.warn("Portfolio not found: {}, skipping", portfolioId);
+                return;
+            }
+
+            // Confirm every reservation of the batch with one load and one save
+            for (core.ms.order.domain.events.publish.OrderCreatedEvent order : event.getOrders()) {
+                portfolio.handleOrderCreated(new core.ms.portfolio.domain.events.subscribe.OrderCreatedEvent(
+                        order.getCorrelationId(),
+                        event.getSourceBC(),
+                        order.getOrderId(),
+                        order.getPortfolioId(),
+                        order.getReservationId(),
+                        order.getSymbol(),
+                        order.getPrice(),
+                        order.getQuantity(),
+                        order.getOrderType(),
+                        order.getStatus()
+                ));
+            }
+            portfolioRepository.save(portfolio);
+
+            logger.info("[SAGA: {}] {} reservations confirmed", event.getCorrelationId(), event.getOrders().size());
+        });
+    }
+
     @EventListener
     @Transactional(propagation = Propagation.REQUIRES_NEW)
     public void handleOrderCreationFailed(core.ms.order.domain.events.publish.OrderCreationFailedEvent event) {
@@ -289,6 +486,48 @@ public class PortfolioApplicationService extends CorrelationAwareEventListener {
         });
     }
 
+    @EventListener
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    public void handleOrderAmended(core.ms.order.domain.events.publish.OrderAmendedEvent event) {
+        handleEvent(event, () -> {
+            String portfolioId = event.getPortfolioId();
+            logger.info("[SAGA: {}] OrderAmended - Portfolio: {}, Order: {}",
+                    event.getCorrelationId(), portfolioId, event.getOrderId());
+
+            Portfolio portfolio = portfolioRepository.findById(portfolioId)
+                    .orElse(null);
+
+            if (portfolio == null) {
+                logger.warn("Portfolio not found: {}, skipping", portfolioId);
+                return;
+            }
+
+            portfolio.handleOrderAmended(event.getOrderId(), event.getPrice(), event.getQuantity());
+            portfolioRepository.save(portfolio);
+        });
+    }
+
+    @EventListener
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    public void handleOrderAmendFailed(core.ms.order.domain.events.publish.OrderAmendFailedEvent event) {
+        handleEvent(event, () -> {
+            String portfolioId = event.getPortfolioId();
+            logger.warn("[SAGA: {}] OrderAmendFailed - Portfolio: {}, Order: {}, Reason: {}",
+                    event.getCorrelationId(), portfolioId, event.getOrderId(), event.getReason());
+
+            Portfolio portfolio = portfolioRepository.findById(portfolioId)
+                    .orElse(null);
+
+            if (portfolio == null) {
+                logger.warn("Portfolio not found: {}, skipping", portfolioId);
+                return;
+            }
+
+            portfolio.handleOrderAmendFailed(event.getOrderId(), event.getCurrentPrice(), event.getCurrentQuantity());
+            portfolioRepository.save(portfolio);
+        });
+    }
+
     @EventListener
     @Transactional(propagation = Propagation.REQUIRES_NEW)
     public void handleTransactionCreated(core.ms.order.domain.events.publish.TransactionCreatedEvent event) {
@@ -1,6 +1,7 @@
 package core.ms.portfolio.domain;
 
 import core.ms.portfolio.domain.cash.CashManager;
+import core.ms.portfolio.domain.events.publish.OrderAmendRequestedEvent;
 import core.ms.portfolio.domain.events.publish.OrderRequestedEvent;
 import core.ms.portfolio.domain.events.subscribe.OrderCreatedEvent;
 import core.ms.portfolio.domain.events.subscribe.OrderCreationFailedEvent;
@@ -162,6 +163,115 @@ public class Portfolio {
         return reservation;
     }
 
+    // Order Amendment
+    /**
+     * Grows the order's reservation to cover the new terms and requests the amendment.
+     * The book keeps matching at the old terms until it has taken the new ones, so a
+     * reservation is only sized down once the amendment is done (see handleOrderAmended).
+     * Only orders whose reservation is still open can be amended; the first fill settles it.
+     */
+    public ReservationEntity amendOrder(String orderId, Money newPrice, BigDecimal newQuantity) {
+        ReservationEntity reservation = findActiveReservationByOrderId(orderId)
+                .orElseThrow(() -> new IllegalStateException(
+                        "No open reservation for order " + orderId + "; it may be filled or not yet confirmed"));
+
+        Symbol symbol = Symbol.createFromCode(reservation.getSymbolCode());
+        boolean grows = reservation.getOrderType() == OrderType.BUY
+                ? newPrice.multiply(newQuantity).getAmount().compareTo(reservation.getAmount()) > 0
+                : newQuantity.compareTo(reservation.getQuantity()) > 0;
+        if (grows) {
+            adjustReservation(reservation, symbol, newPrice, newQuantity);
+        }
+
+        EventContext.startNewSaga();
+        domainEvents.add(new OrderAmendRequestedEvent(
+                EventContext.getCurrentCorrelationId(),
+                SOURCE_BC,
+                orderId,
+                reservation.getReservationId(),
+                portfolioId,
+                symbol,
+                newPrice,
+                newQuantity,
+                reservation.getOrderType()
+        ));
+
+        logger.info("Reservation {} amended for order {}: price {}, quantity {}",
+                reservation.getReservationId(), orderId, newPrice.toDisplayString(), newQuantity);
+        return reservation;
+    }
+
+    /**
+     * Sizes the reservation to the terms the order context and the book now hold.
+     */
+    public void handleOrderAmended(String orderId, Money price, BigDecimal quantity) {
+        Optional<ReservationEntity> reservation = findActiveReservationByOrderId(orderId);
+        if (reservation.isEmpty()) {
+            return;
+        }
+
+        Symbol symbol = Symbol.createFromCode(reservation.get().getSymbolCode());
+        try {
+            adjustReservation(reservation.get(), symbol, price, quantity);
+            logger.info("Reservation {} sized to amended order {}: price {}, quantity {}",
+                    reservation.get().getReservationId(), orderId, price.toDisplayString(), quantity);
+        } catch (RuntimeException e) {
+            logger.warn("Could not size reservation {} to amended order {}: {}",
+                    reservation.get().getReservationId(), orderId, e.getMessage());
+        }
+    }
+
+    /**
+     * Puts the reservation back in line with the order the order context actually holds.
+     */
+    public void handleOrderAmendFailed(String orderId, Money currentPrice, BigDecimal currentQuantity) {
+        Optional<ReservationEntity> reservation = findActiveReservationByOrderId(orderId);
+        if (reservation.isEmpty() || currentPrice == null || currentQuantity == null) {
+            return;
+        }
+
+        Symbol symbol = Symbol.createFromCode(reservation.get().getSymbolCode());
+        try {
+            adjustReservation(reservation.get(), symbol, currentPrice, currentQuantity);
+            logger.info("Reservation {} restored after failed amendment of order {}",
+                    reservation.get().getReservationId(), orderId);
+        } catch (RuntimeException e) {
+            // Funds released by the amendment were spent meanwhile; keep what is reserved
+            logger.warn("Could not restore reservation {} for order {}: {}",
+                    reservation.get().getReservationId(), orderId, e.getMessage());
+        }
+    }
+
+    private void adjustReservation(ReservationEntity reservation, Symbol symbol,
+                                   Money price, BigDecimal quantity) {
+        if (reservation.getOrderType() == OrderType.BUY) {
+            Money totalValue = price.multiply(quantity);
+            if (totalValue.getCurrency() != reservation.getCurrency()) {
+                throw new IllegalArgumentException("Order currency is " + reservation.getCurrency() +
+                        ", not " + totalValue.getCurrency());
+            }
+            try {
+                cashManager.adjustReservation(reservation.getReservationId(), totalValue);
+            } catch (CashManager.InsufficientFundsException e) {
+                throw new InsufficientFundsException(e.getMessage());
+            }
+            reservation.amend(totalValue.getAmount(), quantity);
+        } else {
+            try {
+                positionManager.adjustReservation(reservation.getReservationId(), symbol, quantity);
+            } catch (PositionManager.InsufficientAssetsException e) {
+                throw new InsufficientAssetsException(e.getMessage());
+            }
+            reservation.amend(reservation.getAmount(), quantity);
+        }
+    }
+
+    private Optional<ReservationEntity> findActiveReservationByOrderId(String orderId) {
+        return reservations.values().stream()
+                .filter(r -> orderId.equals(r.getOrderId()) && r.isActive())
+                .findFirst();
+    }
+
     // Event Handlers
     public void handleOrderCreated(OrderCreatedEvent event) {
         if (!portfolioId.equals(event.getPortfolioId())) {
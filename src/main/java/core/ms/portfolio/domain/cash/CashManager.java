@@ -60,6 +60,32 @@ public class CashManager {
         ));
     }
 
+    /**
+     * Resize a reservation in place; only an increase needs available funds
+     */
+    public void adjustReservation(String reservationId, Money newAmount) {
+        InternalReservation reservation = internalReservations.get(reservationId);
+        if (reservation == null) {
+            throw new IllegalArgumentException("Reservation not found: " + reservationId);
+        }
+
+        Currency currency = reservation.getCurrency();
+        if (!newAmount.getCurrency().equals(currency)) {
+            throw new IllegalArgumentException("Currency mismatch for reservation: " + reservationId);
+        }
+
+        Money increase = newAmount.subtract(reservation.getAmount());
+        if (increase.isPositive() && getAvailable(currency).isLessThan(increase)) {
+            throw new InsufficientFundsException(
+                    String.format("Cannot increase reservation by %s. Available: %s",
+                            increase.toDisplayString(),
+                            getAvailable(currency).toDisplayString())
+            );
+        }
+
+        reservation.resize(newAmount);
+    }
+
     /**
      * Execute a reservation (consume the reserved funds)
      */
@@ -185,7 +211,7 @@ public class CashManager {
      */
     private static class InternalReservation {
         private final String reservationId;
-        private final Money amount;
+        private Money amount;
         private final Currency currency;
         private final Instant createdAt;
 
@@ -200,6 +226,8 @@ public class CashManager {
         public Money getAmount() { return amount; }
         public Currency getCurrency() { return currency; }
         public Instant getCreatedAt() { return createdAt; }
+
+        public void resize(Money amount) { this.amount = amount; }
     }
 
     public static class InsufficientFundsException extends RuntimeException {
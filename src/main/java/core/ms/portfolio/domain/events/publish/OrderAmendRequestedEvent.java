@@ -0,0 +1,44 @@
+package core.ms.portfolio.domain.events.publish;
+
+import core.ms.shared.OrderType;
+import core.ms.shared.events.BaseEvent;
+import core.ms.shared.money.Money;
+import core.ms.shared.money.Symbol;
+
+import java.math.BigDecimal;
+
+/**
+ * Asks the order context to amend a live order. The reservation already covers the new terms.
+ */
+public class OrderAmendRequestedEvent extends BaseEvent {
+    private final String orderId;
+    private final String reservationId;
+    private final String portfolioId;
+    private final Symbol symbol;
+    private final Money newPrice;
+    private final BigDecimal newQuantity;
+    private final OrderType orderType;
+
+    public OrderAmendRequestedEvent(String correlationId, String sourceBC,
+                                    String orderId, String reservationId, String portfolioId,
+                                    Symbol symbol, Money newPrice, BigDecimal newQuantity,
+                                    OrderType orderType) {
+        super(correlationId, sourceBC);
+        this.orderId = orderId;
+        this.reservationId = reservationId;
+        this.portfolioId = portfolioId;
+        this.symbol = symbol;
+        this.newPrice = newPrice;
+        this.newQuantity = newQuantity;
+        this.orderType = orderType;
+    }
+
+    // Getters
+    public String getOrderId() { return orderId; }
+    public String getReservationId() { return reservationId; }
+    public String getPortfolioId() { return portfolioId; }
+    public Symbol getSymbol() { return symbol; }
+    public Money getNewPrice() { return newPrice; }
+    public BigDecimal getNewQuantity() { return newQuantity; }
+    public OrderType getOrderType() { return orderType; }
+}
@@ -0,0 +1,25 @@
+package core.ms.portfolio.domain.events.publish;
+
+import core.ms.shared.events.BaseEvent;
+
+import java.util.List;
+
+/**
+ * Orders reserved together by one portfolio. Each order keeps its own saga correlation;
+ * the batch is created in one transaction and reaches the book in one pass per symbol.
+ */
+public class OrderBatchRequestedEvent extends BaseEvent {
+    private final String portfolioId;
+    private final List<OrderRequestedEvent> orders;
+
+    public OrderBatchRequestedEvent(String correlationId, String sourceBC,
+                                    String portfolioId, List<OrderRequestedEvent> orders) {
+        super(correlationId, sourceBC);
+        this.portfolioId = portfolioId;
+        this.orders = List.copyOf(orders);
+    }
+
+    // Getters
+    public String getPortfolioId() { return portfolioId; }
+    public List<OrderRequestedEvent> getOrders() { return orders; }
+}
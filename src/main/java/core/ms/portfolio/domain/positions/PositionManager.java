@@ -64,6 +64,31 @@ public class PositionManager {
         ));
     }
 
+    /**
+     * Resize a reservation in place; only an increase needs available assets
+     */
+    public void adjustReservation(String reservationId, Symbol symbol, BigDecimal newQuantity) {
+        InternalReservation reservation = internalReservations.get(reservationId);
+        if (reservation == null) {
+            throw new IllegalArgumentException("Reservation not found: " + reservationId);
+        }
+
+        if (!reservation.getSymbol().equals(symbol)) {
+            throw new IllegalArgumentException("Symbol mismatch for reservation: " + reservationId);
+        }
+
+        BigDecimal increase = newQuantity.subtract(reservation.getQuantity());
+        BigDecimal available = getAvailable(symbol);
+        if (increase.signum() > 0 && available.compareTo(increase) < 0) {
+            throw new InsufficientAssetsException(
+                    String.format("Cannot increase reservation by %s %s. Available: %s",
+                            increase, symbol.getCode(), available)
+            );
+        }
+
+        reservation.resize(newQuantity);
+    }
+
     /**
      * Execute a reservation (consume the reserved assets)
      */
@@ -209,7 +234,7 @@ public class PositionManager {
     private static class InternalReservation {
         private final String reservationId;
         private final Symbol symbol;
-        private final BigDecimal quantity;
+        private BigDecimal quantity;
         private final Instant createdAt;
 
         public InternalReservation(String reservationId, Symbol symbol, BigDecimal quantity) {
@@ -223,6 +248,8 @@ public class PositionManager {
         public Symbol getSymbol() { return symbol; }
         public BigDecimal getQuantity() { return quantity; }
         public Instant getCreatedAt() { return createdAt; }
+
+        public void resize(BigDecimal quantity) { this.quantity = quantity; }
     }
 
     public static class InsufficientAssetsException extends RuntimeException {
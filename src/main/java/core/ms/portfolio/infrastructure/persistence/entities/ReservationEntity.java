@@ -96,6 +96,12 @@ public class ReservationEntity {
         this.updatedAt = LocalDateTime.now();
     }
 
+    public void amend(BigDecimal amount, BigDecimal quantity) {
+        this.amount = amount;
+        this.quantity = quantity;
+        this.updatedAt = LocalDateTime.now();
+    }
+
     public void release() {
         this.status = ReservationStatus.RELEASED;
         this.updatedAt = LocalDateTime.now();
@@ -2,12 +2,15 @@ package core.ms.portfolio.web.controllers;
 
 import core.ms.portfolio.application.dto.command.*;
 import core.ms.portfolio.application.dto.query.CashBalanceDTO;
+import core.ms.portfolio.application.dto.query.OrderBatchResultDTO;
 import core.ms.portfolio.application.dto.query.PortfolioDTO;
 import core.ms.portfolio.application.dto.query.PortfolioOperationResultDTO;
 import core.ms.portfolio.application.services.PortfolioApplicationService;
 import core.ms.portfolio.domain.ports.inbound.PortfolioSnapshot;
+import core.ms.portfolio.web.dto.request.AmendOrderRequest;
 import core.ms.portfolio.web.dto.request.CashOperationRequest;
 import core.ms.portfolio.web.dto.request.CreatePortfolioRequest;
+import core.ms.portfolio.web.dto.request.PlaceOrderBatchRequest;
 import core.ms.portfolio.web.dto.request.PlaceOrderRequest;
 import core.ms.portfolio.web.mappers.PortfolioWebMapper;
 import core.ms.shared.money.Currency;
@@ -113,6 +116,43 @@ public class PortfolioController {
                 .body(ApiResponse.error(result.getMessage()));
     }
 
+    @PostMapping("/{portfolioId}/orders/batch")
+    public ResponseEntity<ApiResponse<OrderBatchResultDTO>> placeOrderBatch(
+            @PathVariable @NotBlank String portfolioId,
+            @Valid @RequestBody PlaceOrderBatchRequest request) {
+
+        PlaceOrderBatchCommand command = webMapper.toCommand(portfolioId, request);
+        OrderBatchResultDTO result = portfolioService.placeOrderBatch(command);
+
+        if (result.isSuccess()) {
+            return ResponseEntity.ok(ApiResponse.success(result.getMessage(), result));
+        }
+        return ResponseEntity.status(HttpStatus.BAD_REQUEST)
+                .body(ApiResponse.error(result.getMessage()));
+    }
+
+    @PatchMapping("/{portfolioId}/orders/{orderId}")
+    public ResponseEntity<ApiResponse<String>> amendOrder(
+            @PathVariable @NotBlank String portfolioId,
+            @PathVariable @NotBlank String orderId,
+            @Valid @RequestBody AmendOrderRequest request) {
+
+        AmendOrderCommand command = new AmendOrderCommand();
+        command.setPortfolioId(portfolioId);
+        command.setOrderId(orderId);
+        command.setPrice(request.getPrice());
+        command.setCurrency(request.getCurrency());
+        command.setQuantity(request.getQuantity());
+
+        PortfolioOperationResultDTO result = portfolioService.amendOrder(command);
+
+        if (result.isSuccess()) {
+            return ResponseEntity.ok(ApiResponse.success(result.getMessage(), orderId));
+        }
+        return ResponseEntity.status(HttpStatus.BAD_REQUEST)
+                .body(ApiResponse.error(result.getMessage()));
+    }
+
     // ===== CASH OPERATIONS =====
 
     @PostMapping("/{portfolioId}/cash/deposit")
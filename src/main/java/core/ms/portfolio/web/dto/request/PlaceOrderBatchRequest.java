@@ -0,0 +1,51 @@
+package core.ms.portfolio.web.dto.request;
+
+import core.ms.shared.OrderType;
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+
+public class PlaceOrderBatchRequest {
+
+    public static final int MAX_ORDERS = 100;
+
+    @NotEmpty(message = "Batch must contain at least one order")
+    @Size(max = MAX_ORDERS, message = "Batch cannot contain more than " + MAX_ORDERS + " orders")
+    private List<@Valid @NotNull BatchOrder> orders = new ArrayList<>();
+
+    // Constructors
+    public PlaceOrderBatchRequest() {}
+
+    public PlaceOrderBatchRequest(List<BatchOrder> orders) {
+        this.orders = orders;
+    }
+
+    // Getters and Setters
+    public List<BatchOrder> getOrders() { return orders; }
+    public void setOrders(List<BatchOrder> orders) { this.orders = orders; }
+
+    /**
+     * One order of the batch: a place order request with its side.
+     */
+    public static class BatchOrder extends PlaceOrderRequest {
+
+        @NotNull(message = "Order type cannot be null")
+        private OrderType orderType;
+
+        public BatchOrder() {}
+
+        public BatchOrder(OrderType orderType, String symbolCode, BigDecimal price,
+                          String currency, BigDecimal quantity) {
+            super(symbolCode, price, currency, quantity);
+            this.orderType = orderType;
+        }
+
+        public OrderType getOrderType() { return orderType; }
+        public void setOrderType(OrderType orderType) { this.orderType = orderType; }
+    }
+}
@@ -1,8 +1,10 @@
 package core.ms.portfolio.web.mappers;
 
 import core.ms.portfolio.application.dto.command.CreatePortfolioCommand;
+import core.ms.portfolio.application.dto.command.PlaceOrderBatchCommand;
 import core.ms.portfolio.application.dto.query.PortfolioDTO;
 import core.ms.portfolio.web.dto.request.CreatePortfolioRequest;
+import core.ms.portfolio.web.dto.request.PlaceOrderBatchRequest;
 import core.ms.portfolio.web.dto.response.PortfolioResponse;
 import core.ms.portfolio.web.dto.response.PositionResponse;
 import core.ms.shared.money.Currency;
@@ -27,6 +29,21 @@ public class PortfolioWebMapper {
         );
     }
 
+    public PlaceOrderBatchCommand toCommand(String portfolioId, PlaceOrderBatchRequest request) {
+        PlaceOrderBatchCommand command = new PlaceOrderBatchCommand();
+        command.setPortfolioId(portfolioId);
+        command.setOrders(request.getOrders().stream()
+                .map(order -> new PlaceOrderBatchCommand.OrderItem(
+                        order.getOrderType(),
+                        order.getSymbolCode(),
+                        order.getPrice(),
+                        order.getCurrency(),
+                        order.getQuantity()
+                ))
+                .toList());
+        return command;
+    }
+
     // DTO to Response mappings
     public PortfolioResponse toResponse(PortfolioDTO dto) {
         PortfolioResponse response = new PortfolioResponse();
@@ -0,0 +1,59 @@
+-- V3__Merge_order_tables.sql
+-- Moves buy_orders and sell_orders into a single orders table with a side discriminator,
+-- so lookups by id, symbol, status or portfolio no longer query both tables
+
+-- Schemas created by Hibernate already have these columns; V1 schemas do not
+ALTER TABLE buy_orders ADD COLUMN IF NOT EXISTS portfolio_id VARCHAR(50);
+ALTER TABLE buy_orders ADD COLUMN IF NOT EXISTS reservation_id VARCHAR(50);
+ALTER TABLE sell_orders ADD COLUMN IF NOT EXISTS portfolio_id VARCHAR(50);
+ALTER TABLE sell_orders ADD COLUMN IF NOT EXISTS reservation_id VARCHAR(50);
+
+-- Orders Table
+CREATE TABLE orders (
+                        id VARCHAR(50) PRIMARY KEY,
+                        side VARCHAR(4) NOT NULL CHECK (side IN ('BUY', 'SELL')),
+                        portfolio_id VARCHAR(50),
+                        reservation_id VARCHAR(50),
+                        symbol_code VARCHAR(20) NOT NULL,
+                        symbol_name VARCHAR(100) NOT NULL,
+                        price DECIMAL(19,8) NOT NULL CHECK (price > 0),
+                        currency currency_enum NOT NULL,
+                        quantity DECIMAL(19,8) NOT NULL CHECK (quantity > 0),
+                        status order_status_enum NOT NULL DEFAULT 'PENDING',
+                        executed_quantity DECIMAL(19,8) NOT NULL DEFAULT 0 CHECK (executed_quantity >= 0),
+                        created_at TIMESTAMP WITHOUT TIME ZONE NOT NULL,
+                        updated_at TIMESTAMP WITHOUT TIME ZONE NOT NULL,
+
+    -- Constraints
+                        CONSTRAINT chk_orders_executed_quantity CHECK (executed_quantity <= quantity)
+);
+
+-- Copy existing orders
+INSERT INTO orders (id, side, portfolio_id, reservation_id, symbol_code, symbol_name, price, currency,
+                    quantity, status, executed_quantity, created_at, updated_at)
+SELECT id, 'BUY', portfolio_id, reservation_id, symbol_code, symbol_name, price, currency,
+       quantity, status, executed_quantity, created_at, updated_at
+FROM buy_orders;
+
+INSERT INTO orders (id, side, portfolio_id, reservation_id, symbol_code, symbol_name, price, currency,
+                    quantity, status, executed_quantity, created_at, updated_at)
+SELECT id, 'SELL', portfolio_id, reservation_id, symbol_code, symbol_name, price, currency,
+       quantity, status, executed_quantity, created_at, updated_at
+FROM sell_orders;
+
+-- Create indexes for performance
+-- symbol/status/portfolio serves lookups by symbol, symbol and status, and all three together
+CREATE INDEX idx_orders_symbol_status_portfolio ON orders(symbol_code, status, portfolio_id);
+CREATE INDEX idx_orders_side_symbol ON orders(side, symbol_code);
+CREATE INDEX idx_orders_portfolio_status ON orders(portfolio_id, status);
+CREATE INDEX idx_orders_status ON orders(status);
+CREATE INDEX idx_orders_created_at ON orders(created_at);
+
+-- Drop the per-side tables (their indexes go with them)
+DROP TABLE buy_orders;
+DROP TABLE sell_orders;
+
+-- Add comments for documentation
+COMMENT ON TABLE orders IS 'Buy and sell orders for trading system';
+COMMENT ON COLUMN orders.side IS 'BUY or SELL; selects the order entity class';
+COMMENT ON COLUMN orders.executed_quantity IS 'Amount of the order that has been executed';
\ No newline at end of file
@@ -0,0 +1,6 @@
+-- V4__Add_order_version.sql
+-- Row version for optimistic checks: the order saga writes orders back only if the version is unchanged
+
+ALTER TABLE orders ADD COLUMN version BIGINT NOT NULL DEFAULT 0;
+
+COMMENT ON COLUMN orders.version IS 'Incremented on every order update; guards writes from the order cache';
\ No newline at end of file
@@ -0,0 +1,159 @@
+package core.ms.order.application.services;
+
+import core.ms.order.domain.entities.IBuyOrder;
+import core.ms.order.domain.entities.IOrder;
+import core.ms.order.domain.entities.ISellOrder;
+import core.ms.order.domain.factories.OrderFactory;
+import core.ms.order.domain.ports.outbound.OrderRepository;
+import core.ms.order.domain.value_objects.OrderStatusEnum;
+import core.ms.shared.money.Symbol;
+import jakarta.persistence.LockModeType;
+import org.springframework.dao.OptimisticLockingFailureException;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Order table for saga tests. Like the database it hands out fresh copies, so a rolled-back
+ * attempt never leaks into the next read, and checks versions on updateAllVersioned.
+ */
+class InMemoryOrderRepository implements OrderRepository {
+
+    private final Map<String, IOrder> rows = new LinkedHashMap<>();
+    private int conflictsToRaise;
+    private int versionedUpdates;
+
+    /**
+     * Makes the next updateAllVersioned calls fail as if another writer had got there first.
+     */
+    void conflictOnNextUpdates(int count) {
+        conflictsToRaise = count;
+    }
+
+    int getVersionedUpdates() {
+        return versionedUpdates;
+    }
+
+    IOrder stored(String orderId) {
+        return copy(rows.get(orderId));
+    }
+
+    @Override
+    public IOrder save(IOrder order) {
+        rows.put(order.getId(), copy(order));
+        return order;
+    }
+
+    @Override
+    public List<IOrder> insertAll(List<? extends IOrder> orders) {
+        orders.forEach(this::save);
+        return new ArrayList<>(orders);
+    }
+
+    @Override
+    public void flush() {
+    }
+
+    @Override
+    public Optional<IOrder> findById(String orderId) {
+        return Optional.ofNullable(rows.get(orderId)).map(InMemoryOrderRepository::copy);
+    }
+
+    @Override
+    public Optional<IOrder> findByIdWithLock(String orderId, LockModeType lockMode) {
+        return findById(orderId);
+    }
+
+    @Override
+    public List<IOrder> findAllById(Collection<String> orderIds) {
+        List<IOrder> found = new ArrayList<>();
+        for (String orderId : orderIds) {
+            findById(orderId).ifPresent(found::add);
+        }
+        return found;
+    }
+
+    @Override
+    public void updateAllVersioned(List<? extends IOrder> orders) {
+        versionedUpdates++;
+        if (conflictsToRaise > 0) {
+            conflictsToRaise--;
+            throw new OptimisticLockingFailureException("Order changed concurrently");
+        }
+        for (IOrder order : orders) {
+            IOrder row = rows.get(order.getId());
+            if (row == null || row.getVersion() != order.getVersion()) {
+                throw new OptimisticLockingFailureException("Order " + order.getId() + " changed concurrently");
+            }
+        }
+        for (IOrder order : orders) {
+            order.setVersion(order.getVersion() + 1);
+            rows.put(order.getId(), copy(order));
+        }
+    }
+
+    @Override
+    public void deleteById(String orderId) {
+        rows.remove(orderId);
+    }
+
+    @Override
+    public boolean existsById(String orderId) {
+        return rows.containsKey(orderId);
+    }
+
+    @Override
+    public List<IOrder> findBySymbol(Symbol symbol) {
+        return rows.values().stream().filter(order -> order.getSymbol().equals(symbol))
+                .map(InMemoryOrderRepository::copy).toList();
+    }
+
+    @Override
+    public List<IOrder> findByStatus(OrderStatusEnum status) {
+        return rows.values().stream().filter(order -> order.getStatus().getStatus() == status)
+                .map(InMemoryOrderRepository::copy).toList();
+    }
+
+    @Override
+    public List<IOrder> findByPortfolioId(String portfolioId) {
+        return rows.values().stream().filter(order -> portfolioId.equals(order.getPortfolioId()))
+                .map(InMemoryOrderRepository::copy).toList();
+    }
+
+    @Override
+    public List<IBuyOrder> findBuyOrdersBySymbol(Symbol symbol) {
+        return findBySymbol(symbol).stream().filter(IBuyOrder.class::isInstance).map(IBuyOrder.class::cast).toList();
+    }
+
+    @Override
+    public List<ISellOrder> findSellOrdersBySymbol(Symbol symbol) {
+        return findBySymbol(symbol).stream().filter(ISellOrder.class::isInstance).map(ISellOrder.class::cast).toList();
+    }
+
+    @Override
+    public List<IOrder> findAll() {
+        return rows.values().stream().map(InMemoryOrderRepository::copy).toList();
+    }
+
+    @Override
+    public long count() {
+        return rows.size();
+    }
+
+    private static IOrder copy(IOrder order) {
+        if (order == null) {
+            return null;
+        }
+        return order instanceof IBuyOrder
+                ? OrderFactory.restoreBuyOrder(order.getId(), order.getPortfolioId(), order.getReservationId(),
+                order.getSymbol(), order.getPrice(), order.getQuantity(), order.getStatus().getStatus(),
+                order.getExecutedQuantity(), order.getCreatedAt(), order.getUpdatedAt(), order.getVersion())
+                : OrderFactory.restoreSellOrder(order.getId(), order.getPortfolioId(), order.getReservationId(),
+                order.getSymbol(), order.getPrice(), order.getQuantity(), order.getStatus().getStatus(),
+                order.getExecutedQuantity(), order.getCreatedAt(), order.getUpdatedAt(), order.getVersion());
+    }
+}
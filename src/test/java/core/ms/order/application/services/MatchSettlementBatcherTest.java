@@ -0,0 +1,97 @@
+package core.ms.order.application.services;
+
+import core.ms.order.domain.events.publish.TransactionCreatedEvent;
+import core.ms.order.domain.events.publish.TransactionCreationFailedEvent;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Version conflicts on the single-match settlement path, and the fallback to it when a batch fails.
+ */
+class MatchSettlementBatcherTest {
+
+    private SagaFixture fixture;
+    private MatchSettlementBatcher batcher;
+
+    @BeforeEach
+    void setUp() {
+        fixture = new SagaFixture();
+        fixture.buy("b1", "100", "2");
+        fixture.sell("s1", "100", "1");
+
+        batcher = new MatchSettlementBatcher();
+        ReflectionTestUtils.setField(batcher, "orderSagaService", fixture.saga);
+        ReflectionTestUtils.setField(batcher, "conflictMaxAttempts", 3);
+        ReflectionTestUtils.setField(batcher, "conflictBackoffMs", 1L);
+    }
+
+    @Test
+    void aVersionConflictIsRethrownWithoutFailingTheFill() {
+        fixture.orders.conflictOnNextUpdates(1);
+
+        assertThrows(OptimisticLockingFailureException.class,
+                () -> fixture.saga.processOrderMatch(SagaFixture.match("BTC#1", "b1", "s1", "1")));
+
+        assertTrue(fixture.published(TransactionCreationFailedEvent.class).isEmpty(),
+                "a conflict must not hand the fill back to the book");
+        assertEquals(0, BigDecimal.ZERO.compareTo(fixture.executed("b1")));
+    }
+
+    @Test
+    void settlesAgainAfterVersionConflicts() {
+        fixture.orders.conflictOnNextUpdates(2);
+
+        batcher.settleMatch(SagaFixture.match("BTC#1", "b1", "s1", "1"));
+
+        assertEquals(3, fixture.orders.getVersionedUpdates());
+        assertEquals(1, fixture.published(TransactionCreatedEvent.class).size());
+        assertTrue(fixture.published(TransactionCreationFailedEvent.class).isEmpty());
+        // Applied once, on the state read by the successful attempt
+        assertEquals(0, BigDecimal.ONE.compareTo(fixture.executed("b1")));
+        assertEquals(0, BigDecimal.ONE.compareTo(fixture.executed("s1")));
+    }
+
+    @Test
+    void reportsTheMatchOnceConflictsRunOut() {
+        fixture.orders.conflictOnNextUpdates(3);
+
+        assertThrows(OrderSagaService.TransactionCreationException.class,
+                () -> batcher.settleMatch(SagaFixture.match("BTC#1", "b1", "s1", "1")));
+
+        assertEquals(3, fixture.orders.getVersionedUpdates());
+        assertEquals(1, fixture.published(TransactionCreationFailedEvent.class).size());
+        TransactionCreationFailedEvent failure = fixture.published(TransactionCreationFailedEvent.class).get(0);
+        assertEquals("BTC#1", failure.getMatchId());
+        assertEquals(0, BigDecimal.ONE.compareTo(failure.getMatchedQuantity()));
+        assertTrue(fixture.published(TransactionCreatedEvent.class).isEmpty());
+    }
+
+    @Test
+    void aFailedBatchIsSettledMatchByMatch() {
+        fixture.sell("s2", "100", "1");
+        // Fails the batch write only; the single-match attempts go through
+        fixture.orders.conflictOnNextUpdates(1);
+
+        ReflectionTestUtils.invokeMethod(batcher, "settle", List.of(
+                SagaFixture.match("BTC#1", "b1", "s1", "1"),
+                SagaFixture.match("BTC#2", "b1", "ghost", "1"),
+                SagaFixture.match("BTC#3", "b1", "s2", "1")));
+
+        assertEquals(3, fixture.orders.getVersionedUpdates());
+        assertEquals(2, fixture.published(TransactionCreatedEvent.class).size());
+        assertEquals(0, new BigDecimal("2").compareTo(fixture.executed("b1")));
+        // Only the match that cannot settle on its own is handed back to the book
+        List<TransactionCreationFailedEvent> failures = fixture.published(TransactionCreationFailedEvent.class);
+        assertEquals(1, failures.size());
+        assertEquals("BTC#2", failures.get(0).getMatchId());
+    }
+}
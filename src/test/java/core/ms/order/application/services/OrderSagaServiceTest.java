@@ -0,0 +1,132 @@
+package core.ms.order.application.services;
+
+import core.ms.order.domain.events.publish.OrderAmendFailedEvent;
+import core.ms.order.domain.events.publish.OrderAmendedEvent;
+import core.ms.order.domain.events.publish.TransactionCreatedEvent;
+import core.ms.order.domain.events.publish.TransactionCreationFailedEvent;
+import core.ms.order.domain.events.subscribe.OrderAmendRequestedEvent;
+import core.ms.shared.money.Currency;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class OrderSagaServiceTest {
+
+    private SagaFixture fixture;
+
+    @BeforeEach
+    void setUp() {
+        fixture = new SagaFixture();
+        fixture.buy("b1", "100", "2");
+    }
+
+    @Test
+    void amendmentIsStoredBeforeTheBookTakesIt() {
+        Optional<OrderSagaService.PendingAmend> amend = fixture.saga.processOrderAmend(amend("b1", "101", "3"));
+
+        assertTrue(amend.isPresent());
+        assertTrue(fixture.book.amendments.isEmpty(), "the book must wait for the amendment to commit");
+        assertTrue(fixture.published(OrderAmendedEvent.class).isEmpty());
+
+        fixture.saga.applyOrderAmend(amend.get());
+
+        assertEquals(List.of("b1 3 @ 101 (stored 3 @ 101)"), fixture.book.amendments);
+        assertEquals(1, fixture.published(OrderAmendedEvent.class).size());
+    }
+
+    @Test
+    void rejectedAmendmentNeverReachesTheBook() {
+        assertTrue(fixture.saga.processOrderAmend(amend("b1", "101", "0")).isEmpty());
+
+        assertTrue(fixture.book.amendments.isEmpty());
+        assertEquals(1, fixture.published(OrderAmendFailedEvent.class).size());
+        assertQuantity("2", fixture.orders.stored("b1").getQuantity());
+    }
+
+    @Test
+    void refusedByTheBookPutsThePreviousTermsBack() {
+        OrderSagaService.PendingAmend amend = fixture.saga.processOrderAmend(amend("b1", "101", "3")).orElseThrow();
+        fixture.book.resting = false;
+
+        fixture.saga.applyOrderAmend(amend);
+
+        assertQuantity("2", fixture.orders.stored("b1").getQuantity());
+        assertQuantity("100", fixture.orders.stored("b1").getPrice().getAmount());
+        assertTrue(fixture.published(OrderAmendedEvent.class).isEmpty());
+        OrderAmendFailedEvent failure = fixture.published(OrderAmendFailedEvent.class).get(0);
+        assertQuantity("2", failure.getCurrentQuantity());
+    }
+
+    @Test
+    void refusalDoesNotUndoALaterAmendment() {
+        OrderSagaService.PendingAmend first = fixture.saga.processOrderAmend(amend("b1", "101", "3")).orElseThrow();
+        fixture.saga.processOrderAmend(amend("b1", "102", "4")).orElseThrow();
+        fixture.book.resting = false;
+
+        fixture.saga.applyOrderAmend(first);
+
+        assertQuantity("4", fixture.orders.stored("b1").getQuantity());
+        assertQuantity("102", fixture.orders.stored("b1").getPrice().getAmount());
+    }
+
+    @Test
+    void settlesABatchWithOneVersionedWrite() {
+        fixture.sell("s1", "100", "1");
+        fixture.sell("s2", "100", "1");
+
+        int settled = fixture.saga.processOrderMatchBatch(List.of(
+                SagaFixture.match("BTC#1", "b1", "s1", "1"),
+                SagaFixture.match("BTC#2", "b1", "s2", "1")));
+
+        assertEquals(2, settled);
+        assertEquals(1, fixture.orders.getVersionedUpdates());
+        assertEquals(2, fixture.published(TransactionCreatedEvent.class).size());
+        assertQuantity("2", fixture.executed("b1"));
+        assertQuantity("1", fixture.executed("s1"));
+        assertQuantity("1", fixture.executed("s2"));
+    }
+
+    @Test
+    void laterMatchesOfABatchOnlyGetWhatEarlierOnesLeft() {
+        fixture.sell("s1", "100", "3");
+
+        int settled = fixture.saga.processOrderMatchBatch(List.of(
+                SagaFixture.match("BTC#1", "b1", "s1", "1.5"),
+                SagaFixture.match("BTC#2", "b1", "s1", "1"),
+                SagaFixture.match("BTC#3", "b1", "s1", "1")));
+
+        assertEquals(2, settled);
+        assertQuantity("2", fixture.executed("b1"));
+        assertQuantity("2", fixture.executed("s1"));
+        TransactionCreationFailedEvent failure = fixture.published(TransactionCreationFailedEvent.class).get(0);
+        assertEquals("BTC#3", failure.getMatchId());
+    }
+
+    @Test
+    void aBatchSettlesEachMatchOnce() {
+        fixture.sell("s1", "100", "2");
+
+        assertEquals(1, fixture.saga.processOrderMatchBatch(List.of(
+                SagaFixture.match("BTC#1", "b1", "s1", "1"),
+                SagaFixture.match("BTC#1", "b1", "s1", "1"))));
+        assertEquals(0, fixture.saga.processOrderMatchBatch(List.of(SagaFixture.match("BTC#1", "b1", "s1", "1"))));
+
+        assertQuantity("1", fixture.executed("b1"));
+        assertEquals(1, fixture.published(TransactionCreatedEvent.class).size());
+    }
+
+    private static OrderAmendRequestedEvent amend(String orderId, String price, String quantity) {
+        return new OrderAmendRequestedEvent("corr-amend-" + orderId, "PORTFOLIO_BC", orderId, "portfolio-" + orderId,
+                new BigDecimal(price), Currency.USD, new BigDecimal(quantity));
+    }
+
+    private static void assertQuantity(String expected, BigDecimal actual) {
+        assertEquals(0, new BigDecimal(expected).compareTo(actual), "expected " + expected + " but was " + actual);
+    }
+}
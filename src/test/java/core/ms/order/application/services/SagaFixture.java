@@ -0,0 +1,186 @@
+package core.ms.order.application.services;
+
+import core.ms.order.domain.entities.IBuyOrder;
+import core.ms.order.domain.entities.IOrder;
+import core.ms.order.domain.entities.ISellOrder;
+import core.ms.order.domain.entities.ITransaction;
+import core.ms.order.domain.events.subscribe.OrderMatchedEvent;
+import core.ms.order.domain.factories.OrderFactory;
+import core.ms.order.domain.ports.outbound.OrderBookAdapter;
+import core.ms.order.domain.ports.outbound.TransactionRepository;
+import core.ms.shared.events.DomainEvent;
+import core.ms.shared.events.EventBus;
+import core.ms.shared.money.Currency;
+import core.ms.shared.money.Money;
+import core.ms.shared.money.Symbol;
+import jakarta.persistence.LockModeType;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * An {@link OrderSagaService} wired to in-memory ports, without a Spring context.
+ * Calls run outside any transaction, so outcomes are published as soon as a call succeeds.
+ */
+class SagaFixture {
+
+    static final Symbol SYMBOL = Symbol.btcUsd();
+
+    final InMemoryOrderRepository orders = new InMemoryOrderRepository();
+    final List<ITransaction> transactions = new ArrayList<>();
+    final List<DomainEvent> published = new ArrayList<>();
+    final FakeBook book = new FakeBook();
+    final OrderSagaService saga = new OrderSagaService();
+
+    SagaFixture() {
+        OrderAggregateCache cache = new OrderAggregateCache();
+        ReflectionTestUtils.setField(cache, "orderRepository", orders);
+        ReflectionTestUtils.setField(cache, "maxEntries", 100);
+
+        ReflectionTestUtils.setField(saga, "orderRepository", orders);
+        ReflectionTestUtils.setField(saga, "transactionRepository", new ListTransactionRepository());
+        ReflectionTestUtils.setField(saga, "eventBus", new ListEventBus());
+        ReflectionTestUtils.setField(saga, "orderCache", cache);
+        ReflectionTestUtils.setField(saga, "orderBookAdapter", book);
+        ReflectionTestUtils.setField(saga, "settledMatchMemory", 1_000);
+    }
+
+    IBuyOrder buy(String id, String price, String quantity) {
+        IBuyOrder order = OrderFactory.createBuyOrderWithId(id, "portfolio-" + id, "reservation-" + id, SYMBOL,
+                Money.usd(price), new BigDecimal(quantity));
+        orders.save(order);
+        return order;
+    }
+
+    ISellOrder sell(String id, String price, String quantity) {
+        ISellOrder order = OrderFactory.createSellOrderWithId(id, "portfolio-" + id, "reservation-" + id, SYMBOL,
+                Money.usd(price), new BigDecimal(quantity));
+        orders.save(order);
+        return order;
+    }
+
+    static OrderMatchedEvent match(String matchId, String buyOrderId, String sellOrderId, String quantity) {
+        return new OrderMatchedEvent("corr-" + matchId, "ORDER_BOOK_BC", matchId, SYMBOL.getCode(),
+                buyOrderId, sellOrderId, new BigDecimal(quantity), new BigDecimal("100"), Currency.USD);
+    }
+
+    <T extends DomainEvent> List<T> published(Class<T> type) {
+        return published.stream().filter(type::isInstance).map(type::cast).toList();
+    }
+
+    BigDecimal executed(String orderId) {
+        return orders.stored(orderId).getExecutedQuantity();
+    }
+
+    /**
+     * Book side of amendments: records the terms it was given and what the store held at the time.
+     */
+    class FakeBook implements OrderBookAdapter {
+        final List<String> amendments = new ArrayList<>();
+        boolean resting = true;
+
+        @Override
+        public boolean amendInBook(String orderId, Symbol symbol, Money price, BigDecimal quantity) {
+            IOrder stored = orders.stored(orderId);
+            amendments.add(orderId + " " + quantity.toPlainString() + " @ " + price.getAmount().toPlainString()
+                    + " (stored " + stored.getQuantity().toPlainString() + " @ "
+                    + stored.getPrice().getAmount().toPlainString() + ")");
+            return resting;
+        }
+    }
+
+    private class ListEventBus implements EventBus {
+        @Override
+        public void publish(DomainEvent event) {
+            published.add(event);
+        }
+
+        @Override
+        public void publishAll(List<? extends DomainEvent> events) {
+            published.addAll(events);
+        }
+    }
+
+    private class ListTransactionRepository implements TransactionRepository {
+        @Override
+        public ITransaction save(ITransaction transaction) {
+            transactions.add(transaction);
+            return transaction;
+        }
+
+        @Override
+        public ITransaction saveAndFlush(ITransaction transaction) {
+            return save(transaction);
+        }
+
+        @Override
+        public void insertAll(List<? extends ITransaction> inserted) {
+            transactions.addAll(inserted);
+        }
+
+        @Override
+        public Optional<ITransaction> findById(String transactionId) {
+            return transactions.stream().filter(transaction -> transaction.getId().equals(transactionId)).findFirst();
+        }
+
+        @Override
+        public Optional<ITransaction> findByIdWithLock(String transactionId, LockModeType lockMode) {
+            return findById(transactionId);
+        }
+
+        @Override
+        public void deleteById(String transactionId) {
+            transactions.removeIf(transaction -> transaction.getId().equals(transactionId));
+        }
+
+        @Override
+        public boolean existsById(String transactionId) {
+            return findById(transactionId).isPresent();
+        }
+
+        @Override
+        public void flush() {
+        }
+
+        @Override
+        public List<ITransaction> findByOrderId(String orderId) {
+            return transactions.stream().filter(transaction -> transaction.getBuyOrder().getId().equals(orderId)
+                    || transaction.getSellOrder().getId().equals(orderId)).toList();
+        }
+
+        @Override
+        public List<ITransaction> findBySymbol(Symbol symbol) {
+            return transactions.stream().filter(transaction -> transaction.getSymbol().equals(symbol)).toList();
+        }
+
+        @Override
+        public List<ITransaction> findByDateRange(LocalDateTime startDate, LocalDateTime endDate) {
+            return List.copyOf(transactions);
+        }
+
+        @Override
+        public boolean existsByBuyOrderIdAndSellOrderId(String buyOrderId, String sellOrderId) {
+            return findByBuyOrderIdAndSellOrderId(buyOrderId, sellOrderId).isPresent();
+        }
+
+        @Override
+        public Optional<ITransaction> findByBuyOrderIdAndSellOrderId(String buyOrderId, String sellOrderId) {
+            return transactions.stream().filter(transaction -> transaction.getBuyOrder().getId().equals(buyOrderId)
+                    && transaction.getSellOrder().getId().equals(sellOrderId)).findFirst();
+        }
+
+        @Override
+        public List<ITransaction> findAll() {
+            return List.copyOf(transactions);
+        }
+
+        @Override
+        public long count() {
+            return transactions.size();
+        }
+    }
+}
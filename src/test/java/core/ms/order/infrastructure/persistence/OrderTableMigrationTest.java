@@ -0,0 +1,94 @@
+package core.ms.order.infrastructure.persistence;
+
+import org.flywaydb.core.Flyway;
+import org.junit.jupiter.api.Test;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.math.BigDecimal;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Runs the Flyway migrations against PostgreSQL, which they are written for: orders stored in
+ * the per-side tables of V1 must come out of V3/V4 in the single orders table.
+ */
+@Testcontainers
+class OrderTableMigrationTest {
+
+    @Container
+    static PostgreSQLContainer<?> postgres = new PostgreSQLContainer<>("postgres:16-alpine");
+
+    @Test
+    void movesPerSideOrdersIntoTheOrdersTable() throws SQLException {
+        Flyway beforeMerge = flyway("2");
+        beforeMerge.clean();
+        beforeMerge.migrate();
+        try (Connection connection = connect(); Statement statement = connection.createStatement()) {
+            statement.execute("INSERT INTO buy_orders (id, symbol_code, symbol_name, price, currency, quantity, " +
+                    "status, executed_quantity, created_at, updated_at) VALUES ('BUY1-0001', 'BTC', 'Bitcoin', " +
+                    "100, 'USD', 2, 'PARTIAL', 0.5, now(), now())");
+            statement.execute("INSERT INTO sell_orders (id, symbol_code, symbol_name, price, currency, quantity, " +
+                    "status, executed_quantity, created_at, updated_at) VALUES ('SELL1-0001', 'BTC', 'Bitcoin', " +
+                    "101, 'USD', 3, 'PENDING', 0, now(), now())");
+        }
+
+        flyway(null).migrate();
+
+        try (Connection connection = connect(); Statement statement = connection.createStatement()) {
+            try (ResultSet rows = statement.executeQuery(
+                    "SELECT id, side, status, executed_quantity, version FROM orders ORDER BY id")) {
+                assertTrue(rows.next());
+                assertEquals("BUY1-0001", rows.getString("id"));
+                assertEquals("BUY", rows.getString("side"));
+                assertEquals("PARTIAL", rows.getString("status"));
+                assertEquals(0, new BigDecimal("0.5").compareTo(rows.getBigDecimal("executed_quantity")));
+                assertEquals(0, rows.getLong("version"));
+
+                assertTrue(rows.next());
+                assertEquals("SELL1-0001", rows.getString("id"));
+                assertEquals("SELL", rows.getString("side"));
+                assertFalse(rows.next());
+            }
+
+            try (ResultSet tables = statement.executeQuery(
+                    "SELECT count(*) FROM information_schema.tables WHERE table_name IN ('buy_orders', 'sell_orders')")) {
+                tables.next();
+                assertEquals(0, tables.getInt(1));
+            }
+        }
+    }
+
+    @Test
+    void indexesOrdersBySymbolStatusAndPortfolio() throws SQLException {
+        flyway(null).migrate();
+        try (Connection connection = connect(); Statement statement = connection.createStatement();
+             ResultSet index = statement.executeQuery(
+                     "SELECT indexdef FROM pg_indexes WHERE indexname = 'idx_orders_symbol_status_portfolio'")) {
+            assertTrue(index.next());
+            assertTrue(index.getString(1).endsWith("(symbol_code, status, portfolio_id)"), index.getString(1));
+        }
+    }
+
+    private static Flyway flyway(String target) {
+        var configuration = Flyway.configure()
+                .dataSource(postgres.getJdbcUrl(), postgres.getUsername(), postgres.getPassword())
+                .cleanDisabled(false);
+        if (target != null) {
+            configuration.target(target);
+        }
+        return configuration.load();
+    }
+
+    private static Connection connect() throws SQLException {
+        return DriverManager.getConnection(postgres.getJdbcUrl(), postgres.getUsername(), postgres.getPassword());
+    }
+}
@@ -0,0 +1,125 @@
+package core.ms.order_book.application.services;
+
+import core.ms.order_book.domain.events.publish.OrderMatchedEvent;
+import core.ms.order_book.domain.ports.outbound.OrderMatchEventPublisher;
+import core.ms.order_book.infrastructure.persistence.journal.MappedOrderBookJournal;
+import core.ms.shared.money.Money;
+import core.ms.shared.money.Symbol;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class MatchOutputPipelineTest {
+
+    private static final Symbol BTC = Symbol.btcUsd();
+
+    private FlakyPublisher publisher;
+    private MatchOutputPipeline pipeline;
+
+    @BeforeEach
+    void setUp() {
+        publisher = new FlakyPublisher();
+        pipeline = new MatchOutputPipeline();
+        ReflectionTestUtils.setField(pipeline, "eventPublisher", publisher);
+        // Never started, so there is nothing to wait for
+        ReflectionTestUtils.setField(pipeline, "journal", new MappedOrderBookJournal());
+        ReflectionTestUtils.setField(pipeline, "capacity", 4);
+        ReflectionTestUtils.setField(pipeline, "batchSize", 2);
+        ReflectionTestUtils.setField(pipeline, "backoffMs", 1L);
+        ReflectionTestUtils.setField(pipeline, "maxBackoffMs", 4L);
+        ReflectionTestUtils.setField(pipeline, "attemptsAfterStop", 1);
+    }
+
+    @AfterEach
+    void tearDown() {
+        publisher.failures.set(0);
+        pipeline.shutdown();
+    }
+
+    @Test
+    void aFailingMatchIsRetriedBeforeTheOnesBehindIt() throws InterruptedException {
+        publisher.failures.set(5);
+
+        pipeline.publish(BTC, List.of(match("b1"), match("b2"), match("b3")));
+
+        assertTrue(publisher.awaitPublished(3));
+        assertEquals(List.of("b1", "b2", "b3"), publisher.publishedBuyOrders());
+        assertEquals(5, pipeline.getPublishRetries());
+    }
+
+    @Test
+    void theBookWaitsWhileTheHeadCannotBePublished() throws InterruptedException {
+        publisher.failures.set(Integer.MAX_VALUE);
+        pipeline.publish(BTC, List.of(match("b1"), match("b2"), match("b3"), match("b4")));
+
+        CompletableFuture<Void> writer = CompletableFuture.runAsync(
+                () -> pipeline.publish(BTC, List.of(match("b5"))));
+
+        Thread.sleep(100);
+        assertFalse(writer.isDone(), "a full ring must hold the book back, not skip the failing match");
+        assertEquals(4, pipeline.getPendingCount(BTC));
+
+        publisher.failures.set(0);
+        writer.join();
+        assertTrue(publisher.awaitPublished(5));
+        assertEquals(List.of("b1", "b2", "b3", "b4", "b5"), publisher.publishedBuyOrders());
+        assertTrue(pipeline.getBackpressureWaits() > 0);
+    }
+
+    private static OrderMatchedEvent match(String buyOrderId) {
+        return new OrderMatchedEvent("corr-" + buyOrderId, buyOrderId, "s-" + buyOrderId, BTC,
+                BigDecimal.ONE, Money.usd("100"));
+    }
+
+    /**
+     * Fails the given number of publications, then records what goes through.
+     */
+    private static final class FlakyPublisher implements OrderMatchEventPublisher {
+        final AtomicInteger failures = new AtomicInteger();
+        private final List<OrderMatchedEvent> published = new ArrayList<>();
+
+        @Override
+        public void publishOrderMatchedEvents(List<OrderMatchedEvent> events) {
+            events.forEach(this::publishOrderMatchedEvent);
+        }
+
+        @Override
+        public void publishOrderMatchedEvent(OrderMatchedEvent event) {
+            if (failures.getAndUpdate(left -> left > 0 ? left - 1 : 0) > 0) {
+                throw new IllegalStateException("listener unavailable");
+            }
+            synchronized (published) {
+                published.add(event);
+            }
+        }
+
+        boolean awaitPublished(int count) throws InterruptedException {
+            long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+            while (publishedBuyOrders().size() < count) {
+                if (System.nanoTime() > deadline) {
+                    return false;
+                }
+                Thread.sleep(1);
+            }
+            return true;
+        }
+
+        List<String> publishedBuyOrders() {
+            synchronized (published) {
+                return published.stream().map(OrderMatchedEvent::getBuyOrderId).toList();
+            }
+        }
+    }
+}
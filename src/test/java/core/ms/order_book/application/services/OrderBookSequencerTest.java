@@ -0,0 +1,248 @@
+package core.ms.order_book.application.services;
+
+import core.ms.shared.money.Symbol;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class OrderBookSequencerTest {
+
+    private static final Symbol BTC = Symbol.btcUsd();
+    private static final Symbol ETH = Symbol.ethUsd();
+
+    private OrderBookSequencer sequencer;
+
+    @BeforeEach
+    void setUp() {
+        sequencer = new OrderBookSequencer();
+        ReflectionTestUtils.setField(sequencer, "enabled", true);
+        ReflectionTestUtils.setField(sequencer, "queueCapacity", 4);
+        ReflectionTestUtils.setField(sequencer, "commandTimeoutMs", 2_000L);
+        ReflectionTestUtils.setField(sequencer, "shutdownTimeoutMs", 2_000L);
+    }
+
+    @AfterEach
+    void tearDown() {
+        sequencer.shutdown();
+    }
+
+    @Test
+    void runsCommandsOfASymbolInOrderOnOneThread() {
+        List<Integer> executed = new ArrayList<>();
+        Set<String> threads = new HashSet<>();
+        List<CompletableFuture<Integer>> futures = new ArrayList<>();
+
+        for (int i = 0; i < 200; i++) {
+            int value = i;
+            futures.add(submitWhenQueued(BTC, () -> {
+                executed.add(value);
+                threads.add(Thread.currentThread().getName());
+                return value;
+            }));
+        }
+        futures.forEach(CompletableFuture::join);
+
+        for (int i = 0; i < 200; i++) {
+            assertEquals(i, executed.get(i));
+        }
+        assertEquals(Set.of("orderbook-seq-" + BTC.getCode()), threads);
+    }
+
+    @Test
+    void givesEachSymbolItsOwnLane() {
+        String btcThread = sequencer.submit(BTC, () -> Thread.currentThread().getName()).join();
+        String ethThread = sequencer.submit(ETH, () -> Thread.currentThread().getName()).join();
+
+        assertNotEquals(btcThread, ethThread);
+    }
+
+    @Test
+    void runsReentrantSubmitsInline() {
+        int result = sequencer.submit(BTC, () -> sequencer.submit(BTC, () -> 41).join() + 1).join();
+
+        assertEquals(42, result);
+    }
+
+    @Test
+    void rejectsCommandsWhenTheQueueIsFull() throws InterruptedException {
+        CountDownLatch release = new CountDownLatch(1);
+        CountDownLatch running = new CountDownLatch(1);
+        CompletableFuture<Void> blocker = sequencer.submit(BTC, () -> {
+            running.countDown();
+            await(release);
+            return null;
+        });
+        assertTrue(running.await(2, TimeUnit.SECONDS));
+
+        List<CompletableFuture<Integer>> queued = new ArrayList<>();
+        for (int i = 0; i < 4; i++) {
+            queued.add(sequencer.submit(BTC, () -> 1));
+        }
+        CompletableFuture<Integer> rejected = sequencer.submit(BTC, () -> 1);
+
+        assertCause(OrderBookSequencer.QueueFullException.class, rejected);
+        release.countDown();
+        blocker.join();
+        queued.forEach(CompletableFuture::join);
+    }
+
+    @Test
+    void failsQueuedAndLaterCommandsOfARetiredLane() throws InterruptedException {
+        CountDownLatch release = new CountDownLatch(1);
+        CountDownLatch running = new CountDownLatch(1);
+        CompletableFuture<String> inFlight = sequencer.submit(BTC, () -> {
+            running.countDown();
+            await(release);
+            return "done";
+        });
+        assertTrue(running.await(2, TimeUnit.SECONDS));
+        CompletableFuture<Integer> queued = sequencer.submit(BTC, () -> 1);
+
+        sequencer.retire(BTC);
+        release.countDown();
+
+        assertEquals("done", inFlight.join());
+        assertCause(OrderBookSequencer.LaneStoppedException.class, queued);
+        // A later submit starts a fresh lane
+        assertEquals(2, sequencer.submit(BTC, () -> 2).join());
+    }
+
+    @Test
+    void failsSubmitsAfterShutdown() {
+        sequencer.submit(BTC, () -> 1).join();
+        sequencer.shutdown();
+
+        assertCause(OrderBookSequencer.LaneStoppedException.class, sequencer.submit(BTC, () -> 1));
+        assertCause(OrderBookSequencer.LaneStoppedException.class, sequencer.submit(ETH, () -> 1));
+    }
+
+    @Test
+    void timesOutCommandsThatNeverFinish() {
+        ReflectionTestUtils.setField(sequencer, "commandTimeoutMs", 50L);
+        CountDownLatch release = new CountDownLatch(1);
+        CompletableFuture<Void> stuck = sequencer.submit(BTC, () -> {
+            await(release);
+            return null;
+        });
+
+        assertCause(TimeoutException.class, stuck);
+        release.countDown();
+    }
+
+    @Test
+    void skipsCommandsThatTimedOutWhileQueued() throws InterruptedException {
+        ReflectionTestUtils.setField(sequencer, "commandTimeoutMs", 50L);
+        CountDownLatch release = new CountDownLatch(1);
+        CountDownLatch running = new CountDownLatch(1);
+        sequencer.submit(BTC, () -> {
+            running.countDown();
+            await(release);
+            return null;
+        });
+        assertTrue(running.await(2, TimeUnit.SECONDS));
+
+        AtomicBoolean ran = new AtomicBoolean();
+        CompletableFuture<Void> queued = sequencer.submit(BTC, () -> {
+            ran.set(true);
+            return null;
+        });
+        assertCause(TimeoutException.class, queued);
+        release.countDown();
+
+        ReflectionTestUtils.setField(sequencer, "commandTimeoutMs", 2_000L);
+        sequencer.submit(BTC, () -> 1).join();
+        assertFalse(ran.get(), "the caller was told it failed, so the book must not apply it");
+    }
+
+    @Test
+    void anErrorStopsTheLaneAndFailsWhatIsQueued() throws InterruptedException {
+        CountDownLatch release = new CountDownLatch(1);
+        CountDownLatch running = new CountDownLatch(1);
+        CompletableFuture<Void> broken = sequencer.submit(BTC, () -> {
+            running.countDown();
+            await(release);
+            throw new StackOverflowError();
+        });
+        assertTrue(running.await(2, TimeUnit.SECONDS));
+        CompletableFuture<Integer> queued = sequencer.submit(BTC, () -> 1);
+        release.countDown();
+
+        assertCause(StackOverflowError.class, broken);
+        assertCause(OrderBookSequencer.LaneStoppedException.class, queued);
+        // The failed lane is dropped and a later submit gets a fresh one
+        assertEquals(2, submitWhenRunning(BTC, () -> 2).join());
+    }
+
+    @Test
+    void passesCommandFailuresToTheCaller() {
+        CompletableFuture<Integer> failed = sequencer.submit(BTC, () -> {
+            throw new IllegalStateException("rejected");
+        });
+
+        assertCause(IllegalStateException.class, failed);
+        assertEquals(1, sequencer.submit(BTC, () -> 1).join());
+    }
+
+    /**
+     * Submits, backing off while the lane's small queue is full.
+     */
+    private <T> CompletableFuture<T> submitWhenQueued(Symbol symbol, Supplier<T> action) {
+        while (true) {
+            CompletableFuture<T> future = sequencer.submit(symbol, action);
+            if (!future.isCompletedExceptionally()) {
+                return future;
+            }
+            assertCause(OrderBookSequencer.QueueFullException.class, future);
+            Thread.onSpinWait();
+        }
+    }
+
+    /**
+     * Submits, retrying while a stopped lane has not yet left the registry.
+     */
+    private <T> CompletableFuture<T> submitWhenRunning(Symbol symbol, Supplier<T> action) {
+        while (true) {
+            CompletableFuture<T> future = sequencer.submit(symbol, action);
+            try {
+                future.join();
+                return future;
+            } catch (CompletionException e) {
+                assertInstanceOf(OrderBookSequencer.LaneStoppedException.class, e.getCause());
+                Thread.onSpinWait();
+            }
+        }
+    }
+
+    private static void assertCause(Class<? extends Throwable> expected, CompletableFuture<?> future) {
+        CompletionException failure = assertThrows(CompletionException.class, future::join);
+        assertInstanceOf(expected, failure.getCause());
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
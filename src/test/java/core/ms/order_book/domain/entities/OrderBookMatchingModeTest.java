@@ -0,0 +1,145 @@
+package core.ms.order_book.domain.entities;
+
+import core.ms.order.domain.entities.IOrder;
+import core.ms.order.domain.factories.OrderFactory;
+import core.ms.order_book.domain.events.publish.OrderMatchedEvent;
+import core.ms.order_book.domain.value_object.AbstractPriceLevel;
+import core.ms.order_book.domain.value_object.MatchingMode;
+import core.ms.shared.money.Money;
+import core.ms.shared.money.Symbol;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Incremental matching must give the same fills and leave the same book as the full scan.
+ */
+class OrderBookMatchingModeTest {
+
+    private static final Symbol SYMBOL = Symbol.btcUsd();
+
+    @Test
+    void oneOrderSweepingSeveralLevelsFillsTheSameInBothModes() {
+        List<String> flow = List.of(
+                "sell s1 101 1", "sell s2 102 2", "sell s3 102 1", "sell s4 104 3",
+                "buy b1 103 3.5", "buy b2 100 1", "sell s5 99 2.5");
+
+        Outcome fullScan = run(MatchingMode.FULL_SCAN, flow);
+        Outcome incremental = run(MatchingMode.INCREMENTAL, flow);
+
+        assertEquals(List.of(
+                "b1<-s1 1 @ 101", "b1<-s2 2 @ 102", "b1<-s3 0.5 @ 102",
+                "b2<-s5 1 @ 99"), fullScan.fills);
+        assertEquals(fullScan.fills, incremental.fills);
+        assertEquals(List.of("ask 99: s5 1.5", "ask 102: s3 0.5", "ask 104: s4 3"), fullScan.book);
+        assertEquals(fullScan.book, incremental.book);
+    }
+
+    @Test
+    void randomOrderFlowFillsTheSameInBothModes() {
+        for (long seed = 1; seed <= 20; seed++) {
+            List<String> flow = randomFlow(new Random(seed), 400);
+
+            Outcome fullScan = run(MatchingMode.FULL_SCAN, flow);
+            Outcome incremental = run(MatchingMode.INCREMENTAL, flow);
+
+            assertEquals(fullScan.fills, incremental.fills, "fills differ for seed " + seed);
+            assertEquals(fullScan.book, incremental.book, "book differs for seed " + seed);
+            assertTrue(fullScan.partialFills > 0, "seed " + seed + " produced no partial fill");
+            assertTrue(fullScan.sweeps > 0, "seed " + seed + " crossed no more than one level per order");
+        }
+    }
+
+    /**
+     * Adds and cancels orders around a mid price, with sizes that leave remainders behind.
+     */
+    private static List<String> randomFlow(Random random, int steps) {
+        List<String> flow = new ArrayList<>();
+        List<String> placed = new ArrayList<>();
+        for (int i = 0; i < steps; i++) {
+            if (!placed.isEmpty() && random.nextInt(10) == 0) {
+                flow.add("cancel " + placed.get(random.nextInt(placed.size())));
+                continue;
+            }
+            boolean buy = random.nextBoolean();
+            String id = (buy ? "b" : "s") + i;
+            int price = 95 + random.nextInt(11);
+            BigDecimal quantity = BigDecimal.valueOf(1 + random.nextInt(40), 1);
+            flow.add((buy ? "buy " : "sell ") + id + " " + price + " " + quantity.toPlainString());
+            placed.add(id);
+        }
+        return flow;
+    }
+
+    private static Outcome run(MatchingMode mode, List<String> flow) {
+        OrderBook book = new OrderBook(SYMBOL);
+        book.setMatchingMode(mode);
+        Outcome outcome = new Outcome();
+        Set<String> filledBefore = new HashSet<>();
+
+        for (String step : flow) {
+            String[] parts = step.split(" ");
+            if (parts[0].equals("cancel")) {
+                book.removeOrderById(parts[1]);
+                continue;
+            }
+            BigDecimal quantity = new BigDecimal(parts[3]);
+            if (parts[0].equals("buy")) {
+                book.addOrder(OrderFactory.createBuyOrderWithId(parts[1], "portfolio", "reservation-" + parts[1],
+                        SYMBOL, Money.usd(parts[2]), quantity));
+            } else {
+                book.addOrder(OrderFactory.createSellOrderWithId(parts[1], "portfolio", "reservation-" + parts[1],
+                        SYMBOL, Money.usd(parts[2]), quantity));
+            }
+
+            Set<BigDecimal> prices = new HashSet<>();
+            for (OrderMatchedEvent fill : book.consumeRecentMatchEvents()) {
+                outcome.fills.add(fill.getBuyOrderId() + "<-" + fill.getSellOrderId() + " "
+                        + fill.getMatchedQuantity().stripTrailingZeros().toPlainString() + " @ "
+                        + fill.getExecutionPrice().getAmount().stripTrailingZeros().toPlainString());
+                prices.add(fill.getExecutionPrice().getAmount().stripTrailingZeros());
+                if (fill.getMatchedQuantity().compareTo(quantity) < 0 || !filledBefore.add(fill.getBuyOrderId())
+                        || !filledBefore.add(fill.getSellOrderId())) {
+                    outcome.partialFills++;
+                }
+            }
+            if (prices.size() > 1) {
+                outcome.sweeps++;
+            }
+        }
+
+        describe(book, "bid", book.getBidLevels(), outcome.book);
+        describe(book, "ask", book.getAskLevels(), outcome.book);
+        return outcome;
+    }
+
+    // One line per level, best first, with the orders in queue order and what each has left
+    private static void describe(OrderBook book, String side, Collection<? extends AbstractPriceLevel<?>> levels,
+                                 List<String> into) {
+        for (AbstractPriceLevel<?> level : levels) {
+            StringBuilder line = new StringBuilder(side + " "
+                    + level.getPrice().getAmount().stripTrailingZeros().toPlainString() + ":");
+            for (IOrder order : level.getOrders()) {
+                line.append(' ').append(order.getId()).append(' ')
+                        .append(book.remainingInBook(order.getId()).stripTrailingZeros().toPlainString());
+            }
+            into.add(line.toString());
+        }
+    }
+
+    private static final class Outcome {
+        final List<String> fills = new ArrayList<>();
+        final List<String> book = new ArrayList<>();
+        int partialFills;
+        int sweeps;
+    }
+}
@@ -0,0 +1,237 @@
+package core.ms.order_book.domain.entities;
+
+import core.ms.order.domain.entities.IBuyOrder;
+import core.ms.order.domain.entities.ISellOrder;
+import core.ms.order.domain.factories.OrderFactory;
+import core.ms.order_book.domain.events.publish.OrderMatchedEvent;
+import core.ms.order_book.domain.value_object.AmendOutcome;
+import core.ms.order_book.domain.value_object.DepthQuote;
+import core.ms.shared.OrderType;
+import core.ms.shared.money.Money;
+import core.ms.shared.money.Symbol;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Settlement feedback (fills the book applied are confirmed, corrected or given back),
+ * amendments of resting orders and depth quotes.
+ */
+class OrderBookTest {
+
+    private static final Symbol SYMBOL = Symbol.btcUsd();
+
+    @Test
+    void releasedFillGoesBackInPlace() {
+        OrderBook book = new OrderBook(SYMBOL);
+        book.addOrder(buy("b1", "100", "2"));
+        book.addOrder(buy("b2", "100", "2"));
+        book.addOrder(sell("s1", "100", "1"));
+        OrderMatchedEvent fill = onlyMatch(book);
+        assertEquals("b1", fill.getBuyOrderId());
+
+        assertTrue(book.releaseFailedFill(fill.getMatchId(), "b1", fill.getMatchedQuantity()));
+
+        // Same size and still first in its level
+        assertQuantity("2", book.remainingInBook("b1"));
+        assertEquals("b1", book.getBestBuyOrder().orElseThrow().getId());
+        assertQuantity("4", book.getTotalBidVolume());
+    }
+
+    @Test
+    void releasedFillRequeuesAnOrderItEmptiedWithoutMatching() {
+        OrderBook book = new OrderBook(SYMBOL);
+        book.addOrder(buy("b1", "100", "2"));
+        book.addOrder(sell("s1", "100", "1"));
+        OrderMatchedEvent fill = onlyMatch(book);
+        assertEquals(0, book.getAskOrderCount());
+
+        assertTrue(book.releaseFailedFill(fill.getMatchId(), "s1", fill.getMatchedQuantity()));
+        assertTrue(book.releaseFailedFill(fill.getMatchId(), "b1", fill.getMatchedQuantity()));
+
+        assertQuantity("1", book.remainingInBook("s1"));
+        assertQuantity("2", book.remainingInBook("b1"));
+        assertFalse(book.hasRecentMatches(), "a release must not match the pair again on the spot");
+        assertEquals(0, book.getUnsettledOrderCount());
+    }
+
+    @Test
+    void ignoresARedeliveredFailure() {
+        OrderBook book = new OrderBook(SYMBOL);
+        book.addOrder(buy("b1", "100", "3"));
+        book.addOrder(sell("s1", "100", "1"));
+        OrderMatchedEvent fill = onlyMatch(book);
+
+        assertTrue(book.releaseFailedFill(fill.getMatchId(), "b1", fill.getMatchedQuantity()));
+        assertTrue(book.releaseFailedFill(fill.getMatchId(), "b1", fill.getMatchedQuantity()));
+
+        assertQuantity("3", book.remainingInBook("b1"));
+    }
+
+    @Test
+    void releaseChecksTheBookAgainstFillsThatSettledMeanwhile() {
+        OrderBook book = new OrderBook(SYMBOL);
+        book.addOrder(buy("b1", "100", "3"));
+        book.addOrder(sell("s1", "100", "1"));
+        book.addOrder(sell("s2", "100", "1"));
+        List<OrderMatchedEvent> fills = book.consumeRecentMatchEvents();
+        assertEquals(2, fills.size());
+
+        // First fill settles while the second is in flight: the book stays authoritative
+        assertTrue(book.reconcileSettledFill("b1", new BigDecimal("2")));
+        assertQuantity("1", book.remainingInBook("b1"));
+
+        // Second fails: its unit comes back and the book agrees with settlement again
+        OrderMatchedEvent failed = fills.get(1);
+        assertTrue(book.releaseFailedFill(failed.getMatchId(), "b1", failed.getMatchedQuantity()));
+        assertQuantity("2", book.remainingInBook("b1"));
+        // Only the sells still wait for settlement
+        assertEquals(2, book.getUnsettledOrderCount());
+    }
+
+    @Test
+    void releaseAsksForAReloadWhenSettlementDisagrees() {
+        OrderBook book = new OrderBook(SYMBOL);
+        book.addOrder(buy("b1", "100", "3"));
+        book.addOrder(sell("s1", "100", "1"));
+        book.addOrder(sell("s2", "100", "1"));
+        List<OrderMatchedEvent> fills = book.consumeRecentMatchEvents();
+
+        // Settlement executed more of b1 than the book ever matched
+        assertTrue(book.reconcileSettledFill("b1", new BigDecimal("1.5")));
+        OrderMatchedEvent failed = fills.get(1);
+
+        assertFalse(book.releaseFailedFill(failed.getMatchId(), "b1", failed.getMatchedQuantity()));
+    }
+
+    @Test
+    void doesNotBringBackAnOrderCancelledAfterItWasEmptied() {
+        OrderBook book = new OrderBook(SYMBOL);
+        book.addOrder(buy("b1", "100", "2"));
+        book.addOrder(sell("s1", "100", "1"));
+        OrderMatchedEvent fill = onlyMatch(book);
+
+        assertFalse(book.removeOrderById("s1"));
+        assertFalse(book.releaseFailedFill(fill.getMatchId(), "s1", fill.getMatchedQuantity()));
+        assertEquals(0, book.getAskOrderCount());
+    }
+
+    @Test
+    void reconcileConfirmsShrinksOrAsksForAReload() {
+        OrderBook book = new OrderBook(SYMBOL);
+        book.addOrder(buy("b1", "100", "5"));
+        book.addOrder(sell("s1", "100", "1"));
+        book.consumeRecentMatchEvents();
+
+        // Agrees with the book
+        assertTrue(book.reconcileSettledFill("b1", new BigDecimal("4")));
+        assertQuantity("4", book.remainingInBook("b1"));
+        // Settlement knows of more fills than the book: shrink in place
+        assertTrue(book.reconcileSettledFill("b1", new BigDecimal("3")));
+        assertQuantity("3", book.remainingInBook("b1"));
+        // Settlement holds more than the book: the book cannot correct itself
+        assertFalse(book.reconcileSettledFill("b1", new BigDecimal("3.5")));
+        // Nothing left after settlement: the order goes
+        assertTrue(book.reconcileSettledFill("b1", BigDecimal.ZERO));
+        assertEquals(0, book.getOrderCount());
+    }
+
+    @Test
+    void reducingAtTheSamePriceKeepsQueuePosition() {
+        OrderBook book = new OrderBook(SYMBOL);
+        book.addOrder(buy("b1", "100", "3"));
+        book.addOrder(buy("b2", "100", "3"));
+
+        assertEquals(AmendOutcome.REDUCED_IN_PLACE, book.amendOrder("b1", Money.usd("100"), new BigDecimal("2")));
+
+        assertEquals("b1", book.getBestBuyOrder().orElseThrow().getId());
+        assertQuantity("2", book.remainingInBook("b1"));
+        assertQuantity("5", book.getTotalBidVolume());
+    }
+
+    @Test
+    void increasingTheQuantitySendsTheOrderToTheBack() {
+        OrderBook book = new OrderBook(SYMBOL);
+        book.addOrder(buy("b1", "100", "3"));
+        book.addOrder(buy("b2", "100", "3"));
+
+        assertEquals(AmendOutcome.REQUEUED, book.amendOrder("b1", Money.usd("100"), new BigDecimal("4")));
+
+        assertEquals("b2", book.getBestBuyOrder().orElseThrow().getId());
+        assertQuantity("4", book.remainingInBook("b1"));
+    }
+
+    @Test
+    void changingThePriceSendsTheOrderToTheBackOfItsNewLevel() {
+        OrderBook book = new OrderBook(SYMBOL);
+        book.addOrder(buy("b1", "99", "1"));
+        book.addOrder(buy("b2", "100", "1"));
+
+        assertEquals(AmendOutcome.REQUEUED, book.amendOrder("b1", Money.usd("100"), new BigDecimal("1")));
+        book.addOrder(sell("s1", "100", "1"));
+
+        // b2 was at 100 first, so it takes the fill
+        assertEquals("b2", onlyMatch(book).getBuyOrderId());
+        assertQuantity("1", book.remainingInBook("b1"));
+    }
+
+    @Test
+    void amendingKeepsFillsAlreadyApplied() {
+        OrderBook book = new OrderBook(SYMBOL);
+        book.addOrder(buy("b1", "100", "3"));
+        book.addOrder(sell("s1", "100", "1"));
+        onlyMatch(book);
+
+        // The new quantity is the order's total, so the filled unit still counts against it
+        assertEquals(AmendOutcome.REQUEUED, book.amendOrder("b1", Money.usd("101"), new BigDecimal("4")));
+        assertQuantity("3", book.remainingInBook("b1"));
+        assertEquals(AmendOutcome.REMOVED, book.amendOrder("b1", Money.usd("101"), new BigDecimal("1")));
+        assertEquals(0, book.getBidOrderCount());
+    }
+
+    @Test
+    void depthIndexIsBuiltOnTheFirstQuoteFromTheRestingLevels() {
+        OrderBook book = new OrderBook(SYMBOL);
+        book.addOrder(sell("s1", "100", "1"));
+        book.addOrder(sell("s2", "101", "2"));
+        assertFalse(book.isTrackingCumulativeDepth(OrderType.BUY));
+        assertFalse(book.isTrackingCumulativeDepth(OrderType.SELL));
+
+        DepthQuote quote = book.quote(OrderType.BUY, new BigDecimal("2"));
+
+        assertTrue(book.isTrackingCumulativeDepth(OrderType.BUY));
+        assertFalse(book.isTrackingCumulativeDepth(OrderType.SELL), "only the quoted side pays for an index");
+        assertQuantity("2", quote.getFillableQuantity());
+        assertQuantity("101", quote.getWorstPrice().orElseThrow().getAmount());
+
+        // Kept in step with the book from then on
+        book.addOrder(sell("s3", "99", "1"));
+        assertQuantity("99", book.quote(OrderType.BUY, BigDecimal.ONE).getBestPrice().orElseThrow().getAmount());
+        assertQuantity("2", book.getVolumeAtOrBetter(OrderType.BUY, Money.usd("100")));
+    }
+
+    private static OrderMatchedEvent onlyMatch(OrderBook book) {
+        List<OrderMatchedEvent> fills = book.consumeRecentMatchEvents();
+        assertEquals(1, fills.size());
+        return fills.get(0);
+    }
+
+    private static void assertQuantity(String expected, BigDecimal actual) {
+        assertEquals(0, new BigDecimal(expected).compareTo(actual), "expected " + expected + " but was " + actual);
+    }
+
+    private static IBuyOrder buy(String id, String price, String quantity) {
+        return OrderFactory.createBuyOrderWithId(id, "portfolio-" + id, "reservation-" + id, SYMBOL,
+                Money.usd(price), new BigDecimal(quantity));
+    }
+
+    private static ISellOrder sell(String id, String price, String quantity) {
+        return OrderFactory.createSellOrderWithId(id, "portfolio-" + id, "reservation-" + id, SYMBOL,
+                Money.usd(price), new BigDecimal(quantity));
+    }
+}
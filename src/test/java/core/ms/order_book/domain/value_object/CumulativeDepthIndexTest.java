@@ -0,0 +1,154 @@
+package core.ms.order_book.domain.value_object;
+
+import core.ms.shared.money.Currency;
+import core.ms.shared.money.Money;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.TreeMap;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Checks the Fenwick queries against a naive walk over the same levels. The window is kept
+ * small and prices spread wide, so levels keep moving between the trees and the overflow map.
+ */
+class CumulativeDepthIndexTest {
+
+    private static final BigDecimal TICK = new BigDecimal("0.01");
+    private static final int WINDOW_TICKS = 64;
+    private static final int PRICE_TICKS = 600;
+
+    @Test
+    void bidQueriesMatchNaivePrefixSums() {
+        compareWithNaive(true, 42);
+    }
+
+    @Test
+    void askQueriesMatchNaivePrefixSums() {
+        compareWithNaive(false, 7);
+    }
+
+    @Test
+    void offGridVolumeMarksIndexIncomplete() {
+        CumulativeDepthIndex index = new CumulativeDepthIndex(TICK, true, WINDOW_TICKS);
+        index.add(Money.usd("100.00"), 5);
+        assertTrue(index.isComplete());
+
+        index.add(Money.usd("100.005"), 3);
+        assertFalse(index.isComplete());
+        assertEquals(5, index.unitsAtOrBetter(Money.usd("100.00")));
+
+        index.add(Money.usd("100.005"), -3);
+        assertTrue(index.isComplete());
+    }
+
+    @Test
+    void emptySideFillsNothing() {
+        CumulativeDepthIndex index = new CumulativeDepthIndex(TICK, false, WINDOW_TICKS);
+        CumulativeDepthIndex.Fill fill = index.fill(10);
+
+        assertEquals(0, fill.getFilledUnits());
+        assertNull(fill.getAveragePrice());
+        assertEquals(0, index.unitsAtOrBetter(Money.usd("1000000")));
+    }
+
+    private void compareWithNaive(boolean higherIsBetter, long seed) {
+        Random random = new Random(seed);
+        CumulativeDepthIndex index = new CumulativeDepthIndex(TICK, higherIsBetter, WINDOW_TICKS);
+        // Ticks to units, best price first
+        TreeMap<Long, Long> naive = new TreeMap<>(higherIsBetter
+                ? Comparator.<Long>reverseOrder() : Comparator.<Long>naturalOrder());
+
+        for (int step = 0; step < 20_000; step++) {
+            if (naive.isEmpty() || random.nextInt(3) > 0) {
+                long ticks = 1_000 + random.nextInt(PRICE_TICKS);
+                long units = 1 + random.nextInt(1_000);
+                naive.merge(ticks, units, Long::sum);
+                index.add(price(ticks), units);
+            } else {
+                List<Long> levels = new ArrayList<>(naive.keySet());
+                // Mostly take from the best levels, as matching does
+                long ticks = levels.get(random.nextBoolean() ? 0 : random.nextInt(levels.size()));
+                long resting = naive.get(ticks);
+                long units = random.nextBoolean() ? resting : 1 + random.nextInt((int) resting);
+                if (units == resting) {
+                    naive.remove(ticks);
+                } else {
+                    naive.put(ticks, resting - units);
+                }
+                index.add(price(ticks), -units);
+            }
+
+            if (step % 10 == 0) {
+                // Query prices include off-grid ones and ones beyond the side
+                BigDecimal query = BigDecimal.valueOf(95_000 + random.nextInt(PRICE_TICKS * 10 + 10_000), 3);
+                assertEquals(naiveUnitsAtOrBetter(naive, query, higherIsBetter),
+                        index.unitsAtOrBetter(Money.of(query, Currency.USD)), "units at or better than " + query);
+
+                long total = naive.values().stream().mapToLong(Long::longValue).sum();
+                long quantity = 1 + (long) (random.nextDouble() * (total + total / 4 + 1));
+                assertFill(naive, index.fill(quantity), quantity);
+            }
+        }
+    }
+
+    private static long naiveUnitsAtOrBetter(TreeMap<Long, Long> naive, BigDecimal price, boolean higherIsBetter) {
+        long units = 0;
+        for (Map.Entry<Long, Long> level : naive.entrySet()) {
+            int comparison = toAmount(level.getKey()).compareTo(price);
+            if (higherIsBetter ? comparison >= 0 : comparison <= 0) {
+                units += level.getValue();
+            }
+        }
+        return units;
+    }
+
+    private static void assertFill(TreeMap<Long, Long> naive, CumulativeDepthIndex.Fill fill, long quantity) {
+        long filled = 0;
+        BigDecimal tickSum = BigDecimal.ZERO;
+        Long best = null;
+        Long worst = null;
+        for (Map.Entry<Long, Long> level : naive.entrySet()) {
+            if (filled == quantity) {
+                break;
+            }
+            long take = Math.min(level.getValue(), quantity - filled);
+            filled += take;
+            tickSum = tickSum.add(BigDecimal.valueOf(take).multiply(BigDecimal.valueOf(level.getKey())));
+            if (best == null) {
+                best = level.getKey();
+            }
+            worst = level.getKey();
+        }
+
+        assertEquals(filled, fill.getFilledUnits(), "filled units for " + quantity);
+        if (filled == 0) {
+            return;
+        }
+        assertEquals(toAmount(best), fill.getBestPrice(), "best price");
+        assertEquals(toAmount(worst), fill.getWorstPrice(), "worst price");
+
+        BigDecimal average = tickSum.divide(BigDecimal.valueOf(filled), TICK.scale() + 4, RoundingMode.HALF_EVEN)
+                .multiply(TICK);
+        assertEquals(0, average.compareTo(fill.getAveragePrice()),
+                "average price " + fill.getAveragePrice() + ", expected " + average);
+    }
+
+    private static Money price(long ticks) {
+        return Money.of(toAmount(ticks), Currency.USD);
+    }
+
+    private static BigDecimal toAmount(long ticks) {
+        return BigDecimal.valueOf(ticks).multiply(TICK);
+    }
+}
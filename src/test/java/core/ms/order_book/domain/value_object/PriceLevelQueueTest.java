@@ -0,0 +1,136 @@
+package core.ms.order_book.domain.value_object;
+
+import core.ms.order.domain.entities.IBuyOrder;
+import core.ms.order.domain.factories.OrderFactory;
+import core.ms.shared.money.Money;
+import core.ms.shared.money.Symbol;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * The intrusive order queue of a price level: time priority, O(1) unlinks and running totals.
+ */
+class PriceLevelQueueTest {
+
+    private static final Symbol SYMBOL = Symbol.btcUsd();
+    private static final Money PRICE = Money.usd("100");
+
+    @Test
+    void keepsOrdersInArrivalOrder() {
+        BidPriceLevel level = new BidPriceLevel(PRICE);
+        level.addOrder(buy("b1", "1"));
+        level.addOrder(buy("b2", "2"));
+        level.addOrder(buy("b3", "3"));
+
+        assertEquals(List.of("b1", "b2", "b3"), ids(level));
+        assertEquals("b1", level.getFirstOrder().orElseThrow().getId());
+        assertEquals(3, level.getOrderCount());
+        assertEquals(0, new BigDecimal("6").compareTo(level.getTotalQuantity()));
+    }
+
+    @Test
+    void unlinksHeadMiddleAndTail() {
+        BidPriceLevel level = new BidPriceLevel(PRICE);
+        OrderNode<IBuyOrder> first = level.addOrder(buy("b1", "1"));
+        OrderNode<IBuyOrder> middle = level.addOrder(buy("b2", "2"));
+        level.addOrder(buy("b3", "3"));
+        OrderNode<IBuyOrder> last = level.addOrder(buy("b4", "4"));
+
+        assertTrue(level.unlink(middle));
+        assertEquals(List.of("b1", "b3", "b4"), ids(level));
+        assertTrue(level.unlink(first));
+        assertEquals(List.of("b3", "b4"), ids(level));
+        assertTrue(level.unlink(last));
+        assertEquals(List.of("b3"), ids(level));
+
+        assertFalse(middle.isLinked());
+        assertEquals(1, level.getOrderCount());
+        assertEquals(0, new BigDecimal("3").compareTo(level.getTotalQuantity()));
+
+        // New orders still go to the back after the tail was unlinked
+        level.addOrder(buy("b5", "5"));
+        assertEquals(List.of("b3", "b5"), ids(level));
+    }
+
+    @Test
+    void unlinkingTheLastOrderEmptiesTheLevel() {
+        BidPriceLevel level = new BidPriceLevel(PRICE);
+        OrderNode<IBuyOrder> only = level.addOrder(buy("b1", "1"));
+
+        assertTrue(level.unlink(only));
+        assertTrue(level.isEmpty());
+        assertEquals(0, level.getTotalUnits());
+        assertTrue(level.getFirstNode().isEmpty());
+        assertFalse(level.unlink(only), "a node is unlinked once");
+    }
+
+    @Test
+    void refusesNodesOfAnotherLevel() {
+        BidPriceLevel level = new BidPriceLevel(PRICE);
+        BidPriceLevel other = new BidPriceLevel(PRICE);
+        OrderNode<IBuyOrder> foreign = other.addOrder(buy("b1", "1"));
+
+        assertFalse(level.unlink(foreign));
+        assertThrows(IllegalArgumentException.class, () -> level.reduceUnits(foreign, 1));
+        assertEquals(1, other.getOrderCount());
+    }
+
+    @Test
+    void partialFillKeepsQueuePosition() {
+        BidPriceLevel level = new BidPriceLevel(PRICE);
+        OrderNode<IBuyOrder> first = level.addOrder(buy("b1", "5"));
+        level.addOrder(buy("b2", "1"));
+
+        level.reduceQuantity(first, new BigDecimal("2"));
+        assertEquals(List.of("b1", "b2"), ids(level));
+        assertEquals(0, new BigDecimal("3").compareTo(first.getRemainingQuantity()));
+        assertEquals(0, new BigDecimal("4").compareTo(level.getTotalQuantity()));
+
+        // Never below zero
+        level.reduceQuantity(first, new BigDecimal("10"));
+        assertEquals(0, first.getRemainingUnits());
+        assertEquals(0, new BigDecimal("1").compareTo(level.getTotalQuantity()));
+    }
+
+    @Test
+    void removesByIdAndRejectsOtherPrices() {
+        BidPriceLevel level = new BidPriceLevel(PRICE);
+        IBuyOrder order = buy("b1", "1");
+        level.addOrder(order);
+        level.addOrder(buy("b2", "1"));
+
+        assertTrue(level.removeOrder(order));
+        assertEquals(List.of("b2"), ids(level));
+        assertThrows(IllegalArgumentException.class, () -> level.addOrder(
+                OrderFactory.createBuyOrderWithId("b3", "p", "r", SYMBOL, Money.usd("101"), BigDecimal.ONE)));
+    }
+
+    @Test
+    void skipsFullyExecutedOrders() {
+        BidPriceLevel level = new BidPriceLevel(PRICE);
+        IBuyOrder filled = buy("b1", "1");
+        filled.setExecutedQuantity(BigDecimal.ONE);
+
+        assertNull(level.addOrder(filled));
+        assertTrue(level.isEmpty());
+    }
+
+    private static IBuyOrder buy(String id, String quantity) {
+        return OrderFactory.createBuyOrderWithId(id, "p", "r", SYMBOL, PRICE, new BigDecimal(quantity));
+    }
+
+    private static List<String> ids(BidPriceLevel level) {
+        List<String> ids = new ArrayList<>();
+        level.orderIterator().forEachRemaining(order -> ids.add(order.getId()));
+        return ids;
+    }
+}
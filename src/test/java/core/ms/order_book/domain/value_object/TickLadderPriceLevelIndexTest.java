@@ -0,0 +1,118 @@
+package core.ms.order_book.domain.value_object;
+
+import core.ms.shared.money.Currency;
+import core.ms.shared.money.Money;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+import java.util.TreeMap;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class TickLadderPriceLevelIndexTest {
+
+    private static final BigDecimal TICK = new BigDecimal("0.05");
+
+    @Test
+    void iteratesFromBestPriceOnEachSide() {
+        TickLadderPriceLevelIndex<BidPriceLevel> bids = new TickLadderPriceLevelIndex<>(TICK, true);
+        TickLadderPriceLevelIndex<AskPriceLevel> asks = new TickLadderPriceLevelIndex<>(TICK, false);
+        for (String price : List.of("100.00", "100.10", "99.95")) {
+            bids.computeIfAbsent(Money.usd(price), BidPriceLevel::new);
+            asks.computeIfAbsent(Money.usd(price), AskPriceLevel::new);
+        }
+
+        assertEquals(List.of("100.10", "100.00", "99.95"), prices(bids));
+        assertEquals(List.of("99.95", "100.00", "100.10"), prices(asks));
+        assertEquals(Money.usd("100.10"), bids.best().orElseThrow().getPrice());
+        assertEquals(Money.usd("99.95"), asks.best().orElseThrow().getPrice());
+    }
+
+    @Test
+    void returnsTheSameLevelForEqualPrices() {
+        TickLadderPriceLevelIndex<AskPriceLevel> asks = new TickLadderPriceLevelIndex<>(TICK, false);
+        AskPriceLevel level = asks.computeIfAbsent(Money.usd("10.05"), AskPriceLevel::new);
+
+        assertSame(level, asks.computeIfAbsent(Money.usd("10.050"), AskPriceLevel::new));
+        assertSame(level, asks.get(Money.usd("10.05")));
+        assertEquals(1, asks.size());
+    }
+
+    @Test
+    void rejectsPricesOffTheTickGrid() {
+        TickLadderPriceLevelIndex<BidPriceLevel> bids = new TickLadderPriceLevelIndex<>(TICK, true);
+
+        assertThrows(IllegalArgumentException.class,
+                () -> bids.computeIfAbsent(Money.usd("100.03"), BidPriceLevel::new));
+        assertThrows(IllegalArgumentException.class, () -> bids.get(Money.usd("100.001")));
+        assertTrue(bids.isEmpty());
+    }
+
+    @Test
+    void levelsBeyondTheWindowOverflowAndComeBack() {
+        TickLadderPriceLevelIndex<AskPriceLevel> asks = new TickLadderPriceLevelIndex<>(TICK, false, 16);
+        asks.computeIfAbsent(Money.usd("100.00"), AskPriceLevel::new);
+        // Hundreds of ticks away: far outside a 16 tick window
+        asks.computeIfAbsent(Money.usd("120.00"), AskPriceLevel::new);
+        asks.computeIfAbsent(Money.usd("150.00"), AskPriceLevel::new);
+
+        assertEquals(List.of("100.00", "120.00", "150.00"), prices(asks));
+
+        asks.remove(Money.usd("100.00"));
+        assertEquals(Money.usd("120.00"), asks.best().orElseThrow().getPrice());
+        assertEquals(List.of("120.00", "150.00"), prices(asks));
+
+        // A new best price far below the window moves it down again
+        asks.computeIfAbsent(Money.usd("50.00"), AskPriceLevel::new);
+        assertEquals(List.of("50.00", "120.00", "150.00"), prices(asks));
+        assertNull(asks.remove(Money.usd("100.00")));
+        assertEquals(3, asks.size());
+    }
+
+    @Test
+    void matchesSortedMapUnderRandomUpdates() {
+        Random random = new Random(11);
+        TickLadderPriceLevelIndex<BidPriceLevel> bids = new TickLadderPriceLevelIndex<>(TICK, true, 16);
+        TreeMap<BigDecimal, BidPriceLevel> expected = new TreeMap<>(Comparator.reverseOrder());
+
+        for (int step = 0; step < 20_000; step++) {
+            BigDecimal price = TICK.multiply(BigDecimal.valueOf(1_000 + random.nextInt(300)));
+            if (random.nextInt(3) > 0) {
+                BidPriceLevel level = bids.computeIfAbsent(Money.of(price, Currency.USD), BidPriceLevel::new);
+                assertSame(expected.computeIfAbsent(price, p -> level), level);
+            } else {
+                assertSame(expected.remove(price), bids.remove(Money.of(price, Currency.USD)));
+            }
+
+            assertEquals(expected.size(), bids.size());
+            if (step % 50 == 0) {
+                assertEquals(new ArrayList<>(expected.values()), levels(bids));
+                assertEquals(expected.isEmpty() ? null : expected.firstEntry().getValue(),
+                        bids.best().orElse(null));
+                assertEquals(expected.values().stream().limit(5).toList(), bids.top(5));
+            }
+        }
+    }
+
+    private static <L extends IPriceLevel> List<String> prices(TickLadderPriceLevelIndex<L> index) {
+        List<String> prices = new ArrayList<>();
+        for (L level : index) {
+            prices.add(level.getPrice().getAmount().setScale(2).toPlainString());
+        }
+        return prices;
+    }
+
+    private static <L extends IPriceLevel> List<L> levels(TickLadderPriceLevelIndex<L> index) {
+        List<L> levels = new ArrayList<>();
+        index.forEach(levels::add);
+        return levels;
+    }
+}
@@ -0,0 +1,113 @@
+package core.ms.order_book.infrastructure.persistence.journal;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Record framing of one segment: [varint length][payload][CRC32C], ended by a zero length
+ * or by the first frame that does not check out.
+ */
+class JournalSegmentTest {
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void readsBackRecordsWithTheirSequences() {
+        JournalSegment segment = JournalSegment.create(directory, 10, 8, 4096);
+        append(segment, "first");
+        append(segment, "x".repeat(300)); // length needs a two byte varint
+        assertEquals(12, append(segment, "third"));
+        segment.close();
+
+        JournalSegment reopened = JournalSegment.open(directory.resolve(JournalSegment.fileName(10)), false);
+        List<String> records = read(reopened);
+        reopened.close();
+
+        assertEquals(List.of("10:first", "11:" + "x".repeat(300), "12:third"), records);
+        assertEquals(12, reopened.getLastSequence());
+        assertEquals(8, reopened.getQuantityScale());
+    }
+
+    @Test
+    void emptySegmentEndsBeforeItsBase() {
+        JournalSegment segment = JournalSegment.create(directory, 5, 8, 1024);
+        segment.close();
+
+        JournalSegment reopened = JournalSegment.open(directory.resolve(JournalSegment.fileName(5)), false);
+        assertEquals(0, reopened.getRecordCount());
+        assertEquals(4, reopened.getLastSequence());
+        reopened.close();
+    }
+
+    @Test
+    void stopsAtATornRecord() throws IOException {
+        JournalSegment segment = JournalSegment.create(directory, 1, 8, 4096);
+        append(segment, "kept");
+        int tornAt = segment.getWritePosition();
+        append(segment, "torn");
+        append(segment, "after");
+        segment.close();
+
+        // Flip a payload byte of the second record, as a write cut short by a crash would leave it
+        Path path = directory.resolve(JournalSegment.fileName(1));
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.WRITE)) {
+            channel.write(ByteBuffer.wrap(new byte[]{'X'}), tornAt + 2);
+        }
+
+        JournalSegment reopened = JournalSegment.open(path, true);
+        assertEquals(List.of("1:kept"), read(reopened));
+        assertEquals(1, reopened.getLastSequence());
+        assertEquals(tornAt, reopened.getWritePosition());
+        reopened.close();
+    }
+
+    @Test
+    void reportsWhenARecordNoLongerFits() {
+        JournalSegment segment = JournalSegment.create(directory, 1, 8, JournalSegment.HEADER_SIZE + 16);
+
+        assertTrue(segment.hasRoom(11)); // 1 length byte + 11 + 4 CRC bytes
+        assertFalse(segment.hasRoom(12));
+        append(segment, "0123456789a");
+        assertFalse(segment.hasRoom(1));
+        segment.close();
+    }
+
+    @Test
+    void rejectsFilesThatAreNotSegments() throws IOException {
+        Path path = directory.resolve(JournalSegment.fileName(1));
+        Files.write(path, new byte[64]);
+
+        assertThrows(IllegalStateException.class, () -> JournalSegment.open(path, false));
+    }
+
+    private static long append(JournalSegment segment, String payload) {
+        byte[] bytes = payload.getBytes(StandardCharsets.UTF_8);
+        return segment.append(bytes, bytes.length);
+    }
+
+    private static List<String> read(JournalSegment segment) {
+        List<String> records = new ArrayList<>();
+        segment.forEachRecord((sequence, payload) -> {
+            byte[] bytes = new byte[payload.remaining()];
+            payload.get(bytes);
+            records.add(sequence + ":" + new String(bytes, StandardCharsets.UTF_8));
+        });
+        return records;
+    }
+}
@@ -0,0 +1,295 @@
+package core.ms.order_book.infrastructure.persistence.journal;
+
+import core.ms.order.domain.entities.IBuyOrder;
+import core.ms.order.domain.entities.IOrder;
+import core.ms.order.domain.entities.ISellOrder;
+import core.ms.order.domain.factories.OrderFactory;
+import core.ms.order_book.domain.ports.outbound.OrderBookJournal;
+import core.ms.shared.money.Money;
+import core.ms.shared.money.Symbol;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class MappedOrderBookJournalTest {
+
+    private static final Symbol BTC = Symbol.btcUsd();
+    private static final Symbol ETH = Symbol.ethUsd();
+
+    @TempDir
+    Path directory;
+
+    private final List<MappedOrderBookJournal> started = new ArrayList<>();
+
+    @AfterEach
+    void tearDown() {
+        started.forEach(MappedOrderBookJournal::shutdown);
+    }
+
+    @Test
+    void replaysEveryRecordTypeAfterRestart() {
+        MappedOrderBookJournal journal = start(64);
+        IBuyOrder buy = OrderFactory.createBuyOrderWithId("BUY1-0001", "portfolio-1", "reservation-1",
+                BTC, Money.usd("100.50"), new BigDecimal("2"));
+        ISellOrder sell = OrderFactory.createSellOrderWithId("SELL1-0001", "portfolio-2", "reservation-2",
+                BTC, Money.usd("100.50"), new BigDecimal("3"));
+
+        assertEquals(1, journal.recordAdd(BTC, buy, 150_000_000L));
+        assertEquals(2, journal.recordAdd(BTC, sell, 300_000_000L));
+        assertEquals(3, journal.recordFill(BTC, "BUY1-0001", "SELL1-0001", 100_000_000L));
+        assertEquals(4, journal.recordReduce(BTC, "SELL1-0001", 50_000_000L));
+        assertEquals(5, journal.recordRelease(BTC, "SELL1-0001", 100_000_000L));
+        assertEquals(6, journal.recordCancel(BTC, "BUY1-0001"));
+        journal.awaitDurable(BTC);
+        journal.shutdown();
+
+        MappedOrderBookJournal restarted = start(64);
+        RecordingHandler handler = new RecordingHandler();
+        assertEquals(6, restarted.replay(BTC, 0, handler));
+        assertEquals(List.of("1 add BUY1-0001", "2 add SELL1-0001", "3 fill BUY1-0001/SELL1-0001 100000000",
+                "4 reduce SELL1-0001 50000000", "5 release SELL1-0001 100000000", "6 cancel BUY1-0001"),
+                handler.records);
+
+        IOrder restoredBuy = handler.orders.get(0);
+        assertInstanceOf(IBuyOrder.class, restoredBuy);
+        assertEquals("portfolio-1", restoredBuy.getPortfolioId());
+        assertEquals("reservation-1", restoredBuy.getReservationId());
+        assertEquals(Money.usd("100.50"), restoredBuy.getPrice());
+        assertEquals(0, new BigDecimal("2").compareTo(restoredBuy.getQuantity()));
+        // Rebuilt with the quantity it held in the book
+        assertEquals(0, new BigDecimal("1.5").compareTo(restoredBuy.getRemainingQuantity()));
+        assertInstanceOf(ISellOrder.class, handler.orders.get(1));
+
+        assertEquals(6, restarted.getLastSequence(BTC));
+        assertEquals(Set.of(BTC), restarted.getJournaledSymbols());
+    }
+
+    @Test
+    void replaysOnlyRecordsAfterTheSnapshotSequence() {
+        MappedOrderBookJournal journal = start(64);
+        for (int i = 1; i <= 10; i++) {
+            journal.recordCancel(BTC, "order-" + i);
+        }
+        journal.shutdown();
+
+        RecordingHandler handler = new RecordingHandler();
+        assertEquals(10, start(64).replay(BTC, 7, handler));
+        assertEquals(List.of("8 cancel order-8", "9 cancel order-9", "10 cancel order-10"), handler.records);
+    }
+
+    @Test
+    void continuesTheLastSegmentAfterRestart() throws Exception {
+        MappedOrderBookJournal journal = start(64);
+        journal.recordCancel(BTC, "before");
+        journal.shutdown();
+
+        MappedOrderBookJournal restarted = start(64);
+        assertEquals(2, restarted.recordCancel(BTC, "after"));
+        restarted.shutdown();
+
+        assertEquals(1, segmentCount(BTC));
+        RecordingHandler handler = new RecordingHandler();
+        start(64).replay(BTC, 0, handler);
+        assertEquals(List.of("1 cancel before", "2 cancel after"), handler.records);
+    }
+
+    @Test
+    void clearsWhatATornRecordLeftBeforeContinuing() throws Exception {
+        MappedOrderBookJournal journal = start(64);
+        journal.recordCancel(BTC, "order-a");
+        int endOfFirst = writePosition(BTC);
+        journal.recordCancel(BTC, "order-b");
+        int endOfSecond = writePosition(BTC);
+        journal.recordCancel(BTC, "order-c");
+        journal.awaitDurable(BTC);
+        journal.shutdown();
+        assertTrue(endOfSecond > endOfFirst);
+
+        // Tear the second record: its checksum no longer matches
+        Path segment = onlySegment(BTC);
+        try (FileChannel channel = FileChannel.open(segment, StandardOpenOption.WRITE)) {
+            channel.write(ByteBuffer.wrap(new byte[]{0x5A}), endOfSecond - 1);
+        }
+
+        MappedOrderBookJournal restarted = start(64);
+        // Same size as the torn record, so without clearing the third one would follow it again
+        assertEquals(2, restarted.recordCancel(BTC, "order-d"));
+        restarted.shutdown();
+
+        RecordingHandler handler = new RecordingHandler();
+        assertEquals(2, start(64).replay(BTC, 0, handler));
+        assertEquals(List.of("1 cancel order-a", "2 cancel order-d"), handler.records);
+    }
+
+    @Test
+    void deletesSegmentsASnapshotCovers() throws Exception {
+        MappedOrderBookJournal journal = start(1);
+        String padding = "x".repeat(1_000);
+        for (int i = 1; i <= 3_000; i++) {
+            journal.recordCancel(BTC, i + "-" + padding);
+        }
+        journal.awaitDurable(BTC);
+        long segmentsBefore = segmentCount(BTC);
+
+        int deleted = journal.truncateThrough(BTC, 1_500);
+
+        assertTrue(deleted > 0);
+        assertEquals(segmentsBefore - deleted, segmentCount(BTC));
+        // Everything after the snapshot is still there, and still in order
+        List<Long> sequences = new ArrayList<>();
+        long last = journal.replay(BTC, 1_500, new RecordingHandler() {
+            @Override
+            public void onCancel(long sequence, String orderId) {
+                sequences.add(sequence);
+            }
+        });
+        assertEquals(3_000, last);
+        assertEquals(1_500, sequences.size());
+        assertEquals(1_501L, sequences.get(0));
+
+        // The segment being written stays, even once a snapshot covers all of it
+        journal.truncateThrough(BTC, 3_000);
+        assertEquals(1, segmentCount(BTC));
+        assertEquals(3_001, journal.recordCancel(BTC, "next"));
+        assertEquals(3_001, journal.getLastSequence(BTC));
+    }
+
+    @Test
+    void rollsSegmentsAndReplaysAcrossThem() throws Exception {
+        MappedOrderBookJournal journal = start(1);
+        String padding = "x".repeat(1_000);
+        for (int i = 1; i <= 3_000; i++) {
+            journal.recordCancel(BTC, i + "-" + padding);
+        }
+        journal.awaitDurable(BTC);
+        journal.shutdown();
+
+        try (Stream<Path> segments = Files.list(directory.resolve(BTC.getCode()))) {
+            assertTrue(segments.count() > 1, "3 MB of records span several 1 MB segments");
+        }
+
+        List<Long> sequences = new ArrayList<>();
+        MappedOrderBookJournal restarted = start(1);
+        long last = restarted.replay(BTC, 1_500, new RecordingHandler() {
+            @Override
+            public void onCancel(long sequence, String orderId) {
+                assertTrue(orderId.startsWith(sequence + "-"));
+                sequences.add(sequence);
+            }
+        });
+        assertEquals(3_000, last);
+        assertEquals(1_500, sequences.size());
+        assertEquals(1_501L, sequences.get(0));
+    }
+
+    @Test
+    void keepsSymbolsApart() {
+        MappedOrderBookJournal journal = start(64);
+        journal.recordCancel(BTC, "btc-1");
+        journal.recordCancel(ETH, "eth-1");
+        journal.recordCancel(BTC, "btc-2");
+        journal.shutdown();
+
+        MappedOrderBookJournal restarted = start(64);
+        RecordingHandler btc = new RecordingHandler();
+        RecordingHandler eth = new RecordingHandler();
+        restarted.replay(BTC, 0, btc);
+        restarted.replay(ETH, 0, eth);
+
+        assertEquals(List.of("1 cancel btc-1", "2 cancel btc-2"), btc.records);
+        assertEquals(List.of("1 cancel eth-1"), eth.records);
+        assertEquals(Set.of(BTC, ETH), restarted.getJournaledSymbols());
+    }
+
+    @Test
+    void awaitDurableReturnsOnceSynced() {
+        MappedOrderBookJournal journal = start(64);
+        for (int i = 0; i < 1_000; i++) {
+            journal.recordCancel(BTC, "order-" + i);
+            journal.awaitDurable(BTC);
+        }
+        assertEquals(1_000, journal.getLastSequence(BTC));
+    }
+
+    private long segmentCount(Symbol symbol) throws IOException {
+        try (Stream<Path> segments = Files.list(directory.resolve(symbol.getCode()))) {
+            return segments.count();
+        }
+    }
+
+    private Path onlySegment(Symbol symbol) throws IOException {
+        try (Stream<Path> segments = Files.list(directory.resolve(symbol.getCode()))) {
+            return segments.reduce((first, second) -> {
+                throw new AssertionError("more than one segment");
+            }).orElseThrow();
+        }
+    }
+
+    private int writePosition(Symbol symbol) throws IOException {
+        JournalSegment segment = JournalSegment.open(onlySegment(symbol), false);
+        try {
+            return segment.getWritePosition();
+        } finally {
+            segment.close();
+        }
+    }
+
+    private MappedOrderBookJournal start(int segmentSizeMb) {
+        MappedOrderBookJournal journal = new MappedOrderBookJournal();
+        ReflectionTestUtils.setField(journal, "enabled", true);
+        ReflectionTestUtils.setField(journal, "directory", directory.toString());
+        ReflectionTestUtils.setField(journal, "segmentSizeMb", segmentSizeMb);
+        ReflectionTestUtils.setField(journal, "syncIntervalMicros", 200L);
+        journal.start();
+        started.add(journal);
+        return journal;
+    }
+
+    private static class RecordingHandler implements OrderBookJournal.ReplayHandler {
+        final List<String> records = new ArrayList<>();
+        final List<IOrder> orders = new ArrayList<>();
+
+        @Override
+        public void onAdd(long sequence, IOrder order) {
+            records.add(sequence + " add " + order.getId());
+            orders.add(order);
+        }
+
+        @Override
+        public void onCancel(long sequence, String orderId) {
+            records.add(sequence + " cancel " + orderId);
+        }
+
+        @Override
+        public void onFill(long sequence, String buyOrderId, String sellOrderId, long units) {
+            records.add(sequence + " fill " + buyOrderId + "/" + sellOrderId + " " + units);
+        }
+
+        @Override
+        public void onReduce(long sequence, String orderId, long units) {
+            records.add(sequence + " reduce " + orderId + " " + units);
+        }
+
+        @Override
+        public void onRelease(long sequence, String orderId, long units) {
+            records.add(sequence + " release " + orderId + " " + units);
+        }
+    }
+}
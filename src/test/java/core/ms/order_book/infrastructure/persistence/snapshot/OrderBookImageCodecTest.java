@@ -0,0 +1,153 @@
+package core.ms.order_book.infrastructure.persistence.snapshot;
+
+import core.ms.order_book.domain.value_object.FixedPointScale;
+import core.ms.order_book.domain.value_object.OrderBookImage;
+import core.ms.order_book.infrastructure.persistence.journal.JournalCodec;
+import core.ms.shared.money.Money;
+import core.ms.shared.money.Symbol;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.math.BigDecimal;
+import java.nio.ByteBuffer;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.time.temporal.ChronoUnit;
+import java.util.Arrays;
+import java.util.zip.CRC32C;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class OrderBookImageCodecTest {
+
+    private static final FixedPointScale SCALE = FixedPointScale.defaultQuantityScale();
+    private static final Instant CAPTURED_AT = Instant.parse("2026-03-01T12:00:00.123Z");
+
+    @Test
+    void roundTripsEveryField() {
+        OrderBookImage image = new OrderBookImage(Symbol.btcUsd(), CAPTURED_AT, 1_234, 56, 789, SCALE,
+                bids(), asks());
+
+        OrderBookImage decoded = OrderBookImageCodec.decode(OrderBookImageCodec.encode(image));
+
+        assertEquals(image.getSymbol(), decoded.getSymbol());
+        assertEquals(CAPTURED_AT, decoded.getCapturedAt());
+        assertEquals(1_234, decoded.getJournalSequence());
+        assertEquals(56, decoded.getMatchSequence());
+        assertEquals(789, decoded.getDepthSequence());
+        assertEquals(SCALE, decoded.getQuantityScale());
+        assertSameSide(image.getBids(), decoded.getBids());
+        assertSameSide(image.getAsks(), decoded.getAsks());
+    }
+
+    @Test
+    void roundTripsAnEmptyBook() {
+        OrderBookImage.Side empty = OrderBookImage.Side.builder(0, 0).build();
+        OrderBookImage image = new OrderBookImage(Symbol.ethUsd(), CAPTURED_AT, 1, 0, 0, SCALE, empty, empty);
+
+        OrderBookImage decoded = OrderBookImageCodec.decode(OrderBookImageCodec.encode(image));
+
+        assertEquals(0, decoded.getOrderCount());
+        assertEquals(Symbol.ethUsd(), decoded.getSymbol());
+        assertEquals(1, decoded.getJournalSequence());
+    }
+
+    @Test
+    void decodesVersionOneImagesWithoutDepthSequence() {
+        OrderBookImage image = new OrderBookImage(Symbol.btcUsd(), CAPTURED_AT, 10, 4, 300, SCALE,
+                bids(), asks());
+
+        OrderBookImage decoded = OrderBookImageCodec.decode(toVersionOne(OrderBookImageCodec.encode(image)));
+
+        assertEquals(10, decoded.getJournalSequence());
+        assertEquals(4, decoded.getMatchSequence());
+        assertEquals(0, decoded.getDepthSequence());
+        assertSameSide(image.getBids(), decoded.getBids());
+    }
+
+    @Test
+    void rejectsDamagedImages() {
+        byte[] bytes = OrderBookImageCodec.encode(new OrderBookImage(Symbol.btcUsd(), CAPTURED_AT, 1, 0, 0, SCALE,
+                bids(), asks()));
+
+        byte[] flipped = bytes.clone();
+        flipped[bytes.length / 2] ^= 0x01;
+        assertThrows(IllegalStateException.class, () -> OrderBookImageCodec.decode(flipped));
+        assertThrows(IllegalStateException.class,
+                () -> OrderBookImageCodec.decode(Arrays.copyOf(bytes, bytes.length - 1)));
+        assertThrows(IllegalStateException.class, () -> OrderBookImageCodec.decode(new byte[4]));
+    }
+
+    /**
+     * Two levels with generated ids, a literal id, a repeated portfolio, missing ids and a
+     * partially filled order.
+     */
+    private static OrderBookImage.Side bids() {
+        LocalDateTime created = LocalDateTime.ofInstant(CAPTURED_AT, ZoneOffset.UTC).truncatedTo(ChronoUnit.MILLIS);
+        return OrderBookImage.Side.builder(2, 4)
+                .level(Money.usd("100.50"), 3)
+                .order("BUY1772366400000-0042", "portfolio-1", "RES1772366400001-0007",
+                        new BigDecimal("2"), SCALE.toUnits(new BigDecimal("1.25")), created.minusSeconds(30))
+                .order("BUY1772366400005-0001", "portfolio-1", "RES1772366400006-0999",
+                        new BigDecimal("0.5"), SCALE.toUnits(new BigDecimal("0.5")), created.minusSeconds(10))
+                .order("legacy-order", null, null,
+                        new BigDecimal("3"), SCALE.toUnits(new BigDecimal("3")), created)
+                .level(Money.usd("99.5"), 1)
+                .order("BUY0772366400005-0001", "portfolio-2", "RES1772366400009-1234",
+                        new BigDecimal("7.00000001"), SCALE.toUnits(new BigDecimal("7.00000001")), created)
+                .build();
+    }
+
+    private static OrderBookImage.Side asks() {
+        LocalDateTime created = LocalDateTime.ofInstant(CAPTURED_AT, ZoneOffset.UTC).truncatedTo(ChronoUnit.MILLIS);
+        return OrderBookImage.Side.builder(1, 1)
+                .level(Money.usd("101"), 1)
+                .order("SELL1772366400003-0100", "portfolio-3", "RES1772366400004-0100",
+                        new BigDecimal("1"), SCALE.toUnits(new BigDecimal("1")), created.minusDays(2))
+                .build();
+    }
+
+    private static void assertSameSide(OrderBookImage.Side expected, OrderBookImage.Side actual) {
+        assertEquals(expected.getLevelCount(), actual.getLevelCount());
+        for (int level = 0; level < expected.getLevelCount(); level++) {
+            assertEquals(expected.getLevelPrice(level), actual.getLevelPrice(level));
+            assertEquals(expected.getLevelOrderCount(level), actual.getLevelOrderCount(level));
+        }
+        assertEquals(expected.getOrderCount(), actual.getOrderCount());
+        for (int order = 0; order < expected.getOrderCount(); order++) {
+            assertEquals(expected.getOrderId(order), actual.getOrderId(order));
+            assertEquals(expected.getPortfolioId(order), actual.getPortfolioId(order));
+            assertEquals(expected.getReservationId(order), actual.getReservationId(order));
+            assertEquals(0, expected.getQuantity(order).compareTo(actual.getQuantity(order)));
+            assertEquals(expected.getRemainingUnits(order), actual.getRemainingUnits(order));
+            assertEquals(expected.getCreatedAt(order), actual.getCreatedAt(order));
+        }
+    }
+
+    /**
+     * Rewrites a current image in the version 1 layout, which has no depth sequence in its header.
+     */
+    private static byte[] toVersionOne(byte[] image) {
+        ByteBuffer buffer = ByteBuffer.wrap(image);
+        buffer.position(5);
+        JournalCodec.getString(buffer);
+        JournalCodec.getVarLong(buffer); // capture time
+        JournalCodec.getVarLong(buffer); // journal sequence
+        JournalCodec.getVarLong(buffer); // match sequence
+        int depthStart = buffer.position();
+        JournalCodec.getVarLong(buffer);
+        int depthEnd = buffer.position();
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        out.write(image, 0, depthStart);
+        out.write(image, depthEnd, image.length - 4 - depthEnd);
+        byte[] body = out.toByteArray();
+        body[4] = 1;
+
+        CRC32C crc = new CRC32C();
+        crc.update(body, 0, body.length);
+        return ByteBuffer.allocate(body.length + 4).put(body).putInt((int) crc.getValue()).array();
+    }
+}